@@ -1,8 +1,19 @@
 package com.demo.challege;
 
+import java.nio.file.Paths;
+
 public class Coding_Challege {
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            // java Coding_Challege <file> [k]: the k longest tokens of a word list
+            int k = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+            for (LongestTokenScanner.Token token : LongestTokenScanner.topK(Paths.get(args[0]), k)) {
+                System.out.println(token);
+            }
+            return;
+        }
+
         String[] arr = {"cat", "goat", "dog", "sparrow", "buffelo"};
 
         int maxLenght = 0;
@@ -0,0 +1,107 @@
+package com.demo.challege;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Times LongestTokenScanner against reading the same file line by line
+ * into Strings. Generates a word list of the given size in MB (default
+ * 1024) with some multi-byte UTF-8 words, and reports MB/s for the top 10.
+ */
+public class LongestTokenBenchmark {
+
+    private static final int K = 10;
+    private static final int ROUNDS = 3;
+    private static final String[] SYLLABLES = {"ka", "ri", "mo", "tu", "ne", "sa", "ü", "é", "ж", "語"};
+
+    public static void main(String[] args) throws IOException {
+        long megabytes = args.length > 0 ? Long.parseLong(args[0]) : 1024;
+        Path file = Files.createTempFile("words", ".txt");
+        try {
+            write(file, megabytes << 20, new Random(42));
+            double mb = Files.size(file) / 1048576.0;
+            System.out.printf("%.0f MB word list%n", mb);
+
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                List<LongestTokenScanner.Token> top = LongestTokenScanner.topK(file, K);
+                long scanNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                List<String> expected = readLines(file, K);
+                long linesNanos = System.nanoTime() - start;
+
+                List<String> found = new ArrayList<>(top.size());
+                for (LongestTokenScanner.Token token : top) {
+                    found.add(token.text);
+                }
+                if (!found.equals(expected)) {
+                    throw new IllegalStateException("Scanner found " + found + ", lines found " + expected);
+                }
+                System.out.printf("  round %d: mapped scanner %7.1f MB/s, String per line %7.1f MB/s, longest %s%n",
+                        round, mb * 1e9 / scanNanos, mb * 1e9 / linesNanos, top.get(0).text);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // the old approach: a String per token, length in code points; the k
+    // longest, longest first, ties going to the token seen first
+    static List<String> readLines(Path file, int k) throws IOException {
+        // weakest candidate first: shortest, then latest
+        Comparator<Object[]> weakestFirst = Comparator.<Object[]>comparingInt(c -> (Integer) c[0])
+                .thenComparing(Comparator.<Object[]>comparingLong(c -> (Long) c[1]).reversed());
+        PriorityQueue<Object[]> best = new PriorityQueue<>(weakestFirst);
+        long seen = 0;
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                for (String token : line.split("\\s+")) {
+                    if (token.isEmpty()) {
+                        continue;
+                    }
+                    best.add(new Object[] {token.codePointCount(0, token.length()), seen++, token});
+                    if (best.size() > k) {
+                        best.poll();
+                    }
+                }
+            }
+        }
+        List<String> longest = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            longest.add((String) best.poll()[2]);
+        }
+        Collections.reverse(longest);
+        return longest;
+    }
+
+    static void write(Path file, long bytes, Random random) throws IOException {
+        StringBuilder word = new StringBuilder();
+        long written = 0;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            while (written < bytes) {
+                word.setLength(0);
+                int syllables = 1 + random.nextInt(random.nextInt(1000) == 0 ? 40 : 6);
+                for (int i = 0; i < syllables; i++) {
+                    word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+                }
+                word.append('\n');
+                byte[] encoded = word.toString().getBytes(StandardCharsets.UTF_8);
+                out.write(encoded);
+                written += encoded.length;
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.demo.challege;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Finds the longest tokens in a UTF-8 text file of any size.
+ *
+ * The file is cut into chunks of about CHUNK_BYTES that end on line
+ * boundaries, and each chunk is memory-mapped and scanned on its own thread.
+ * Tokens are runs of bytes between ASCII whitespace; their length is counted
+ * in characters (code points) straight from the bytes, and a token shorter in
+ * bytes than the current k-th best is skipped without counting. Each chunk
+ * keeps its k best as (offset, length) pairs in a small heap, and only the
+ * final k are decoded into Strings.
+ *
+ * Ties in length go to the token that appears first in the file, like the
+ * strict comparison in Coding_Challege.
+ */
+public class LongestTokenScanner {
+
+    static final long CHUNK_BYTES = 64L << 20;
+
+    public static final class Token {
+        public final long offset;   // byte offset in the file
+        public final int length;    // in code points
+        public final String text;
+
+        Token(long offset, int length, String text) {
+            this.offset = offset;
+            this.length = length;
+            this.text = text;
+        }
+
+        @Override
+        public String toString() {
+            return text + " (" + length + " chars at byte " + offset + ")";
+        }
+    }
+
+    public static Token longest(Path file) throws IOException {
+        List<Token> top = topK(file, 1);
+        return top.isEmpty() ? null : top.get(0);
+    }
+
+    /**
+     * The k longest tokens, longest first.
+     */
+    public static List<Token> topK(Path file, int k) throws IOException {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = chunkBounds(channel);
+            TopK merged;
+            try {
+                // collect, not reduce: TopK is mutable, so every thread needs its own
+                merged = IntStream.range(0, bounds.length - 1).parallel()
+                        .collect(() -> new TopK(k), (top, c) -> scan(channel, bounds[c], bounds[c + 1], top), TopK::merge);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return merged.toTokens(channel);
+        }
+    }
+
+    // chunk start offsets plus the file size; every start is a line start
+    static long[] chunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        long pos = 0;
+        ByteBuffer probe = ByteBuffer.allocate(1 << 16);
+        while (size - pos > CHUNK_BYTES) {
+            long next = nextLineStart(channel, pos + CHUNK_BYTES, size, probe);
+            if (next - pos > Integer.MAX_VALUE) {
+                throw new IOException("Line at byte " + pos + " is longer than 2GB");
+            }
+            if (next >= size) {
+                break;
+            }
+            bounds.add(next);
+            pos = next;
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size, ByteBuffer probe) throws IOException {
+        long pos = from;
+        while (pos < size) {
+            probe.clear();
+            int read = channel.read(probe, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    private static void scan(FileChannel channel, long start, long end, TopK top) {
+        MappedByteBuffer bytes;
+        try {
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        int n = bytes.limit();
+        int i = 0;
+        while (i < n) {
+            while (i < n && isSpace(bytes.get(i))) {
+                i++;
+            }
+            int tokenStart = i;
+            while (i < n && !isSpace(bytes.get(i))) {
+                i++;
+            }
+            int byteLength = i - tokenStart;
+            // a token has at most as many chars as bytes
+            if (byteLength > 0 && byteLength >= top.threshold()) {
+                int chars = 0;
+                for (int j = tokenStart; j < i; j++) {
+                    // count every byte that is not a UTF-8 continuation byte
+                    if ((bytes.get(j) & 0xC0) != 0x80) {
+                        chars++;
+                    }
+                }
+                top.offer(start + tokenStart, chars, byteLength);
+            }
+        }
+    }
+
+    private static boolean isSpace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t' || b == '\f' || b == 0x0B;
+    }
+
+    /**
+     * The k best (offset, length) candidates seen so far, as a min-heap with
+     * the weakest candidate at the root.
+     */
+    static final class TopK {
+        private final int k;
+        private final long[] offsets;
+        private final int[] lengths;
+        private final int[] byteLengths;
+        private int size;
+
+        TopK(int k) {
+            this.k = k;
+            offsets = new long[k];
+            lengths = new int[k];
+            byteLengths = new int[k];
+        }
+
+        // shortest length that can still get in
+        int threshold() {
+            return size < k ? 1 : lengths[0];
+        }
+
+        void offer(long offset, int length, int byteLength) {
+            if (size < k) {
+                int i = size++;
+                offsets[i] = offset;
+                lengths[i] = length;
+                byteLengths[i] = byteLength;
+                siftUp(i);
+            } else if (better(length, offset, lengths[0], offsets[0])) {
+                offsets[0] = offset;
+                lengths[0] = length;
+                byteLengths[0] = byteLength;
+                siftDown(0);
+            }
+        }
+
+        TopK merge(TopK other) {
+            for (int i = 0; i < other.size; i++) {
+                offer(other.offsets[i], other.lengths[i], other.byteLengths[i]);
+            }
+            return this;
+        }
+
+        List<Token> toTokens(FileChannel channel) throws IOException {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> lengths[a] != lengths[b]
+                    ? Integer.compare(lengths[b], lengths[a])
+                    : Long.compare(offsets[a], offsets[b]));
+
+            List<Token> tokens = new ArrayList<>(size);
+            for (int i : order) {
+                ByteBuffer text = ByteBuffer.allocate(byteLengths[i]);
+                while (text.hasRemaining()) {
+                    if (channel.read(text, offsets[i] + text.position()) < 0) {
+                        throw new IOException("File shrank while scanning");
+                    }
+                }
+                tokens.add(new Token(offsets[i], lengths[i], new String(text.array(), StandardCharsets.UTF_8)));
+            }
+            return tokens;
+        }
+
+        private static boolean better(int length, long offset, int otherLength, long otherOffset) {
+            return length > otherLength || (length == otherLength && offset < otherOffset);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!better(lengths[parent], offsets[parent], lengths[i], offsets[i])) {
+                    break;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && better(lengths[child], offsets[child], lengths[child + 1], offsets[child + 1])) {
+                    child++;
+                }
+                if (!better(lengths[i], offsets[i], lengths[child], offsets[child])) {
+                    break;
+                }
+                swap(i, child);
+                i = child;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long o = offsets[a];
+            offsets[a] = offsets[b];
+            offsets[b] = o;
+            int l = lengths[a];
+            lengths[a] = lengths[b];
+            lengths[b] = l;
+            int bl = byteLengths[a];
+            byteLengths[a] = byteLengths[b];
+            byteLengths[b] = bl;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.demo.student;
+
+class AttendanceLowException extends Exception {
+    AttendanceLowException(String msg) {
+        super(msg);
+    }
+}
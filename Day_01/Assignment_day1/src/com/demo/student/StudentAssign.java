@@ -1,54 +1,11 @@
 package com.demo.student;
 
-import java.io.Serializable;
 import java.util.List;
 import java.util.ArrayList;
 import java.io.FileOutputStream;
 import java.io.ObjectOutputStream;
 import java.util.Collections;
 
-class AttendanceLowException extends Exception {
-    AttendanceLowException(String msg) {
-        super(msg);
-    }
-}
-
-class Student implements Serializable {
-    int rollno;
-    String name;
-    String course;
-    double attendance;
-    double score;
-
-    Student() {}
-
-    Student(int rollno, String name, String course, double attendance, double score) {
-        this.rollno = rollno;
-        this.name = name;
-        this.course = course;
-        this.attendance = attendance;
-        this.score = score;
-    }
-
-    String calculateGrade() throws AttendanceLowException {
-        if (attendance < 60)
-            throw new AttendanceLowException("Attendance below 60% for: " + name);
-
-        if (score >= 85)
-            return "A";
-        else if (score >= 70)
-            return "B";
-        else if (score >= 50)
-            return "C";
-        else
-            return "D";
-    }
-
-    public String toString() {
-        return rollno + " - " + name + " - " + course + " - " + attendance + "% - " + score;
-    }
-}
-
 public class StudentAssign {
     public static void main(String[] args) {
         try {
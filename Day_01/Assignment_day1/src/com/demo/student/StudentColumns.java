@@ -0,0 +1,268 @@
+package com.demo.student;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Students stored column by column: rollno, attendance and score as
+ * primitive arrays, and name and course as int codes into one shared string
+ * dictionary, so a repeated course name is stored once.
+ *
+ * The file format is fixed-width and little-endian, written and read through
+ * a memory-mapped channel:
+ *
+ *   header      magic, version, count, dictionary size, dictionary bytes (32 bytes)
+ *   attendance  double[count]
+ *   score       double[count]
+ *   rollno      int[count]
+ *   name        int[count]     dictionary codes
+ *   course      int[count]     dictionary codes
+ *   dictionary  int[size + 1]  UTF-8 end offsets, then the bytes
+ *
+ * Every column starts on an 8-byte boundary, so each is read with one bulk
+ * get. A file is mapped in one piece, which limits it to 2GB.
+ */
+class StudentColumns {
+
+    static final int MAGIC = 0x53545531; // "STU1"
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+
+    // grade code for a student whose attendance is below the minimum
+    static final byte LOW_ATTENDANCE = 'L';
+    static final double MIN_ATTENDANCE = 60;
+
+    final int[] rollno;
+    final double[] attendance;
+    final double[] score;
+    final int[] name;
+    final int[] course;
+    final String[] dictionary;
+
+    StudentColumns(int[] rollno, double[] attendance, double[] score, int[] name, int[] course, String[] dictionary) {
+        this.rollno = rollno;
+        this.attendance = attendance;
+        this.score = score;
+        this.name = name;
+        this.course = course;
+        this.dictionary = dictionary;
+    }
+
+    static StudentColumns of(List<Student> students) {
+        int n = students.size();
+        int[] rollno = new int[n];
+        double[] attendance = new double[n];
+        double[] score = new double[n];
+        int[] name = new int[n];
+        int[] course = new int[n];
+        Map<String, Integer> codes = new HashMap<>();
+
+        for (int i = 0; i < n; i++) {
+            Student s = students.get(i);
+            rollno[i] = s.rollno;
+            attendance[i] = s.attendance;
+            score[i] = s.score;
+            name[i] = code(codes, s.name);
+            course[i] = code(codes, s.course);
+        }
+
+        String[] dictionary = new String[codes.size()];
+        for (Map.Entry<String, Integer> e : codes.entrySet()) {
+            dictionary[e.getValue()] = e.getKey();
+        }
+        return new StudentColumns(rollno, attendance, score, name, course, dictionary);
+    }
+
+    private static int code(Map<String, Integer> codes, String value) {
+        // null is stored as the empty string
+        return codes.computeIfAbsent(value == null ? "" : value, k -> codes.size());
+    }
+
+    int size() {
+        return rollno.length;
+    }
+
+    Student get(int i) {
+        return new Student(rollno[i], dictionary[name[i]], dictionary[course[i]], attendance[i], score[i]);
+    }
+
+    /**
+     * Grade of every student as 'A' to 'D', or LOW_ATTENDANCE, with the same
+     * thresholds as Student.calculateGrade. The loop is branch-free over
+     * primitive columns, so the JIT can vectorize it.
+     */
+    byte[] grades() {
+        int n = size();
+        byte[] grades = new byte[n];
+        double[] attendance = this.attendance, score = this.score;
+        for (int i = 0; i < n; i++) {
+            double s = score[i];
+            int steps = (s >= 50 ? 1 : 0) + (s >= 70 ? 1 : 0) + (s >= 85 ? 1 : 0);
+            grades[i] = attendance[i] < MIN_ATTENDANCE ? LOW_ATTENDANCE : (byte) ('D' - steps);
+        }
+        return grades;
+    }
+
+    /**
+     * Row indices ordered by attendance, highest first, ties kept in row
+     * order. An LSD radix sort on the attendance bits, so no boxing and no
+     * comparator calls.
+     */
+    int[] orderByAttendanceDescending() {
+        int n = size();
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            // bits that sort like the double, then flipped for descending order
+            long bits = Double.doubleToLongBits(attendance[i]);
+            keys[i] = ~(bits ^ ((bits >> 63) | Long.MIN_VALUE));
+        }
+
+        int[] order = new int[n];
+        if (n == 0) {
+            return order;
+        }
+        int[] scratch = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        int[] counts = new int[1 << 16];
+        for (int shift = 0; shift < 64; shift += 16) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                counts[(int) (keys[i] >>> shift) & 0xFFFF]++;
+            }
+            if (counts[(int) (keys[0] >>> shift) & 0xFFFF] == n) {
+                // every key has the same 16 bits here; nothing to move
+                continue;
+            }
+            int sum = 0;
+            for (int b = 0; b < counts.length; b++) {
+                int c = counts[b];
+                counts[b] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                int row = order[i];
+                scratch[counts[(int) (keys[row] >>> shift) & 0xFFFF]++] = row;
+            }
+            int[] t = order;
+            order = scratch;
+            scratch = t;
+        }
+        return order;
+    }
+
+    void write(Path file) throws IOException {
+        int n = size();
+        byte[][] utf8 = new byte[dictionary.length][];
+        long dictionaryBytes = 0;
+        for (int i = 0; i < dictionary.length; i++) {
+            utf8[i] = dictionary[i].getBytes(StandardCharsets.UTF_8);
+            dictionaryBytes += utf8[i].length;
+        }
+        long total = HEADER_BYTES + 28L * n + 4L * (dictionary.length + 1) + dictionaryBytes;
+        if (total > Integer.MAX_VALUE) {
+            // one mapping covers at most 2GB, about 75 million students
+            throw new IOException("Student file would be " + total + " bytes, too large for one mapping");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, total);
+            out.order(ByteOrder.LITTLE_ENDIAN);
+            out.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(dictionary.length).putLong(dictionaryBytes);
+            out.position(HEADER_BYTES);
+
+            out.asDoubleBuffer().put(attendance);
+            skip(out, 8L * n);
+            out.asDoubleBuffer().put(score);
+            skip(out, 8L * n);
+            out.asIntBuffer().put(rollno);
+            skip(out, 4L * n);
+            out.asIntBuffer().put(name);
+            skip(out, 4L * n);
+            out.asIntBuffer().put(course);
+            skip(out, 4L * n);
+
+            int end = 0;
+            out.putInt(0);
+            for (byte[] bytes : utf8) {
+                end += bytes.length;
+                out.putInt(end);
+            }
+            for (byte[] bytes : utf8) {
+                out.put(bytes);
+            }
+            out.force();
+        }
+    }
+
+    static StudentColumns read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            in.order(ByteOrder.LITTLE_ENDIAN);
+            if (in.getInt() != MAGIC) {
+                throw new IOException("Not a student column file: " + file);
+            }
+            int version = in.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported student file version " + version);
+            }
+            int n = in.getInt();
+            int dictionarySize = in.getInt();
+            long dictionaryBytes = in.getLong();
+            long expected = HEADER_BYTES + 28L * n + 4L * (dictionarySize + 1) + dictionaryBytes;
+            if (n < 0 || dictionarySize < 0 || channel.size() != expected) {
+                throw new IOException("Truncated or corrupt student file: " + file);
+            }
+            in.position(HEADER_BYTES);
+
+            double[] attendance = new double[n];
+            double[] score = new double[n];
+            int[] rollno = new int[n];
+            int[] name = new int[n];
+            int[] course = new int[n];
+            in.asDoubleBuffer().get(attendance);
+            skip(in, 8L * n);
+            in.asDoubleBuffer().get(score);
+            skip(in, 8L * n);
+            in.asIntBuffer().get(rollno);
+            skip(in, 4L * n);
+            in.asIntBuffer().get(name);
+            skip(in, 4L * n);
+            in.asIntBuffer().get(course);
+            skip(in, 4L * n);
+
+            int[] ends = new int[dictionarySize + 1];
+            in.asIntBuffer().get(ends);
+            skip(in, 4L * ends.length);
+            byte[] bytes = new byte[(int) dictionaryBytes];
+            in.get(bytes);
+            String[] dictionary = new String[dictionarySize];
+            for (int i = 0; i < dictionarySize; i++) {
+                dictionary[i] = new String(bytes, ends[i], ends[i + 1] - ends[i], StandardCharsets.UTF_8);
+            }
+
+            for (int i = 0; i < n; i++) {
+                if (name[i] < 0 || name[i] >= dictionarySize || course[i] < 0 || course[i] >= dictionarySize) {
+                    throw new IOException("Bad dictionary code in row " + i + " of " + file);
+                }
+            }
+            return new StudentColumns(rollno, attendance, score, name, course, dictionary);
+        }
+    }
+
+    private static void skip(ByteBuffer buffer, long bytes) {
+        buffer.position((int) (buffer.position() + bytes));
+    }
+}
@@ -0,0 +1,116 @@
+package com.demo.student;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares StudentColumns with the ObjectOutputStream format StudentAssign
+ * uses: file size, write and load time, grading and sorting by attendance.
+ * Pass the number of students as the first argument (default 1,000,000).
+ */
+public class StudentStoreBenchmark {
+
+    private static final String[] NAMES = {"Sharvari", "Rohan", "Priya", "Amit", "Kiran", "Sneha", "Neha", "Vikas",
+            "Riya", "Sahil"};
+    private static final String[] COURSES = {"Java", "Python", "SQL", "Web"};
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(42);
+        List<Student> students = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            students.add(new Student(i + 1, NAMES[random.nextInt(NAMES.length)] + " " + random.nextInt(1000),
+                    COURSES[random.nextInt(COURSES.length)], random.nextInt(101), random.nextInt(101)));
+        }
+
+        Path dir = Files.createTempDirectory("students");
+        Path serialized = dir.resolve("students.dat");
+        Path columnar = dir.resolve("students.col");
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                System.out.println("round " + round + ", " + n + " students");
+
+                long start = System.nanoTime();
+                try (ObjectOutputStream out = new ObjectOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(serialized), 1 << 16))) {
+                    out.writeObject(students);
+                }
+                long serialWrite = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                StudentColumns.of(students).write(columnar);
+                long columnWrite = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                List<Student> loaded = readSerialized(serialized);
+                long serialRead = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                StudentColumns columns = StudentColumns.read(columnar);
+                long columnRead = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                int[] lowList = {0};
+                for (Student s : loaded) {
+                    try {
+                        s.calculateGrade();
+                    } catch (AttendanceLowException e) {
+                        lowList[0]++;
+                    }
+                }
+                long listGrades = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                byte[] grades = columns.grades();
+                long columnGrades = System.nanoTime() - start;
+                int lowColumns = 0;
+                for (byte g : grades) {
+                    if (g == StudentColumns.LOW_ATTENDANCE) lowColumns++;
+                }
+
+                start = System.nanoTime();
+                Collections.sort(loaded, (a, b) -> Double.compare(b.attendance, a.attendance));
+                long listSort = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                int[] order = columns.orderByAttendanceDescending();
+                long columnSort = System.nanoTime() - start;
+
+                if (lowList[0] != lowColumns || loaded.get(0).rollno != columns.rollno[order[0]]
+                        || loaded.get(n - 1).rollno != columns.rollno[order[n - 1]]) {
+                    throw new IllegalStateException("Columnar results differ from the object list");
+                }
+
+                System.out.printf("  %-10s %10s %10s %10s %10s %10s%n", "", "size MB", "write ms", "load ms",
+                        "grade ms", "sort ms");
+                System.out.printf("  %-10s %10.1f %10.1f %10.1f %10.1f %10.1f%n", "serialized",
+                        Files.size(serialized) / 1048576.0, serialWrite / 1e6, serialRead / 1e6, listGrades / 1e6,
+                        listSort / 1e6);
+                System.out.printf("  %-10s %10.1f %10.1f %10.1f %10.1f %10.1f%n", "columnar",
+                        Files.size(columnar) / 1048576.0, columnWrite / 1e6, columnRead / 1e6, columnGrades / 1e6,
+                        columnSort / 1e6);
+            }
+        } finally {
+            Files.deleteIfExists(serialized);
+            Files.deleteIfExists(columnar);
+            Files.delete(dir);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Student> readSerialized(Path file) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            return (List<Student>) in.readObject();
+        }
+    }
+}
@@ -3,84 +3,31 @@ package com.demo.datastructure;
 //File: CircularLinkedListDemo.java
 import java.util.Scanner;
 
-class Node {
- int data;
- Node next;
- Node(int d) { data = d; }
-}
-
+// Backed by IndexedCircularList: head inserts no longer walk the ring to
+// find the tail, and delete/modify by value use its hash index.
 class CircularLinkedList {
- Node head = null;
+ private final IndexedCircularList list = new IndexedCircularList();
 
  void insertAt(int data, int pos) {
-     Node newNode = new Node(data);
-     if (head == null) {
-         head = newNode;
-         newNode.next = head;
-         return;
-     }
-     if (pos == 1) {
-         Node temp = head;
-         while (temp.next != head) temp = temp.next;
-         temp.next = newNode;
-         newNode.next = head;
-         head = newNode;
-         return;
-     }
-     Node temp = head;
-     for (int i = 1; i < pos - 1 && temp.next != head; i++)
-         temp = temp.next;
-     newNode.next = temp.next;
-     temp.next = newNode;
+     list.insertAt(data, pos);
  }
 
  void deleteNode(int key) {
-     if (head == null) return;
-     Node curr = head, prev = null;
-     do {
-         if (curr.data == key) {
-             if (prev == null) { // deleting head
-                 Node temp = head;
-                 while (temp.next != head) temp = temp.next;
-                 if (temp == head) head = null;
-                 else {
-                     temp.next = head.next;
-                     head = head.next;
-                 }
-             } else {
-                 prev.next = curr.next;
-             }
-             return;
-         }
-         prev = curr;
-         curr = curr.next;
-     } while (curr != head);
+     list.remove(key);
  }
 
  void modifyNode(int oldData, int newData) {
-     if (head == null) return;
-     Node temp = head;
-     do {
-         if (temp.data == oldData) {
-             temp.data = newData;
-             return;
-         }
-         temp = temp.next;
-     } while (temp != head);
-     System.out.println("Node not found.");
+     if (!list.modify(oldData, newData)) {
+         System.out.println("Node not found.");
+     }
  }
 
- 
  void display() {
-     if (head == null) {
+     if (list.isEmpty()) {
          System.out.println("List is empty.");
          return;
      }
-     Node temp = head;
-     do {
-         System.out.print(temp.data + " ");
-         temp = temp.next;
-     } while (temp != head);
+     list.forEach(v -> System.out.print(v + " "));
      System.out.println();
  }
 }
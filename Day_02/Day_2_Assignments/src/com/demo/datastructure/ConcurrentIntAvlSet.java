@@ -0,0 +1,129 @@
+package com.demo.datastructure;
+
+// File: ConcurrentIntAvlSet.java
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntConsumer;
+
+/**
+ * Thread-safe IntAvlSet for read-mostly use.
+ *
+ * contains and size first run without locking under an optimistic
+ * StampedLock stamp and only take the read lock if a writer got in between.
+ * Other reads hold the read lock, writes the write lock.
+ */
+public class ConcurrentIntAvlSet {
+
+    private final IntAvlSet set;
+    private final StampedLock lock = new StampedLock();
+
+    public ConcurrentIntAvlSet() {
+        set = new IntAvlSet();
+    }
+
+    public ConcurrentIntAvlSet(int expectedSize) {
+        set = new IntAvlSet(expectedSize);
+    }
+
+    public boolean contains(int key) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                boolean found = set.containsBounded(key);
+                if (lock.validate(stamp)) {
+                    return found;
+                }
+            } catch (RuntimeException e) {
+                // the arrays changed underneath us; retry under the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return set.contains(key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                int size = set.size();
+                if (lock.validate(stamp)) {
+                    return size;
+                }
+            } catch (RuntimeException e) {
+                // retry under the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return set.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int rank(int key) {
+        long stamp = lock.readLock();
+        try {
+            return set.rank(key);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int select(int index) {
+        long stamp = lock.readLock();
+        try {
+            return set.select(index);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean add(int key) {
+        long stamp = lock.writeLock();
+        try {
+            return set.add(key);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean remove(int key) {
+        long stamp = lock.writeLock();
+        try {
+            return set.remove(key);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void trimToSize() {
+        long stamp = lock.writeLock();
+        try {
+            set.trimToSize();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void forEachInRange(int fromInclusive, int toExclusive, IntConsumer action) {
+        long stamp = lock.readLock();
+        try {
+            set.forEachInRange(fromInclusive, toExclusive, action);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public int[] toArray() {
+        long stamp = lock.readLock();
+        try {
+            return set.toArray();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package com.demo.datastructure;
+
+//File: IndexedCircularList.java
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.IntConsumer;
+
+/**
+ * Circular sequence of ints built for round-robin style use.
+ *
+ * Nodes live in parallel int arrays (value, next, prev) rather than as
+ * objects, and the ring is doubly linked, so the tail is prev[head] and
+ * adding at either end is O(1). A hash index from value to node makes
+ * delete, modify and insert-after by value O(1) instead of a scan. Equal
+ * values are chained, and delete or modify then picks one of the nodes
+ * holding that value.
+ *
+ * compact() rewrites the arrays in ring order. Until the next insert or
+ * delete, get(i) and rotate(k) are then O(1) and a full walk reads memory
+ * sequentially, like an unrolled list.
+ */
+public class IndexedCircularList {
+
+ private static final int NIL = 0;
+
+ private int[] values;
+ private int[] next;
+ private int[] prev;
+ // other nodes holding the same value, as a doubly linked chain
+ private int[] sameNext;
+ private int[] samePrev;
+
+ private final IntIndex index;
+ private int head = NIL;
+ private int size = 0;
+ private int used = 1;      // slots handed out so far, slot 0 is NIL
+ private int free = NIL;    // freed slots, chained through next[]
+
+ // after compact(), slot 1 + i holds ring position i counted from slot 1
+ private boolean compacted = true;
+
+ public IndexedCircularList() {
+     this(16);
+ }
+
+ public IndexedCircularList(int expectedSize) {
+     int capacity = Math.max(expectedSize, 1) + 1;
+     values = new int[capacity];
+     next = new int[capacity];
+     prev = new int[capacity];
+     sameNext = new int[capacity];
+     samePrev = new int[capacity];
+     index = new IntIndex(expectedSize);
+ }
+
+ public int size() {
+     return size;
+ }
+
+ public boolean isEmpty() {
+     return size == 0;
+ }
+
+ public boolean contains(int value) {
+     return index.get(value) != NIL;
+ }
+
+ public int first() {
+     if (head == NIL) throw new NoSuchElementException();
+     return values[head];
+ }
+
+ public int last() {
+     if (head == NIL) throw new NoSuchElementException();
+     return values[prev[head]];
+ }
+
+ public void addLast(int value) {
+     int n = allocate(value);
+     if (head == NIL) {
+         next[n] = prev[n] = n;
+         head = n;
+     } else {
+         linkBefore(n, head);
+     }
+     // still in slot order only if the new slot lands right after the last one
+     if (compacted && !(n == size && head == 1)) {
+         compacted = false;
+     }
+ }
+
+ public void addFirst(int value) {
+     addLast(value);
+     head = prev[head];
+ }
+
+ /**
+  * Inserts at a 1-based position like the old insertAt: 1 is the new head,
+  * and anything past the end appends. Walks from whichever end is nearer.
+  */
+ public void insertAt(int value, int pos) {
+     if (pos <= 1 || head == NIL) {
+         addFirst(value);
+     } else if (pos > size) {
+         addLast(value);
+     } else {
+         int at = node(pos - 1);
+         linkBefore(allocate(value), at);
+         compacted = false;
+     }
+ }
+
+ /**
+  * Inserts value right after a node holding key. Returns false if key is
+  * not in the list.
+  */
+ public boolean insertAfter(int key, int value) {
+     int at = index.get(key);
+     if (at == NIL) {
+         return false;
+     }
+     int n = allocate(value);
+     linkBefore(n, next[at]);
+     compacted = false;
+     return true;
+ }
+
+ /**
+  * Removes one node holding key. Returns false if there is none.
+  */
+ public boolean remove(int key) {
+     int n = index.get(key);
+     if (n == NIL) {
+         return false;
+     }
+     unlink(n);
+     return true;
+ }
+
+ public int removeFirst() {
+     if (head == NIL) throw new NoSuchElementException();
+     int value = values[head];
+     unlink(head);
+     return value;
+ }
+
+ /**
+  * Changes one node holding oldValue to newValue in place. Returns false
+  * if oldValue is not in the list.
+  */
+ public boolean modify(int oldValue, int newValue) {
+     int n = index.get(oldValue);
+     if (n == NIL) {
+         return false;
+     }
+     unindex(n);
+     values[n] = newValue;
+     reindex(n);
+     return true;
+ }
+
+ /**
+  * The value at 0-based position pos from the head.
+  */
+ public int get(int pos) {
+     if (pos < 0 || pos >= size) {
+         throw new IndexOutOfBoundsException("Index " + pos + " out of bounds for size " + size);
+     }
+     return values[node(pos)];
+ }
+
+ /**
+  * Moves the head k places forward (backward if k is negative).
+  */
+ public void rotate(int k) {
+     if (size < 2) {
+         return;
+     }
+     int steps = Math.floorMod(k, size);
+     if (steps != 0) {
+         head = node(steps);
+     }
+ }
+
+ /**
+  * Returns the head value and moves the head to the next node: one turn of
+  * a round-robin schedule.
+  */
+ public int advance() {
+     if (head == NIL) throw new NoSuchElementException();
+     int value = values[head];
+     head = next[head];
+     return value;
+ }
+
+ /**
+  * Moves every element of other, in its ring order, to just after a node
+  * holding key, and leaves other empty. Returns false, leaving both lists
+  * unchanged, if key is not in this list.
+  */
+ public boolean spliceAfter(int key, IndexedCircularList other) {
+     if (other == this) {
+         throw new IllegalArgumentException("Cannot splice a list into itself");
+     }
+     int at = index.get(key);
+     if (at == NIL) {
+         return false;
+     }
+     if (other.head == NIL) {
+         return true;
+     }
+     ensureCapacity(used + other.size);
+     int before = next[at];
+     int o = other.head;
+     do {
+         int n = allocate(other.values[o]);
+         linkBefore(n, before);
+         o = other.next[o];
+     } while (o != other.head);
+     other.clear();
+     compacted = false;
+     return true;
+ }
+
+ public void clear() {
+     head = NIL;
+     size = 0;
+     used = 1;
+     free = NIL;
+     compacted = true;
+     index.clear();
+ }
+
+ /**
+  * Rewrites the node arrays in ring order starting at the head, releasing
+  * freed slots.
+  */
+ public void compact() {
+     int capacity = Math.max(size, 1) + 1;
+     int[] newValues = new int[capacity];
+     int n = head;
+     for (int i = 1; i <= size; i++) {
+         newValues[i] = values[n];
+         n = next[n];
+     }
+     values = newValues;
+     next = new int[capacity];
+     prev = new int[capacity];
+     sameNext = new int[capacity];
+     samePrev = new int[capacity];
+     index.clear();
+     for (int i = 1; i <= size; i++) {
+         next[i] = i == size ? 1 : i + 1;
+         prev[i] = i == 1 ? size : i - 1;
+         reindex(i);
+     }
+     head = size == 0 ? NIL : 1;
+     used = size + 1;
+     free = NIL;
+     compacted = true;
+ }
+
+ public void forEach(IntConsumer action) {
+     int n = head;
+     for (int i = 0; i < size; i++) {
+         action.accept(values[n]);
+         n = next[n];
+     }
+ }
+
+ public int[] toArray() {
+     int[] out = new int[size];
+     int n = head;
+     for (int i = 0; i < size; i++) {
+         out[i] = values[n];
+         n = next[n];
+     }
+     return out;
+ }
+
+ // the node at 0-based position pos from the head
+ private int node(int pos) {
+     if (compacted) {
+         // slots 1..size are in ring order; the head may have been rotated
+         return 1 + (head - 1 + pos) % size;
+     }
+     int n = head;
+     if (pos <= size / 2) {
+         for (int i = 0; i < pos; i++) n = next[n];
+     } else {
+         for (int i = size; i > pos; i--) n = prev[n];
+     }
+     return n;
+ }
+
+ private void linkBefore(int n, int at) {
+     int p = prev[at];
+     next[p] = n;
+     prev[n] = p;
+     next[n] = at;
+     prev[at] = n;
+ }
+
+ private void unlink(int n) {
+     if (size == 1) {
+         head = NIL;
+     } else {
+         next[prev[n]] = next[n];
+         prev[next[n]] = prev[n];
+         if (n == head) head = next[n];
+     }
+     unindex(n);
+     next[n] = free;
+     free = n;
+     size--;
+     compacted = size == 0;
+     if (compacted) {
+         used = 1;
+         free = NIL;
+     }
+ }
+
+ private int allocate(int value) {
+     int n;
+     if (free != NIL) {
+         n = free;
+         free = next[n];
+     } else {
+         ensureCapacity(used);
+         n = used++;
+     }
+     values[n] = value;
+     reindex(n);
+     size++;
+     return n;
+ }
+
+ // adds node n under its value, in front of any other nodes with that value
+ private void reindex(int n) {
+     int first = index.put(values[n], n);
+     samePrev[n] = NIL;
+     sameNext[n] = first;
+     if (first != NIL) samePrev[first] = n;
+ }
+
+ private void unindex(int n) {
+     int p = samePrev[n], s = sameNext[n];
+     if (p != NIL) {
+         sameNext[p] = s;
+     } else if (s != NIL) {
+         index.put(values[n], s);
+     } else {
+         index.remove(values[n]);
+     }
+     if (s != NIL) samePrev[s] = p;
+ }
+
+ private void ensureCapacity(int slots) {
+     if (slots < values.length) {
+         return;
+     }
+     int capacity = Math.max(slots + 1, values.length + (values.length >> 1));
+     values = Arrays.copyOf(values, capacity);
+     next = Arrays.copyOf(next, capacity);
+     prev = Arrays.copyOf(prev, capacity);
+     sameNext = Arrays.copyOf(sameNext, capacity);
+     samePrev = Arrays.copyOf(samePrev, capacity);
+ }
+
+ /**
+  * Open-addressing int to int map with linear probing; 0 means absent,
+  * which is never a valid node.
+  */
+ static final class IntIndex {
+     private int[] keys;
+     private int[] nodes;
+     private int mask;
+     private int count;
+
+     IntIndex(int expectedSize) {
+         int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+         keys = new int[capacity];
+         nodes = new int[capacity];
+         mask = capacity - 1;
+     }
+
+     int get(int key) {
+         for (int i = mix(key) & mask; nodes[i] != NIL; i = (i + 1) & mask) {
+             if (keys[i] == key) return nodes[i];
+         }
+         return NIL;
+     }
+
+     // maps key to node and returns the node it replaced, or NIL
+     int put(int key, int node) {
+         int i = mix(key) & mask;
+         for (; nodes[i] != NIL; i = (i + 1) & mask) {
+             if (keys[i] == key) {
+                 int old = nodes[i];
+                 nodes[i] = node;
+                 return old;
+             }
+         }
+         keys[i] = key;
+         nodes[i] = node;
+         if (++count > (mask + 1) / 2) {
+             resize();
+         }
+         return NIL;
+     }
+
+     void remove(int key) {
+         int i = mix(key) & mask;
+         while (nodes[i] != NIL && keys[i] != key) {
+             i = (i + 1) & mask;
+         }
+         if (nodes[i] == NIL) {
+             return;
+         }
+         count--;
+         // shift later entries of the probe run back over the hole
+         int hole = i;
+         for (int j = (hole + 1) & mask; nodes[j] != NIL; j = (j + 1) & mask) {
+             int home = mix(keys[j]) & mask;
+             if (((j - home) & mask) >= ((j - hole) & mask)) {
+                 keys[hole] = keys[j];
+                 nodes[hole] = nodes[j];
+                 hole = j;
+             }
+         }
+         nodes[hole] = NIL;
+     }
+
+     void clear() {
+         Arrays.fill(nodes, NIL);
+         count = 0;
+     }
+
+     private void resize() {
+         int[] oldKeys = keys, oldNodes = nodes;
+         keys = new int[oldKeys.length * 2];
+         nodes = new int[oldNodes.length * 2];
+         mask = keys.length - 1;
+         count = 0;
+         for (int i = 0; i < oldKeys.length; i++) {
+             if (oldNodes[i] != NIL) put(oldKeys[i], oldNodes[i]);
+         }
+     }
+
+     private static int mix(int key) {
+         int h = key * 0x9E3779B9;
+         return h ^ (h >>> 16);
+     }
+ }
+}
@@ -0,0 +1,458 @@
+package com.demo.datastructure;
+
+// File: IntAvlSet.java
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Sorted set of ints kept as an AVL tree in parallel arrays.
+ *
+ * Node i is described by keys[i], left[i], right[i], heights[i] and sizes[i],
+ * so a node slot costs 17 bytes and there are no per-node objects or Integer
+ * boxes. The arrays grow by half when full, so a set that grew one key at a
+ * time carries up to a third of its slots spare: about 21 bytes per key after
+ * 1M sorted inserts. Pass the expected size, or call trimToSize(), to get
+ * back to 17.
+ * Index 0 is the empty subtree (height 0, size 0). Freed slots are chained
+ * through left[] and reused. Insert, delete and search are iterative and the
+ * tree stays balanced, so sorted inserts cannot turn it into a list and no
+ * operation recurses. Subtree sizes give rank and select in O(log n).
+ *
+ * Not thread-safe; see ConcurrentIntAvlSet.
+ */
+public class IntAvlSet {
+
+    // an AVL tree of 2^31 nodes is at most 45 levels deep
+    static final int MAX_HEIGHT = 48;
+
+    private static final int NIL = 0;
+
+    int[] keys;
+    int[] left;
+    int[] right;
+    int[] sizes;
+    byte[] heights;
+    int root = NIL;
+
+    private int next = 1;     // first never-used slot
+    private int free = NIL;   // head of the freed-slot chain
+    private final int[] path = new int[MAX_HEIGHT];
+
+    public IntAvlSet() {
+        this(16);
+    }
+
+    public IntAvlSet(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Negative size: " + expectedSize);
+        }
+        int capacity = expectedSize + 1;
+        keys = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        sizes = new int[capacity];
+        heights = new byte[capacity];
+    }
+
+    public int size() {
+        return sizes[root];
+    }
+
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    public boolean contains(int key) {
+        int n = root;
+        while (n != NIL) {
+            int k = keys[n];
+            if (key < k) n = left[n];
+            else if (key > k) n = right[n];
+            else return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds key and returns true, or returns false if it was already present.
+     */
+    public boolean add(int key) {
+        int depth = 0;
+        int n = root;
+        while (n != NIL) {
+            path[depth++] = n;
+            int k = keys[n];
+            if (key < k) n = left[n];
+            else if (key > k) n = right[n];
+            else return false;
+        }
+
+        int m = allocate(key);
+        if (depth == 0) {
+            root = m;
+        } else {
+            int parent = path[depth - 1];
+            if (key < keys[parent]) left[parent] = m;
+            else right[parent] = m;
+        }
+        rebalance(depth);
+        return true;
+    }
+
+    /**
+     * Removes key and returns true, or returns false if it was not present.
+     */
+    public boolean remove(int key) {
+        int depth = 0;
+        int n = root;
+        while (n != NIL && keys[n] != key) {
+            path[depth++] = n;
+            n = key < keys[n] ? left[n] : right[n];
+        }
+        if (n == NIL) {
+            return false;
+        }
+        path[depth++] = n;
+
+        // with two children, move the successor's key up and unlink the successor
+        int target = n;
+        if (left[n] != NIL && right[n] != NIL) {
+            target = right[n];
+            path[depth++] = target;
+            while (left[target] != NIL) {
+                target = left[target];
+                path[depth++] = target;
+            }
+            keys[n] = keys[target];
+        }
+
+        int child = left[target] != NIL ? left[target] : right[target];
+        depth--;
+        if (depth == 0) {
+            root = child;
+        } else {
+            int parent = path[depth - 1];
+            if (left[parent] == target) left[parent] = child;
+            else right[parent] = child;
+        }
+        release(target);
+        rebalance(depth);
+        return true;
+    }
+
+    public void clear() {
+        root = NIL;
+        next = 1;
+        free = NIL;
+    }
+
+    public int first() {
+        int n = root;
+        if (n == NIL) throw new NoSuchElementException();
+        while (left[n] != NIL) n = left[n];
+        return keys[n];
+    }
+
+    public int last() {
+        int n = root;
+        if (n == NIL) throw new NoSuchElementException();
+        while (right[n] != NIL) n = right[n];
+        return keys[n];
+    }
+
+    /**
+     * Number of keys strictly less than key.
+     */
+    public int rank(int key) {
+        int r = 0;
+        int n = root;
+        while (n != NIL) {
+            if (key <= keys[n]) {
+                n = left[n];
+            } else {
+                r += sizes[left[n]] + 1;
+                n = right[n];
+            }
+        }
+        return r;
+    }
+
+    /**
+     * The key at position index in sorted order, counting from 0.
+     */
+    public int select(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+        int n = root;
+        while (true) {
+            int leftSize = sizes[left[n]];
+            if (index < leftSize) {
+                n = left[n];
+            } else if (index == leftSize) {
+                return keys[n];
+            } else {
+                index -= leftSize + 1;
+                n = right[n];
+            }
+        }
+    }
+
+    /**
+     * Number of keys in [fromInclusive, toExclusive).
+     */
+    public int countRange(int fromInclusive, int toExclusive) {
+        return toExclusive <= fromInclusive ? 0 : rank(toExclusive) - rank(fromInclusive);
+    }
+
+    /**
+     * Iterates all keys in ascending order. The iterator is not fail-fast;
+     * the set must not be modified while it is in use.
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new RangeIterator(Integer.MIN_VALUE, (long) Integer.MAX_VALUE + 1);
+    }
+
+    /**
+     * Iterates the keys in [fromInclusive, toExclusive) in ascending order.
+     */
+    public PrimitiveIterator.OfInt iterator(int fromInclusive, int toExclusive) {
+        return new RangeIterator(fromInclusive, toExclusive);
+    }
+
+    public void forEach(IntConsumer action) {
+        forEachInRange(Integer.MIN_VALUE, (long) Integer.MAX_VALUE + 1, action);
+    }
+
+    public void forEachInRange(int fromInclusive, int toExclusive, IntConsumer action) {
+        forEachInRange(fromInclusive, (long) toExclusive, action);
+    }
+
+    private void forEachInRange(int fromInclusive, long toExclusive, IntConsumer action) {
+        PrimitiveIterator.OfInt it = new RangeIterator(fromInclusive, toExclusive);
+        while (it.hasNext()) {
+            action.accept(it.nextInt());
+        }
+    }
+
+    public int[] toArray() {
+        int[] out = new int[size()];
+        int i = 0;
+        for (PrimitiveIterator.OfInt it = iterator(); it.hasNext();) {
+            out[i++] = it.nextInt();
+        }
+        return out;
+    }
+
+    // Node, left, right
+    void preorder(IntConsumer action) {
+        if (root == NIL) return;
+        int[] stack = new int[MAX_HEIGHT + 1];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int n = stack[--top];
+            action.accept(keys[n]);
+            if (right[n] != NIL) stack[top++] = right[n];
+            if (left[n] != NIL) stack[top++] = left[n];
+        }
+    }
+
+    // Left, right, node
+    void postorder(IntConsumer action) {
+        int[] stack = new int[MAX_HEIGHT];
+        int top = 0;
+        int n = root;
+        int lastVisited = NIL;
+        while (top > 0 || n != NIL) {
+            if (n != NIL) {
+                stack[top++] = n;
+                n = left[n];
+            } else {
+                int peek = stack[top - 1];
+                if (right[peek] != NIL && right[peek] != lastVisited) {
+                    n = right[peek];
+                } else {
+                    action.accept(keys[peek]);
+                    lastVisited = peek;
+                    top--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Shrinks the node arrays to the slots in use, dropping the spare room
+     * left by growth. Freed slots below the highest used one are kept.
+     */
+    public void trimToSize() {
+        if (next < keys.length) {
+            keys = Arrays.copyOf(keys, next);
+            left = Arrays.copyOf(left, next);
+            right = Arrays.copyOf(right, next);
+            sizes = Arrays.copyOf(sizes, next);
+            heights = Arrays.copyOf(heights, next);
+        }
+    }
+
+    /**
+     * Approximate bytes held by the node arrays, for comparing footprints.
+     */
+    public long memoryBytes() {
+        return 4L * (keys.length + left.length + right.length + sizes.length) + heights.length;
+    }
+
+    /**
+     * Lookup for optimistic readers that may see the arrays mid-update: at
+     * most MAX_HEIGHT steps, so a transiently inconsistent tree cannot loop.
+     * The caller must validate the result; it may throw or be wrong otherwise.
+     */
+    boolean containsBounded(int key) {
+        int[] keys = this.keys, left = this.left, right = this.right;
+        int n = root;
+        for (int steps = 0; n != NIL && steps < MAX_HEIGHT; steps++) {
+            int k = keys[n];
+            if (key < k) n = left[n];
+            else if (key > k) n = right[n];
+            else return true;
+        }
+        return false;
+    }
+
+    // Recomputes height and size up the recorded path, rotating where needed
+    private void rebalance(int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            int n = path[i];
+            int balanced = balance(n);
+            if (balanced != n) {
+                if (i == 0) {
+                    root = balanced;
+                } else {
+                    int parent = path[i - 1];
+                    if (left[parent] == n) left[parent] = balanced;
+                    else right[parent] = balanced;
+                }
+            }
+        }
+    }
+
+    private int balance(int n) {
+        update(n);
+        int diff = heights[left[n]] - heights[right[n]];
+        if (diff > 1) {
+            int l = left[n];
+            if (heights[left[l]] < heights[right[l]]) {
+                left[n] = rotateLeft(l);
+            }
+            return rotateRight(n);
+        }
+        if (diff < -1) {
+            int r = right[n];
+            if (heights[right[r]] < heights[left[r]]) {
+                right[n] = rotateRight(r);
+            }
+            return rotateLeft(n);
+        }
+        return n;
+    }
+
+    private int rotateRight(int n) {
+        int l = left[n];
+        left[n] = right[l];
+        right[l] = n;
+        update(n);
+        update(l);
+        return l;
+    }
+
+    private int rotateLeft(int n) {
+        int r = right[n];
+        right[n] = left[r];
+        left[r] = n;
+        update(n);
+        update(r);
+        return r;
+    }
+
+    private void update(int n) {
+        heights[n] = (byte) (1 + Math.max(heights[left[n]], heights[right[n]]));
+        sizes[n] = 1 + sizes[left[n]] + sizes[right[n]];
+    }
+
+    private int allocate(int key) {
+        int n;
+        if (free != NIL) {
+            n = free;
+            free = left[n];
+        } else {
+            if (next == keys.length) {
+                grow();
+            }
+            n = next++;
+        }
+        keys[n] = key;
+        left[n] = NIL;
+        right[n] = NIL;
+        sizes[n] = 1;
+        heights[n] = 1;
+        return n;
+    }
+
+    private void release(int n) {
+        left[n] = free;
+        right[n] = NIL;
+        free = n;
+    }
+
+    private void grow() {
+        int capacity = keys.length;
+        if (capacity == Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Set is full");
+        }
+        int newCapacity = (int) Math.min(Integer.MAX_VALUE - 8, capacity + (capacity >> 1) + 16L);
+        keys = Arrays.copyOf(keys, newCapacity);
+        left = Arrays.copyOf(left, newCapacity);
+        right = Arrays.copyOf(right, newCapacity);
+        sizes = Arrays.copyOf(sizes, newCapacity);
+        heights = Arrays.copyOf(heights, newCapacity);
+    }
+
+    // In-order walk with an explicit stack, starting at the lower bound
+    private final class RangeIterator implements PrimitiveIterator.OfInt {
+        private final int[] stack = new int[MAX_HEIGHT];
+        private final long toExclusive;
+        private int top = 0;
+
+        RangeIterator(int fromInclusive, long toExclusive) {
+            this.toExclusive = toExclusive;
+            int n = root;
+            while (n != NIL) {
+                if (keys[n] >= fromInclusive) {
+                    stack[top++] = n;
+                    n = left[n];
+                } else {
+                    n = right[n];
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return top > 0 && keys[stack[top - 1]] < toExclusive;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int n = stack[--top];
+            for (int c = right[n]; c != NIL; c = left[c]) {
+                stack[top++] = c;
+            }
+            return keys[n];
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.demo.datastructure;
+
+// File: IntSetBenchmark.java
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Compares IntAvlSet with TreeSet<Integer>: heap used per key, and the
+ * average time of random contains() lookups. Pass the number of keys as the
+ * first argument (default 1,000,000). Heap figures come from Runtime after
+ * System.gc(), so run with a fixed heap (-Xms = -Xmx) for stable numbers.
+ */
+public class IntSetBenchmark {
+
+    private static final int LOOKUPS = 5_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Random random = new Random(42);
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt();
+        }
+        int[] probes = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            // about half hits, half misses
+            probes[i] = (i & 1) == 0 ? keys[random.nextInt(n)] : random.nextInt();
+        }
+
+        long before = usedHeap();
+        TreeSet<Integer> treeSet = new TreeSet<>();
+        for (int key : keys) {
+            treeSet.add(key);
+        }
+        long treeSetBytes = usedHeap() - before;
+
+        before = usedHeap();
+        IntAvlSet avlSet = new IntAvlSet();
+        for (int key : keys) {
+            avlSet.add(key);
+        }
+        long avlSetBytes = usedHeap() - before;
+        // the arrays grew by half at a time; heap deltas around a trim are
+        // unreliable, so the trimmed figure is the exact array footprint
+        avlSet.trimToSize();
+        long trimmedBytes = avlSet.memoryBytes();
+
+        System.out.println(treeSet.size() + " distinct random keys");
+        System.out.printf("  TreeSet<Integer>  %6.1f bytes/key%n", (double) treeSetBytes / treeSet.size());
+        System.out.printf("  IntAvlSet         %6.1f bytes/key as grown, %.1f after trimToSize()%n",
+                (double) avlSetBytes / avlSet.size(), (double) trimmedBytes / avlSet.size());
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            int hits = 0;
+            for (int probe : probes) {
+                if (treeSet.contains(probe)) hits++;
+            }
+            long treeSetNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int avlHits = 0;
+            for (int probe : probes) {
+                if (avlSet.contains(probe)) avlHits++;
+            }
+            long avlSetNanos = System.nanoTime() - start;
+
+            if (hits != avlHits) {
+                throw new IllegalStateException("Sets disagree: " + hits + " vs " + avlHits);
+            }
+            System.out.printf("  round %d: TreeSet %.1f ns/lookup, IntAvlSet %.1f ns/lookup%n", round,
+                    (double) treeSetNanos / LOOKUPS, (double) avlSetNanos / LOOKUPS);
+        }
+
+        // sorted inserts were the worst case of the old unbalanced BST
+        long start = System.nanoTime();
+        IntAvlSet sorted = new IntAvlSet(n);
+        for (int i = 0; i < n; i++) {
+            sorted.add(i);
+        }
+        System.out.printf("  %d sorted inserts into IntAvlSet: %.1f ms%n", n, (System.nanoTime() - start) / 1e6);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,206 @@
+package com.demo.datastructure;
+
+//File: IntroSort.java
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Introsort for object arrays: quicksort with a ninther or median-of-three
+ * pivot and a three-way partition, insertion sort for small ranges, and
+ * heapsort once the recursion goes deeper than 2 log n. The result is
+ * O(n log n) in the worst case, and runs of equal keys are handled in one
+ * pass. Not stable.
+ *
+ * parallelSort forks the two sides of each partition as fork-join tasks
+ * until the ranges drop below PARALLEL_THRESHOLD.
+ */
+public final class IntroSort {
+
+ // ranges this small are insertion sorted
+ static final int INSERTION_THRESHOLD = 24;
+
+ // ranges this large take the pivot as a ninther instead of a median of three
+ static final int NINTHER_THRESHOLD = 128;
+
+ // ranges below this are sorted in the current task
+ static final int PARALLEL_THRESHOLD = 1 << 13;
+
+ private IntroSort() {
+ }
+
+ public static <T> void sort(T[] a, Comparator<? super T> c) {
+     sort(a, 0, a.length, c);
+ }
+
+ /**
+  * Sorts a[from, to).
+  */
+ public static <T> void sort(T[] a, int from, int to, Comparator<? super T> c) {
+     checkRange(a.length, from, to);
+     introSort(a, from, to, depthLimit(to - from), c);
+ }
+
+ public static <T> void parallelSort(T[] a, Comparator<? super T> c) {
+     parallelSort(a, 0, a.length, c);
+ }
+
+ public static <T> void parallelSort(T[] a, int from, int to, Comparator<? super T> c) {
+     checkRange(a.length, from, to);
+     if (to - from < PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2) {
+         introSort(a, from, to, depthLimit(to - from), c);
+     } else {
+         ForkJoinPool.commonPool().invoke(new SortTask<>(a, from, to, depthLimit(to - from), c));
+     }
+ }
+
+ static void checkRange(int length, int from, int to) {
+     if (from < 0 || to > length || from > to) {
+         throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+     }
+ }
+
+ static int depthLimit(int n) {
+     return 2 * (32 - Integer.numberOfLeadingZeros(Math.max(n, 1)));
+ }
+
+ private static <T> void introSort(T[] a, int from, int to, int depth, Comparator<? super T> c) {
+     // recurse into the smaller side and loop on the larger, so the stack stays O(log n)
+     while (to - from > INSERTION_THRESHOLD) {
+         if (depth-- == 0) {
+             heapSort(a, from, to, c);
+             return;
+         }
+         long bounds = partition(a, from, to, c);
+         int lt = (int) (bounds >>> 32), gt = (int) bounds;
+         if (lt - from < to - gt) {
+             introSort(a, from, lt, depth, c);
+             from = gt;
+         } else {
+             introSort(a, gt, to, depth, c);
+             to = lt;
+         }
+     }
+     insertionSort(a, from, to, c);
+ }
+
+ /**
+  * Three-way partition of a[from, to) around a chosen pivot. Afterwards
+  * a[from, lt) < pivot, a[lt, gt) == pivot and a[gt, to) > pivot; lt and
+  * gt are returned packed into one long.
+  */
+ static <T> long partition(T[] a, int from, int to, Comparator<? super T> c) {
+     T pivot = a[choosePivot(a, from, to, c)];
+     int lt = from, i = from, gt = to;
+     while (i < gt) {
+         int cmp = c.compare(a[i], pivot);
+         if (cmp < 0) {
+             swap(a, lt++, i++);
+         } else if (cmp > 0) {
+             swap(a, i, --gt);
+         } else {
+             i++;
+         }
+     }
+     return ((long) lt << 32) | (gt & 0xFFFFFFFFL);
+ }
+
+ private static <T> int choosePivot(T[] a, int from, int to, Comparator<? super T> c) {
+     int n = to - from;
+     int mid = from + (n >>> 1);
+     int last = to - 1;
+     if (n < NINTHER_THRESHOLD) {
+         return median3(a, from, mid, last, c);
+     }
+     // Tukey's ninther: the median of three medians of three
+     int step = n >>> 3;
+     int m1 = median3(a, from, from + step, from + 2 * step, c);
+     int m2 = median3(a, mid - step, mid, mid + step, c);
+     int m3 = median3(a, last - 2 * step, last - step, last, c);
+     return median3(a, m1, m2, m3, c);
+ }
+
+ private static <T> int median3(T[] a, int i, int j, int k, Comparator<? super T> c) {
+     if (c.compare(a[i], a[j]) < 0) {
+         if (c.compare(a[j], a[k]) < 0) return j;
+         return c.compare(a[i], a[k]) < 0 ? k : i;
+     }
+     if (c.compare(a[i], a[k]) < 0) return i;
+     return c.compare(a[j], a[k]) < 0 ? k : j;
+ }
+
+ static <T> void insertionSort(T[] a, int from, int to, Comparator<? super T> c) {
+     for (int i = from + 1; i < to; i++) {
+         T key = a[i];
+         int j = i - 1;
+         while (j >= from && c.compare(a[j], key) > 0) {
+             a[j + 1] = a[j];
+             j--;
+         }
+         a[j + 1] = key;
+     }
+ }
+
+ static <T> void heapSort(T[] a, int from, int to, Comparator<? super T> c) {
+     int n = to - from;
+     for (int i = n / 2 - 1; i >= 0; i--) {
+         siftDown(a, from, i, n, c);
+     }
+     for (int end = n - 1; end > 0; end--) {
+         swap(a, from, from + end);
+         siftDown(a, from, 0, end, c);
+     }
+ }
+
+ private static <T> void siftDown(T[] a, int base, int i, int n, Comparator<? super T> c) {
+     T value = a[base + i];
+     while (true) {
+         int child = 2 * i + 1;
+         if (child >= n) {
+             break;
+         }
+         if (child + 1 < n && c.compare(a[base + child + 1], a[base + child]) > 0) {
+             child++;
+         }
+         if (c.compare(value, a[base + child]) >= 0) {
+             break;
+         }
+         a[base + i] = a[base + child];
+         i = child;
+     }
+     a[base + i] = value;
+ }
+
+ static <T> void swap(T[] a, int i, int j) {
+     T temp = a[i];
+     a[i] = a[j];
+     a[j] = temp;
+ }
+
+ private static final class SortTask<T> extends RecursiveAction {
+     private static final long serialVersionUID = 1L;
+
+     private final T[] a;
+     private final int from, to, depth;
+     private final Comparator<? super T> c;
+
+     SortTask(T[] a, int from, int to, int depth, Comparator<? super T> c) {
+         this.a = a;
+         this.from = from;
+         this.to = to;
+         this.depth = depth;
+         this.c = c;
+     }
+
+     @Override
+     protected void compute() {
+         if (to - from < PARALLEL_THRESHOLD || depth == 0) {
+             introSort(a, from, to, depth, c);
+             return;
+         }
+         long bounds = partition(a, from, to, c);
+         int lt = (int) (bounds >>> 32), gt = (int) bounds;
+         invokeAll(new SortTask<>(a, from, lt, depth - 1, c), new SortTask<>(a, gt, to, depth - 1, c));
+     }
+ }
+}
@@ -0,0 +1,168 @@
+package com.demo.datastructure;
+
+//File: MpmcRingQueue.java
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+abstract class MpmcPad0 {
+ long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class MpmcProducerFields extends MpmcPad0 {
+ volatile long producerIndex;
+}
+
+abstract class MpmcPad1 extends MpmcProducerFields {
+ long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class MpmcConsumerFields extends MpmcPad1 {
+ volatile long consumerIndex;
+}
+
+abstract class MpmcPad2 extends MpmcConsumerFields {
+ long p20, p21, p22, p23, p24, p25, p26, p27;
+}
+
+/**
+ * Lock-free ring queue for any number of producers and consumers.
+ *
+ * Every slot has a sequence number that says whose turn it is: a slot at
+ * index i is free for the producer claiming i when its sequence is i, and
+ * holds an element for the consumer claiming i when it is i + 1. Producers
+ * and consumers claim indices with a CAS on their own padded counter and
+ * then hand the slot over by bumping its sequence. drain and fill claim
+ * slot by slot, since another thread may take any index in between.
+ */
+public final class MpmcRingQueue<E> extends MpmcPad2 implements RingQueue<E> {
+
+ private static final VarHandle PRODUCER_INDEX;
+ private static final VarHandle CONSUMER_INDEX;
+ private static final VarHandle SEQUENCE = MethodHandles.arrayElementVarHandle(long[].class);
+
+ static {
+     try {
+         MethodHandles.Lookup lookup = MethodHandles.lookup();
+         PRODUCER_INDEX = lookup.findVarHandle(MpmcProducerFields.class, "producerIndex", long.class);
+         CONSUMER_INDEX = lookup.findVarHandle(MpmcConsumerFields.class, "consumerIndex", long.class);
+     } catch (ReflectiveOperationException e) {
+         throw new ExceptionInInitializerError(e);
+     }
+ }
+
+ private final Object[] buffer;
+ private final long[] sequences;
+ private final int mask;
+
+ public MpmcRingQueue(int capacity) {
+     int size = RingQueue.ringCapacity(capacity);
+     buffer = new Object[size];
+     sequences = new long[size];
+     for (int i = 0; i < size; i++) {
+         sequences[i] = i;
+     }
+     mask = size - 1;
+ }
+
+ @Override
+ public boolean offer(E e) {
+     Objects.requireNonNull(e);
+     long p = claimProducerIndex();
+     if (p < 0) {
+         return false;
+     }
+     publish(p, e);
+     return true;
+ }
+
+ // claims the next producer index, or returns -1 if the ring is full
+ private long claimProducerIndex() {
+     while (true) {
+         long p = producerIndex;
+         long diff = (long) SEQUENCE.getAcquire(sequences, (int) p & mask) - p;
+         if (diff == 0) {
+             if (PRODUCER_INDEX.compareAndSet(this, p, p + 1)) {
+                 return p;
+             }
+         } else if (diff < 0) {
+             // the slot still holds the element from the previous lap
+             return -1;
+         }
+         // another producer claimed p first; retry with the next index
+     }
+ }
+
+ private void publish(long p, Object e) {
+     int slot = (int) p & mask;
+     buffer[slot] = e;
+     SEQUENCE.setRelease(sequences, slot, p + 1);
+ }
+
+ @Override
+ @SuppressWarnings("unchecked")
+ public E poll() {
+     while (true) {
+         long c = consumerIndex;
+         int slot = (int) c & mask;
+         long diff = (long) SEQUENCE.getAcquire(sequences, slot) - (c + 1);
+         if (diff == 0) {
+             if (CONSUMER_INDEX.compareAndSet(this, c, c + 1)) {
+                 E e = (E) buffer[slot];
+                 buffer[slot] = null;
+                 // free the slot for the producer one lap ahead
+                 SEQUENCE.setRelease(sequences, slot, c + mask + 1);
+                 return e;
+             }
+         } else if (diff < 0) {
+             return null;
+         }
+     }
+ }
+
+ @Override
+ public int drain(Consumer<? super E> consumer, int limit) {
+     int done = 0;
+     E e;
+     while (done < limit && (e = poll()) != null) {
+         done++;
+         consumer.accept(e);
+     }
+     return done;
+ }
+
+ /**
+  * Claims a slot before asking supplier for each element, so nothing is
+  * taken from it that cannot be stored. The supplier must not throw or
+  * return null, since a claimed slot cannot be given back.
+  */
+ @Override
+ public int fill(Supplier<? extends E> supplier, int limit) {
+     int done = 0;
+     while (done < limit) {
+         long p = claimProducerIndex();
+         if (p < 0) {
+             break;
+         }
+         publish(p, Objects.requireNonNull(supplier.get()));
+         done++;
+     }
+     return done;
+ }
+
+ @Override
+ public int size() {
+     // read consumer first so the difference is never understated by a
+     // consumer that moved after the producer index was read
+     long c = consumerIndex;
+     long p = producerIndex;
+     return (int) Math.max(0, Math.min(p - c, mask + 1));
+ }
+
+ @Override
+ public int capacity() {
+     return mask + 1;
+ }
+}
@@ -0,0 +1,142 @@
+package com.demo.datastructure;
+
+//File: QueueBenchmark.java
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Throughput and latency of SpscRingQueue and MpmcRingQueue against
+ * ArrayBlockingQueue. Producers and consumers spin on a full or empty queue,
+ * so the numbers mean most with at least as many free cores as threads.
+ *
+ * Throughput: one producer and one consumer pass Integer events through the
+ * queue, element at a time and in batches. Latency: two threads ping-pong
+ * one event over a pair of queues; half the round trip is reported.
+ */
+public class QueueBenchmark {
+
+ private static final int CAPACITY = 1 << 14;
+ private static final int EVENTS = 20_000_000;
+ private static final int BATCH = 256;
+ private static final int PINGS = 200_000;
+ private static final int ROUNDS = 3;
+
+ private static final Integer EVENT = 42;
+
+ // ArrayBlockingQueue seen through the same interface, without blocking
+ static final class BlockingAdapter<E> implements RingQueue<E> {
+     private final ArrayBlockingQueue<E> queue;
+
+     BlockingAdapter(int capacity) {
+         queue = new ArrayBlockingQueue<>(capacity);
+     }
+
+     public boolean offer(E e) { return queue.offer(e); }
+     public E poll() { return queue.poll(); }
+     public int size() { return queue.size(); }
+     public int capacity() { return queue.size() + queue.remainingCapacity(); }
+
+     public int drain(Consumer<? super E> consumer, int limit) {
+         int done = 0;
+         E e;
+         while (done < limit && (e = queue.poll()) != null) {
+             consumer.accept(e);
+             done++;
+         }
+         return done;
+     }
+
+     public int fill(Supplier<? extends E> supplier, int limit) {
+         int done = 0;
+         while (done < limit && queue.remainingCapacity() > 0 && queue.offer(supplier.get())) {
+             done++;
+         }
+         return done;
+     }
+ }
+
+ public static void main(String[] args) throws InterruptedException {
+     run("ArrayBlockingQueue", BlockingAdapter::new);
+     run("SpscRingQueue", SpscRingQueue::new);
+     run("MpmcRingQueue", MpmcRingQueue::new);
+ }
+
+ static void run(String name, IntFunction<RingQueue<Integer>> factory) throws InterruptedException {
+     System.out.println(name);
+     for (int round = 0; round < ROUNDS; round++) {
+         double single = throughput(factory.apply(CAPACITY), false);
+         double batched = throughput(factory.apply(CAPACITY), true);
+         double[] latency = pingPong(factory.apply(CAPACITY), factory.apply(CAPACITY));
+         System.out.printf("  round %d: %6.1f M/s single, %6.1f M/s batched, one-way p50 %.0f ns p99 %.0f ns%n",
+                 round, single / 1e6, batched / 1e6, latency[0], latency[1]);
+     }
+ }
+
+ static double throughput(RingQueue<Integer> queue, boolean batched) throws InterruptedException {
+     Supplier<Integer> event = () -> EVENT;
+     Thread producer = new Thread(() -> {
+         int sent = 0;
+         while (sent < EVENTS) {
+             if (batched) {
+                 int n = queue.fill(event, Math.min(BATCH, EVENTS - sent));
+                 if (n == 0) Thread.onSpinWait();
+                 sent += n;
+             } else if (queue.offer(EVENT)) {
+                 sent++;
+             } else {
+                 Thread.onSpinWait();
+             }
+         }
+     });
+
+     long start = System.nanoTime();
+     producer.start();
+     int received = 0;
+     Consumer<Integer> sink = e -> { };
+     while (received < EVENTS) {
+         if (batched) {
+             int n = queue.drain(sink, BATCH);
+             if (n == 0) spin();
+             received += n;
+         } else if (queue.poll() != null) {
+             received++;
+         } else {
+             spin();
+         }
+     }
+     long nanos = System.nanoTime() - start;
+     producer.join();
+     return EVENTS * 1e9 / nanos;
+ }
+
+ static double[] pingPong(RingQueue<Integer> ping, RingQueue<Integer> pong) throws InterruptedException {
+     Thread echo = new Thread(() -> {
+         for (int i = 0; i < PINGS; i++) {
+             Integer e;
+             while ((e = ping.poll()) == null) spin();
+             while (!pong.offer(e)) spin();
+         }
+     });
+     echo.start();
+
+     long[] nanos = new long[PINGS];
+     for (int i = 0; i < PINGS; i++) {
+         long start = System.nanoTime();
+         while (!ping.offer(EVENT)) spin();
+         while (pong.poll() == null) spin();
+         nanos[i] = (System.nanoTime() - start) / 2;
+     }
+     echo.join();
+     Arrays.sort(nanos);
+     return new double[] {nanos[PINGS / 2], nanos[PINGS * 99 / 100]};
+ }
+
+ private static void spin() {
+     Thread.onSpinWait();
+     // with fewer cores than threads, give the other side a chance to run
+     if (Runtime.getRuntime().availableProcessors() < 2) Thread.yield();
+ }
+}
@@ -0,0 +1,85 @@
+package com.demo.datastructure;
+
+//File: QuickSortBenchmark.java
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Times the sorts in this package against Arrays.sort and
+ * Arrays.parallelSort on random names. Every case sorts a fresh copy of the
+ * same input; each is warmed up and the median of the timed runs is shown.
+ * Pass the number of names as the first argument (default 10,000,000) and
+ * give the JVM a few GB of heap.
+ */
+public class QuickSortBenchmark {
+
+ private static final int WARMUP_RUNS = 2;
+ private static final int TIMED_RUNS = 5;
+
+ interface Sorter {
+     void sort(String[] a);
+ }
+
+ public static void main(String[] args) {
+     int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+     String[] names = randomNames(n, new Random(42));
+     String[] sorted = names.clone();
+     Arrays.parallelSort(sorted, String.CASE_INSENSITIVE_ORDER);
+
+     System.out.println(n + " random names");
+     time("Arrays.sort", names, a -> Arrays.sort(a, String.CASE_INSENSITIVE_ORDER));
+     time("Arrays.parallelSort", names, a -> Arrays.parallelSort(a, String.CASE_INSENSITIVE_ORDER));
+     time("IntroSort.sort", names, a -> IntroSort.sort(a, String.CASE_INSENSITIVE_ORDER));
+     time("IntroSort.parallelSort", names, a -> IntroSort.parallelSort(a, String.CASE_INSENSITIVE_ORDER));
+     time("StringSort.sortIgnoreCase", names, StringSort::sortIgnoreCase);
+     time("StringSort.parallel", names, StringSort::parallelSortIgnoreCase);
+
+     // already sorted input was the worst case of the old last-element pivot
+     System.out.println(n + " names, already sorted");
+     time("Arrays.parallelSort", sorted, a -> Arrays.parallelSort(a, String.CASE_INSENSITIVE_ORDER));
+     time("IntroSort.parallelSort", sorted, a -> IntroSort.parallelSort(a, String.CASE_INSENSITIVE_ORDER));
+     time("StringSort.parallel", sorted, StringSort::parallelSortIgnoreCase);
+ }
+
+ static void time(String name, String[] input, Sorter sorter) {
+     for (int r = 0; r < WARMUP_RUNS; r++) {
+         sorter.sort(input.clone());
+     }
+     long[] nanos = new long[TIMED_RUNS];
+     String[] a = null;
+     for (int r = 0; r < TIMED_RUNS; r++) {
+         a = input.clone();
+         long start = System.nanoTime();
+         sorter.sort(a);
+         nanos[r] = System.nanoTime() - start;
+     }
+     check(name, a);
+     Arrays.sort(nanos);
+     System.out.printf("  %-28s median %9.1f ms%n", name, nanos[TIMED_RUNS / 2] / 1e6);
+ }
+
+ static void check(String name, String[] a) {
+     for (int i = 1; i < a.length; i++) {
+         if (a[i - 1].compareToIgnoreCase(a[i]) > 0) {
+             throw new IllegalStateException(name + " left index " + i + " out of order");
+         }
+     }
+ }
+
+ static String[] randomNames(int n, Random random) {
+     String[] first = {"anna", "Ben", "carla", "David", "eve", "Frank", "grace", "Hugo", "ivy", "Jack"};
+     String[] names = new String[n];
+     StringBuilder sb = new StringBuilder();
+     for (int i = 0; i < n; i++) {
+         sb.setLength(0);
+         sb.append(first[random.nextInt(first.length)]).append(' ');
+         int length = 4 + random.nextInt(8);
+         for (int j = 0; j < length; j++) {
+             char c = (char) ('a' + random.nextInt(26));
+             sb.append(random.nextInt(4) == 0 ? Character.toUpperCase(c) : c);
+         }
+         names[i] = sb.toString();
+     }
+     return names;
+ }
+}
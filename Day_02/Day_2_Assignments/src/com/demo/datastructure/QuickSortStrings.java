@@ -4,31 +4,15 @@ package com.demo.datastructure;
 import java.util.Arrays;
 
 public class QuickSortStrings {
+ // Sorts arr[low..high] case-insensitively. Delegates to StringSort, which
+ // folds each string once and radix sorts the keys in parallel, instead of
+ // a last-element-pivot quicksort that goes quadratic on sorted input.
  public static void quickSort(String[] arr, int low, int high) {
      if (low < high) {
-         int pi = partition(arr, low, high);
-         quickSort(arr, low, pi - 1);
-         quickSort(arr, pi + 1, high);
+         StringSort.parallelSortIgnoreCase(arr, low, high + 1);
      }
  }
 
- private static int partition(String[] arr, int low, int high) {
-     String pivot = arr[high];
-     int i = (low - 1);
-     for (int j = low; j < high; j++) {
-         if (arr[j].compareToIgnoreCase(pivot) <= 0) {
-             i++;
-             String temp = arr[i];
-             arr[i] = arr[j];
-             arr[j] = temp;
-         }
-     }
-     String temp = arr[i + 1];
-     arr[i + 1] = arr[high];
-     arr[high] = temp;
-     return i + 1;
- }
-
  public static void main(String[] args) {
      String[] arr = {"cat", "dog", "buffelo", "sparrow", "cow"};
      quickSort(arr, 0, arr.length - 1);
@@ -0,0 +1,47 @@
+package com.demo.datastructure;
+
+//File: RingQueue.java
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, non-blocking queue backed by a power-of-two ring. offer and poll
+ * never wait: they report a full or empty queue by returning false or null.
+ * Null elements are not allowed.
+ */
+public interface RingQueue<E> {
+
+ boolean offer(E e);
+
+ E poll();
+
+ /**
+  * Removes up to limit elements and hands each to consumer in order.
+  * Returns the number removed.
+  */
+ int drain(Consumer<? super E> consumer, int limit);
+
+ /**
+  * Adds up to limit elements taken from supplier, stopping early when the
+  * queue is full. Returns the number added.
+  */
+ int fill(Supplier<? extends E> supplier, int limit);
+
+ /**
+  * Approximate under concurrent use.
+  */
+ int size();
+
+ int capacity();
+
+ default boolean isEmpty() {
+     return size() == 0;
+ }
+
+ static int ringCapacity(int requested) {
+     if (requested < 1 || requested > 1 << 30) {
+         throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + requested);
+     }
+     return Math.max(2, Integer.highestOneBit(requested - 1) << 1);
+ }
+}
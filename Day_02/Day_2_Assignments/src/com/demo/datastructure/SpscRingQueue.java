@@ -0,0 +1,162 @@
+package com.demo.datastructure;
+
+//File: SpscRingQueue.java
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Cache-line padding around the producer and consumer fields, so the two
+// threads never write to the same line. Fields are laid out superclass first.
+abstract class SpscPad0 {
+ long p00, p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class SpscProducerFields extends SpscPad0 {
+ long producerIndex;
+ // last consumerIndex the producer saw; only re-read when the ring looks full
+ long consumerIndexCache;
+}
+
+abstract class SpscPad1 extends SpscProducerFields {
+ long p10, p11, p12, p13, p14, p15, p16, p17;
+}
+
+abstract class SpscConsumerFields extends SpscPad1 {
+ long consumerIndex;
+ // last producerIndex the consumer saw; only re-read when the ring looks empty
+ long producerIndexCache;
+}
+
+abstract class SpscPad2 extends SpscConsumerFields {
+ long p20, p21, p22, p23, p24, p25, p26, p27;
+}
+
+/**
+ * Ring queue for exactly one producer thread and one consumer thread.
+ *
+ * Unlike CircularQueue it never needs front == -1 style checks: the indices
+ * only grow and the slot is index & mask. Each side keeps a cached copy of
+ * the other side's index and reads the shared one only when the cache says
+ * full or empty, so in steady state neither thread touches the other's
+ * cache line. drain and fill publish a whole batch with one release store.
+ */
+public final class SpscRingQueue<E> extends SpscPad2 implements RingQueue<E> {
+
+ private static final VarHandle PRODUCER_INDEX;
+ private static final VarHandle CONSUMER_INDEX;
+
+ static {
+     try {
+         MethodHandles.Lookup lookup = MethodHandles.lookup();
+         PRODUCER_INDEX = lookup.findVarHandle(SpscProducerFields.class, "producerIndex", long.class);
+         CONSUMER_INDEX = lookup.findVarHandle(SpscConsumerFields.class, "consumerIndex", long.class);
+     } catch (ReflectiveOperationException e) {
+         throw new ExceptionInInitializerError(e);
+     }
+ }
+
+ private final Object[] buffer;
+ private final int mask;
+
+ public SpscRingQueue(int capacity) {
+     int size = RingQueue.ringCapacity(capacity);
+     buffer = new Object[size];
+     mask = size - 1;
+ }
+
+ @Override
+ public boolean offer(E e) {
+     Objects.requireNonNull(e);
+     long p = producerIndex;
+     if (p - consumerIndexCache > mask) {
+         consumerIndexCache = (long) CONSUMER_INDEX.getAcquire(this);
+         if (p - consumerIndexCache > mask) {
+             return false;
+         }
+     }
+     buffer[(int) p & mask] = e;
+     PRODUCER_INDEX.setRelease(this, p + 1);
+     return true;
+ }
+
+ @Override
+ @SuppressWarnings("unchecked")
+ public E poll() {
+     long c = consumerIndex;
+     if (c >= producerIndexCache) {
+         producerIndexCache = (long) PRODUCER_INDEX.getAcquire(this);
+         if (c >= producerIndexCache) {
+             return null;
+         }
+     }
+     int slot = (int) c & mask;
+     E e = (E) buffer[slot];
+     buffer[slot] = null;
+     CONSUMER_INDEX.setRelease(this, c + 1);
+     return e;
+ }
+
+ @Override
+ @SuppressWarnings("unchecked")
+ public int drain(Consumer<? super E> consumer, int limit) {
+     long c = consumerIndex;
+     long available = producerIndexCache - c;
+     if (available < limit) {
+         producerIndexCache = (long) PRODUCER_INDEX.getAcquire(this);
+         available = producerIndexCache - c;
+     }
+     int n = (int) Math.min(available, limit);
+     int done = 0;
+     try {
+         while (done < n) {
+             int slot = (int) (c + done) & mask;
+             E e = (E) buffer[slot];
+             buffer[slot] = null;
+             done++;
+             consumer.accept(e);
+         }
+     } finally {
+         if (done > 0) {
+             CONSUMER_INDEX.setRelease(this, c + done);
+         }
+     }
+     return done;
+ }
+
+ @Override
+ public int fill(Supplier<? extends E> supplier, int limit) {
+     long p = producerIndex;
+     long free = mask + 1 - (p - consumerIndexCache);
+     if (free < limit) {
+         consumerIndexCache = (long) CONSUMER_INDEX.getAcquire(this);
+         free = mask + 1 - (p - consumerIndexCache);
+     }
+     int n = (int) Math.min(free, limit);
+     int done = 0;
+     try {
+         while (done < n) {
+             buffer[(int) (p + done) & mask] = Objects.requireNonNull(supplier.get());
+             done++;
+         }
+     } finally {
+         if (done > 0) {
+             PRODUCER_INDEX.setRelease(this, p + done);
+         }
+     }
+     return done;
+ }
+
+ @Override
+ public int size() {
+     long c = (long) CONSUMER_INDEX.getAcquire(this);
+     long p = (long) PRODUCER_INDEX.getAcquire(this);
+     return (int) Math.max(0, Math.min(p - c, mask + 1));
+ }
+
+ @Override
+ public int capacity() {
+     return mask + 1;
+ }
+}
@@ -0,0 +1,213 @@
+package com.demo.datastructure;
+
+//File: StringSort.java
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Case-insensitive string sorting, ordered like compareToIgnoreCase.
+ *
+ * Each string is case-folded once into a key up front. The keys are then
+ * sorted with a three-way radix quicksort (MSD, one character at a time), so
+ * a shared prefix is examined once per level instead of once per comparison.
+ * Strings that are already folded are used as their own key.
+ */
+public final class StringSort {
+
+ // ranges this small are insertion sorted on the remaining suffix
+ private static final int INSERTION_THRESHOLD = 16;
+
+ private StringSort() {
+ }
+
+ public static void sortIgnoreCase(String[] a) {
+     sortIgnoreCase(a, 0, a.length);
+ }
+
+ /**
+  * Sorts a[from, to) case-insensitively.
+  */
+ public static void sortIgnoreCase(String[] a, int from, int to) {
+     IntroSort.checkRange(a.length, from, to);
+     int n = to - from;
+     String[] keys = foldAll(a, from, to);
+     String[] values = new String[n];
+     System.arraycopy(a, from, values, 0, n);
+     radixSort(keys, values, 0, n, 0);
+     System.arraycopy(values, 0, a, from, n);
+ }
+
+ public static void parallelSortIgnoreCase(String[] a) {
+     parallelSortIgnoreCase(a, 0, a.length);
+ }
+
+ public static void parallelSortIgnoreCase(String[] a, int from, int to) {
+     IntroSort.checkRange(a.length, from, to);
+     int n = to - from;
+     if (n < IntroSort.PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2) {
+         sortIgnoreCase(a, from, to);
+         return;
+     }
+     String[] keys = new String[n];
+     String[] values = new String[n];
+     System.arraycopy(a, from, values, 0, n);
+     // folding is independent per element, so it is done in parallel too
+     Arrays.parallelSetAll(keys, i -> fold(values[i]));
+     ForkJoinPool.commonPool().invoke(new SortTask(keys, values, 0, n, 0));
+     System.arraycopy(values, 0, a, from, n);
+ }
+
+ /**
+  * The case-folded key of s: each char mapped the way compareToIgnoreCase
+  * compares it, through upper case and back to lower case.
+  */
+ static String fold(String s) {
+     int length = s.length();
+     int i = 0;
+     while (i < length && foldChar(s.charAt(i)) == s.charAt(i)) {
+         i++;
+     }
+     if (i == length) {
+         return s;
+     }
+     char[] folded = s.toCharArray();
+     for (; i < length; i++) {
+         folded[i] = foldChar(folded[i]);
+     }
+     return new String(folded);
+ }
+
+ private static char foldChar(char c) {
+     if (c < 128) {
+         return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+     }
+     return Character.toLowerCase(Character.toUpperCase(c));
+ }
+
+ private static String[] foldAll(String[] a, int from, int to) {
+     String[] keys = new String[to - from];
+     for (int i = from; i < to; i++) {
+         keys[i - from] = fold(a[i]);
+     }
+     return keys;
+ }
+
+ // char at d, or -1 past the end so shorter strings sort first
+ private static int charAt(String s, int d) {
+     return d < s.length() ? s.charAt(d) : -1;
+ }
+
+ /**
+  * Sorts keys[lo, hi) and values alongside, assuming all keys in the range
+  * share their first d chars.
+  */
+ private static void radixSort(String[] keys, String[] values, int lo, int hi, int d) {
+     // the equal-char partition loops to the next char, the other two recurse
+     while (hi - lo > INSERTION_THRESHOLD) {
+         int v = pivotChar(keys, lo, hi, d);
+         long bounds = partition(keys, values, lo, hi, d, v);
+         int lt = (int) (bounds >>> 32), gt = (int) bounds;
+         radixSort(keys, values, lo, lt, d);
+         radixSort(keys, values, gt, hi, d);
+         if (v < 0) {
+             // every key in [lt, gt) has ended and they are all equal
+             return;
+         }
+         lo = lt;
+         hi = gt;
+         d++;
+     }
+     insertionSort(keys, values, lo, hi, d);
+ }
+
+ private static int pivotChar(String[] keys, int lo, int hi, int d) {
+     int a = charAt(keys[lo], d);
+     int b = charAt(keys[(lo + hi) >>> 1], d);
+     int c = charAt(keys[hi - 1], d);
+     return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+ }
+
+ // three-way partition on the char at d; returns lt and gt packed into a long
+ private static long partition(String[] keys, String[] values, int lo, int hi, int d, int v) {
+     int lt = lo, i = lo, gt = hi;
+     while (i < gt) {
+         int t = charAt(keys[i], d);
+         if (t < v) {
+             swap(keys, values, lt++, i++);
+         } else if (t > v) {
+             swap(keys, values, i, --gt);
+         } else {
+             i++;
+         }
+     }
+     return ((long) lt << 32) | (gt & 0xFFFFFFFFL);
+ }
+
+ private static void insertionSort(String[] keys, String[] values, int lo, int hi, int d) {
+     for (int i = lo + 1; i < hi; i++) {
+         String key = keys[i];
+         String value = values[i];
+         int j = i - 1;
+         while (j >= lo && compareFrom(keys[j], key, d) > 0) {
+             keys[j + 1] = keys[j];
+             values[j + 1] = values[j];
+             j--;
+         }
+         keys[j + 1] = key;
+         values[j + 1] = value;
+     }
+ }
+
+ private static int compareFrom(String x, String y, int d) {
+     int n = Math.min(x.length(), y.length());
+     for (int i = d; i < n; i++) {
+         char a = x.charAt(i), b = y.charAt(i);
+         if (a != b) {
+             return a - b;
+         }
+     }
+     return x.length() - y.length();
+ }
+
+ private static void swap(String[] keys, String[] values, int i, int j) {
+     String key = keys[i];
+     keys[i] = keys[j];
+     keys[j] = key;
+     String value = values[i];
+     values[i] = values[j];
+     values[j] = value;
+ }
+
+ private static final class SortTask extends RecursiveAction {
+     private static final long serialVersionUID = 1L;
+
+     private final String[] keys, values;
+     private final int lo, hi, d;
+
+     SortTask(String[] keys, String[] values, int lo, int hi, int d) {
+         this.keys = keys;
+         this.values = values;
+         this.lo = lo;
+         this.hi = hi;
+         this.d = d;
+     }
+
+     @Override
+     protected void compute() {
+         if (hi - lo < IntroSort.PARALLEL_THRESHOLD) {
+             radixSort(keys, values, lo, hi, d);
+             return;
+         }
+         int v = pivotChar(keys, lo, hi, d);
+         long bounds = partition(keys, values, lo, hi, d, v);
+         int lt = (int) (bounds >>> 32), gt = (int) bounds;
+         if (v < 0) {
+             invokeAll(new SortTask(keys, values, lo, lt, d), new SortTask(keys, values, gt, hi, d));
+         } else {
+             invokeAll(new SortTask(keys, values, lo, lt, d), new SortTask(keys, values, lt, gt, d + 1),
+                     new SortTask(keys, values, gt, hi, d));
+         }
+     }
+ }
+}
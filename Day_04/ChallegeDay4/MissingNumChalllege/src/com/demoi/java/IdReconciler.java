@@ -0,0 +1,334 @@
+package com.demoi.java;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Reconciles a stream of IDs against the expected range [minId, maxId] and
+ * reports every ID that is missing or appears more than once.
+ *
+ * Seen IDs are kept in a bitmap of one bit per ID in the range, plus a second
+ * bitmap for IDs seen again, so memory is range / 4 bytes however many IDs
+ * are read (about 250MB for a billion-wide range). IDs outside the range are
+ * only counted.
+ *
+ * Sources can be int arrays, IntStreams (parallel ones included), binary
+ * files of big-endian 4-byte ints, or text files of decimal IDs separated by
+ * whitespace or commas. Files are memory-mapped and scanned in parallel in
+ * CHUNK_BYTES pieces; concurrent scans set bits with atomic ORs.
+ */
+public class IdReconciler implements IntConsumer {
+
+    static final long CHUNK_BYTES = 64L << 20;
+
+    // longest token a text chunk may need to finish reading past its end
+    private static final int MAX_TOKEN_BYTES = 32;
+
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final int minId;
+    private final long range;
+    private final long[] seen;
+    private final long[] repeated;
+
+    private final LongAdder records = new LongAdder();
+    private final LongAdder outOfRange = new LongAdder();
+    private final LongAdder malformed = new LongAdder();
+
+    public IdReconciler(int minId, int maxId) {
+        if (maxId < minId) {
+            throw new IllegalArgumentException("maxId " + maxId + " is below minId " + minId);
+        }
+        this.minId = minId;
+        this.range = (long) maxId - minId + 1;
+        int words = (int) ((range + 63) >>> 6);
+        seen = new long[words];
+        repeated = new long[words];
+    }
+
+    /**
+     * Records one ID. Not thread-safe; parallel sources use the atomic path.
+     */
+    @Override
+    public void accept(int id) {
+        records.increment();
+        recordPlain(id);
+    }
+
+    public IdReconciler accept(int[] ids) {
+        for (int id : ids) {
+            recordPlain(id);
+        }
+        records.add(ids.length);
+        return this;
+    }
+
+    public IdReconciler accept(IntStream ids) {
+        if (ids.isParallel()) {
+            ids.forEach(this::acceptConcurrently);
+        } else {
+            long[] count = {0};
+            ids.forEach(id -> {
+                recordPlain(id);
+                count[0]++;
+            });
+            records.add(count[0]);
+        }
+        return this;
+    }
+
+    private void recordPlain(int id) {
+        long bit = (long) id - minId;
+        if (bit < 0 || bit >= range) {
+            outOfRange.increment();
+            return;
+        }
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        if ((seen[word] & mask) != 0) {
+            repeated[word] |= mask;
+        } else {
+            seen[word] |= mask;
+        }
+    }
+
+    /**
+     * Reads a file of big-endian 4-byte ints, in parallel chunks. A trailing
+     * partial int is counted as malformed.
+     */
+    public IdReconciler readBinary(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size % Integer.BYTES != 0) {
+                malformed.increment();
+            }
+            long usable = size - size % Integer.BYTES;
+            forEachChunk(usable, (start, end) -> scanBinary(channel, start, end));
+        }
+        return this;
+    }
+
+    /**
+     * Reads a text file of decimal IDs separated by any non-digit bytes
+     * (newlines, spaces, commas), in parallel chunks. A chunk owns the tokens
+     * that start inside it.
+     */
+    public IdReconciler readText(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            forEachChunk(size, (start, end) -> scanText(channel, size, start, end));
+        }
+        return this;
+    }
+
+    /**
+     * IDs in the range that were never seen.
+     */
+    public long missingCount() {
+        long present = 0;
+        for (long word : seen) {
+            present += Long.bitCount(word);
+        }
+        return range - present;
+    }
+
+    /**
+     * Distinct IDs in the range seen more than once.
+     */
+    public long duplicateCount() {
+        long count = 0;
+        for (long word : repeated) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public long recordCount() {
+        return records.sum();
+    }
+
+    public long outOfRangeCount() {
+        return outOfRange.sum();
+    }
+
+    public long malformedCount() {
+        return malformed.sum();
+    }
+
+    public void forEachMissing(IntConsumer action) {
+        for (int w = 0; w < seen.length; w++) {
+            long absent = ~seen[w];
+            if (w == seen.length - 1 && (range & 63) != 0) {
+                absent &= (1L << range) - 1;
+            }
+            forEachBit(w, absent, action);
+        }
+    }
+
+    public void forEachDuplicate(IntConsumer action) {
+        for (int w = 0; w < repeated.length; w++) {
+            forEachBit(w, repeated[w], action);
+        }
+    }
+
+    /**
+     * Up to limit missing IDs in ascending order.
+     */
+    public int[] missing(int limit) {
+        return collect(true, limit);
+    }
+
+    /**
+     * Up to limit duplicated IDs in ascending order.
+     */
+    public int[] duplicates(int limit) {
+        return collect(false, limit);
+    }
+
+    private int[] collect(boolean missing, int limit) {
+        long available = missing ? missingCount() : duplicateCount();
+        int[] out = new int[(int) Math.min(available, limit)];
+        int[] count = {0};
+        IntConsumer add = id -> {
+            if (count[0] < out.length) {
+                out[count[0]++] = id;
+            }
+        };
+        if (missing) {
+            forEachMissing(add);
+        } else {
+            forEachDuplicate(add);
+        }
+        return out;
+    }
+
+    private void forEachBit(int word, long bits, IntConsumer action) {
+        while (bits != 0) {
+            int b = Long.numberOfTrailingZeros(bits);
+            action.accept((int) (minId + ((long) word << 6) + b));
+            bits &= bits - 1;
+        }
+    }
+
+    // Same as accept, safe to call from several threads at once
+    private void acceptConcurrently(int id) {
+        records.increment();
+        record(id);
+    }
+
+    // atomic version of recordPlain; records are counted by the caller
+    private void record(int id) {
+        long bit = (long) id - minId;
+        if (bit < 0 || bit >= range) {
+            outOfRange.increment();
+            return;
+        }
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long before = (long) WORDS.getAndBitwiseOr(seen, word, mask);
+        if ((before & mask) != 0) {
+            WORDS.getAndBitwiseOr(repeated, word, mask);
+        }
+    }
+
+    private interface ChunkScan {
+        void scan(long start, long end) throws IOException;
+    }
+
+    private static void forEachChunk(long size, ChunkScan scan) throws IOException {
+        long chunks = (size + CHUNK_BYTES - 1) / CHUNK_BYTES;
+        try {
+            IntStream.range(0, (int) chunks).parallel().forEach(c -> {
+                long start = c * CHUNK_BYTES;
+                try {
+                    scan.scan(start, Math.min(size, start + CHUNK_BYTES));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void scanBinary(FileChannel channel, long start, long end) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        IntBuffer ints = mapped.order(ByteOrder.BIG_ENDIAN).asIntBuffer();
+        int count = ints.remaining();
+        for (int i = 0; i < count; i++) {
+            record(ints.get(i));
+        }
+        records.add(count);
+    }
+
+    private void scanText(FileChannel channel, long size, long start, long end) throws IOException {
+        // map one byte before the chunk, to see whether a token crosses into
+        // it, and a little after, to finish the last token the chunk owns
+        long from = Math.max(0, start - 1);
+        long to = Math.min(size, end + MAX_TOKEN_BYTES);
+        MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+        int limit = (int) (end - from);
+        int length = (int) (to - from);
+
+        int i = (int) (start - from);
+        if (start > 0 && isTokenByte(bytes.get(i - 1))) {
+            // the token under the boundary belongs to the previous chunk
+            while (i < length && isTokenByte(bytes.get(i))) {
+                i++;
+            }
+        }
+
+        long count = 0;
+        while (i < limit) {
+            byte b = bytes.get(i);
+            if (!isTokenByte(b)) {
+                i++;
+                continue;
+            }
+            boolean negative = b == '-';
+            int j = negative ? i + 1 : i;
+            long value = 0;
+            boolean valid = j < length && isDigit(bytes.get(j));
+            while (j < length && isTokenByte(bytes.get(j))) {
+                byte d = bytes.get(j++);
+                if (!isDigit(d) || value > Integer.MAX_VALUE + 1L) {
+                    valid = false;
+                } else {
+                    value = value * 10 + (d - '0');
+                }
+            }
+            if (j == length && to < size) {
+                // the token runs past the mapped overlap
+                valid = false;
+            }
+            value = negative ? -value : value;
+            if (valid && value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                record((int) value);
+                count++;
+            } else {
+                malformed.increment();
+            }
+            i = j;
+        }
+        records.add(count);
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isTokenByte(byte b) {
+        return isDigit(b) || b == '-';
+    }
+}
@@ -1,19 +1,52 @@
 package com.demoi.java;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
 public class MissingNumberFinder {
     public static int findMissing(int[] arr) {
         int n = arr.length;
-        int expectedSum = (n * (n + 1)) / 2;
-        int actualSum = 0;
+        // long arithmetic: n * (n + 1) overflows an int above ~46k elements
+        long expectedSum = (long) n * (n + 1) / 2;
+        long actualSum = 0;
 
         for (int num : arr) {
             actualSum += num;
         }
 
-        return expectedSum - actualSum;
+        return (int) (expectedSum - actualSum);
+    }
+
+    /**
+     * The one number of 0..n missing from n streamed values, using XOR so
+     * nothing can overflow and the stream may be parallel.
+     */
+    public static int findMissing(IntStream values, int n) {
+        int expected = xorUpTo(n);
+        return expected ^ values.reduce(0, (a, b) -> a ^ b);
+    }
+
+    // 0 ^ 1 ^ ... ^ n in O(1)
+    static int xorUpTo(int n) {
+        switch (n & 3) {
+        case 0:
+            return n;
+        case 1:
+            return 1;
+        case 2:
+            return n + 1;
+        default:
+            return 0;
+        }
     }
 
     public static void main(String[] args) {
         int[] arr = {3, 0, 1};
         System.out.println("Missing number is: " + findMissing(arr)); // Output: 2
+
+        // the same check over a range, reporting every gap and repeat
+        IdReconciler reconciler = new IdReconciler(0, 9).accept(new int[] {0, 1, 2, 4, 4, 5, 7, 8, 9});
+        System.out.println("Missing: " + Arrays.toString(reconciler.missing(10))
+                + ", duplicated: " + Arrays.toString(reconciler.duplicates(10)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.demoi.java;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput of IdReconciler over arrays, streams and files. Writes a
+ * shuffled export of 0..n-1 with a few IDs dropped and a few repeated, as
+ * binary and as text, then reconciles each source and reports IDs per
+ * second. Pass n as the first argument (default 100,000,000).
+ */
+public class ReconcileBenchmark {
+
+    private static final int DROPPED = 1000;
+    private static final int ROUNDS = 3;
+
+    interface Source {
+        IdReconciler read(IdReconciler reconciler) throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100_000_000;
+        int[] ids = export(n, new Random(42));
+
+        Path dir = Files.createTempDirectory("reconcile");
+        Path binary = dir.resolve("ids.bin");
+        Path text = dir.resolve("ids.txt");
+        writeBinary(binary, ids);
+        writeText(text, ids);
+        System.out.printf("%d ids, binary %d MB, text %d MB%n", ids.length,
+                Files.size(binary) >> 20, Files.size(text) >> 20);
+
+        try {
+            time("int[]", n, ids.length, r -> r.accept(ids));
+            time("IntStream", n, ids.length, r -> r.accept(IntStream.of(ids)));
+            time("parallel IntStream", n, ids.length, r -> r.accept(IntStream.of(ids).parallel()));
+            time("binary file (mapped)", n, ids.length, r -> r.readBinary(binary));
+            time("text file (mapped)", n, ids.length, r -> r.readText(text));
+        } finally {
+            Files.delete(binary);
+            Files.delete(text);
+            Files.delete(dir);
+        }
+    }
+
+    static void time(String name, int n, int records, Source source) throws IOException {
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            IdReconciler reconciler = source.read(new IdReconciler(0, n - 1));
+            long nanos = System.nanoTime() - start;
+            if (reconciler.missingCount() != DROPPED || reconciler.duplicateCount() != DROPPED
+                    || reconciler.recordCount() != records) {
+                throw new IllegalStateException(name + " reconciled wrongly: " + reconciler.missingCount()
+                        + " missing, " + reconciler.duplicateCount() + " duplicated");
+            }
+            System.out.printf("  %-22s %8.1f M ids/s%n", name, records * 1e3 / nanos);
+        }
+    }
+
+    // 0..n-1 shuffled, with the first DROPPED slots overwritten by repeats
+    static int[] export(int n, Random random) {
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = ids[i];
+            ids[i] = ids[j];
+            ids[j] = t;
+        }
+        for (int i = 0; i < DROPPED; i++) {
+            ids[i] = ids[n - 1 - i];
+        }
+        return ids;
+    }
+
+    static void writeBinary(Path file, int[] ids) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            for (int id : ids) {
+                out.writeInt(id);
+            }
+        }
+    }
+
+    static void writeText(Path file, int[] ids) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            for (int id : ids) {
+                out.write(Integer.toString(id).getBytes(StandardCharsets.US_ASCII));
+                out.write('\n');
+            }
+        }
+    }
+}
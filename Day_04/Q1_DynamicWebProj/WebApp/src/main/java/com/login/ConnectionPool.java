@@ -0,0 +1,285 @@
+package com.login;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small, bounded JDBC connection pool for the login database.
+ *
+ * Connections are opened lazily up to maxSize and handed out wrapped in a
+ * proxy whose close() returns the connection to the pool instead of closing
+ * it. A connection that has been idle for longer than validateAfterMillis is
+ * checked with Connection.isValid() before it is handed out again, and
+ * replaced if the check fails. Statements created through the proxy are
+ * wrapped too, so getConnection() never exposes the physical connection, and
+ * the ones still open are closed when the connection is given back.
+ */
+public class ConnectionPool {
+
+  private final String url;
+  private final Properties connectionProperties;
+  private final int maxSize;
+  private final long borrowTimeoutMillis;
+  private final long validateAfterMillis;
+  private final int validationTimeoutSeconds;
+
+  // permits for connections that may still be handed out
+  private final Semaphore permits;
+  private final BlockingQueue<PooledConnection> idle = new LinkedBlockingQueue<>();
+
+  private volatile boolean closed = false;
+
+  public ConnectionPool(String url, Properties connectionProperties, int maxSize, long borrowTimeoutMillis,
+      long validateAfterMillis, int validationTimeoutSeconds) {
+    this.url = url;
+    this.connectionProperties = connectionProperties;
+    this.borrowTimeoutMillis = borrowTimeoutMillis;
+    this.validateAfterMillis = validateAfterMillis;
+    this.validationTimeoutSeconds = validationTimeoutSeconds;
+    this.maxSize = maxSize;
+    this.permits = new Semaphore(maxSize, true);
+  }
+
+  /**
+   * Opens the given number of connections up front so the first requests
+   * don't pay for the handshake. Never opens more than maxSize connections
+   * in total, counting the idle and the borrowed ones.
+   */
+  public void warmUp(int count) throws SQLException {
+    int borrowed = maxSize - permits.availablePermits();
+    int missing = maxSize - borrowed - idle.size();
+    for (int i = 0; i < Math.min(count, missing); i++) {
+      idle.offer(new PooledConnection(DriverManager.getConnection(url, connectionProperties)));
+    }
+  }
+
+  /**
+   * Borrows a connection. Closing the returned connection gives it back to
+   * the pool.
+   */
+  public Connection getConnection() throws SQLException {
+    if (closed) {
+      throw new SQLException("Connection pool is closed.");
+    }
+
+    try {
+      if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        throw new SQLException("Timed out waiting for a database connection.");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a database connection.", e);
+    }
+
+    try {
+      PooledConnection pooled;
+      while ((pooled = idle.poll()) != null) {
+        if (isHealthy(pooled)) {
+          return pooled.lease();
+        }
+        closeQuietly(pooled.physical);
+      }
+      return new PooledConnection(DriverManager.getConnection(url, connectionProperties)).lease();
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  public int getIdleCount() {
+    return idle.size();
+  }
+
+  public void close() {
+    closed = true;
+    PooledConnection pooled;
+    while ((pooled = idle.poll()) != null) {
+      closeQuietly(pooled.physical);
+    }
+  }
+
+  private boolean isHealthy(PooledConnection pooled) {
+    if (System.currentTimeMillis() - pooled.lastUsed < validateAfterMillis) {
+      return true;
+    }
+    try {
+      return pooled.physical.isValid(validationTimeoutSeconds);
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  private void giveBack(PooledConnection pooled) {
+    try {
+      // don't hand out a connection in the middle of a transaction
+      if (!pooled.physical.getAutoCommit()) {
+        pooled.physical.rollback();
+        pooled.physical.setAutoCommit(true);
+      }
+      // undo session settings the last borrower may have changed
+      if (pooled.physical.isReadOnly() != pooled.initialReadOnly) {
+        pooled.physical.setReadOnly(pooled.initialReadOnly);
+      }
+      if (pooled.physical.getTransactionIsolation() != pooled.initialIsolation) {
+        pooled.physical.setTransactionIsolation(pooled.initialIsolation);
+      }
+      if (pooled.initialCatalog != null && !pooled.initialCatalog.equals(pooled.physical.getCatalog())) {
+        pooled.physical.setCatalog(pooled.initialCatalog);
+      }
+      pooled.lastUsed = System.currentTimeMillis();
+      if (closed) {
+        closeQuietly(pooled.physical);
+      } else {
+        idle.offer(pooled);
+      }
+    } catch (SQLException e) {
+      closeQuietly(pooled.physical);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private static void closeQuietly(Connection con) {
+    try {
+      con.close();
+    } catch (SQLException e) {
+      // nothing more to do with a broken connection
+    }
+  }
+
+  private static void closeQuietly(Statement stmt) {
+    try {
+      stmt.close();
+    } catch (SQLException e) {
+      // the connection is reset or closed next anyway
+    }
+  }
+
+  private final class PooledConnection {
+    private final Connection physical;
+    private final boolean initialReadOnly;
+    private final int initialIsolation;
+    private final String initialCatalog;
+    private volatile long lastUsed = System.currentTimeMillis();
+
+    PooledConnection(Connection physical) throws SQLException {
+      this.physical = physical;
+      try {
+        this.initialReadOnly = physical.isReadOnly();
+        this.initialIsolation = physical.getTransactionIsolation();
+        this.initialCatalog = physical.getCatalog();
+      } catch (SQLException e) {
+        closeQuietly(physical);
+        throw e;
+      }
+    }
+
+    Connection lease() {
+      return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+          new Class<?>[] { Connection.class }, new Lease(this));
+    }
+  }
+
+  // one borrow of a pooled connection; closing it twice returns it only once
+  private final class Lease implements InvocationHandler {
+    private final PooledConnection pooled;
+    private boolean released = false;
+
+    // physical statements created through this lease and not closed yet
+    private final Set<Statement> openStatements = ConcurrentHashMap.newKeySet();
+
+    Lease(PooledConnection pooled) {
+      this.pooled = pooled;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+      case "close":
+        if (!released) {
+          released = true;
+          // the next borrower must not inherit open statements
+          for (Statement stmt : openStatements) {
+            closeQuietly(stmt);
+          }
+          openStatements.clear();
+          giveBack(pooled);
+        }
+        return null;
+      case "isClosed":
+        return released || pooled.physical.isClosed();
+      case "equals":
+        return proxy == args[0];
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      default:
+        // unwrap() too: the physical connection may already be lent to someone else
+        if (released) {
+          throw new SQLException("Connection has already been returned to the pool.");
+        }
+      }
+      Object result;
+      try {
+        result = method.invoke(pooled.physical, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+      // createStatement(), prepareStatement() and prepareCall()
+      if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+        Statement stmt = (Statement) result;
+        openStatements.add(stmt);
+        return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] { method.getReturnType() }, new LeasedStatement((Connection) proxy, stmt, openStatements));
+      }
+      return result;
+    }
+  }
+
+  // a statement created through a lease; getConnection() returns the lease, not the physical connection
+  private static final class LeasedStatement implements InvocationHandler {
+    private final Connection connection;
+    private final Statement statement;
+    private final Set<Statement> openStatements;
+
+    LeasedStatement(Connection connection, Statement statement, Set<Statement> openStatements) {
+      this.connection = connection;
+      this.statement = statement;
+      this.openStatements = openStatements;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+      case "getConnection":
+        return connection;
+      case "close":
+        openStatements.remove(statement);
+        break;
+      case "equals":
+        return proxy == args[0];
+      case "hashCode":
+        return System.identityHashCode(proxy);
+      default:
+        break;
+      }
+      try {
+        return method.invoke(statement, args);
+      } catch (InvocationTargetException e) {
+        throw e.getCause();
+      }
+    }
+  }
+}
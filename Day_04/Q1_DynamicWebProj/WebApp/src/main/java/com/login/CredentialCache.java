@@ -0,0 +1,92 @@
+package com.login;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of stored password hashes by login id, including
+ * "no such user" results, so repeated attempts don't reach MySQL.
+ *
+ * Only the stored hash is cached; every attempt is still verified against
+ * it. Lookups and updates never block each other.
+ */
+public class CredentialCache {
+
+  private final long ttlMillis;
+  private final long negativeTtlMillis;
+  private final int maxSize;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  public CredentialCache(long ttlMillis, long negativeTtlMillis, int maxSize) {
+    this.ttlMillis = ttlMillis;
+    this.negativeTtlMillis = negativeTtlMillis;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Returns the cached entry, or null if the login id is not cached or the
+   * entry expired. A returned entry with a null hash means "no such user".
+   */
+  public Entry get(String loginId) {
+    Entry entry = entries.get(loginId);
+    if (entry == null) {
+      return null;
+    }
+    if (System.currentTimeMillis() > entry.expiresAt) {
+      entries.remove(loginId, entry);
+      return null;
+    }
+    return entry;
+  }
+
+  public void putFound(String loginId, String storedHash) {
+    put(loginId, new Entry(storedHash, System.currentTimeMillis() + ttlMillis));
+  }
+
+  public void putNotFound(String loginId) {
+    put(loginId, new Entry(null, System.currentTimeMillis() + negativeTtlMillis));
+  }
+
+  public void invalidate(String loginId) {
+    entries.remove(loginId);
+  }
+
+  private void put(String loginId, Entry entry) {
+    if (entries.size() >= maxSize) {
+      evictExpired();
+      // still full: drop everything rather than grow without bound
+      if (entries.size() >= maxSize) {
+        entries.clear();
+      }
+    }
+    entries.put(loginId, entry);
+  }
+
+  private void evictExpired() {
+    long now = System.currentTimeMillis();
+    for (Iterator<Entry> it = entries.values().iterator(); it.hasNext();) {
+      if (now > it.next().expiresAt) {
+        it.remove();
+      }
+    }
+  }
+
+  public static final class Entry {
+    private final String storedHash;
+    private final long expiresAt;
+
+    Entry(String storedHash, long expiresAt) {
+      this.storedHash = storedHash;
+      this.expiresAt = expiresAt;
+    }
+
+    public String getStoredHash() {
+      return storedHash;
+    }
+
+    public boolean isFound() {
+      return storedHash != null;
+    }
+  }
+}
@@ -1,52 +1,97 @@
 package com.login;
 
 import java.io.*;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import javax.servlet.*;
 import javax.servlet.http.*;
 import java.sql.*;
 
 public class LoginServlet extends HttpServlet {
+
+  private ConnectionPool pool;
+  private PasswordHasher hasher;
+  private CredentialCache cache;
+  private LoginThrottle throttle;
+
+  // one database lookup per login id at a time, concurrent attempts share it
+  private final ConcurrentHashMap<String, CompletableFuture<String>> lookups = new ConcurrentHashMap<>();
+
+  @Override
+  public void init() throws ServletException {
+    try {
+      Class.forName(param("db.driver", "com.mysql.cj.jdbc.Driver"));
+    } catch (ClassNotFoundException e) {
+      throw new ServletException("Error loading database driver.", e);
+    }
+
+    Properties props = new Properties();
+    props.setProperty("user", param("db.user", "root"));
+    props.setProperty("password", param("db.password", ""));
+    props.setProperty("cachePrepStmts", "true");
+
+    pool = new ConnectionPool(
+        param("db.url", "jdbc:mysql://localhost:3306/userdb"),
+        props,
+        intParam("db.pool.maxSize", 10),
+        intParam("db.pool.borrowTimeoutMillis", 5000),
+        intParam("db.pool.validateAfterMillis", 30000),
+        intParam("db.pool.validationTimeoutSeconds", 2));
+
+    hasher = new PasswordHasher(intParam("login.pbkdf2Iterations", 310000));
+    cache = new CredentialCache(
+        intParam("login.cacheTtlMillis", 60000),
+        intParam("login.negativeCacheTtlMillis", 10000),
+        intParam("login.cacheMaxSize", 10000));
+    throttle = new LoginThrottle(
+        intParam("login.maxFailures", 5),
+        intParam("login.failureWindowMillis", 60000),
+        intParam("login.lockoutMillis", 60000),
+        intParam("login.maxTracked", 10000));
+  }
+
+  @Override
+  public void destroy() {
+    pool.close();
+  }
+
   protected void doPost(HttpServletRequest request, HttpServletResponse response)
       throws ServletException, IOException {
 
-    System.out.println("🚀 LoginServlet triggered");
-
     String loginId = request.getParameter("login_id");
     String password = request.getParameter("password");
 
     loginId = loginId != null ? loginId.trim() : "";
     password = password != null ? password.trim() : "";
 
-    System.out.println("Login ID received: " + loginId);
-    System.out.println("Password received: " + password);
-
     boolean isValid = false;
+    String message = "Invalid login. Try again.";
 
-    try {
-      Class.forName("com.mysql.cj.jdbc.Driver");
-      Connection con = DriverManager.getConnection(
-        "jdbc:mysql://localhost:3306/userdb", "root", "sharvari");
-
-      PreparedStatement ps = con.prepareStatement(
-        "SELECT * FROM users WHERE login_id=? AND password=?");
-      ps.setString(1, loginId);
-      ps.setString(2, password);
+    if (throttle.isLocked(loginId)) {
+      // refused without touching the database or hashing
+      message = "Too many failed attempts. Try again later.";
+      log("Login locked out for: " + loginId);
+    } else {
+      try {
+        String stored = lookupStoredPassword(loginId);
 
-      ResultSet rs = ps.executeQuery();
+        // the slow hash runs here, outside any lock, even for unknown ids
+        isValid = hasher.verify(password, stored);
 
-      if (rs.next()) {
-        System.out.println("✅ Match found in DB");
-        isValid = true;
-      } else {
-        System.out.println("❌ No match found in DB");
+        if (isValid) {
+          throttle.recordSuccess(loginId);
+          if (hasher.needsRehash(stored)) {
+            upgradeHash(loginId, password);
+          }
+        } else {
+          throttle.recordFailure(loginId);
+        }
+      } catch (SQLException e) {
+        log("Login lookup failed for: " + loginId, e);
+        message = "Login is unavailable. Try again later.";
       }
-
-      rs.close();
-      ps.close();
-      con.close();
-    } catch (Exception e) {
-      System.out.println("🚨 Exception occurred:");
-      e.printStackTrace();
     }
 
     if (isValid) {
@@ -54,9 +99,88 @@ public class LoginServlet extends HttpServlet {
       rd.forward(request, response);
     } else {
       PrintWriter out = response.getWriter();
-      out.println("<font color='red'>Invalid login. Try again.</font>");
+      out.println("<font color='red'>" + message + "</font>");
       RequestDispatcher rd = request.getRequestDispatcher("login.jsp");
       rd.include(request, response);
     }
   }
-}
\ No newline at end of file
+
+  // stored password for the login id, or null if there is no such user
+  private String lookupStoredPassword(String loginId) throws SQLException {
+    CredentialCache.Entry cached = cache.get(loginId);
+    if (cached != null) {
+      return cached.getStoredHash();
+    }
+
+    CompletableFuture<String> mine = new CompletableFuture<>();
+    CompletableFuture<String> running = lookups.putIfAbsent(loginId, mine);
+    if (running != null) {
+      return await(running);
+    }
+
+    try {
+      String stored = queryStoredPassword(loginId);
+      if (stored == null) {
+        cache.putNotFound(loginId);
+      } else {
+        cache.putFound(loginId, stored);
+      }
+      mine.complete(stored);
+      return stored;
+    } catch (SQLException | RuntimeException e) {
+      mine.completeExceptionally(e);
+      throw e;
+    } finally {
+      lookups.remove(loginId, mine);
+    }
+  }
+
+  private String queryStoredPassword(String loginId) throws SQLException {
+    try (Connection con = pool.getConnection();
+         PreparedStatement ps = con.prepareStatement("SELECT password FROM users WHERE login_id=?")) {
+      ps.setString(1, loginId);
+      try (ResultSet rs = ps.executeQuery()) {
+        return rs.next() ? rs.getString(1) : null;
+      }
+    }
+  }
+
+  // replace a plain-text or weaker stored password with a fresh hash
+  private void upgradeHash(String loginId, String password) {
+    String hashed = hasher.hash(password);
+    try (Connection con = pool.getConnection();
+         PreparedStatement ps = con.prepareStatement("UPDATE users SET password=? WHERE login_id=?")) {
+      ps.setString(1, hashed);
+      ps.setString(2, loginId);
+      ps.executeUpdate();
+      cache.putFound(loginId, hashed);
+    } catch (SQLException e) {
+      // the login still succeeded, the upgrade is retried next time
+      cache.invalidate(loginId);
+      log("Could not upgrade password hash for: " + loginId, e);
+    }
+  }
+
+  private static String await(CompletableFuture<String> lookup) throws SQLException {
+    try {
+      return lookup.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for login lookup.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof SQLException) {
+        throw (SQLException) e.getCause();
+      }
+      throw new SQLException(e.getCause());
+    }
+  }
+
+  private String param(String name, String defaultValue) {
+    String value = getInitParameter(name);
+    return value == null || value.isEmpty() ? defaultValue : value;
+  }
+
+  private int intParam(String name, int defaultValue) {
+    return Integer.parseInt(param(name, String.valueOf(defaultValue)));
+  }
+}
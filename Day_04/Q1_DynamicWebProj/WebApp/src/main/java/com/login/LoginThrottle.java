@@ -0,0 +1,105 @@
+package com.login;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-login-id failure counter. After maxFailures failed attempts within
+ * the window, further attempts for that login id are refused without
+ * touching the database until lockoutMillis have passed.
+ *
+ * At most maxTracked login ids are tracked. The map is kept in access
+ * order: idle entries are dropped from its old end as new failures come
+ * in, and when it is still full the least recently seen id is dropped, so
+ * a flood of unique ids can't grow it or make each failure scan it.
+ */
+public class LoginThrottle {
+
+  private final int maxFailures;
+  private final long windowMillis;
+  private final long lockoutMillis;
+  private final int maxTracked;
+  // guarded by itself; access-ordered, eldest first
+  private final LinkedHashMap<String, Attempts> attempts;
+
+  public LoginThrottle(int maxFailures, long windowMillis, long lockoutMillis, int maxTracked) {
+    this.maxFailures = maxFailures;
+    this.windowMillis = windowMillis;
+    this.lockoutMillis = lockoutMillis;
+    this.maxTracked = maxTracked;
+    this.attempts = new LinkedHashMap<String, Attempts>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Attempts> eldest) {
+        return size() > LoginThrottle.this.maxTracked;
+      }
+    };
+  }
+
+  public boolean isLocked(String loginId) {
+    Attempts a;
+    synchronized (attempts) {
+      a = attempts.get(loginId);
+    }
+    return a != null && a.isLocked(System.currentTimeMillis());
+  }
+
+  public void recordFailure(String loginId) {
+    long now = System.currentTimeMillis();
+    Attempts a;
+    synchronized (attempts) {
+      evictIdle(now);
+      a = attempts.computeIfAbsent(loginId, id -> new Attempts());
+    }
+    a.fail(now);
+  }
+
+  public void recordSuccess(String loginId) {
+    synchronized (attempts) {
+      attempts.remove(loginId);
+    }
+  }
+
+  int size() {
+    synchronized (attempts) {
+      return attempts.size();
+    }
+  }
+
+  // caller holds the lock; only looks at the old end, so it is O(1) amortised
+  private void evictIdle(long now) {
+    for (Iterator<Attempts> it = attempts.values().iterator(); it.hasNext();) {
+      if (!it.next().isIdle(now)) {
+        break;
+      }
+      it.remove();
+    }
+  }
+
+  private final class Attempts {
+    private int failures;
+    private long windowStart;
+    private long lockedUntil;
+
+    synchronized void fail(long now) {
+      if (now - windowStart > windowMillis) {
+        windowStart = now;
+        failures = 0;
+      }
+      if (++failures >= maxFailures) {
+        lockedUntil = now + lockoutMillis;
+        failures = 0;
+      }
+    }
+
+    synchronized boolean isLocked(long now) {
+      return now < lockedUntil;
+    }
+
+    synchronized boolean isIdle(long now) {
+      return now >= lockedUntil && now - windowStart > windowMillis;
+    }
+  }
+}
@@ -0,0 +1,136 @@
+package com.login;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * PBKDF2 password hashes, stored as "pbkdf2$iterations$salt$hash" with the
+ * salt and hash Base64-encoded. Verification keeps the iteration count the
+ * hash was created with, so the cost can be raised without breaking old rows.
+ */
+public class PasswordHasher {
+
+  private static final String PREFIX = "pbkdf2";
+  private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+  private static final int SALT_BYTES = 16;
+  private static final int HASH_BITS = 256;
+
+  private final int iterations;
+  private final SecureRandom random = new SecureRandom();
+  // verified against when there is no real hash, so that path costs the same
+  private final String dummyHash;
+
+  public PasswordHasher(int iterations) {
+    this.iterations = iterations;
+    byte[] password = new byte[SALT_BYTES];
+    random.nextBytes(password);
+    this.dummyHash = hash(Base64.getEncoder().encodeToString(password));
+  }
+
+  public String hash(String password) {
+    byte[] salt = new byte[SALT_BYTES];
+    random.nextBytes(salt);
+    byte[] hash = pbkdf2(password, salt, iterations);
+
+    Base64.Encoder b64 = Base64.getEncoder();
+    return PREFIX + "$" + iterations + "$" + b64.encodeToString(salt) + "$" + b64.encodeToString(hash);
+  }
+
+  public boolean isHashed(String stored) {
+    return stored != null && stored.startsWith(PREFIX + "$");
+  }
+
+  /**
+   * True if the stored value should be rewritten: it is still plain text or
+   * was hashed with fewer iterations than configured now.
+   */
+  public boolean needsRehash(String stored) {
+    if (!isHashed(stored)) {
+      return true;
+    }
+    Parsed parsed = parse(stored);
+    return parsed == null || parsed.iterations < iterations;
+  }
+
+  /**
+   * Checks a password against a stored hash, or against a legacy plain-text
+   * value. A null stored value means there is no such user; it is checked
+   * against a dummy hash and fails, so an unknown login id takes as long as
+   * a wrong password and response times don't reveal which ids exist.
+   * Comparison is constant-time either way.
+   */
+  public boolean verify(String password, String stored) {
+    if (stored == null) {
+      verifyHashed(password, dummyHash);
+      return false;
+    }
+    if (!isHashed(stored)) {
+      // plain-text rows pay for a hash too, they would stand out otherwise
+      verifyHashed(password, dummyHash);
+      return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+          stored.getBytes(StandardCharsets.UTF_8));
+    }
+    return verifyHashed(password, stored);
+  }
+
+  private boolean verifyHashed(String password, String stored) {
+    Parsed parsed = parse(stored);
+    if (parsed == null) {
+      // a corrupt row fails like a wrong password, and takes as long
+      verifyHashed(password, dummyHash);
+      return false;
+    }
+    byte[] actual = pbkdf2(password, parsed.salt, parsed.iterations);
+    return MessageDigest.isEqual(parsed.hash, actual);
+  }
+
+  // the parts of a "pbkdf2$iterations$salt$hash" value, or null if it is malformed
+  private static Parsed parse(String stored) {
+    String[] parts = stored.split("\\$");
+    if (parts.length != 4) {
+      return null;
+    }
+    try {
+      int iterations = Integer.parseInt(parts[1]);
+      Base64.Decoder b64 = Base64.getDecoder();
+      byte[] salt = b64.decode(parts[2]);
+      byte[] hash = b64.decode(parts[3]);
+      if (iterations <= 0 || salt.length == 0 || hash.length == 0) {
+        return null;
+      }
+      return new Parsed(iterations, salt, hash);
+    } catch (IllegalArgumentException e) {
+      // NumberFormatException or bad Base64
+      return null;
+    }
+  }
+
+  private static final class Parsed {
+    private final int iterations;
+    private final byte[] salt;
+    private final byte[] hash;
+
+    Parsed(int iterations, byte[] salt, byte[] hash) {
+      this.iterations = iterations;
+      this.salt = salt;
+      this.hash = hash;
+    }
+  }
+
+  private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+    PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+    try {
+      return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("PBKDF2 is not available", e);
+    } finally {
+      spec.clearPassword();
+    }
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+
+import com.mysql.cj.util.ConcurrentLRUCache;
+
+/**
+ * Creates {@link QueryInfo} caches that are shared by all connections to the same URL in this JVM, so that connection pools parse each statement once
+ * instead of once per connection.
+ *
+ * The shared cache of each URL is sized by the first connection that creates it: it holds at most <code>prepStmtCacheSize</code> entries, and the parsed
+ * queries it keeps weigh at most as much as <code>prepStmtCacheSize</code> placeholder-free statements of <code>prepStmtCacheSqlLimit</code> characters
+ * would, as estimated by {@link QueryInfo#getEstimatedSize()}. Statements with many placeholders or with multi-byte static parts weigh more, so a cache full
+ * of them holds fewer entries. Cached {@link QueryInfo} objects are validated against the settings of the connection that reads them, see
+ * {@link QueryInfo#isCompatibleWith(Session, String)}.
+ */
+public class PerVmQueryInfoCacheFactory implements CacheAdapterFactory<String, QueryInfo> {
+
+    static final ConcurrentHashMap<String, ConcurrentLRUCache<String, QueryInfo>> queryInfoCacheByUrl = new ConcurrentHashMap<>();
+
+    @Override
+    public CacheAdapter<String, QueryInfo> getInstance(Lock lock, String url, int cacheMaxSize, int maxKeySize) {
+        ConcurrentLRUCache<String, QueryInfo> cache = queryInfoCacheByUrl.computeIfAbsent(url,
+                k -> new ConcurrentLRUCache<>(cacheMaxSize, getMaxWeight(cacheMaxSize, maxKeySize), PerVmQueryInfoCacheFactory::weigh));
+        return new PerVmQueryInfoCache(cache, maxKeySize);
+    }
+
+    /**
+     * Returns the weight budget of a cache: the estimated size of <code>cacheMaxSize</code> placeholder-free queries of <code>maxKeySize</code> single-byte
+     * characters, each held once as a string and once as a static SQL part.
+     *
+     * @param cacheMaxSize
+     *            the maximum number of entries
+     * @param maxKeySize
+     *            the maximum length of a cached SQL string
+     * @return the maximum total weight
+     */
+    static long getMaxWeight(int cacheMaxSize, int maxKeySize) {
+        return cacheMaxSize * (QueryInfo.BASE_ESTIMATED_SIZE + QueryInfo.ARRAY_ESTIMATED_OVERHEAD + 3L * maxKeySize);
+    }
+
+    static int weigh(String sql, QueryInfo queryInfo) {
+        return (int) Math.min(queryInfo.getEstimatedSize(), Integer.MAX_VALUE);
+    }
+
+    static class PerVmQueryInfoCache implements CacheAdapter<String, QueryInfo> {
+
+        private final ConcurrentLRUCache<String, QueryInfo> cache;
+        private final int cacheSqlLimit;
+
+        PerVmQueryInfoCache(ConcurrentLRUCache<String, QueryInfo> cache, int maxKeySize) {
+            this.cache = cache;
+            this.cacheSqlLimit = maxKeySize;
+        }
+
+        @Override
+        public QueryInfo get(String key) {
+            if (key == null || key.length() > this.cacheSqlLimit) {
+                return null;
+            }
+            return this.cache.get(key);
+        }
+
+        @Override
+        public void put(String key, QueryInfo value) {
+            if (key == null || key.length() > this.cacheSqlLimit) {
+                return;
+            }
+            this.cache.put(key, value);
+        }
+
+        @Override
+        public void invalidate(String key) {
+            this.cache.remove(key);
+        }
+
+        @Override
+        public void invalidateAll(Set<String> keys) {
+            for (String key : keys) {
+                this.cache.remove(key);
+            }
+        }
+
+        @Override
+        public void invalidateAll() {
+            this.cache.clear();
+        }
+
+    }
+
+}
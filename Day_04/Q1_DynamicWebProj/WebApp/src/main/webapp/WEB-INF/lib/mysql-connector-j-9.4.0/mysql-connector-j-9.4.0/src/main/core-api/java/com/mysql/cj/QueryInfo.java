@@ -28,6 +28,7 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.exceptions.ExceptionFactory;
@@ -58,10 +59,20 @@ public class QueryInfo {
     private static final String[] ODKU_CLAUSE = new String[] { "ON", "DUPLICATE", "KEY", "UPDATE" };
     private static final String LAST_INSERT_ID_FUNC = "LAST_INSERT_ID";
 
+    /** Object headers and fields of a {@link QueryInfo}, its SQL string, and its empty lists and arrays. */
+    static final int BASE_ESTIMATED_SIZE = 256;
+    /** Header of one static SQL part array plus its slot in the outer array. */
+    static final int ARRAY_ESTIMATED_OVERHEAD = 24;
+    /** An {@link Integer} in a list, with its slot in the backing array. */
+    static final int BOXED_INT_ESTIMATED_SIZE = 24;
+
     private QueryInfo baseQueryInfo = null;
 
     private String sql;
     private String encoding;
+    private boolean noBackslashEscapes = false;
+    private boolean rewriteBatchedStatements = false;
+    private boolean dontCheckOnDuplicateKeyUpdateInSQL = false;
     private QueryReturnType queryReturnType = null;
     private int queryLength = 0;
     private int queryStartPos = 0;
@@ -101,6 +112,9 @@ public class QueryInfo {
         boolean noBackslashEscapes = session.getServerSession().isNoBackslashEscapesSet();
         boolean rewriteBatchedStatements = session.getPropertySet().getBooleanProperty(PropertyKey.rewriteBatchedStatements).getValue();
         boolean dontCheckOnDuplicateKeyUpdateInSQL = session.getPropertySet().getBooleanProperty(PropertyKey.dontCheckOnDuplicateKeyUpdateInSQL).getValue();
+        this.noBackslashEscapes = noBackslashEscapes;
+        this.rewriteBatchedStatements = rewriteBatchedStatements;
+        this.dontCheckOnDuplicateKeyUpdateInSQL = dontCheckOnDuplicateKeyUpdateInSQL;
 
         this.queryReturnType = getQueryReturnType(this.sql, noBackslashEscapes);
         this.queryLength = this.sql.length();
@@ -451,6 +465,9 @@ public class QueryInfo {
 
         this.sql = null;
         this.encoding = this.baseQueryInfo.encoding;
+        this.noBackslashEscapes = this.baseQueryInfo.noBackslashEscapes;
+        this.rewriteBatchedStatements = this.baseQueryInfo.rewriteBatchedStatements;
+        this.dontCheckOnDuplicateKeyUpdateInSQL = this.baseQueryInfo.dontCheckOnDuplicateKeyUpdateInSQL;
         this.queryReturnType = this.baseQueryInfo.queryReturnType;
         this.queryLength = 0;
         this.queryStartPos = this.baseQueryInfo.queryStartPos;
@@ -628,6 +645,43 @@ public class QueryInfo {
         return this.isRewritableWithMultiValuesClause;
     }
 
+    /**
+     * Checks if this {@link QueryInfo} was parsed with the same settings the given session would use now, i.e., if it can be reused for the same SQL by a
+     * session other than the one that created it, or by the same session after its settings changed.
+     *
+     * @param session
+     *            the {@link Session} that would use this {@link QueryInfo}
+     * @param encoding
+     *            the characters encoding the session would use to extract the query static parts
+     * @return true if parsing the same SQL in the given session would produce an identical {@link QueryInfo}
+     */
+    public boolean isCompatibleWith(Session session, String encoding) {
+        return Objects.equals(this.encoding, encoding) && this.noBackslashEscapes == session.getServerSession().isNoBackslashEscapesSet()
+                && this.rewriteBatchedStatements == session.getPropertySet().getBooleanProperty(PropertyKey.rewriteBatchedStatements).getValue()
+                && this.dontCheckOnDuplicateKeyUpdateInSQL == session.getPropertySet().getBooleanProperty(PropertyKey.dontCheckOnDuplicateKeyUpdateInSQL)
+                        .getValue();
+    }
+
+    /**
+     * Estimates the heap footprint of this {@link QueryInfo}, in bytes: the SQL string, the static SQL parts and the per-placeholder bookkeeping. This is
+     * what a cache of parsed queries actually retains, and it grows with both the query length and the number of placeholders.
+     *
+     * @return the estimated size in bytes
+     */
+    long getEstimatedSize() {
+        long size = BASE_ESTIMATED_SIZE;
+        if (this.sql != null) {
+            size += 2L * this.sql.length();
+        }
+        if (this.staticSqlParts != null) {
+            for (byte[] part : this.staticSqlParts) {
+                size += ARRAY_ESTIMATED_OVERHEAD + part.length;
+            }
+        }
+        size += (long) this.valuesEndpoints.size() * BOXED_INT_ESTIMATED_SIZE + this.placeholderPurposes.size() * 8L;
+        return size;
+    }
+
     /**
      * Returns a {@link QueryInfo} for a multi-values INSERT/REPLACE assembled for the specified batch count, without re-parsing.
      *
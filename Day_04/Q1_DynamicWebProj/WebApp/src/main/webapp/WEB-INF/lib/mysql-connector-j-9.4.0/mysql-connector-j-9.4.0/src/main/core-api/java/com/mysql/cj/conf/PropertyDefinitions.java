@@ -285,6 +285,9 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.useUnbufferedInput, DEFAULT_VALUE_TRUE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.useUnbufferedInput"), "3.0.11", CATEGORY_NETWORK, Integer.MIN_VALUE),
 
+                new BooleanPropertyDefinition(PropertyKey.useSocketChannel, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.useSocketChannel"), "9.5.0", CATEGORY_NETWORK, Integer.MIN_VALUE),
+
                 new IntegerPropertyDefinition(PropertyKey.connectTimeout, 0, RUNTIME_MODIFIABLE, Messages.getString("ConnectionProperties.connectTimeout"),
                         "3.0.1", CATEGORY_NETWORK, 9, 0, Integer.MAX_VALUE),
 
@@ -324,6 +327,12 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.useCompression, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.useCompression"), "3.0.17", CATEGORY_NETWORK, Integer.MIN_VALUE),
 
+                new StringPropertyDefinition(PropertyKey.compressionAlgorithms, "zlib", RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.compressionAlgorithms"), "9.5.0", CATEGORY_NETWORK, Integer.MIN_VALUE),
+
+                new IntegerPropertyDefinition(PropertyKey.zstdCompressionLevel, 3, RUNTIME_NOT_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.zstdCompressionLevel"), "9.5.0", CATEGORY_NETWORK, Integer.MIN_VALUE, 1, 22),
+
                 new IntegerPropertyDefinition(PropertyKey.maxAllowedPacket, 65535, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.maxAllowedPacket"), "5.1.8", CATEGORY_NETWORK, Integer.MIN_VALUE, 0, Integer.MAX_VALUE),
 
@@ -674,6 +683,9 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.alwaysSendSetIsolation, DEFAULT_VALUE_TRUE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.alwaysSendSetIsolation"), "3.1.7", CATEGORY_PERFORMANCE, Integer.MAX_VALUE),
 
+                new IntegerPropertyDefinition(PropertyKey.batchPipelineDepth, 0, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.batchPipelineDepth"), "9.5.0", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 0, 1024),
+
                 new BooleanPropertyDefinition(PropertyKey.cacheCallableStmts, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.cacheCallableStatements"), "3.1.2", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
 
@@ -711,6 +723,13 @@ public class PropertyDefinitions {
                 new IntegerPropertyDefinition(PropertyKey.metadataCacheSize, 50, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.metadataCacheSize"), "3.1.1", CATEGORY_PERFORMANCE, 5, 1, Integer.MAX_VALUE),
 
+                new BooleanPropertyDefinition(PropertyKey.shareResultSetMetadataCache, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.shareResultSetMetadataCache"), "9.5.0", CATEGORY_PERFORMANCE, 6),
+
+                new MemorySizePropertyDefinition(PropertyKey.packetBufferPoolMaxBufferSize, 1024 * 1024, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.packetBufferPoolMaxBufferSize"), "9.5.0", CATEGORY_PERFORMANCE, Integer.MIN_VALUE, 256,
+                        16 * 1024 * 1024),
+
                 new IntegerPropertyDefinition(PropertyKey.prepStmtCacheSize, 25, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.prepStmtCacheSize"), "3.0.10", CATEGORY_PERFORMANCE, 10, 0, Integer.MAX_VALUE),
 
@@ -732,6 +751,9 @@ public class PropertyDefinitions {
                 new BooleanPropertyDefinition(PropertyKey.useLocalTransactionState, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.useLocalTransactionState"), "5.1.7", CATEGORY_PERFORMANCE, 6),
 
+                new BooleanPropertyDefinition(PropertyKey.usePacketBufferPool, DEFAULT_VALUE_FALSE, RUNTIME_MODIFIABLE,
+                        Messages.getString("ConnectionProperties.usePacketBufferPool"), "9.5.0", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
+
                 new BooleanPropertyDefinition(PropertyKey.useReadAheadInput, DEFAULT_VALUE_TRUE, RUNTIME_MODIFIABLE,
                         Messages.getString("ConnectionProperties.useReadAheadInput"), "3.1.5", CATEGORY_PERFORMANCE, Integer.MIN_VALUE),
 
@@ -69,6 +69,7 @@ public enum PropertyKey {
     autoReconnect("autoReconnect", true), //
     autoReconnectForPools("autoReconnectForPools", true), //
     autoSlowLog("autoSlowLog", true), //
+    batchPipelineDepth("batchPipelineDepth", true), //
     blobsAreStrings("blobsAreStrings", true), //
     blobSendChunkSize("blobSendChunkSize", true), //
     cacheCallableStmts("cacheCallableStmts", true), //
@@ -86,6 +87,7 @@ public enum PropertyKey {
     clobberStreamingResults("clobberStreamingResults", true), //
     clobCharacterEncoding("clobCharacterEncoding", true), //
     compensateOnDuplicateKeyUpdateCounts("compensateOnDuplicateKeyUpdateCounts", true), //
+    compressionAlgorithms("compressionAlgorithms", true), //
     connectionAttributes("connectionAttributes", true), //
     connectionCollation("connectionCollation", true), //
     connectionLifecycleInterceptors("connectionLifecycleInterceptors", true), //
@@ -167,6 +169,7 @@ public enum PropertyKey {
     ociConfigProfile("ociConfigProfile", true), //
     openTelemetry("openTelemetry", true), //
     overrideSupportsIntegrityEnhancementFacility("overrideSupportsIntegrityEnhancementFacility", true), //
+    packetBufferPoolMaxBufferSize("packetBufferPoolMaxBufferSize", true), //
     packetDebugBufferSize("packetDebugBufferSize", true), //
     padCharsWithSpace("padCharsWithSpace", true), //
     paranoid("paranoid", false), //
@@ -209,6 +212,7 @@ public enum PropertyKey {
     serverConfigCacheFactory("serverConfigCacheFactory", true), //
     serverRSAPublicKeyFile("serverRSAPublicKeyFile", true), //
     sessionVariables("sessionVariables", true), //
+    shareResultSetMetadataCache("shareResultSetMetadataCache", true), //
     slowQueryThresholdMillis("slowQueryThresholdMillis", true), //
     slowQueryThresholdNanos("slowQueryThresholdNanos", true), //
     socketFactory("socketFactory", true), //
@@ -249,8 +253,10 @@ public enum PropertyKey {
     useNanosForElapsedTime("useNanosForElapsedTime", true), //
     useOldAliasMetadataBehavior("useOldAliasMetadataBehavior", true), //
     useOnlyServerErrorMessages("useOnlyServerErrorMessages", true), //
+    usePacketBufferPool("usePacketBufferPool", true), //
     useReadAheadInput("useReadAheadInput", true), //
     useServerPrepStmts("useServerPrepStmts", true), //
+    useSocketChannel("useSocketChannel", true), //
     useSSL("useSSL", true), //
     useStreamLengthsInPrepStmts("useStreamLengthsInPrepStmts", true), //
     useUnbufferedInput("useUnbufferedInput", true), //
@@ -278,7 +284,8 @@ public enum PropertyKey {
     xdevapiTlsVersions("xdevapi.tls-versions", "xdevapiTlsVersions", true), //
 
     yearIsDateType("yearIsDateType", true), //
-    zeroDateTimeBehavior("zeroDateTimeBehavior", true) //
+    zeroDateTimeBehavior("zeroDateTimeBehavior", true), //
+    zstdCompressionLevel("zstdCompressionLevel", true) //
     ;
 
     private String keyName;
@@ -109,6 +109,17 @@ public interface MessageReader<H extends MessageHeader, M extends Message> {
         readMessage(Optional.empty(), readHeader());
     }
 
+    /**
+     * Give back a message read by this reader once its content has been consumed or copied, so that its buffer can be reused. The message must not be used
+     * afterwards. Messages passed in as 'reuse' must not be released.
+     *
+     * @param message
+     *            {@link Message} instance
+     */
+    default void releaseMessage(M message) {
+        // no-op
+    }
+
     /**
      * Queue a {@link MessageListener} to receive messages delivered asynchronously.
      *
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * A thread safe LRU cache that doesn't lock on reads.
+ *
+ * Entries live in a {@link ConcurrentHashMap}. The recency order is kept in an access-ordered {@link LinkedHashMap} that is only touched while holding the
+ * eviction lock. Reads don't take the lock: they record the key in a small ring buffer that is replayed into the recency order by the next writer, or by
+ * the reader that fills the buffer if the lock is free. When the buffer wraps around before it is drained, the oldest recorded reads are lost, so the
+ * eviction order is an approximation of LRU under heavy concurrent reads.
+ *
+ * Besides the number of entries, the cache can be bounded by the total weight of its entries, as computed by a weigher function when they are added.
+ *
+ * Subclasses can override {@link #onEviction(Object, Object)} to release evicted values. It is called after the entry is removed and outside of the
+ * eviction lock.
+ *
+ * @param <K>
+ *            key type
+ * @param <V>
+ *            value type
+ */
+public class ConcurrentLRUCache<K, V> {
+
+    private static final int READ_BUFFER_SIZE = 64; // must be a power of two
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+
+    protected final int maxElements;
+    protected final long maxWeight;
+    private final ToIntBiFunction<? super K, ? super V> weigher;
+
+    private final ConcurrentHashMap<K, V> data;
+    /** Recency order, eldest first, mapped to the entry weights. Guarded by evictionLock. */
+    private final LinkedHashMap<K, Integer> accessOrder;
+    /** Guarded by evictionLock. */
+    private long totalWeight = 0;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final AtomicReferenceArray<K> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    private final AtomicLong readBufferWriteCount = new AtomicLong();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * Creates a cache holding at most <code>maxSize</code> entries.
+     *
+     * @param maxSize
+     *            the maximum number of entries
+     */
+    public ConcurrentLRUCache(int maxSize) {
+        this(maxSize, Long.MAX_VALUE, null);
+    }
+
+    /**
+     * Creates a cache holding at most <code>maxSize</code> entries whose total weight doesn't exceed <code>maxWeight</code>.
+     *
+     * @param maxSize
+     *            the maximum number of entries
+     * @param maxWeight
+     *            the maximum total weight of the entries
+     * @param weigher
+     *            computes the weight of an entry, or null if entries don't weigh anything
+     */
+    public ConcurrentLRUCache(int maxSize, long maxWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+        this.maxElements = maxSize;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        int initialCapacity = Math.max(16, Math.min(maxSize, 1024));
+        this.data = new ConcurrentHashMap<>(initialCapacity);
+        this.accessOrder = new LinkedHashMap<>(initialCapacity, 0.75F, true);
+    }
+
+    /**
+     * Returns the value cached for the given key and marks it as recently used.
+     *
+     * @param key
+     *            the key
+     * @return the cached value, or null
+     */
+    public V get(K key) {
+        V value = this.data.get(key);
+        if (value == null) {
+            this.missCount.increment();
+            return null;
+        }
+        this.hitCount.increment();
+        recordRead(key);
+        return value;
+    }
+
+    /**
+     * Caches the given value, evicting the least recently used entries if the cache grows over its maximum size or weight. An entry heavier than the maximum
+     * weight is not cached, but still replaces the value previously cached for its key.
+     *
+     * @param key
+     *            the key
+     * @param value
+     *            the value
+     * @return the value previously cached for the key, or null. It is not passed to {@link #onEviction(Object, Object)}
+     */
+    public V put(K key, V value) {
+        V previous;
+        List<K> evictedKeys = null;
+        List<V> evictedValues = null;
+
+        this.evictionLock.lock();
+        try {
+            drainReadBuffer();
+
+            int weight = this.weigher == null ? 0 : this.weigher.applyAsInt(key, value);
+            if (weight > this.maxWeight) {
+                Integer previousWeight = this.accessOrder.remove(key);
+                if (previousWeight != null) {
+                    this.totalWeight -= previousWeight;
+                }
+                return this.data.remove(key);
+            }
+
+            previous = this.data.put(key, value);
+            Integer previousWeight = this.accessOrder.put(key, weight);
+            this.totalWeight += weight - (previousWeight == null ? 0 : previousWeight);
+
+            while (this.accessOrder.size() > this.maxElements || this.totalWeight > this.maxWeight) {
+                Iterator<Map.Entry<K, Integer>> eldest = this.accessOrder.entrySet().iterator();
+                Map.Entry<K, Integer> evicted = eldest.next();
+                K evictedKey = evicted.getKey();
+                this.totalWeight -= evicted.getValue();
+                eldest.remove();
+                V evictedValue = this.data.remove(evictedKey);
+                if (evictedValue != null) {
+                    if (evictedKeys == null) {
+                        evictedKeys = new ArrayList<>(1);
+                        evictedValues = new ArrayList<>(1);
+                    }
+                    evictedKeys.add(evictedKey);
+                    evictedValues.add(evictedValue);
+                    this.evictionCount.increment();
+                }
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+
+        if (evictedKeys != null) {
+            for (int i = 0; i < evictedKeys.size(); i++) {
+                onEviction(evictedKeys.get(i), evictedValues.get(i));
+            }
+        }
+
+        return previous;
+    }
+
+    /**
+     * Removes the entry for the given key.
+     *
+     * @param key
+     *            the key
+     * @return the removed value, or null
+     */
+    public V remove(K key) {
+        this.evictionLock.lock();
+        try {
+            Integer weight = this.accessOrder.remove(key);
+            if (weight != null) {
+                this.totalWeight -= weight;
+            }
+            return this.data.remove(key);
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes all entries. {@link #onEviction(Object, Object)} is not called for them.
+     */
+    public void clear() {
+        this.evictionLock.lock();
+        try {
+            this.data.clear();
+            this.accessOrder.clear();
+            this.totalWeight = 0;
+            for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                this.readBuffer.lazySet(i, null);
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    public int size() {
+        return this.data.size();
+    }
+
+    /**
+     * Returns the total weight of the cached entries.
+     *
+     * @return the total weight
+     */
+    public long getWeight() {
+        this.evictionLock.lock();
+        try {
+            return this.totalWeight;
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return this.evictionCount.sum();
+    }
+
+    /**
+     * Returns a snapshot of the size and counters of this cache.
+     *
+     * @return the cache statistics
+     */
+    public CacheStats getStats() {
+        return new CacheStats(size(), getHitCount(), getMissCount(), getEvictionCount());
+    }
+
+    /**
+     * Called after an entry was evicted to make room for a new one.
+     *
+     * @param key
+     *            the evicted key
+     * @param value
+     *            the evicted value
+     */
+    protected void onEviction(K key, V value) {
+        // nothing by default
+    }
+
+    private void recordRead(K key) {
+        long writeCount = this.readBufferWriteCount.getAndIncrement();
+        this.readBuffer.lazySet((int) (writeCount & READ_BUFFER_MASK), key);
+
+        // replay the buffer when it fills up, unless someone else is already at it
+        if ((writeCount & READ_BUFFER_MASK) == READ_BUFFER_MASK && this.evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                this.evictionLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Replays the recorded reads into the recency order. Must be called while holding the eviction lock.
+     */
+    private void drainReadBuffer() {
+        long end = this.readBufferWriteCount.get();
+        long start = Math.max(0, end - READ_BUFFER_SIZE);
+        for (long i = start; i < end; i++) {
+            K key = this.readBuffer.getAndSet((int) (i & READ_BUFFER_MASK), null);
+            if (key != null) {
+                // touches the entry if it is still cached, does nothing otherwise
+                this.accessOrder.get(key);
+            }
+        }
+    }
+
+}
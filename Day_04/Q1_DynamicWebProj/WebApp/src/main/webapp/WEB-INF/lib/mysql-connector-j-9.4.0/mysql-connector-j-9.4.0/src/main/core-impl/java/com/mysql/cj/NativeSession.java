@@ -67,6 +67,7 @@ import com.mysql.cj.protocol.a.NativePacketPayload;
 import com.mysql.cj.protocol.a.NativeProtocol;
 import com.mysql.cj.protocol.a.NativeServerSession;
 import com.mysql.cj.protocol.a.NativeSocketConnection;
+import com.mysql.cj.protocol.a.NioSocketConnection;
 import com.mysql.cj.protocol.a.ResultsetFactory;
 import com.mysql.cj.result.Field;
 import com.mysql.cj.result.LongValueFactory;
@@ -137,8 +138,8 @@ public class NativeSession extends CoreSession implements Serializable {
         // reset max-rows to default value
         setSessionMaxRows(-1);
 
-        // TODO do we need different types of physical connections?
-        SocketConnection socketConnection = new NativeSocketConnection();
+        SocketConnection socketConnection = this.propertySet.getBooleanProperty(PropertyKey.useSocketChannel).getValue() ? new NioSocketConnection()
+                : new NativeSocketConnection();
         socketConnection.connect(this.hostInfo.getHost(), this.hostInfo.getPort(), this.propertySet, getExceptionInterceptor(), this.log, loginTimeout);
 
         // we use physical connection to create a -> protocol
@@ -861,6 +862,65 @@ public class NativeSession extends CoreSession implements Serializable {
         }
     }
 
+    /**
+     * Sends a query without waiting for its result, see {@link NativeProtocol#sendPipelinedCommand(NativePacketPayload)}. The result is read with
+     * {@link #readPipelinedResult(ProtocolEntityFactory)}.
+     *
+     * @param callingQuery
+     *            {@link Query} object
+     * @param query
+     *            the query, if packet is null
+     * @param packet
+     *            the query packet, or null to build one from query
+     */
+    public void sendPipelinedSQL(Query callingQuery, String query, NativePacketPayload packet) {
+        this.lastQueryFinishedTime = 0; // we're busy!
+
+        try {
+            if (packet == null) {
+                packet = this.commandBuilder.buildComQuery(null, this, query, callingQuery, this.characterEncoding.getValue());
+            }
+            ((NativeProtocol) this.protocol).sendPipelinedCommand(packet);
+        } catch (CJException ex) {
+            handlePipelineException(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Reads the result of the oldest query sent with {@link #sendPipelinedSQL(Query, String, NativePacketPayload)}.
+     *
+     * @param <T>
+     *            extends {@link Resultset}
+     * @param resultSetFactory
+     *            {@link ProtocolEntityFactory}
+     * @return a ResultSet holding the results
+     */
+    public <T extends Resultset> T readPipelinedResult(ProtocolEntityFactory<T, NativePacketPayload> resultSetFactory) {
+        try {
+            return ((NativeProtocol) this.protocol).readPipelinedResult(resultSetFactory);
+        } catch (CJException ex) {
+            handlePipelineException(ex);
+            throw ex;
+        } finally {
+            if (this.maintainTimeStats.getValue()) {
+                this.lastQueryFinishedTime = System.currentTimeMillis();
+            }
+        }
+    }
+
+    private void handlePipelineException(CJException ex) {
+        if (this.autoReconnect.getValue()) {
+            if (ex instanceof CJCommunicationsException) {
+                // IO may be dirty or damaged beyond repair, force close it.
+                this.protocol.getSocketConnection().forceClose();
+            }
+            this.needsPing = true;
+        } else if (ex instanceof CJCommunicationsException) {
+            invokeCleanupListeners(ex);
+        }
+    }
+
     public long getIdleFor() {
         return this.lastQueryFinishedTime == 0 ? 0 : System.currentTimeMillis() - this.lastQueryFinishedTime;
     }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * A pool of direct {@link ByteBuffer}s in power-of-two size classes, shared by all socket channel streams of the JVM. Direct buffers are expensive to
+ * allocate and are only freed by the garbage collector, so they are kept for the next connection instead.
+ */
+public class DirectByteBufferPool {
+
+    static final int MIN_BUFFER_SIZE = 4096;
+    static final int MAX_BUFFER_SIZE = 1024 * 1024;
+
+    /** Buffers kept per size class. */
+    static final int BUFFERS_PER_CLASS = 32;
+
+    private static final DirectByteBufferPool INSTANCE = new DirectByteBufferPool();
+
+    /** Free buffers of one size class. */
+    private static final class SizeClass {
+
+        final ArrayDeque<ByteBuffer> free = new ArrayDeque<>();
+
+    }
+
+    private final SizeClass[] classes;
+
+    DirectByteBufferPool() {
+        this.classes = new SizeClass[sizeClass(MAX_BUFFER_SIZE) + 1];
+        for (int i = 0; i < this.classes.length; i++) {
+            this.classes[i] = new SizeClass();
+        }
+    }
+
+    public static DirectByteBufferPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a cleared direct buffer with a capacity of at least minSize bytes, rounded up to a power of two and capped at {@link #MAX_BUFFER_SIZE}.
+     *
+     * @param minSize
+     *            number of bytes wanted
+     * @return {@link ByteBuffer}
+     */
+    public ByteBuffer lease(int minSize) {
+        int sizeClass = sizeClass(Math.min(minSize, MAX_BUFFER_SIZE));
+        ByteBuffer buffer;
+        synchronized (this) {
+            buffer = this.classes[sizeClass].free.pollFirst();
+        }
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(MIN_BUFFER_SIZE << sizeClass);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer obtained from {@link #lease(int)}. The caller must not use the buffer afterwards.
+     *
+     * @param buffer
+     *            buffer to return, may be null
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect()) {
+            return;
+        }
+        int capacity = buffer.capacity();
+        if (capacity < MIN_BUFFER_SIZE || capacity > MAX_BUFFER_SIZE || Integer.bitCount(capacity) != 1) {
+            return;
+        }
+        ArrayDeque<ByteBuffer> free = this.classes[sizeClass(capacity)].free;
+        synchronized (this) {
+            if (free.size() < BUFFERS_PER_CLASS) {
+                free.addFirst(buffer);
+            }
+        }
+    }
+
+    private static int sizeClass(int size) {
+        if (size <= MIN_BUFFER_SIZE) {
+            return 0;
+        }
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+    }
+
+}
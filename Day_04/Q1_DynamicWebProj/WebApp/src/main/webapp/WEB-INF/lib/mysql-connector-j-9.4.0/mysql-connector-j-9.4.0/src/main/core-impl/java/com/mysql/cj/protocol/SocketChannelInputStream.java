@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mysql.cj.Messages;
+
+/**
+ * An input stream that reads from a non-blocking {@link SocketChannel} into a direct read window leased from {@link DirectByteBufferPool}.
+ *
+ * Each fill takes everything the socket has buffered, up to the window size, in one read. The window doubles, up to a maximum, while fills keep filling it
+ * completely and halves again after a run of small fills. Waits for data honor the socket's SO_TIMEOUT, so 'socketTimeout' and login timeouts keep working.
+ *
+ * Reads are not thread-safe, but {@link #close()} may be called from any thread: it wakes up a blocked read, which then fails.
+ */
+public class SocketChannelInputStream extends InputStream {
+
+    private static final int IDLE = 0;
+    private static final int BUSY = 1;
+    private static final int CLOSED = 2;
+
+    /** Consecutive fills using under a quarter of the window before it is halved. */
+    private static final int SHRINK_AFTER_FILLS = 64;
+
+    private final SocketChannel channel;
+    private final int minWindowSize;
+    private final int maxWindowSize;
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+
+    /** Unread data is between position and limit. */
+    private ByteBuffer window;
+    private volatile Selector selector;
+    private boolean growWindow = false;
+    private int smallFills = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param channel
+     *            connected channel, must be in non-blocking mode
+     * @param initialWindowSize
+     *            initial and minimum read window size
+     * @param maxWindowSize
+     *            maximum read window size
+     */
+    public SocketChannelInputStream(SocketChannel channel, int initialWindowSize, int maxWindowSize) {
+        this.channel = channel;
+        this.minWindowSize = initialWindowSize;
+        this.maxWindowSize = Math.max(initialWindowSize, maxWindowSize);
+        this.window = DirectByteBufferPool.getInstance().lease(initialWindowSize);
+        this.window.limit(0);
+    }
+
+    @Override
+    public int read() throws IOException {
+        enter();
+        try {
+            if (!this.window.hasRemaining() && !fill(true)) {
+                return -1;
+            }
+            return this.window.get() & 0xff;
+        } finally {
+            exit();
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if ((off | len | off + len | b.length - (off + len)) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        enter();
+        try {
+            if (len == 0) {
+                return 0;
+            }
+            if (!this.window.hasRemaining() && !fill(true)) {
+                return -1;
+            }
+            int n = 0;
+            do {
+                int count = Math.min(len - n, this.window.remaining());
+                this.window.get(b, off + n, count);
+                n += count;
+                // go on with whatever else has already arrived, without blocking
+            } while (n < len && fill(false));
+            return n;
+        } finally {
+            exit();
+        }
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        enter();
+        try {
+            if (!this.window.hasRemaining() && !fill(true)) {
+                // end of stream, nothing left to skip
+                return 0;
+            }
+            int count = (int) Math.min(n, this.window.remaining());
+            this.window.position(this.window.position() + count);
+            return count;
+        } finally {
+            exit();
+        }
+    }
+
+    @Override
+    public int available() throws IOException {
+        enter();
+        try {
+            if (!this.window.hasRemaining()) {
+                fill(false);
+            }
+            return this.window.remaining();
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Releases the read window and the selector. The channel itself is left open, it belongs to the socket.
+     */
+    @Override
+    public void close() throws IOException {
+        int previous = this.state.getAndSet(CLOSED);
+        if (previous == IDLE) {
+            releaseResources();
+        } else if (previous == BUSY) {
+            // the reading thread releases everything on its way out
+            Selector sel = this.selector;
+            if (sel != null) {
+                sel.wakeup();
+            }
+        }
+    }
+
+    /**
+     * Reads into the empty window.
+     *
+     * @param block
+     *            whether to wait until some data arrives
+     * @return true if the window has data, false if none was available without blocking or the stream has ended
+     */
+    private boolean fill(boolean block) throws IOException {
+        resizeWindow();
+        ByteBuffer w = this.window;
+        w.clear();
+        int n;
+        try {
+            n = this.channel.read(w);
+            while (n == 0 && block) {
+                awaitReadable();
+                n = this.channel.read(w);
+            }
+        } finally {
+            // leaves the window empty if the wait timed out
+            w.flip();
+        }
+        if (n > 0) {
+            int capacity = w.capacity();
+            this.growWindow = n == capacity && capacity < this.maxWindowSize;
+            this.smallFills = n < capacity >> 2 && capacity > this.minWindowSize ? this.smallFills + 1 : 0;
+        }
+        return n > 0;
+    }
+
+    private void resizeWindow() {
+        int capacity = this.window.capacity();
+        int size;
+        if (this.growWindow) {
+            size = capacity << 1;
+        } else if (this.smallFills >= SHRINK_AFTER_FILLS) {
+            size = capacity >> 1;
+        } else {
+            return;
+        }
+        DirectByteBufferPool pool = DirectByteBufferPool.getInstance();
+        pool.release(this.window);
+        this.window = pool.lease(size);
+        this.window.limit(0);
+        this.growWindow = false;
+        this.smallFills = 0;
+    }
+
+    private void awaitReadable() throws IOException {
+        Selector sel = this.selector;
+        if (sel == null) {
+            sel = Selector.open();
+            this.channel.register(sel, SelectionKey.OP_READ);
+            this.selector = sel;
+        }
+
+        int timeout = this.channel.socket().getSoTimeout();
+        long deadline = timeout > 0 ? System.currentTimeMillis() + timeout : 0;
+        try {
+            while (true) {
+                if (this.state.get() == CLOSED) {
+                    throw new IOException(Messages.getString("SocketConnection.1"));
+                }
+                long wait = 0;
+                if (deadline != 0) {
+                    wait = deadline - System.currentTimeMillis();
+                    if (wait <= 0) {
+                        throw new SocketTimeoutException("Read timed out");
+                    }
+                }
+                if (sel.select(wait) > 0) {
+                    sel.selectedKeys().clear();
+                    return;
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            throw new IOException(Messages.getString("SocketConnection.1"), e);
+        }
+    }
+
+    private void enter() throws IOException {
+        if (!this.state.compareAndSet(IDLE, BUSY)) {
+            throw new IOException(Messages.getString("SocketConnection.1"));
+        }
+    }
+
+    private void exit() {
+        if (!this.state.compareAndSet(BUSY, IDLE)) {
+            // closed while reading
+            releaseResources();
+        }
+    }
+
+    private void releaseResources() {
+        Selector sel = this.selector;
+        this.selector = null;
+        if (sel != null) {
+            try {
+                sel.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+        DirectByteBufferPool.getInstance().release(this.window);
+        this.window = null;
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.mysql.cj.Messages;
+
+/**
+ * An output stream that writes to a non-blocking {@link SocketChannel} through a direct buffer leased from {@link DirectByteBufferPool}. Nothing is
+ * buffered between calls, wrap it in a {@link java.io.BufferedOutputStream} to coalesce small writes. Waits for the peer to drain the socket honor the
+ * socket's SO_TIMEOUT, so a stalled server fails the write with {@link SocketTimeoutException} once 'socketTimeout' has passed.
+ *
+ * Writes are not thread-safe, but {@link #close()} may be called from any thread: it wakes up a blocked write, which then fails.
+ */
+public class SocketChannelOutputStream extends OutputStream {
+
+    private static final int IDLE = 0;
+    private static final int BUSY = 1;
+    private static final int CLOSED = 2;
+
+    private final SocketChannel channel;
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+
+    private ByteBuffer buffer;
+    private volatile Selector selector;
+
+    /**
+     * Constructor.
+     *
+     * @param channel
+     *            connected channel, must be in non-blocking mode
+     * @param bufferSize
+     *            size of the direct buffer writes are copied through
+     */
+    public SocketChannelOutputStream(SocketChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = DirectByteBufferPool.getInstance().lease(bufferSize);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        enter();
+        try {
+            ByteBuffer buf = this.buffer;
+            buf.clear();
+            buf.put((byte) b);
+            buf.flip();
+            drain(buf);
+        } finally {
+            exit();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if ((off | len | off + len | b.length - (off + len)) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        enter();
+        try {
+            ByteBuffer buf = this.buffer;
+            while (len > 0) {
+                int count = Math.min(len, buf.capacity());
+                buf.clear();
+                buf.put(b, off, count);
+                buf.flip();
+                drain(buf);
+                off += count;
+                len -= count;
+            }
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * Releases the buffer and the selector. The channel itself is left open, it belongs to the socket.
+     */
+    @Override
+    public void close() throws IOException {
+        int previous = this.state.getAndSet(CLOSED);
+        if (previous == IDLE) {
+            releaseResources();
+        } else if (previous == BUSY) {
+            Selector sel = this.selector;
+            if (sel != null) {
+                sel.wakeup();
+            }
+        }
+    }
+
+    private void drain(ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) {
+            if (this.channel.write(buf) == 0) {
+                awaitWritable();
+            }
+        }
+    }
+
+    private void awaitWritable() throws IOException {
+        Selector sel = this.selector;
+        if (sel == null) {
+            sel = Selector.open();
+            this.channel.register(sel, SelectionKey.OP_WRITE);
+            this.selector = sel;
+        }
+
+        int timeout = this.channel.socket().getSoTimeout();
+        long deadline = timeout > 0 ? System.currentTimeMillis() + timeout : 0;
+        try {
+            while (true) {
+                if (this.state.get() == CLOSED) {
+                    throw new IOException(Messages.getString("SocketConnection.1"));
+                }
+                long wait = 0;
+                if (deadline != 0) {
+                    wait = deadline - System.currentTimeMillis();
+                    if (wait <= 0) {
+                        throw new SocketTimeoutException("Write timed out");
+                    }
+                }
+                if (sel.select(wait) > 0) {
+                    sel.selectedKeys().clear();
+                    return;
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            throw new IOException(Messages.getString("SocketConnection.1"), e);
+        }
+    }
+
+    private void enter() throws IOException {
+        if (!this.state.compareAndSet(IDLE, BUSY)) {
+            throw new IOException(Messages.getString("SocketConnection.1"));
+        }
+    }
+
+    private void exit() {
+        if (!this.state.compareAndSet(BUSY, IDLE)) {
+            releaseResources();
+        }
+    }
+
+    private void releaseResources() {
+        Selector sel = this.selector;
+        this.selector = null;
+        if (sel != null) {
+            try {
+                sel.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+        DirectByteBufferPool.getInstance().release(this.buffer);
+        this.buffer = null;
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.result;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable lookup table from column labels, names and full names to column indices, following the same matching rules as the index maps of
+ * {@link DefaultColumnDefinition}: case-insensitive, labels first, then names if requested, then full names, and the first column wins.
+ *
+ * Both lookup tables use open addressing with linear probing. Lookups first probe the table of strings as they were returned by the server, so a label
+ * spelled the same way costs one String hash code, which is cached, and one equals() call. Other spellings are looked up in the table of case-folded
+ * strings, whose hash is computed without allocating.
+ */
+final class ColumnLabelIndex {
+
+    private final int mask;
+
+    private final String[] exactKeys;
+    private final int[] exactIndices;
+    private final int[] exactIndicesWithNames;
+
+    private final String[] foldedKeys;
+    private final int[] foldedHashes;
+    private final int[] foldedIndices;
+    private final int[] foldedIndicesWithNames;
+
+    ColumnLabelIndex(Field[] fields) {
+        // case-folded strings mapped to the first column they match
+        Map<String, Integer> labels = new HashMap<>();
+        Map<String, Integer> names = new HashMap<>();
+        Map<String, Integer> fullNames = new HashMap<>();
+        Set<String> exactStrings = new LinkedHashSet<>();
+
+        for (int i = 0; i < fields.length; i++) {
+            addFirst(labels, exactStrings, fields[i].getName(), i);
+            addFirst(names, exactStrings, fields[i].getOriginalName(), i);
+            addFirst(fullNames, exactStrings, fields[i].getFullName(), i);
+        }
+
+        int capacity = 4;
+        while (capacity < exactStrings.size() * 2) {
+            capacity <<= 1;
+        }
+        this.mask = capacity - 1;
+
+        this.exactKeys = new String[capacity];
+        this.exactIndices = new int[capacity];
+        this.exactIndicesWithNames = new int[capacity];
+        this.foldedKeys = new String[capacity];
+        this.foldedHashes = new int[capacity];
+        this.foldedIndices = new int[capacity];
+        this.foldedIndicesWithNames = new int[capacity];
+
+        for (String exact : exactStrings) {
+            String folded = fold(exact);
+            int index = lookup(folded, labels, null, fullNames);
+            int indexWithNames = lookup(folded, labels, names, fullNames);
+
+            int slot = spread(exact.hashCode()) & this.mask;
+            while (this.exactKeys[slot] != null) {
+                slot = slot + 1 & this.mask;
+            }
+            this.exactKeys[slot] = exact;
+            this.exactIndices[slot] = index;
+            this.exactIndicesWithNames[slot] = indexWithNames;
+
+            int hash = foldedHash(folded);
+            slot = spread(hash) & this.mask;
+            while (this.foldedKeys[slot] != null) {
+                if (this.foldedKeys[slot].equals(folded)) {
+                    break;
+                }
+                slot = slot + 1 & this.mask;
+            }
+            this.foldedKeys[slot] = folded;
+            this.foldedHashes[slot] = hash;
+            this.foldedIndices[slot] = index;
+            this.foldedIndicesWithNames[slot] = indexWithNames;
+        }
+    }
+
+    /**
+     * Finds the index of the column with the given label.
+     *
+     * @param columnName
+     *            the column label, name or full name
+     * @param useColumnNamesInFindColumn
+     *            whether to match column names when no label matches
+     * @return the 0-based column index, or -1 if no column matches
+     */
+    int find(String columnName, boolean useColumnNamesInFindColumn) {
+        int slot = spread(columnName.hashCode()) & this.mask;
+        for (String key; (key = this.exactKeys[slot]) != null; slot = slot + 1 & this.mask) {
+            if (key.equals(columnName)) {
+                return useColumnNamesInFindColumn ? this.exactIndicesWithNames[slot] : this.exactIndices[slot];
+            }
+        }
+
+        int hash = foldedHash(columnName);
+        int length = columnName.length();
+        slot = spread(hash) & this.mask;
+        for (String key; (key = this.foldedKeys[slot]) != null; slot = slot + 1 & this.mask) {
+            if (this.foldedHashes[slot] == hash && key.length() == length && key.regionMatches(true, 0, columnName, 0, length)) {
+                return useColumnNamesInFindColumn ? this.foldedIndicesWithNames[slot] : this.foldedIndices[slot];
+            }
+        }
+
+        return -1;
+    }
+
+    private static void addFirst(Map<String, Integer> map, Set<String> exactStrings, String s, int index) {
+        if (s != null) {
+            exactStrings.add(s);
+            map.putIfAbsent(fold(s), index);
+        }
+    }
+
+    private static int lookup(String folded, Map<String, Integer> labels, Map<String, Integer> names, Map<String, Integer> fullNames) {
+        Integer index = labels.get(folded);
+        if (index == null && names != null) {
+            index = names.get(folded);
+        }
+        if (index == null) {
+            index = fullNames.get(folded);
+        }
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Folds a character so that two characters are equal ignoring case, as in {@link String#CASE_INSENSITIVE_ORDER}, if and only if their folded forms
+     * are equal.
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static String fold(String s) {
+        char[] chars = new char[s.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = fold(s.charAt(i));
+        }
+        return new String(chars);
+    }
+
+    private static int foldedHash(String s) {
+        int hash = 0;
+        for (int i = 0; i < s.length(); i++) {
+            hash = 31 * hash + fold(s.charAt(i));
+        }
+        return hash;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ hash >>> 16;
+    }
+
+}
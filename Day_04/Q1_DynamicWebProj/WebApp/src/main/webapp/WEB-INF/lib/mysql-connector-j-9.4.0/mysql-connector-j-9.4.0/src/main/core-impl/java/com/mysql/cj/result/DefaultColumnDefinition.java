@@ -37,10 +37,7 @@ public class DefaultColumnDefinition implements ColumnDefinition {
     /** Map column names (and all of their permutations) to column indices */
     private Map<String, Integer> columnLabelToIndex = null;
 
-    /**
-     * The above map is a case-insensitive tree-map, it can be slow, this caches lookups into that map, because the other alternative is to create new
-     * object instances for every call to findColumn()....
-     */
+    /** Exposed through {@link ColumnDefinition#getColumnToIndexCache()}, findColumn() looks columns up in {@link #columnLabelIndex} instead */
     private Map<String, Integer> columnToIndexCache = new HashMap<>();
 
     /** Map of fully-specified column names to column indices */
@@ -51,6 +48,12 @@ public class DefaultColumnDefinition implements ColumnDefinition {
 
     private boolean builtIndexMapping = false;
 
+    /** Label lookup table used by findColumn(), immutable and shared with the column definitions this one is exported to */
+    private ColumnLabelIndex columnLabelIndex = null;
+
+    /** CRC32 of the column definition packets this definition was read from, -1 if unknown */
+    private long packetChecksum = -1;
+
     public DefaultColumnDefinition() {
     }
 
@@ -58,6 +61,25 @@ public class DefaultColumnDefinition implements ColumnDefinition {
         this.fields = fields;
     }
 
+    /**
+     * Creates a column definition that shares the fields and the index mappings of the given one, but has its own column lookup cache, so that both can be
+     * used concurrently.
+     *
+     * @param columnDefinition
+     *            the column definition to share
+     */
+    public DefaultColumnDefinition(ColumnDefinition columnDefinition) {
+        this.fields = columnDefinition.getFields();
+        this.columnLabelToIndex = columnDefinition.getColumnLabelToIndex();
+        this.fullColumnNameToIndex = columnDefinition.getFullColumnNameToIndex();
+        this.columnNameToIndex = columnDefinition.getColumnNameToIndex();
+        this.builtIndexMapping = columnDefinition.hasBuiltIndexMapping();
+        if (columnDefinition instanceof DefaultColumnDefinition) {
+            this.columnLabelIndex = ((DefaultColumnDefinition) columnDefinition).columnLabelIndex;
+            this.packetChecksum = ((DefaultColumnDefinition) columnDefinition).packetChecksum;
+        }
+    }
+
     @Override
     public Field[] getFields() {
         return this.fields;
@@ -105,6 +127,8 @@ public class DefaultColumnDefinition implements ColumnDefinition {
             }
         }
 
+        this.columnLabelIndex = new ColumnLabelIndex(this.fields);
+
         // set the flag to prevent rebuilding...
         this.builtIndexMapping = true;
     }
@@ -159,6 +183,8 @@ public class DefaultColumnDefinition implements ColumnDefinition {
         this.fields = columnDefinition.getFields();
         this.columnLabelToIndex = columnDefinition.getColumnNameToIndex();
         this.fullColumnNameToIndex = columnDefinition.getFullColumnNameToIndex();
+        this.columnLabelIndex = columnDefinition instanceof DefaultColumnDefinition ? ((DefaultColumnDefinition) columnDefinition).columnLabelIndex : null;
+        this.packetChecksum = columnDefinition instanceof DefaultColumnDefinition ? ((DefaultColumnDefinition) columnDefinition).packetChecksum : -1;
         this.builtIndexMapping = true;
     }
 
@@ -167,49 +193,42 @@ public class DefaultColumnDefinition implements ColumnDefinition {
         columnDefinition.setFields(this.fields);
         columnDefinition.setColumnNameToIndex(this.columnLabelToIndex);
         columnDefinition.setFullColumnNameToIndex(this.fullColumnNameToIndex);
-    }
-
-    @Override
-    public int findColumn(String columnName, boolean useColumnNamesInFindColumn, int indexBase) {
-        Integer index;
-
-        if (!hasBuiltIndexMapping()) {
-            buildIndexMapping();
+        if (columnDefinition instanceof DefaultColumnDefinition) {
+            ((DefaultColumnDefinition) columnDefinition).columnLabelIndex = this.columnLabelIndex;
+            ((DefaultColumnDefinition) columnDefinition).packetChecksum = this.packetChecksum;
         }
+    }
 
-        index = this.columnToIndexCache.get(columnName);
-
-        if (index != null) {
-            return index.intValue() + indexBase;
-        }
+    /**
+     * Returns the CRC32 of the column definition packets this definition was read from. Cached definitions are only reused for results that came with
+     * identical column definition packets.
+     *
+     * @return the checksum, or -1 if this definition wasn't read from the server
+     */
+    public long getPacketChecksum() {
+        return this.packetChecksum;
+    }
 
-        index = this.columnLabelToIndex.get(columnName);
+    public void setPacketChecksum(long packetChecksum) {
+        this.packetChecksum = packetChecksum;
+    }
 
-        if (index == null && useColumnNamesInFindColumn) {
-            index = this.columnNameToIndex.get(columnName);
-        }
+    @Override
+    public int findColumn(String columnName, boolean useColumnNamesInFindColumn, int indexBase) {
+        ColumnLabelIndex index = this.columnLabelIndex;
 
         if (index == null) {
-            index = this.fullColumnNameToIndex.get(columnName);
-        }
-
-        if (index != null) {
-            this.columnToIndexCache.put(columnName, index);
-
-            return index.intValue() + indexBase;
-        }
-
-        // Try this inefficient way, now
-
-        for (int i = 0; i < this.fields.length; i++) {
-            if (this.fields[i].getName().equalsIgnoreCase(columnName)) {
-                return i + indexBase;
-            } else if (this.fields[i].getFullName().equalsIgnoreCase(columnName)) {
-                return i + indexBase;
+            if (!hasBuiltIndexMapping()) {
+                buildIndexMapping();
+                index = this.columnLabelIndex;
+            } else {
+                // initialized from a column definition that doesn't carry an index
+                index = this.columnLabelIndex = new ColumnLabelIndex(this.fields);
             }
         }
 
-        return -1;
+        int columnIndex = index.find(columnName, useColumnNamesInFindColumn);
+        return columnIndex == -1 ? -1 : columnIndex + indexBase;
     }
 
     /**
@@ -20,11 +20,14 @@
 
 package com.mysql.cj.protocol.a;
 
+import java.util.zip.CRC32;
+
 import com.mysql.cj.MysqlType;
 import com.mysql.cj.protocol.ColumnDefinition;
 import com.mysql.cj.protocol.ProtocolEntityFactory;
 import com.mysql.cj.protocol.ProtocolEntityReader;
 import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
+import com.mysql.cj.result.DefaultColumnDefinition;
 import com.mysql.cj.result.Field;
 import com.mysql.cj.util.LazyString;
 
@@ -43,22 +46,37 @@ public class ColumnDefinitionReader implements ProtocolEntityReader<ColumnDefini
         long columnCount = cdf.getColumnCount();
         ColumnDefinition cdef = cdf.getColumnDefinitionFromCache();
 
-        if (cdef != null && !cdf.mergeColumnDefinitions()) {
-            for (int i = 0; i < columnCount; i++) {
-                this.protocol.skipPacket();
+        /* read the metadata from the server */
+        NativePacketPayload[] fieldPackets = new NativePacketPayload[(int) columnCount];
+        CRC32 checksum = new CRC32();
+
+        for (int i = 0; i < columnCount; i++) {
+            fieldPackets[i] = this.protocol.readMessage(null);
+            checksum.update(fieldPackets[i].getByteBuffer(), 0, fieldPackets[i].getPayloadLength());
+        }
+
+        // A cached definition is only used while the server keeps sending the same column definitions, one cached before a table was altered or for another
+        // database is stale.
+        if (cdef instanceof DefaultColumnDefinition && !cdf.mergeColumnDefinitions()
+                && ((DefaultColumnDefinition) cdef).getPacketChecksum() == checksum.getValue()) {
+            for (NativePacketPayload fieldPacket : fieldPackets) {
+                this.protocol.releaseMessage(fieldPacket);
             }
-            return cdef;
+            // the cached definition may be shared by result sets of other connections
+            return new DefaultColumnDefinition(cdef);
         }
 
-        /* read the metadata from the server */
         Field[] fields = new Field[(int) columnCount];
 
         for (int i = 0; i < columnCount; i++) {
-            NativePacketPayload fieldPacket = this.protocol.readMessage(null);
-            fields[i] = unpackField(fieldPacket, this.protocol.getServerSession().getCharsetSettings().getMetadataEncoding());
+            fields[i] = unpackField(fieldPackets[i], this.protocol.getServerSession().getCharsetSettings().getMetadataEncoding());
         }
 
-        return cdf.createFromFields(fields);
+        ColumnDefinition read = cdf.createFromFields(fields);
+        if (read instanceof DefaultColumnDefinition) {
+            ((DefaultColumnDefinition) read).setPacketChecksum(checksum.getValue());
+        }
+        return read;
     }
 
     /**
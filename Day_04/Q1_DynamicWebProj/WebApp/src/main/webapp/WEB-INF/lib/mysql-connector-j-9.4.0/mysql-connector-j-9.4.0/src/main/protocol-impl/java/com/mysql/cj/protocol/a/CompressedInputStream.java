@@ -23,8 +23,7 @@ package com.mysql.cj.protocol.a;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.zip.DataFormatException;
-import java.util.zip.Inflater;
+import java.util.Arrays;
 
 import com.mysql.cj.conf.RuntimeProperty;
 import com.mysql.cj.log.Log;
@@ -35,14 +34,23 @@ import com.mysql.cj.util.StringUtils;
  */
 public class CompressedInputStream extends InputStream {
 
-    /** The packet data after it has been un-compressed */
+    /** Initial size of the reused buffers */
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+
+    /** Buffers bigger than this are shrunk again once they are mostly unused */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+    /** The packet data after it has been un-compressed, valid from pos to limit. Reused across packets */
     private byte[] buffer;
 
+    /** The compressed packet data as read from the server. Reused across packets */
+    private byte[] compressedBuffer;
+
     /** The stream we are reading from the server */
     private InputStream in;
 
-    /** The ZIP inflater used to un-compress packets */
-    private Inflater inflater;
+    /** The compressor used to un-compress packets */
+    private PacketCompressor compressor;
 
     /** Connection property reference */
     private RuntimeProperty<Boolean> traceProtocol;
@@ -58,6 +66,9 @@ public class CompressedInputStream extends InputStream {
     /** The position we are reading from */
     private int pos = 0;
 
+    /** The end of the un-compressed data in buffer */
+    private int limit = 0;
+
     /**
      * Creates a new CompressedInputStream that reads the given stream from the
      * server.
@@ -70,10 +81,27 @@ public class CompressedInputStream extends InputStream {
      *            logger
      */
     public CompressedInputStream(InputStream streamFromServer, RuntimeProperty<Boolean> traceProtocol, Log log) {
+        this(streamFromServer, traceProtocol, log, new ZlibPacketCompressor());
+    }
+
+    /**
+     * Creates a new CompressedInputStream that reads the given stream from the
+     * server and un-compresses packets with the given compressor.
+     *
+     * @param streamFromServer
+     *            original server InputStream
+     * @param traceProtocol
+     *            "traceProtocol" property
+     * @param log
+     *            logger
+     * @param compressor
+     *            the compression algorithm negotiated with the server
+     */
+    public CompressedInputStream(InputStream streamFromServer, RuntimeProperty<Boolean> traceProtocol, Log log, PacketCompressor compressor) {
         this.traceProtocol = traceProtocol;
         this.log = log;
         this.in = streamFromServer;
-        this.inflater = new Inflater();
+        this.compressor = compressor;
     }
 
     @Override
@@ -82,15 +110,16 @@ public class CompressedInputStream extends InputStream {
             return this.in.available();
         }
 
-        return this.buffer.length - this.pos + this.in.available();
+        return this.limit - this.pos + this.in.available();
     }
 
     @Override
     public void close() throws IOException {
         this.in.close();
         this.buffer = null;
-        this.inflater.end();
-        this.inflater = null;
+        this.compressedBuffer = null;
+        this.compressor.end();
+        this.compressor = null;
         this.traceProtocol = null;
         this.log = null;
     }
@@ -103,8 +132,6 @@ public class CompressedInputStream extends InputStream {
      *             if an I/O error occurs
      */
     private void getNextPacketFromServer() throws IOException {
-        byte[] uncompressedData = null;
-
         int lengthRead = readFully(this.packetHeaderBuffer, 0, 7);
 
         if (lengthRead < 7) {
@@ -122,22 +149,20 @@ public class CompressedInputStream extends InputStream {
             this.log.logTrace("Reading compressed packet of length " + compressedPacketLength + " uncompressed to " + uncompressedLength);
         }
 
-        if (uncompressedLength > 0) {
-            uncompressedData = new byte[uncompressedLength];
-
-            byte[] compressedBuffer = new byte[compressedPacketLength];
+        int remaining = this.limit - this.pos;
 
-            readFully(compressedBuffer, 0, compressedPacketLength);
+        if (doTrace && remaining > 0) {
+            this.log.logTrace("Combining remaining packet with new: ");
+        }
 
-            this.inflater.reset();
+        if (uncompressedLength > 0) {
+            // the remaining data is kept in front of the new data and the packet is un-compressed in place
+            makeRoom(remaining, uncompressedLength);
 
-            this.inflater.setInput(compressedBuffer);
+            this.compressedBuffer = ensureCapacity(this.compressedBuffer, compressedPacketLength);
+            readFully(this.compressedBuffer, 0, compressedPacketLength);
 
-            try {
-                this.inflater.inflate(uncompressedData);
-            } catch (DataFormatException dfe) {
-                throw new IOException("Error while uncompressing packet from server.");
-            }
+            this.compressor.decompress(this.compressedBuffer, 0, compressedPacketLength, this.buffer, remaining, uncompressedLength);
 
         } else {
             if (doTrace) {
@@ -148,40 +173,89 @@ public class CompressedInputStream extends InputStream {
             // Read data, note this this code is reached when using compressed packets that have not been compressed, as well
             //
             uncompressedLength = compressedPacketLength;
-            uncompressedData = new byte[uncompressedLength];
-            readFully(uncompressedData, 0, uncompressedLength);
+            makeRoom(remaining, uncompressedLength);
+            readFully(this.buffer, remaining, uncompressedLength);
         }
 
         if (doTrace) {
             if (uncompressedLength > 1024) {
-                this.log.logTrace("Uncompressed packet: \n" + StringUtils.dumpAsHex(uncompressedData, 256));
-                byte[] tempData = new byte[256];
-                System.arraycopy(uncompressedData, uncompressedLength - 256, tempData, 0, 256);
+                this.log.logTrace("Uncompressed packet: \n" + StringUtils.dumpAsHex(Arrays.copyOfRange(this.buffer, remaining, remaining + 256), 256));
+                byte[] tempData = Arrays.copyOfRange(this.buffer, remaining + uncompressedLength - 256, remaining + uncompressedLength);
                 this.log.logTrace("Uncompressed packet: \n" + StringUtils.dumpAsHex(tempData, 256));
                 this.log.logTrace("Large packet dump truncated. Showing first and last 256 bytes.");
             } else {
-                this.log.logTrace("Uncompressed packet: \n" + StringUtils.dumpAsHex(uncompressedData, uncompressedLength));
+                this.log.logTrace("Uncompressed packet: \n"
+                        + StringUtils.dumpAsHex(Arrays.copyOfRange(this.buffer, remaining, remaining + uncompressedLength), uncompressedLength));
             }
         }
 
-        if (this.buffer != null && this.pos < this.buffer.length) {
-            if (doTrace) {
-                this.log.logTrace("Combining remaining packet with new: ");
-            }
+        this.limit = remaining + uncompressedLength;
 
-            int remaining = this.buffer.length - this.pos;
-            byte[] newBuffer = new byte[remaining + uncompressedData.length];
+        return;
+    }
 
-            System.arraycopy(this.buffer, this.pos, newBuffer, 0, remaining);
-            System.arraycopy(uncompressedData, 0, newBuffer, remaining, uncompressedData.length);
+    /**
+     * Moves the unread data to the start of the buffer, making sure there is room for the given number of bytes after it.
+     *
+     * @param remaining
+     *            number of unread bytes, starting at pos
+     * @param length
+     *            number of bytes that will be added
+     */
+    private void makeRoom(int remaining, int length) {
+        int needed = remaining + length;
 
-            uncompressedData = newBuffer;
+        if (this.buffer == null || this.buffer.length < needed || this.buffer.length > MAX_RETAINED_BUFFER_SIZE && this.buffer.length > 4 * needed) {
+            byte[] newBuffer = new byte[bufferSize(this.buffer == null ? 0 : this.buffer.length, needed)];
+            if (remaining > 0) {
+                System.arraycopy(this.buffer, this.pos, newBuffer, 0, remaining);
+            }
+            this.buffer = newBuffer;
+        } else if (remaining > 0 && this.pos > 0) {
+            System.arraycopy(this.buffer, this.pos, this.buffer, 0, remaining);
         }
 
         this.pos = 0;
-        this.buffer = uncompressedData;
+        this.limit = remaining;
+    }
 
-        return;
+    /**
+     * Returns a buffer of at least the given size, which is the given one if it is big enough and not much bigger than needed.
+     *
+     * @param buf
+     *            the current buffer, may be null
+     * @param needed
+     *            the required size
+     * @return the buffer to use, its contents are undefined
+     */
+    private static byte[] ensureCapacity(byte[] buf, int needed) {
+        int length = buf == null ? 0 : buf.length;
+        if (length < needed || length > MAX_RETAINED_BUFFER_SIZE && length > 4 * needed) {
+            return new byte[bufferSize(length, needed)];
+        }
+        return buf;
+    }
+
+    /**
+     * Computes the size of a new buffer. Buffers grow geometrically so that a run of growing packets causes few re-allocations, and shrink back to the
+     * needed size once they are much larger than it.
+     *
+     * @param currentLength
+     *            length of the current buffer
+     * @param needed
+     *            the required size
+     * @return the new buffer size
+     */
+    private static int bufferSize(int currentLength, int needed) {
+        if (needed <= currentLength) {
+            // shrinking
+            return Math.max(needed, INITIAL_BUFFER_SIZE);
+        }
+        long size = Math.max(currentLength, INITIAL_BUFFER_SIZE);
+        while (size < needed) {
+            size <<= 1;
+        }
+        return (int) Math.min(size, Integer.MAX_VALUE - 8);
     }
 
     /**
@@ -195,7 +269,7 @@ public class CompressedInputStream extends InputStream {
      *             if an I/O error occors.
      */
     private void getNextPacketIfRequired(int numBytes) throws IOException {
-        if (this.buffer == null || this.pos + numBytes > this.buffer.length) {
+        if (this.buffer == null || this.pos + numBytes > this.limit) {
             getNextPacketFromServer();
         }
     }
@@ -234,7 +308,7 @@ public class CompressedInputStream extends InputStream {
             return -1;
         }
 
-        int remainingBufferLength = this.buffer.length - this.pos;
+        int remainingBufferLength = this.limit - this.pos;
         int consummedBytesLength = Math.min(remainingBufferLength, len);
 
         System.arraycopy(this.buffer, this.pos, b, off, consummedBytesLength);
@@ -22,21 +22,27 @@ package com.mysql.cj.protocol.a;
 
 import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.util.zip.Deflater;
 
 import com.mysql.cj.protocol.MessageSender;
 
 /**
  * A {@link MessageSender} for the compressed protocol.
- *
- * TODO: add support for pre-allocated buffer for large packets (if there's a demonstrable perf improvement)
  */
 public class CompressedPacketSender implements MessageSender<NativePacketPayload> {
 
+    /** Buffers bigger than this are not kept after a send() invocation */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+
     private BufferedOutputStream outputStream;
-    private Deflater deflater = new Deflater();
-    /** Buffer to compress data to. Used only across one send() invocation. */
+    private PacketCompressor compressor;
+    /** Buffer the split packet header and payload are gathered in before being compressed. */
+    private byte uncompressedPacket[];
+    /** Length of the data in uncompressedPacket. */
+    private int uncompressedPayloadLen = 0;
+    /** Buffer to compress data to. */
     private byte compressedPacket[];
+    /** Buffer compressed packet headers are encoded in. */
+    private final byte compressedHeader[] = new byte[COMP_HEADER_LENGTH];
     /** Sequence id of compressed packet. Used only across one send() invocation. */
     private byte compressedSequenceId = 0;
     /** Length of current compressed packet. */
@@ -46,20 +52,35 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
     public static final int MIN_COMPRESS_LEN = 50;
 
     public CompressedPacketSender(BufferedOutputStream outputStream) {
+        this(outputStream, new ZlibPacketCompressor());
+    }
+
+    /**
+     * Creates a packet sender that compresses packets with the given compressor.
+     *
+     * @param outputStream
+     *            the stream to the server
+     * @param compressor
+     *            the compression algorithm negotiated with the server
+     */
+    public CompressedPacketSender(BufferedOutputStream outputStream, PacketCompressor compressor) {
         this.outputStream = outputStream;
+        this.compressor = compressor;
     }
 
     /**
      * Shut down this packet sender and deallocate any resources.
      */
     public void stop() {
-        this.deflater.end();
-        this.deflater = null;
+        this.compressor.end();
+        this.compressor = null;
+        this.uncompressedPacket = null;
+        this.compressedPacket = null;
     }
 
     private void resetPacket() {
         this.compressedPayloadLen = 0;
-        this.deflater.reset();
+        this.uncompressedPayloadLen = 0;
     }
 
     /**
@@ -71,12 +92,9 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
      *            uncompressed packet length
      */
     private void addUncompressedHeader(byte packetSequence, int uncompressedPacketLen) {
-        byte uncompressedHeader[] = new byte[NativeConstants.HEADER_LENGTH];
-        NativeUtils.encodeMysqlThreeByteInteger(uncompressedPacketLen, uncompressedHeader, 0);
-        uncompressedHeader[3] = packetSequence;
-        this.deflater.setInput(uncompressedHeader);
-        this.compressedPayloadLen += this.deflater.deflate(this.compressedPacket, this.compressedPayloadLen,
-                this.compressedPacket.length - this.compressedPayloadLen);
+        NativeUtils.encodeMysqlThreeByteInteger(uncompressedPacketLen, this.uncompressedPacket, this.uncompressedPayloadLen);
+        this.uncompressedPacket[this.uncompressedPayloadLen + 3] = packetSequence;
+        this.uncompressedPayloadLen += NativeConstants.HEADER_LENGTH;
     }
 
     /**
@@ -90,18 +108,18 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
      *            length
      */
     private void addPayload(byte[] payload, int payloadOffset, int payloadLen) {
-        this.deflater.setInput(payload, payloadOffset, payloadLen);
-        this.compressedPayloadLen += this.deflater.deflate(this.compressedPacket, this.compressedPayloadLen,
-                this.compressedPacket.length - this.compressedPayloadLen);
+        System.arraycopy(payload, payloadOffset, this.uncompressedPacket, this.uncompressedPayloadLen, payloadLen);
+        this.uncompressedPayloadLen += payloadLen;
     }
 
     /**
      * Complete compression of the current payload contents to the compressed packet.
      */
     private void completeCompression() {
-        this.deflater.finish();
-        this.compressedPayloadLen += this.deflater.deflate(this.compressedPacket, this.compressedPayloadLen,
-                this.compressedPacket.length - this.compressedPayloadLen);
+        // output that isn't smaller than the input is useless, it's sent uncompressed
+        int len = this.compressor.compress(this.uncompressedPacket, 0, this.uncompressedPayloadLen, this.compressedPacket,
+                Math.min(this.compressedPacket.length, this.uncompressedPayloadLen));
+        this.compressedPayloadLen = len < 0 ? Integer.MAX_VALUE : len;
     }
 
     /**
@@ -117,9 +135,10 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
      *             if write exception occurs
      */
     private void writeCompressedHeader(int compLen, byte seq, int uncompLen) throws IOException {
-        this.outputStream.write(NativeUtils.encodeMysqlThreeByteInteger(compLen));
-        this.outputStream.write(seq);
-        this.outputStream.write(NativeUtils.encodeMysqlThreeByteInteger(uncompLen));
+        NativeUtils.encodeMysqlThreeByteInteger(compLen, this.compressedHeader, 0);
+        this.compressedHeader[3] = seq;
+        NativeUtils.encodeMysqlThreeByteInteger(uncompLen, this.compressedHeader, 4);
+        this.outputStream.write(this.compressedHeader, 0, COMP_HEADER_LENGTH);
     }
 
     /**
@@ -182,11 +201,15 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
             return;
         }
 
-        if (packetLen + NativeConstants.HEADER_LENGTH > NativeConstants.MAX_PACKET_SIZE) {
-            this.compressedPacket = new byte[NativeConstants.MAX_PACKET_SIZE];
-        } else {
-            this.compressedPacket = new byte[NativeConstants.HEADER_LENGTH + packetLen];
+        int bufferLen = Math.min(packetLen + NativeConstants.HEADER_LENGTH, NativeConstants.MAX_PACKET_SIZE);
+        if (this.compressedPacket == null || this.compressedPacket.length < bufferLen) {
+            // grow geometrically so that a run of slightly bigger packets doesn't re-allocate every time
+            int newLen = this.compressedPacket == null ? bufferLen
+                    : Math.max(bufferLen, Math.min(2 * this.compressedPacket.length, NativeConstants.MAX_PACKET_SIZE));
+            this.compressedPacket = new byte[newLen];
+            this.uncompressedPacket = new byte[newLen];
         }
+        resetPacket();
 
         PacketSplitter packetSplitter = new PacketSplitter(packetLen);
 
@@ -247,8 +270,11 @@ public class CompressedPacketSender implements MessageSender<NativePacketPayload
 
         this.outputStream.flush();
 
-        // release reference to (possibly large) compressed packet buffer
-        this.compressedPacket = null;
+        // release references to (possibly large) packet buffers, smaller ones are reused by the next send() invocation
+        if (this.compressedPacket.length > MAX_RETAINED_BUFFER_SIZE) {
+            this.compressedPacket = null;
+            this.uncompressedPacket = null;
+        }
     }
 
     @Override
@@ -164,8 +164,7 @@ public class NativeAuthenticationProvider implements AuthenticationProvider<Nati
                         0 : capabilityFlags & NativeServerSession.CLIENT_FOUND_ROWS) //
                 | capabilityFlags & NativeServerSession.CLIENT_LONG_FLAG //
                 | (this.useConnectWithDb ? capabilityFlags & NativeServerSession.CLIENT_CONNECT_WITH_DB : 0) //
-                | (this.propertySet.getBooleanProperty(PropertyKey.useCompression).getValue() ? //
-                        capabilityFlags & NativeServerSession.CLIENT_COMPRESS : 0) //
+                | getCompressionCapability(capabilityFlags) //
                 | (this.propertySet.getBooleanProperty(PropertyKey.allowLoadLocalInfile).getValue()
                         || this.propertySet.getStringProperty(PropertyKey.allowLoadLocalInfileInPath).isExplicitlySet() ? //
                                 capabilityFlags & NativeServerSession.CLIENT_LOCAL_FILES : 0) //
@@ -208,6 +207,35 @@ public class NativeAuthenticationProvider implements AuthenticationProvider<Nati
         this.password = null;
     }
 
+    /**
+     * Picks the compression algorithm to request, the first one in "compressionAlgorithms" that both the server and the driver support.
+     *
+     * @param capabilityFlags
+     *            server capabilities
+     * @return the capability flag of the chosen algorithm, or 0 for no compression
+     */
+    private long getCompressionCapability(int capabilityFlags) {
+        if (!this.propertySet.getBooleanProperty(PropertyKey.useCompression).getValue()) {
+            return 0;
+        }
+
+        for (String algorithm : StringUtils.split(this.propertySet.getStringProperty(PropertyKey.compressionAlgorithms).getValue(), ",", true)) {
+            if ("zlib".equalsIgnoreCase(algorithm)) {
+                if ((capabilityFlags & NativeServerSession.CLIENT_COMPRESS) != 0) {
+                    return NativeServerSession.CLIENT_COMPRESS;
+                }
+            } else if ("zstd".equalsIgnoreCase(algorithm)) {
+                if ((capabilityFlags & NativeServerSession.CLIENT_ZSTD_COMPRESSION_ALGORITHM) != 0 && ZstdPacketCompressor.isAvailable()) {
+                    return NativeServerSession.CLIENT_ZSTD_COMPRESSION_ALGORITHM;
+                }
+            } else if (algorithm.length() > 0) {
+                throw ExceptionFactory.createException(WrongArgumentException.class, Messages.getString("Protocol.Compression.9", new Object[] { algorithm }),
+                        getExceptionInterceptor());
+            }
+        }
+        return 0;
+    }
+
     /**
      * Fill the authentication plugins map.
      *
@@ -643,6 +671,10 @@ public class NativeAuthenticationProvider implements AuthenticationProvider<Nati
         if ((clientParam & NativeServerSession.CLIENT_CONNECT_ATTRS) != 0) {
             appendConnectionAttributes(last_sent, this.propertySet.getStringProperty(PropertyKey.connectionAttributes).getValue(), enc);
         }
+
+        if ((clientParam & NativeServerSession.CLIENT_ZSTD_COMPRESSION_ALGORITHM) != 0) {
+            last_sent.writeInteger(IntegerDataType.INT1, this.propertySet.getIntegerProperty(PropertyKey.zstdCompressionLevel).getValue());
+        }
         return last_sent;
     }
 
@@ -167,6 +167,9 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     /** Use this when reading in rows to avoid thousands of new() calls, because the byte arrays just get copied out of the packet anyway */
     protected NativePacketPayload reusablePacket = null;
 
+    /** Payload buffers for packets read without a reusable packet, when 'usePacketBufferPool' is enabled. */
+    protected PacketBufferPool packetBufferPool = null;
+
     /**
      * Packet used for 'LOAD DATA LOCAL INFILE'
      * We use a SoftReference, so that we don't penalize intermittent use of this feature
@@ -190,6 +193,9 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
 
     private int commandCount = 0;
 
+    /** Number of pipelined commands whose responses have not been read yet */
+    private int pipelinedCommandCount = 0;
+
     protected boolean hadWarnings = false;
     private int warningCount = 0;
 
@@ -266,10 +272,13 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         this.useServerPrepStmts = this.propertySet.getBooleanProperty(PropertyKey.useServerPrepStmts);
 
         this.reusablePacket = new NativePacketPayload(INITIAL_PACKET_SIZE);
+        if (this.propertySet.getBooleanProperty(PropertyKey.usePacketBufferPool).getValue()) {
+            this.packetBufferPool = new PacketBufferPool(this.propertySet.getMemorySizeProperty(PropertyKey.packetBufferPoolMaxBufferSize).getValue());
+        }
 
         try {
             this.packetSender = new SimplePacketSender(this.socketConnection.getMysqlOutput());
-            this.packetReader = new SimplePacketReader(this.socketConnection, this.maxAllowedPacket);
+            this.packetReader = new SimplePacketReader(this.socketConnection, this.maxAllowedPacket, this.packetBufferPool);
         } catch (IOException ioEx) {
             throw ExceptionFactory.createCommunicationsException(this.propertySet, this.serverSession, getPacketSentTimeHolder(), getPacketReceivedTimeHolder(),
                     ioEx, getExceptionInterceptor());
@@ -358,7 +367,7 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
 
             // i/o streams were replaced, build new packet sender/reader
             this.packetSender = new SimplePacketSender(this.socketConnection.getMysqlOutput());
-            this.packetReader = new SimplePacketReader(this.socketConnection, this.maxAllowedPacket);
+            this.packetReader = new SimplePacketReader(this.socketConnection, this.maxAllowedPacket, this.packetBufferPool);
 
         } catch (FeatureNotAvailableException e) {
             throw new CJConnectionFeatureNotAvailableException(getPropertySet(), this.serverSession, getPacketSentTimeHolder(), e);
@@ -411,6 +420,13 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         this.serverSession.setCapabilities(readServerCapabilities());
     }
 
+    private PacketCompressor createPacketCompressor(long compression) {
+        if (compression == NativeServerSession.CLIENT_ZSTD_COMPRESSION_ALGORITHM) {
+            return new ZstdPacketCompressor(this.propertySet.getIntegerProperty(PropertyKey.zstdCompressionLevel).getValue());
+        }
+        return new ZlibPacketCompressor();
+    }
+
     @Override
     public void afterHandshake() {
         checkTransactionState();
@@ -419,13 +435,13 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
             //
             // Can't enable compression until after handshake
             //
-            if ((this.serverSession.getCapabilities().getCapabilityFlags() & NativeServerSession.CLIENT_COMPRESS) != 0
-                    && this.propertySet.getBooleanProperty(PropertyKey.useCompression).getValue()
-                    && !(this.socketConnection.getMysqlInput().getUnderlyingStream() instanceof CompressedInputStream)) {
+            long compression = this.serverSession.getClientParam()
+                    & (NativeServerSession.CLIENT_COMPRESS | NativeServerSession.CLIENT_ZSTD_COMPRESSION_ALGORITHM);
+            if (compression != 0 && !(this.socketConnection.getMysqlInput().getUnderlyingStream() instanceof CompressedInputStream)) {
                 this.useCompression = true;
                 this.socketConnection.setMysqlInput(new FullReadInputStream(new CompressedInputStream(this.socketConnection.getMysqlInput(),
-                        this.propertySet.getBooleanProperty(PropertyKey.traceProtocol), this.log)));
-                this.compressedPacketSender = new CompressedPacketSender(this.socketConnection.getMysqlOutput());
+                        this.propertySet.getBooleanProperty(PropertyKey.traceProtocol), this.log, createPacketCompressor(compression))));
+                this.compressedPacketSender = new CompressedPacketSender(this.socketConnection.getMysqlOutput(), createPacketCompressor(compression));
                 this.packetSender = this.compressedPacketSender;
             }
 
@@ -584,8 +600,10 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
     public final NativePacketPayload readMessage(NativePacketPayload reuse) {
         try {
             NativePacketHeader header = this.packetReader.readHeader();
+            // a pooled header is overwritten by the continuation packets of a multi-packet
+            byte sequence = header.getMessageSequence();
             NativePacketPayload buf = this.packetReader.readMessage(Optional.ofNullable(reuse), header);
-            this.packetSequence = header.getMessageSequence();
+            this.packetSequence = sequence;
             return buf;
 
         } catch (IOException ioEx) {
@@ -597,11 +615,26 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         }
     }
 
+    /**
+     * Give back a packet returned by {@link #readMessage(NativePacketPayload)} or by the packet reader once its content has been consumed or copied. Does
+     * nothing unless 'usePacketBufferPool' is enabled. The reusable packet and packets still referenced by result set rows must not be released.
+     *
+     * @param message
+     *            {@link NativePacketPayload}
+     */
+    public void releaseMessage(NativePacketPayload message) {
+        if (this.packetBufferPool != null && message != this.reusablePacket) {
+            this.packetReader.undecorateAll().releaseMessage(message);
+        }
+    }
+
     public final NativePacketPayload probeMessage(NativePacketPayload reuse) {
         try {
             NativePacketHeader header = this.packetReader.probeHeader();
+            // a pooled header is overwritten by the continuation packets of a multi-packet
+            byte sequence = header.getMessageSequence();
             NativePacketPayload buf = this.packetReader.probeMessage(Optional.ofNullable(reuse), header);
-            this.packetSequence = header.getMessageSequence();
+            this.packetSequence = sequence;
             return buf;
 
         } catch (IOException ioEx) {
@@ -733,6 +766,99 @@ public class NativeProtocol extends AbstractProtocol<NativePacketPayload> implem
         }
     }
 
+    /**
+     * Tells whether commands can be pipelined on this connection, i.e. written back to back with {@link #sendPipelinedCommand(NativePacketPayload)}
+     * and their responses read afterwards with {@link #readPipelinedResult(ProtocolEntityFactory)}. This is not possible when something needs to
+     * see each command's response before the next command is sent: query interceptors, profiling and slow query logging, test case generation,
+     * compression, data truncation checks (which issue SHOW WARNINGS) or LOAD DATA LOCAL requests.
+     *
+     * @return true if commands can be pipelined
+     */
+    public boolean isPipeliningPossible() {
+        return this.queryInterceptors == null && !this.useCompression && !this.profileSQL && !this.logSlowQueries && !this.autoGenerateTestcaseScript
+                && !this.propertySet.getBooleanProperty(PropertyKey.jdbcCompliantTruncation).getValue()
+                && (this.serverSession.getClientParam() & NativeServerSession.CLIENT_LOCAL_FILES) == 0;
+    }
+
+    /**
+     * Sends a COM_QUERY packet without reading its response. The response must be read later with
+     * {@link #readPipelinedResult(ProtocolEntityFactory)}; responses come back in the order the commands were sent.
+     *
+     * @param queryPacket
+     *            the command packet
+     */
+    public void sendPipelinedCommand(NativePacketPayload queryPacket) {
+        this.commandCount++;
+
+        try {
+            if (this.pipelinedCommandCount == 0) {
+                checkForOutstandingStreamingData();
+                clearInputStream();
+            }
+
+            this.packetSequence = -1;
+            send(queryPacket, queryPacket.getPosition());
+            this.pipelinedCommandCount++;
+
+        } catch (CJException ex) {
+            // don't wrap CJExceptions
+            throw ex;
+        } catch (Exception ex) {
+            throw ExceptionFactory.createCommunicationsException(this.propertySet, this.serverSession, getPacketSentTimeHolder(),
+                    getPacketReceivedTimeHolder(), ex, getExceptionInterceptor());
+        }
+    }
+
+    /**
+     * Reads the response of the oldest pipelined command sent with {@link #sendPipelinedCommand(NativePacketPayload)}.
+     *
+     * @param <T>
+     *            extends {@link Resultset}
+     * @param resultSetFactory
+     *            {@link ProtocolEntityFactory}
+     * @return the result of the command
+     */
+    public <T extends Resultset> T readPipelinedResult(ProtocolEntityFactory<T, NativePacketPayload> resultSetFactory) {
+        if (this.pipelinedCommandCount == 0) {
+            throw ExceptionFactory.createException(Messages.getString("Protocol.NoPipelinedCommand"), getExceptionInterceptor());
+        }
+        this.pipelinedCommandCount--;
+
+        // every command starts a new packet sequence
+        this.packetReader.resetMessageSequence();
+
+        this.serverSession.setStatusFlags(0, true);
+        this.hadWarnings = false;
+        setWarningCount(0);
+
+        try {
+            NativePacketPayload resultPacket = checkErrorMessage(NativeConstants.COM_QUERY);
+            resultPacket.setPosition(0);
+            T topLevelResultSet = read(Resultset.class, -1, false, resultPacket, false, null, resultSetFactory);
+
+            // unlike readAllResults() the input can't be cleared afterwards, it holds the responses of the following commands
+            T currentResultSet = topLevelResultSet;
+            while (this.serverSession.hasMoreResults()) {
+                currentResultSet = readNextResultset(currentResultSet, -1, false, false, resultSetFactory);
+            }
+
+            reclaimLargeReusablePacket();
+            return topLevelResultSet;
+        } catch (IOException ioEx) {
+            // the stream position is lost, the remaining responses can't be read
+            this.pipelinedCommandCount = 0;
+            this.serverSession.preserveOldTransactionState();
+            throw ExceptionFactory.createCommunicationsException(this.propertySet, this.serverSession, getPacketSentTimeHolder(), getPacketReceivedTimeHolder(),
+                    ioEx, getExceptionInterceptor());
+        } catch (CJException e) {
+            if (e instanceof CJCommunicationsException) {
+                this.pipelinedCommandCount = 0;
+            }
+            this.serverSession.preserveOldTransactionState();
+            throw e;
+        }
+    }
+
     public void checkTransactionState() {
         int transState = this.serverSession.getTransactionState();
         if (transState == ServerSession.TRANSACTION_COMPLETED) {
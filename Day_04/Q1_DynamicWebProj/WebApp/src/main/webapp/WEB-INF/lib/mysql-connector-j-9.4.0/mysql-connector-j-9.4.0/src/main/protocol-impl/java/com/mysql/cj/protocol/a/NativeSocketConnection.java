@@ -63,24 +63,36 @@ public class NativeSocketConnection extends AbstractSocketConnection implements
 
             this.socketFactory.beforeHandshake();
 
-            InputStream rawInputStream;
-            if (propSet.getBooleanProperty(PropertyKey.useReadAheadInput).getValue()) {
-                rawInputStream = new ReadAheadInputStream(this.mysqlSocket.getInputStream(), 16384,
-                        propSet.getBooleanProperty(PropertyKey.traceProtocol).getValue(), log);
-            } else if (propSet.getBooleanProperty(PropertyKey.useUnbufferedInput).getValue()) {
-                rawInputStream = this.mysqlSocket.getInputStream();
-            } else {
-                rawInputStream = new BufferedInputStream(this.mysqlSocket.getInputStream(), 16384);
-            }
-
-            this.mysqlInput = new FullReadInputStream(rawInputStream);
-            this.mysqlOutput = new BufferedOutputStream(this.mysqlSocket.getOutputStream(), 16384);
+            createStreams(log);
         } catch (IOException ioEx) {
             throw ExceptionFactory.createCommunicationsException(propSet, null, new PacketSentTimeHolder() {
             }, null, ioEx, getExceptionInterceptor());
         }
     }
 
+    /**
+     * Creates the input and output streams over the connected socket.
+     *
+     * @param log
+     *            logger
+     * @throws IOException
+     *             if an error occurs
+     */
+    protected void createStreams(Log log) throws IOException {
+        InputStream rawInputStream;
+        if (this.propertySet.getBooleanProperty(PropertyKey.useReadAheadInput).getValue()) {
+            rawInputStream = new ReadAheadInputStream(this.mysqlSocket.getInputStream(), 16384,
+                    this.propertySet.getBooleanProperty(PropertyKey.traceProtocol).getValue(), log);
+        } else if (this.propertySet.getBooleanProperty(PropertyKey.useUnbufferedInput).getValue()) {
+            rawInputStream = this.mysqlSocket.getInputStream();
+        } else {
+            rawInputStream = new BufferedInputStream(this.mysqlSocket.getInputStream(), 16384);
+        }
+
+        this.mysqlInput = new FullReadInputStream(rawInputStream);
+        this.mysqlOutput = new BufferedOutputStream(this.mysqlSocket.getOutputStream(), 16384);
+    }
+
     @Override
     public void performTlsHandshake(ServerSession serverSession) throws SSLParamsException, FeatureNotAvailableException, IOException {
         performTlsHandshake(serverSession, null);
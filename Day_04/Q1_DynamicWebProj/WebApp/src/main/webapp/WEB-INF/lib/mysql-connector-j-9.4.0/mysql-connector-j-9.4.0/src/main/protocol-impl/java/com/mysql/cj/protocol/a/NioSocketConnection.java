@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+
+import com.mysql.cj.exceptions.FeatureNotAvailableException;
+import com.mysql.cj.exceptions.SSLParamsException;
+import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.FullReadInputStream;
+import com.mysql.cj.protocol.ServerSession;
+import com.mysql.cj.protocol.SocketChannelInputStream;
+import com.mysql.cj.protocol.SocketChannelOutputStream;
+import com.mysql.cj.protocol.SocketChannelSocketFactory;
+import com.mysql.cj.protocol.SocketFactory;
+import com.mysql.cj.protocol.StandardSocketFactory;
+
+/**
+ * A {@link NativeSocketConnection} that does its I/O through the socket's {@link SocketChannel} in non-blocking mode, with direct buffers shared by all
+ * connections. Used when 'useSocketChannel' is enabled.
+ *
+ * Sockets without a channel, such as those of custom socket factories, get the usual socket streams. So does the connection once TLS is negotiated,
+ * because the TLS socket is layered over the blocking streams of the plain socket.
+ */
+public class NioSocketConnection extends NativeSocketConnection {
+
+    static final int INITIAL_READ_WINDOW = 16384;
+    static final int MAX_READ_WINDOW = 1024 * 1024;
+    static final int WRITE_BUFFER_SIZE = 65536;
+
+    @Override
+    protected SocketFactory createSocketFactory(String socketFactoryClassName) {
+        if (StandardSocketFactory.class.getName().equals(socketFactoryClassName)) {
+            return new SocketChannelSocketFactory();
+        }
+        return super.createSocketFactory(socketFactoryClassName);
+    }
+
+    @Override
+    protected void createStreams(Log log) throws IOException {
+        SocketChannel channel = this.mysqlSocket.getChannel();
+        if (channel == null) {
+            super.createStreams(log);
+            return;
+        }
+
+        channel.configureBlocking(false);
+        this.mysqlInput = new FullReadInputStream(new SocketChannelInputStream(channel, INITIAL_READ_WINDOW, MAX_READ_WINDOW));
+        this.mysqlOutput = new BufferedOutputStream(new SocketChannelOutputStream(channel, WRITE_BUFFER_SIZE), 16384);
+    }
+
+    @Override
+    public void performTlsHandshake(ServerSession serverSession, Log log) throws SSLParamsException, FeatureNotAvailableException, IOException {
+        SocketChannel channel = this.mysqlSocket.getChannel();
+        if (channel != null && !channel.isBlocking()) {
+            // closing the channel streams only releases their buffers and selectors, which must be gone before the channel can block again
+            this.mysqlOutput.close();
+            this.mysqlInput.close();
+            channel.configureBlocking(true);
+        }
+        super.performTlsHandshake(serverSession, log);
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2016, 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.util.ArrayDeque;
+
+/**
+ * A pool of packet payload buffers in power-of-two size classes, used by {@link SimplePacketReader} when 'usePacketBufferPool' is enabled.
+ *
+ * A pool belongs to a single connection and, like the rest of the protocol, is not thread-safe. Buffers larger than the largest size class are allocated
+ * on demand and left to the garbage collector.
+ */
+public class PacketBufferPool {
+
+    /** Smallest size class, small packets (OK, EOF, short rows) all share it. */
+    static final int MIN_BUFFER_SIZE = 256;
+
+    /** Buffers kept per size class, a streaming read only ever holds one or two at a time. */
+    static final int BUFFERS_PER_CLASS = 4;
+
+    /** Free buffers of one size class. */
+    private static final class SizeClass {
+
+        final ArrayDeque<byte[]> free = new ArrayDeque<>(BUFFERS_PER_CLASS);
+
+    }
+
+    private final int maxBufferSize;
+    private final SizeClass[] classes;
+
+    private long leased = 0;
+    private long reused = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param maxBufferSize
+     *            size of the largest buffer to keep in the pool, rounded down to a power of two and not less than {@link #MIN_BUFFER_SIZE}
+     */
+    public PacketBufferPool(int maxBufferSize) {
+        this.maxBufferSize = Integer.highestOneBit(Math.max(maxBufferSize, MIN_BUFFER_SIZE));
+        this.classes = new SizeClass[sizeClass(this.maxBufferSize) + 1];
+        for (int i = 0; i < this.classes.length; i++) {
+            this.classes[i] = new SizeClass();
+        }
+    }
+
+    /**
+     * Returns a buffer of at least the given size. Its content is undefined.
+     *
+     * @param minSize
+     *            number of bytes needed
+     * @return a pooled buffer, or a newly allocated one of exactly minSize bytes if minSize is above the largest size class
+     */
+    public byte[] lease(int minSize) {
+        this.leased++;
+        if (minSize > this.maxBufferSize) {
+            return new byte[minSize];
+        }
+        int sizeClass = sizeClass(minSize);
+        byte[] buffer = this.classes[sizeClass].free.pollFirst();
+        if (buffer != null) {
+            this.reused++;
+            return buffer;
+        }
+        return new byte[MIN_BUFFER_SIZE << sizeClass];
+    }
+
+    /**
+     * Returns a buffer to the pool. Buffers that were not leased from a size class, or that would overfill it, are dropped. The caller must not use the
+     * buffer afterwards.
+     *
+     * @param buffer
+     *            buffer to return, may be null
+     */
+    public void release(byte[] buffer) {
+        if (buffer == null) {
+            return;
+        }
+        int length = buffer.length;
+        if (length < MIN_BUFFER_SIZE || length > this.maxBufferSize || Integer.bitCount(length) != 1) {
+            return;
+        }
+        ArrayDeque<byte[]> free = this.classes[sizeClass(length)].free;
+        if (free.size() < BUFFERS_PER_CLASS) {
+            free.addFirst(buffer);
+        }
+    }
+
+    public int getMaxBufferSize() {
+        return this.maxBufferSize;
+    }
+
+    /**
+     * @return number of {@link #lease(int)} calls so far
+     */
+    public long getLeaseCount() {
+        return this.leased;
+    }
+
+    /**
+     * @return number of leases served from a previously released buffer
+     */
+    public long getReuseCount() {
+        return this.reused;
+    }
+
+    /**
+     * Index of the smallest size class holding size bytes.
+     */
+    private static int sizeClass(int size) {
+        if (size <= MIN_BUFFER_SIZE) {
+            return 0;
+        }
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+    }
+
+}
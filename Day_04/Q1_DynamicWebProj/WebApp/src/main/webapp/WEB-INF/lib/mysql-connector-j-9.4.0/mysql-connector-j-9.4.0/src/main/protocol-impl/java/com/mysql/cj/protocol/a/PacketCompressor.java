@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.io.IOException;
+
+/**
+ * Compression algorithm used for the payloads of compressed protocol packets. The compressed packet framing is the same for every algorithm, only the
+ * payload encoding differs.
+ *
+ * Instances are not thread safe; the compressed packet sender and the compressed input stream use one each.
+ */
+public interface PacketCompressor {
+
+    /**
+     * Compresses <code>src[srcOffset, srcOffset + srcLength)</code> into <code>dst</code>, starting at offset 0.
+     *
+     * @param src
+     *            data to compress
+     * @param srcOffset
+     *            offset of the data
+     * @param srcLength
+     *            length of the data
+     * @param dst
+     *            buffer to compress into
+     * @param dstLength
+     *            maximum number of bytes to write into dst
+     * @return the compressed length, or -1 if the compressed data doesn't fit in <code>dstLength</code> bytes
+     */
+    int compress(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstLength);
+
+    /**
+     * Decompresses <code>src[srcOffset, srcOffset + srcLength)</code> into <code>dst[dstOffset, dstOffset + dstLength)</code>.
+     *
+     * @param src
+     *            compressed data
+     * @param srcOffset
+     *            offset of the compressed data
+     * @param srcLength
+     *            length of the compressed data
+     * @param dst
+     *            buffer to decompress into
+     * @param dstOffset
+     *            offset to decompress at
+     * @param dstLength
+     *            expected length of the decompressed data
+     * @throws IOException
+     *             if the data can't be decompressed to exactly <code>dstLength</code> bytes
+     */
+    void decompress(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset, int dstLength) throws IOException;
+
+    /**
+     * Releases any resources held by this compressor.
+     */
+    void end();
+
+}
@@ -29,6 +29,7 @@ import com.mysql.cj.conf.RuntimeProperty;
 import com.mysql.cj.protocol.ProtocolEntityFactory;
 import com.mysql.cj.protocol.ProtocolEntityReader;
 import com.mysql.cj.protocol.ResultsetRow;
+import com.mysql.cj.protocol.a.result.ByteArrayRow;
 
 public class ResultsetRowReader implements ProtocolEntityReader<ResultsetRow, NativePacketPayload> {
 
@@ -60,10 +61,10 @@ public class ResultsetRowReader implements ProtocolEntityReader<ResultsetRow, Na
         AbstractRowFactory rf = (AbstractRowFactory) sf;
         NativePacketPayload rowPacket = null;
         NativePacketHeader hdr = this.protocol.getPacketReader().readHeader();
+        boolean reusePacket = rf.canReuseRowPacketForBufferRow();
 
         // read the entire packet(s)
-        rowPacket = this.protocol.getPacketReader()
-                .readMessage(rf.canReuseRowPacketForBufferRow() ? Optional.ofNullable(this.protocol.getReusablePacket()) : Optional.empty(), hdr);
+        rowPacket = this.protocol.getPacketReader().readMessage(reusePacket ? Optional.ofNullable(this.protocol.getReusablePacket()) : Optional.empty(), hdr);
         this.protocol.checkErrorMessage(rowPacket);
         // Didn't read an error, so re-position to beginning of packet in order to read result set data
         rowPacket.setPosition(rowPacket.getPosition() - 1);
@@ -75,7 +76,12 @@ public class ResultsetRowReader implements ProtocolEntityReader<ResultsetRow, Na
             return null;
         }
 
-        return sf.createFromMessage(rowPacket);
+        ResultsetRow row = sf.createFromMessage(rowPacket);
+        if (!reusePacket && row instanceof ByteArrayRow) {
+            // the row holds copies of the column values, a buffer row keeps the packet itself
+            this.protocol.releaseMessage(rowPacket);
+        }
+        return row;
     }
 
 }
@@ -32,6 +32,9 @@ import com.mysql.cj.protocol.SocketConnection;
 /**
  * Simple implementation of {@link MessageReader} which handles the receiving of logical MySQL packets from the provided socket input stream.
  * Multi-packets are handled outside of this reader.
+ *
+ * When created with a {@link PacketBufferPool} the reader reuses a single header instance and leases the payload buffers it allocates from the pool.
+ * Callers give them back with {@link #releaseMessage(NativePacketPayload)} once the payload has been consumed or copied.
  */
 public class SimplePacketReader implements MessageReader<NativePacketHeader, NativePacketPayload> {
 
@@ -43,9 +46,19 @@ public class SimplePacketReader implements MessageReader<NativePacketHeader, Nat
     NativePacketHeader lastHeader = null;
     NativePacketPayload lastMessage = null;
 
+    private final PacketBufferPool bufferPool;
+    // only used with a buffer pool, the header is overwritten by each packet
+    private final NativePacketHeader pooledHeader;
+
     public SimplePacketReader(SocketConnection socketConnection, RuntimeProperty<Integer> maxAllowedPacket) {
+        this(socketConnection, maxAllowedPacket, null);
+    }
+
+    public SimplePacketReader(SocketConnection socketConnection, RuntimeProperty<Integer> maxAllowedPacket, PacketBufferPool bufferPool) {
         this.socketConnection = socketConnection;
         this.maxAllowedPacket = maxAllowedPacket;
+        this.bufferPool = bufferPool;
+        this.pooledHeader = bufferPool == null ? null : new NativePacketHeader();
     }
 
     @Override
@@ -66,7 +79,7 @@ public class SimplePacketReader implements MessageReader<NativePacketHeader, Nat
     }
 
     private NativePacketHeader readHeaderLocal() throws IOException {
-        NativePacketHeader hdr = new NativePacketHeader();
+        NativePacketHeader hdr = this.pooledHeader == null ? new NativePacketHeader() : this.pooledHeader;
 
         try {
             this.socketConnection.getMysqlInput().readFully(hdr.getBuffer().array(), 0, NativeConstants.HEADER_LENGTH);
@@ -115,11 +128,21 @@ public class SimplePacketReader implements MessageReader<NativePacketHeader, Nat
                 if (message.getByteBuffer().length < packetLength) {
                     // Note: We actually check the length of the buffer, rather than getBufLength(), because getBufLength()
                     // is not necessarily the actual length of the byte array used as the buffer
-                    message.setByteBuffer(new byte[packetLength]);
+                    if (this.bufferPool == null) {
+                        message.setByteBuffer(new byte[packetLength]);
+                    } else {
+                        byte[] old = message.getByteBuffer();
+                        message.setByteBuffer(this.bufferPool.lease(packetLength));
+                        this.bufferPool.release(old);
+                    }
                 }
 
                 // Set the new length
                 message.setPayloadLength(packetLength);
+            } else if (this.bufferPool != null) {
+                // pooled buffers are usually larger than the packet
+                message = new NativePacketPayload(this.bufferPool.lease(packetLength));
+                message.setPayloadLength(packetLength);
             } else {
                 message = new NativePacketPayload(new byte[packetLength]);
             }
@@ -141,6 +164,17 @@ public class SimplePacketReader implements MessageReader<NativePacketHeader, Nat
         }
     }
 
+    @Override
+    public void releaseMessage(NativePacketPayload message) {
+        if (this.bufferPool != null && message != null && message != this.lastMessage) {
+            this.bufferPool.release(message.getByteBuffer());
+        }
+    }
+
+    public PacketBufferPool getBufferPool() {
+        return this.bufferPool;
+    }
+
     @Override
     public byte getMessageSequence() {
         return this.readPacketSequence;
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol.a;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * {@link PacketCompressor} for the zstd algorithm. The JDK has no zstd implementation, so this delegates to zstd-jni (<code>com.github.luben:zstd-jni</code>)
+ * which must be available on the class path. Use {@link #isAvailable()} to check for it.
+ */
+public class ZstdPacketCompressor implements PacketCompressor {
+
+    private static final String ZSTD_CLASS_NAME = "com.github.luben.zstd.Zstd";
+
+    public static final int MIN_LEVEL = 1;
+    public static final int MAX_LEVEL = 22;
+
+    private static final MethodHandle COMPRESS;
+    private static final MethodHandle DECOMPRESS;
+    private static final MethodHandle IS_ERROR;
+    private static final MethodHandle GET_ERROR_NAME;
+
+    static {
+        MethodHandle compress = null;
+        MethodHandle decompress = null;
+        MethodHandle isError = null;
+        MethodHandle getErrorName = null;
+        try {
+            // initializing the class loads the native library
+            Class<?> zstd = Class.forName(ZSTD_CLASS_NAME, true, ZstdPacketCompressor.class.getClassLoader());
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            compress = lookup.findStatic(zstd, "compressByteArray",
+                    MethodType.methodType(long.class, byte[].class, int.class, int.class, byte[].class, int.class, int.class, int.class));
+            decompress = lookup.findStatic(zstd, "decompressByteArray",
+                    MethodType.methodType(long.class, byte[].class, int.class, int.class, byte[].class, int.class, int.class));
+            isError = lookup.findStatic(zstd, "isError", MethodType.methodType(boolean.class, long.class));
+            getErrorName = lookup.findStatic(zstd, "getErrorName", MethodType.methodType(String.class, long.class));
+        } catch (ReflectiveOperationException | LinkageError e) {
+            compress = null;
+        }
+        COMPRESS = compress;
+        DECOMPRESS = decompress;
+        IS_ERROR = isError;
+        GET_ERROR_NAME = getErrorName;
+    }
+
+    private final int level;
+
+    /**
+     * Tells whether zstd-jni could be loaded.
+     *
+     * @return true if zstd compression can be used
+     */
+    public static boolean isAvailable() {
+        return COMPRESS != null;
+    }
+
+    /**
+     * Creates a zstd compressor.
+     *
+     * @param level
+     *            compression level, from {@link #MIN_LEVEL} to {@link #MAX_LEVEL}
+     */
+    public ZstdPacketCompressor(int level) {
+        if (!isAvailable()) {
+            throw new IllegalStateException(ZSTD_CLASS_NAME + " is not available.");
+        }
+        this.level = Math.max(MIN_LEVEL, Math.min(MAX_LEVEL, level));
+    }
+
+    @Override
+    public int compress(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstLength) {
+        long result;
+        try {
+            result = (long) COMPRESS.invokeExact(dst, 0, dstLength, src, srcOffset, srcLength, this.level);
+            if ((boolean) IS_ERROR.invokeExact(result)) {
+                // most likely the destination is too small, i.e. the data doesn't compress
+                return -1;
+            }
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+        return (int) result;
+    }
+
+    @Override
+    public void decompress(byte[] src, int srcOffset, int srcLength, byte[] dst, int dstOffset, int dstLength) throws IOException {
+        long result;
+        try {
+            result = (long) DECOMPRESS.invokeExact(dst, dstOffset, dstLength, src, srcOffset, srcLength);
+            if ((boolean) IS_ERROR.invokeExact(result)) {
+                throw new IOException("Error while uncompressing packet from server: " + (String) GET_ERROR_NAME.invokeExact(result));
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IOException(t);
+        }
+
+        if (result != dstLength) {
+            throw new IOException("Error while uncompressing packet from server.");
+        }
+    }
+
+    @Override
+    public void end() {
+        // zstd-jni allocates and frees its contexts on each call
+    }
+
+}
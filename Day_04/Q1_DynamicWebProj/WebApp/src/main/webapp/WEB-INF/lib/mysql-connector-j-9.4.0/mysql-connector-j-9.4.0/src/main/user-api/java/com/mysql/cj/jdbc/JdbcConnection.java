@@ -22,6 +22,7 @@ package com.mysql.cj.jdbc;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.locks.Lock;
 
 import com.mysql.cj.MysqlConnection;
@@ -30,6 +31,7 @@ import com.mysql.cj.TransactionEventHandler;
 import com.mysql.cj.interceptors.QueryInterceptor;
 import com.mysql.cj.jdbc.result.CachedResultSetMetaData;
 import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
+import com.mysql.cj.util.CacheStats;
 
 /**
  * This interface contains methods that are considered the "vendor extension" to the JDBC API for MySQL's implementation of java.sql.Connection.
@@ -169,6 +171,15 @@ public interface JdbcConnection extends java.sql.Connection, MysqlConnection, Tr
      */
     long getIdleFor();
 
+    /**
+     * Returns the hit, miss and eviction counters of the statement and metadata caches enabled on this connection, keyed by the name of the cache:
+     * "callableStatementCache", "resultSetMetadataCache", "serverSideStatementCheckCache" and "serverSideStatementCache". A shared ResultSet metadata
+     * cache reports the counters of all the connections sharing it.
+     *
+     * @return a snapshot of the cache statistics, empty if no cache is enabled
+     */
+    Map<String, CacheStats> getCacheStats();
+
     /**
      * Returns the comment that will be prepended to all statements sent to the server.
      *
@@ -454,6 +465,13 @@ public interface JdbcConnection extends java.sql.Connection, MysqlConnection, Tr
 
     void initializeSafeQueryInterceptors() throws SQLException;
 
+    /**
+     * Drops all result set metadata cached for this connection. Called after executing statements that may change the columns returned by cached queries.
+     *
+     * If the cache is shared with other connections, the metadata cached by them is dropped too.
+     */
+    void invalidateCachedMetaData();
+
     /**
      * Tests to see if the connection is in Read Only Mode.
      *
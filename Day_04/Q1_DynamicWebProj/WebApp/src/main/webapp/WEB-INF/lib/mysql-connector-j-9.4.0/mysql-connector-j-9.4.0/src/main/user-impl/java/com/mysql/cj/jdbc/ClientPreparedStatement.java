@@ -382,6 +382,7 @@ public class ClientPreparedStatement extends com.mysql.cj.jdbc.StatementImpl imp
 
                 rs = executeInternal(this.maxRows, sendPacket, meetsConditionsForStreamingResultSet(), getQueryInfo().getFirstStmtChar() == 'S', cachedMetadata,
                         false);
+                invalidateCachedMetaDataAfterDdl(locallyScopedConn, getQueryInfo().getStatementKeyword());
 
                 if (cachedMetadata != null) {
                     locallyScopedConn.initializeResultsMetadataFromCache(((PreparedQuery) this.query).getOriginalSql(), cachedMetadata, rs);
@@ -843,6 +844,11 @@ public class ClientPreparedStatement extends com.mysql.cj.jdbc.StatementImpl imp
                         this.batchedGeneratedKeys = new ArrayList<>(nbrCommands);
                     }
 
+                    int pipelineDepth = getBatchPipelineDepth();
+                    if (pipelineDepth > 1) {
+                        return executeBatchPipelined(pipelineDepth, timeoutTask);
+                    }
+
                     int batchCommandIndex = ((PreparedQuery) this.query).getBatchCommandIndex();
 
                     for (batchCommandIndex = 0; batchCommandIndex < nbrCommands; batchCommandIndex++) {
@@ -912,6 +918,64 @@ public class ClientPreparedStatement extends com.mysql.cj.jdbc.StatementImpl imp
         }
     }
 
+    @Override
+    protected int getBatchPipelineDepth() throws SQLException {
+        return isNonResultSetProducingQuery() ? super.getBatchPipelineDepth() : 0;
+    }
+
+    @Override
+    protected long[] getAbortedBatchUpdateCounts(long[] updateCounts, int commandIndex, int executed) {
+        // as executeBatchSerially(), only the statements before the failed one are reported, unless statements sent after it were executed too
+        int length = executed > commandIndex + 1 ? executed : commandIndex;
+        long[] newUpdateCounts = new long[length];
+        System.arraycopy(updateCounts, 0, newUpdateCounts, 0, length);
+        return newUpdateCounts;
+    }
+
+    @Override
+    protected void sendPipelinedBatchCommand(int commandIndex) throws SQLException {
+        Object arg = this.query.getBatchedArgs().get(commandIndex);
+        if (arg instanceof String) {
+            super.sendPipelinedBatchCommand(commandIndex);
+            return;
+        }
+
+        // the send packet is shared, so it's written out before the next statement is filled in
+        QueryBindings queryBindings = (QueryBindings) arg;
+        NativePacketPayload sendPacket = ((PreparedQuery) this.query).fillSendPacket(queryBindings);
+
+        ((PreparedQuery) this.query).getQueryBindings().setNumberOfExecutions(((PreparedQuery) this.query).getQueryBindings().getNumberOfExecutions() + 1);
+
+        this.session.sendPipelinedSQL(this, null, sendPacket);
+    }
+
+    @Override
+    protected long processPipelinedBatchResult(int commandIndex, ResultSetInternalMethods rs) throws SQLException {
+        if (this.query.getBatchedArgs().get(commandIndex) instanceof String) {
+            return super.processPipelinedBatchResult(commandIndex, rs);
+        }
+
+        if (this.retrieveGeneratedKeys) {
+            rs.setFirstCharOfQuery(getQueryInfo().getFirstStmtChar());
+        }
+
+        this.results = rs;
+        this.updateCount = rs.getUpdateCount();
+
+        if (containsOnDuplicateKeyUpdate() && this.compensateForOnDuplicateKeyUpdate) {
+            if (this.updateCount == 2 || this.updateCount == 0) {
+                this.updateCount = 1;
+            }
+        }
+
+        this.lastInsertId = rs.getUpdateID();
+
+        // limit one generated key per OnDuplicateKey statement
+        getBatchedGeneratedKeys(containsOnDuplicateKeyUpdate() ? 1 : 0);
+
+        return this.updateCount;
+    }
+
     /**
      * Actually execute the prepared statement. This is here so server-side
      * PreparedStatements can re-use most of the code from this class.
@@ -1164,6 +1228,7 @@ public class ClientPreparedStatement extends com.mysql.cj.jdbc.StatementImpl imp
                 locallyScopedConn.setSessionMaxRows(-1);
 
                 rs = executeInternal(-1, sendPacket, false, false, null, isReallyBatch);
+                invalidateCachedMetaDataAfterDdl(locallyScopedConn, getQueryInfo().getStatementKeyword());
 
                 if (this.retrieveGeneratedKeys) {
                     rs.setFirstCharOfQuery(getQueryInfo().getFirstStmtChar());
@@ -38,11 +38,13 @@ import java.sql.Savepoint;
 import java.sql.Struct;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executor;
 import java.util.concurrent.locks.Lock;
@@ -51,6 +53,7 @@ import java.util.stream.Collectors;
 
 import com.mysql.cj.CacheAdapter;
 import com.mysql.cj.CacheAdapterFactory;
+import com.mysql.cj.CharsetSettings;
 import com.mysql.cj.LicenseConfiguration;
 import com.mysql.cj.Messages;
 import com.mysql.cj.NativeSession;
@@ -83,14 +86,17 @@ import com.mysql.cj.jdbc.result.ResultSetFactory;
 import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
 import com.mysql.cj.jdbc.result.UpdatableResultSet;
 import com.mysql.cj.log.ProfilerEvent;
+import com.mysql.cj.protocol.ColumnDefinition;
 import com.mysql.cj.protocol.ServerSessionStateController;
 import com.mysql.cj.protocol.SocksProxySocketFactory;
 import com.mysql.cj.protocol.a.NativeProtocol;
+import com.mysql.cj.result.DefaultColumnDefinition;
 import com.mysql.cj.telemetry.TelemetryAttribute;
 import com.mysql.cj.telemetry.TelemetryScope;
 import com.mysql.cj.telemetry.TelemetrySpan;
 import com.mysql.cj.telemetry.TelemetrySpanName;
-import com.mysql.cj.util.LRUCache;
+import com.mysql.cj.util.CacheStats;
+import com.mysql.cj.util.ConcurrentLRUCache;
 import com.mysql.cj.util.StringUtils;
 import com.mysql.cj.util.Util;
 
@@ -108,6 +114,9 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
     private static final SQLPermission SET_NETWORK_TIMEOUT_PERM = new SQLPermission("setNetworkTimeout");
     private static final SQLPermission ABORT_PERM = new SQLPermission("abort");
 
+    /** ResultSet metadata caches shared by all connections to the same URL, see 'shareResultSetMetadataCache' */
+    static final ConcurrentHashMap<String, ConcurrentLRUCache<String, CachedResultSetMetaData>> sharedResultSetMetadataCaches = new ConcurrentHashMap<>();
+
     @Override
     public String getHost() {
         return this.session.getHostInfo().getHost();
@@ -257,8 +266,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
      */
     private final CopyOnWriteArrayList<JdbcStatement> openStatements = new CopyOnWriteArrayList<>();
 
-    private LRUCache<CompoundCacheKey, CallableStatement.CallableStatementParamInfo> parsedCallableStatementCache;
-    private final Lock parsedCallableStatementCacheLock = new ReentrantLock();
+    private ConcurrentLRUCache<CompoundCacheKey, CallableStatement.CallableStatementParamInfo> parsedCallableStatementCache;
 
     /** The password we used */
     private String password = null;
@@ -270,8 +278,8 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
     private boolean readOnly = false;
 
     /** Cache of ResultSet metadata */
-    protected LRUCache<String, CachedResultSetMetaData> resultSetMetadataCache;
-    protected final Lock resultSetMetadataCacheLock = new ReentrantLock();
+    protected ConcurrentLRUCache<String, CachedResultSetMetaData> resultSetMetadataCache;
+    private boolean resultSetMetadataCacheShared = false;
 
     /**
      * The type map for UDTs (not implemented, but used by some third-party
@@ -282,9 +290,8 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
     /** The user we're connected as */
     private String user = null;
 
-    private LRUCache<String, Boolean> serverSideStatementCheckCache;
-    private final Lock serverSideStatementCheckCacheLock = new ReentrantLock();
-    private LRUCache<CompoundCacheKey, ServerPreparedStatement> serverSideStatementCache;
+    private ConcurrentLRUCache<String, Boolean> serverSideStatementCheckCache;
+    private ConcurrentLRUCache<CompoundCacheKey, ServerPreparedStatement> serverSideStatementCache;
 
     private HostInfo origHostInfo;
 
@@ -394,13 +401,20 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
                     createPreparedStatementCaches();
                 }
                 if (this.propertySet.getBooleanProperty(PropertyKey.cacheCallableStmts).getValue()) {
-                    this.parsedCallableStatementCache = new LRUCache<>(this.propertySet.getIntegerProperty(PropertyKey.callableStmtCacheSize).getValue());
+                    this.parsedCallableStatementCache = new ConcurrentLRUCache<>(this.propertySet.getIntegerProperty(PropertyKey.callableStmtCacheSize).getValue());
                 }
                 if (this.propertySet.getBooleanProperty(PropertyKey.allowMultiQueries).getValue()) {
                     this.propertySet.getProperty(PropertyKey.cacheResultSetMetadata).setValue(false); // we don't handle this yet
                 }
                 if (this.propertySet.getBooleanProperty(PropertyKey.cacheResultSetMetadata).getValue()) {
-                    this.resultSetMetadataCache = new LRUCache<>(this.propertySet.getIntegerProperty(PropertyKey.metadataCacheSize).getValue());
+                    int metadataCacheSize = this.propertySet.getIntegerProperty(PropertyKey.metadataCacheSize).getValue();
+                    if (this.propertySet.getBooleanProperty(PropertyKey.shareResultSetMetadataCache).getValue()) {
+                        this.resultSetMetadataCache = sharedResultSetMetadataCaches.computeIfAbsent(this.origHostInfo.getDatabaseUrl(),
+                                k -> new ConcurrentLRUCache<>(metadataCacheSize));
+                        this.resultSetMetadataCacheShared = true;
+                    } else {
+                        this.resultSetMetadataCache = new ConcurrentLRUCache<>(metadataCacheSize);
+                    }
                 }
                 if (this.propertySet.getStringProperty(PropertyKey.socksProxyHost).getStringValue() != null) {
                     this.propertySet.getProperty(PropertyKey.socketFactory).setValue(SocksProxySocketFactory.class.getName());
@@ -494,22 +508,18 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
                 || this.propertySet.getBooleanProperty(PropertyKey.rewriteBatchedStatements).getValue();
 
         if (this.cachePrepStmts.getValue()) {
-            this.serverSideStatementCheckCacheLock.lock();
-            try {
-                Boolean flag = this.serverSideStatementCheckCache.get(sql);
-                if (flag != null) {
-                    return flag.booleanValue();
-                }
+            Boolean flag = this.serverSideStatementCheckCache.get(sql);
+            if (flag != null) {
+                return flag.booleanValue();
+            }
 
-                boolean canHandle = StringUtils.canHandleAsServerPreparedStatementNoCache(sql, getServerVersion(), multiQueriesEnabled,
-                        this.session.getServerSession().isNoBackslashEscapesSet(), this.session.getServerSession().useAnsiQuotedIdentifiers());
-                if (sql.length() < this.prepStmtCacheSqlLimit.getValue()) {
-                    this.serverSideStatementCheckCache.put(sql, canHandle);
-                }
-                return canHandle;
-            } finally {
-                this.serverSideStatementCheckCacheLock.unlock();
+            // concurrent callers may both compute the flag, they get the same result
+            boolean canHandle = StringUtils.canHandleAsServerPreparedStatementNoCache(sql, getServerVersion(), multiQueriesEnabled,
+                    this.session.getServerSession().isNoBackslashEscapesSet(), this.session.getServerSession().useAnsiQuotedIdentifiers());
+            if (sql.length() < this.prepStmtCacheSqlLimit.getValue()) {
+                this.serverSideStatementCheckCache.put(sql, canHandle);
             }
+            return canHandle;
         }
 
         return StringUtils.canHandleAsServerPreparedStatementNoCache(sql, getServerVersion(), multiQueriesEnabled,
@@ -662,6 +672,12 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         if (this.cachePrepStmts.getValue()) {
             QueryInfo pStmtInfo = this.queryInfoCache.get(nativeSql);
 
+            // the cache may be shared with other connections or have been filled before the session settings changed
+            if (pStmtInfo != null
+                    && !pStmtInfo.isCompatibleWith(this.session, this.propertySet.getStringProperty(PropertyKey.characterEncoding).getValue())) {
+                pStmtInfo = null;
+            }
+
             if (pStmtInfo == null) {
                 pStmt = ClientPreparedStatement.getInstance(getMultiHostSafeProxy(), nativeSql, this.database);
 
@@ -1046,28 +1062,19 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
                     this.prepStmtCacheSqlLimit.getValue());
 
             if (this.useServerPrepStmts.getValue()) {
-                this.serverSideStatementCheckCache = new LRUCache<>(cacheSize);
-                this.serverSideStatementCache = new LRUCache<CompoundCacheKey, ServerPreparedStatement>(cacheSize) {
-
-                    private static final long serialVersionUID = 7692318650375988114L;
+                this.serverSideStatementCheckCache = new ConcurrentLRUCache<>(cacheSize);
+                // a cache size of 1 or less never evicts server-side statements
+                this.serverSideStatementCache = new ConcurrentLRUCache<CompoundCacheKey, ServerPreparedStatement>(cacheSize <= 1 ? Integer.MAX_VALUE : cacheSize) {
 
                     @Override
-                    protected boolean removeEldestEntry(java.util.Map.Entry<CompoundCacheKey, ServerPreparedStatement> eldest) {
-                        if (this.maxElements <= 1) {
-                            return false;
-                        }
-                        boolean removeIt = super.removeEldestEntry(eldest);
-                        if (removeIt) {
-                            ServerPreparedStatement ps = eldest.getValue();
-                            ps.isCached = false;
-                            ps.setClosed(false);
-                            try {
-                                ps.doClose(CloseOption.PROPAGATE, CloseOption.NO_CACHE);
-                            } catch (SQLException sqlEx) {
-                                // punt
-                            }
+                    protected void onEviction(CompoundCacheKey key, ServerPreparedStatement ps) {
+                        ps.isCached = false;
+                        ps.setClosed(false);
+                        try {
+                            ps.doClose(CloseOption.PROPAGATE, CloseOption.NO_CACHE);
+                        } catch (SQLException sqlEx) {
+                            // punt
                         }
-                        return removeIt;
                     }
 
                 };
@@ -1153,6 +1160,22 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
      * @return number of ms that this connection has been idle, 0 if the driver
      *         is busy retrieving results.
      */
+    @Override
+    public Map<String, CacheStats> getCacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        addCacheStats(stats, "callableStatementCache", this.parsedCallableStatementCache);
+        addCacheStats(stats, "resultSetMetadataCache", this.resultSetMetadataCache);
+        addCacheStats(stats, "serverSideStatementCheckCache", this.serverSideStatementCheckCache);
+        addCacheStats(stats, "serverSideStatementCache", this.serverSideStatementCache);
+        return stats;
+    }
+
+    private static void addCacheStats(Map<String, CacheStats> stats, String name, ConcurrentLRUCache<?, ?> cache) {
+        if (cache != null) {
+            stats.put(name, cache.getStats());
+        }
+    }
+
     @Override
     public long getIdleFor() {
         Lock connectionLock = getConnectionLock();
@@ -1536,21 +1559,16 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
                     cStmt = parseCallableStatement(sql);
                 } else {
-                    this.parsedCallableStatementCacheLock.lock();
-                    try {
-                        CompoundCacheKey key = new CompoundCacheKey(getDatabase(), sql);
+                    CompoundCacheKey key = new CompoundCacheKey(getDatabase(), sql);
 
-                        CallableStatement.CallableStatementParamInfo cachedParamInfo = this.parsedCallableStatementCache.get(key);
+                    CallableStatement.CallableStatementParamInfo cachedParamInfo = this.parsedCallableStatementCache.get(key);
 
-                        if (cachedParamInfo != null) {
-                            cStmt = CallableStatement.getInstance(getMultiHostSafeProxy(), cachedParamInfo);
-                        } else {
-                            cStmt = parseCallableStatement(sql);
-                            cachedParamInfo = cStmt.paramInfo;
-                            this.parsedCallableStatementCache.put(key, cachedParamInfo);
-                        }
-                    } finally {
-                        this.parsedCallableStatementCacheLock.unlock();
+                    if (cachedParamInfo != null) {
+                        cStmt = CallableStatement.getInstance(getMultiHostSafeProxy(), cachedParamInfo);
+                    } else {
+                        cStmt = parseCallableStatement(sql);
+                        cachedParamInfo = cStmt.paramInfo;
+                        this.parsedCallableStatementCache.put(key, cachedParamInfo);
                     }
                 }
 
@@ -1623,42 +1641,37 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
 
                 if (this.useServerPrepStmts.getValue() && canServerPrepare) {
                     if (this.cachePrepStmts.getValue()) {
-                        this.serverSideStatementCheckCacheLock.lock();
-                        try {
-                            pStmt = this.serverSideStatementCache.remove(new CompoundCacheKey(this.database, sql));
+                        pStmt = this.serverSideStatementCache.remove(new CompoundCacheKey(this.database, sql));
+
+                        if (pStmt != null) {
+                            ((com.mysql.cj.jdbc.ServerPreparedStatement) pStmt).setClosed(false);
+                            pStmt.clearParameters();
+                            pStmt.setResultSetType(resultSetType);
+                            pStmt.setResultSetConcurrency(resultSetConcurrency);
+                        }
+
+                        if (pStmt == null) {
+                            try {
+                                pStmt = ServerPreparedStatement.getInstance(getMultiHostSafeProxy(), nativeSql, this.database, resultSetType,
+                                        resultSetConcurrency);
+                                if (sql.length() < this.prepStmtCacheSqlLimit.getValue()) {
+                                    ((com.mysql.cj.jdbc.ServerPreparedStatement) pStmt).isCacheable = true;
+                                }
 
-                            if (pStmt != null) {
-                                ((com.mysql.cj.jdbc.ServerPreparedStatement) pStmt).setClosed(false);
-                                pStmt.clearParameters();
                                 pStmt.setResultSetType(resultSetType);
                                 pStmt.setResultSetConcurrency(resultSetConcurrency);
-                            }
+                            } catch (SQLException sqlEx) {
+                                // Punt, if necessary
+                                if (this.emulateUnsupportedPstmts.getValue()) {
+                                    pStmt = (ClientPreparedStatement) clientPrepareStatement(nativeSql, resultSetType, resultSetConcurrency, false);
 
-                            if (pStmt == null) {
-                                try {
-                                    pStmt = ServerPreparedStatement.getInstance(getMultiHostSafeProxy(), nativeSql, this.database, resultSetType,
-                                            resultSetConcurrency);
                                     if (sql.length() < this.prepStmtCacheSqlLimit.getValue()) {
-                                        ((com.mysql.cj.jdbc.ServerPreparedStatement) pStmt).isCacheable = true;
-                                    }
-
-                                    pStmt.setResultSetType(resultSetType);
-                                    pStmt.setResultSetConcurrency(resultSetConcurrency);
-                                } catch (SQLException sqlEx) {
-                                    // Punt, if necessary
-                                    if (this.emulateUnsupportedPstmts.getValue()) {
-                                        pStmt = (ClientPreparedStatement) clientPrepareStatement(nativeSql, resultSetType, resultSetConcurrency, false);
-
-                                        if (sql.length() < this.prepStmtCacheSqlLimit.getValue()) {
-                                            this.serverSideStatementCheckCache.put(sql, Boolean.FALSE);
-                                        }
-                                    } else {
-                                        throw sqlEx;
+                                        this.serverSideStatementCheckCache.put(sql, Boolean.FALSE);
                                     }
+                                } else {
+                                    throw sqlEx;
                                 }
                             }
-                        } finally {
-                            this.serverSideStatementCheckCacheLock.unlock();
                         }
                     } else {
                         try {
@@ -1805,18 +1818,12 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         connectionLock.lock();
         try {
             if (this.cachePrepStmts.getValue() && pstmt.isPoolable()) {
-                this.serverSideStatementCheckCacheLock.lock();
-                try {
-                    Object oldServerPrepStmt = this.serverSideStatementCache.put(
-                            new CompoundCacheKey(pstmt.getCurrentDatabase(), ((PreparedQuery) pstmt.getQuery()).getOriginalSql()),
-                            (ServerPreparedStatement) pstmt);
-                    if (oldServerPrepStmt != null && oldServerPrepStmt != pstmt) {
-                        ((ServerPreparedStatement) oldServerPrepStmt).isCached = false;
-                        ((ServerPreparedStatement) oldServerPrepStmt).setClosed(false);
-                        ((ServerPreparedStatement) oldServerPrepStmt).doClose(CloseOption.PROPAGATE, CloseOption.NO_CACHE);
-                    }
-                } finally {
-                    this.serverSideStatementCheckCacheLock.unlock();
+                Object oldServerPrepStmt = this.serverSideStatementCache.put(
+                        new CompoundCacheKey(pstmt.getCurrentDatabase(), ((PreparedQuery) pstmt.getQuery()).getOriginalSql()), (ServerPreparedStatement) pstmt);
+                if (oldServerPrepStmt != null && oldServerPrepStmt != pstmt) {
+                    ((ServerPreparedStatement) oldServerPrepStmt).isCached = false;
+                    ((ServerPreparedStatement) oldServerPrepStmt).setClosed(false);
+                    ((ServerPreparedStatement) oldServerPrepStmt).doClose(CloseOption.PROPAGATE, CloseOption.NO_CACHE);
                 }
             }
         } finally {
@@ -1830,12 +1837,7 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
         connectionLock.lock();
         try {
             if (this.cachePrepStmts.getValue()) {
-                this.serverSideStatementCheckCacheLock.lock();
-                try {
-                    this.serverSideStatementCache.remove(new CompoundCacheKey(pstmt.getCurrentDatabase(), ((PreparedQuery) pstmt.getQuery()).getOriginalSql()));
-                } finally {
-                    this.serverSideStatementCheckCacheLock.unlock();
-                }
+                this.serverSideStatementCache.remove(new CompoundCacheKey(pstmt.getCurrentDatabase(), ((PreparedQuery) pstmt.getQuery()).getOriginalSql()));
             }
         } finally {
             connectionLock.unlock();
@@ -2491,19 +2493,66 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
     @Override
     public CachedResultSetMetaData getCachedMetaData(String sql) {
         if (this.resultSetMetadataCache != null) {
-            this.resultSetMetadataCacheLock.lock();
-            try {
-                return this.resultSetMetadataCache.get(sql);
-            } finally {
-                this.resultSetMetadataCacheLock.unlock();
-            }
+            return this.resultSetMetadataCache.get(getMetadataCacheKey(sql));
         }
 
         return null; // no cache exists
     }
 
+    /**
+     * Returns the key of the given query in the ResultSet metadata cache. Connections sharing the cache may be connected to another host or database, where
+     * the same unqualified query reads other tables, or may have been configured with different result character sets, which change the metadata returned for
+     * the same query.
+     *
+     * @param sql
+     *            the query
+     * @return the cache key
+     */
+    private String getMetadataCacheKey(String sql) {
+        if (!this.resultSetMetadataCacheShared) {
+            return sql;
+        }
+        return getSharedMetadataCacheKey(this.session.getHostInfo().getHostPortPair(), this.database,
+                this.session.getServerSession().getServerVariable(CharsetSettings.CHARACTER_SET_RESULTS), sql);
+    }
+
+    static String getSharedMetadataCacheKey(String hostPortPair, String database, String characterSetResults, String sql) {
+        return hostPortPair + '\0' + (database == null ? "" : database) + '\0' + (characterSetResults == null ? "" : characterSetResults) + '\0' + sql;
+    }
+
+    /**
+     * Checks whether the column definitions of a result set differ from cached ones. Definitions read from the server carry a checksum of the column
+     * definition packets, which catches altered columns and tables of other databases. Otherwise only a different number of columns can be told apart.
+     *
+     * @param cached
+     *            the cached column definitions
+     * @param read
+     *            the column definitions of the result set
+     * @return true if the cached column definitions must not be used
+     */
+    static boolean isStaleMetaData(ColumnDefinition cached, ColumnDefinition read) {
+        long cachedChecksum = cached instanceof DefaultColumnDefinition ? ((DefaultColumnDefinition) cached).getPacketChecksum() : -1;
+        long readChecksum = read instanceof DefaultColumnDefinition ? ((DefaultColumnDefinition) read).getPacketChecksum() : -1;
+        if (cachedChecksum != -1 && readChecksum != -1) {
+            return cachedChecksum != readChecksum;
+        }
+        return cached.getFields().length != read.getFields().length;
+    }
+
+    @Override
+    public void invalidateCachedMetaData() {
+        if (this.resultSetMetadataCache != null) {
+            this.resultSetMetadataCache.clear();
+        }
+    }
+
     @Override
     public void initializeResultsMetadataFromCache(String sql, CachedResultSetMetaData cachedMetaData, ResultSetInternalMethods resultSet) throws SQLException {
+        if (cachedMetaData != null && resultSet.hasRows() && isStaleMetaData(cachedMetaData, resultSet.getColumnDefinition())) {
+            // the result set was built from the metadata sent by the server, which replaces the stale one
+            cachedMetaData = null;
+        }
+
         if (cachedMetaData == null) {
 
             // read from results
@@ -2518,8 +2567,12 @@ public class ConnectionImpl implements JdbcConnection, SessionEventListener, Ser
             }
 
             resultSet.populateCachedMetaData(cachedMetaData);
+            if (this.resultSetMetadataCacheShared) {
+                // the ResultSetMetaData refers to this connection's session, other connections only need the column definitions
+                cachedMetaData.setMetadata(null);
+            }
 
-            this.resultSetMetadataCache.put(sql, cachedMetaData);
+            this.resultSetMetadataCache.put(getMetadataCacheKey(sql), cachedMetaData);
         } else {
             resultSet.getColumnDefinition().initializeFrom(cachedMetaData);
             resultSet.initializeWithMetadata();
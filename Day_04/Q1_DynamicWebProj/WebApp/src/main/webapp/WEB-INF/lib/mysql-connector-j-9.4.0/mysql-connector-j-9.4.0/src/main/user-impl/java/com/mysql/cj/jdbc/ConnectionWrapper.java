@@ -53,6 +53,7 @@ import com.mysql.cj.jdbc.exceptions.SQLError;
 import com.mysql.cj.jdbc.result.CachedResultSetMetaData;
 import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
 import com.mysql.cj.protocol.ServerSessionStateController;
+import com.mysql.cj.util.CacheStats;
 
 /**
  * This class serves as a wrapper for the connection object. It is returned to the application server which may wrap it again and then return it to the
@@ -198,6 +199,11 @@ public class ConnectionWrapper extends WrapperBase implements JdbcConnection {
         return Statement.CLOSE_CURRENT_RESULT; // we don't reach this code, compiler can't tell
     }
 
+    @Override
+    public Map<String, CacheStats> getCacheStats() {
+        return this.mc.getCacheStats();
+    }
+
     @Override
     public long getIdleFor() {
         return this.mc.getIdleFor();
@@ -1123,6 +1129,11 @@ public class ConnectionWrapper extends WrapperBase implements JdbcConnection {
         return this.mc.getQueryInterceptorsInstances();
     }
 
+    @Override
+    public void invalidateCachedMetaData() {
+        this.mc.invalidateCachedMetaData();
+    }
+
     @Override
     public void initializeResultsMetadataFromCache(String sql, CachedResultSetMetaData cachedMetaData, ResultSetInternalMethods resultSet) throws SQLException {
         this.mc.initializeResultsMetadataFromCache(sql, cachedMetaData, resultSet);
@@ -52,6 +52,7 @@ import com.mysql.cj.conf.PropertyDefinitions;
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.conf.RuntimeProperty;
 import com.mysql.cj.exceptions.AssertionFailedException;
+import com.mysql.cj.exceptions.CJCommunicationsException;
 import com.mysql.cj.exceptions.CJException;
 import com.mysql.cj.exceptions.CJOperationNotSupportedException;
 import com.mysql.cj.exceptions.CJTimeoutException;
@@ -60,6 +61,7 @@ import com.mysql.cj.exceptions.ExceptionInterceptor;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
 import com.mysql.cj.exceptions.OperationCancelledException;
 import com.mysql.cj.exceptions.StatementIsClosedException;
+import com.mysql.cj.jdbc.exceptions.CommunicationsException;
 import com.mysql.cj.jdbc.exceptions.MySQLStatementCancelledException;
 import com.mysql.cj.jdbc.exceptions.MySQLTimeoutException;
 import com.mysql.cj.jdbc.exceptions.SQLError;
@@ -171,6 +173,7 @@ public class StatementImpl implements JdbcStatement {
     protected boolean logSlowQueries = false;
     protected RuntimeProperty<Boolean> rewriteBatchedStatements;
     protected RuntimeProperty<Integer> maxAllowedPacket;
+    protected RuntimeProperty<Integer> batchPipelineDepth;
     protected boolean dontCheckOnDuplicateKeyUpdateInSQL;
 
     protected ResultSetFactory resultSetFactory;
@@ -221,6 +224,7 @@ public class StatementImpl implements JdbcStatement {
         this.useUsageAdvisor = pset.getBooleanProperty(PropertyKey.useUsageAdvisor).getValue();
         this.logSlowQueries = pset.getBooleanProperty(PropertyKey.logSlowQueries).getValue();
         this.maxAllowedPacket = pset.getIntegerProperty(PropertyKey.maxAllowedPacket);
+        this.batchPipelineDepth = pset.getIntegerProperty(PropertyKey.batchPipelineDepth);
         this.dontCheckOnDuplicateKeyUpdateInSQL = pset.getBooleanProperty(PropertyKey.dontCheckOnDuplicateKeyUpdateInSQL).getValue();
         this.doEscapeProcessing = pset.getBooleanProperty(PropertyKey.enableEscapeProcessing).getValue();
 
@@ -788,6 +792,7 @@ public class StatementImpl implements JdbcStatement {
 
                             rs = ((NativeSession) locallyScopedConn.getSession()).execSQL(this, sql, this.maxRows, null, meetsConditionsForStreamingResultSet(),
                                     getResultSetFactory(), cachedMetaData, false);
+                            invalidateCachedMetaDataAfterDdl(locallyScopedConn, dbOperation);
 
                             if (timeoutTask != null) {
                                 stopQueryTimer(timeoutTask, true, true);
@@ -917,6 +922,18 @@ public class StatementImpl implements JdbcStatement {
 
                             timeoutTask = startQueryTimer(this, individualStatementTimeout);
 
+                            int pipelineDepth = getBatchPipelineDepth();
+                            if (pipelineDepth > 1) {
+                                updateCounts = executeBatchPipelined(pipelineDepth, timeoutTask);
+
+                                if (timeoutTask != null) {
+                                    stopQueryTimer(timeoutTask, true, true);
+                                    timeoutTask = null;
+                                }
+
+                                return updateCounts;
+                            }
+
                             updateCounts = new long[nbrCommands];
 
                             for (int i = 0; i < nbrCommands; i++) {
@@ -1189,6 +1206,254 @@ public class StatementImpl implements JdbcStatement {
         throw SQLError.createBatchUpdateException(ex, newUpdateCounts, getExceptionInterceptor());
     }
 
+    /**
+     * Returns the number of batched statements that may be sent to the server before reading their results, or 0 if this batch must be executed
+     * one statement at a time.
+     *
+     * @return the pipeline depth, or 0
+     * @throws SQLException
+     *             if a database access error occurs
+     */
+    protected int getBatchPipelineDepth() throws SQLException {
+        int depth = this.batchPipelineDepth.getValue();
+        if (depth < 2 || this.query.getBatchedArgs().size() < 2 || this.connection.isReadOnly(false) || !this.session.getProtocol().isPipeliningPossible()) {
+            return 0;
+        }
+        return depth;
+    }
+
+    /**
+     * Executes the batched statements keeping up to <code>pipelineDepth</code> of them sent and not yet answered. The results are read in order and
+     * handled as in the serial execution, including <code>continueBatchOnError</code>.
+     *
+     * @param pipelineDepth
+     *            the maximum number of statements sent ahead of their results
+     * @param timeoutTask
+     *            the batch timeout task, if any
+     * @return the update counts
+     * @throws SQLException
+     *             if a database access error occurs
+     */
+    protected long[] executeBatchPipelined(int pipelineDepth, CancelQueryTask timeoutTask) throws SQLException {
+        JdbcConnection locallyScopedConn = this.connection;
+        int nbrCommands = this.query.getBatchedArgs().size();
+
+        long[] updateCounts = new long[nbrCommands];
+        for (int i = 0; i < nbrCommands; i++) {
+            updateCounts[i] = -3;
+        }
+
+        implicitlyCloseAllOpenResults();
+
+        // the database and max rows can't be changed while statements are in flight, set them once for the whole batch
+        String oldDb = null;
+        if (!locallyScopedConn.getDatabase().equals(getCurrentDatabase())) {
+            oldDb = locallyScopedConn.getDatabase();
+            locallyScopedConn.setDatabase(getCurrentDatabase());
+        }
+
+        try {
+            locallyScopedConn.setSessionMaxRows(-1);
+
+            statementBegins();
+
+            SQLException sqlEx = null;
+            SQLException unsentEx = null;
+            int sent = 0;
+            int received = 0;
+
+            while (received < nbrCommands) {
+                while (unsentEx == null && sent < nbrCommands && sent - received < pipelineDepth) {
+                    try {
+                        sendPipelinedBatchCommand(sent);
+                        sent++;
+                    } catch (SQLException ex) {
+                        // reported in order, once the results of the statements sent before this one are read
+                        unsentEx = ex;
+                    } catch (CJException ex) {
+                        unsentEx = SQLExceptionsMapping.translateException(ex, getExceptionInterceptor());
+                    }
+                }
+
+                int commandIndex = received++;
+                SQLException ex = null;
+
+                if (commandIndex < sent) {
+                    try {
+                        ResultSetInternalMethods rs = this.session.readPipelinedResult(getResultSetFactory());
+                        updateCounts[commandIndex] = processPipelinedBatchResult(commandIndex, rs);
+
+                        if (timeoutTask != null) {
+                            // we need to check the cancel state on each iteration to generate timeout exception if needed
+                            checkCancelTimeout();
+                        }
+                    } catch (SQLException e) {
+                        ex = e;
+                    } catch (CJException e) {
+                        ex = SQLExceptionsMapping.translateException(e, getExceptionInterceptor());
+                    }
+                } else {
+                    ex = unsentEx;
+                    unsentEx = null;
+                    sent++;
+                }
+
+                if (ex != null) {
+                    updateCounts[commandIndex] = EXECUTE_FAILED;
+
+                    if (this.continueBatchOnError && !(ex instanceof MySQLTimeoutException) && !(ex instanceof MySQLStatementCancelledException)
+                            && !hasDeadlockOrTimeoutRolledBackTx(ex) && !(ex instanceof CommunicationsException)) {
+                        sqlEx = ex;
+                    } else {
+                        int executed = received;
+                        if (!(ex instanceof CommunicationsException)) {
+                            executed = drainPipelinedResults(updateCounts, received, sent);
+                        }
+
+                        throw SQLError.createBatchUpdateException(ex, getAbortedBatchUpdateCounts(updateCounts, commandIndex, executed),
+                                getExceptionInterceptor());
+                    }
+                }
+            }
+
+            if (sqlEx != null) {
+                throw SQLError.createBatchUpdateException(sqlEx, updateCounts, getExceptionInterceptor());
+            }
+
+            return updateCounts;
+        } finally {
+            if (oldDb != null) {
+                locallyScopedConn.setDatabase(oldDb);
+            }
+        }
+    }
+
+    /**
+     * Returns the update counts reported when a batch stops at a failed statement. The serial execution of a Statement batch reports the counts of all
+     * statements, those that weren't executed being left at -3, so the pipelined execution does the same.
+     *
+     * @param updateCounts
+     *            the update counts of the batch, the failed statement is set to EXECUTE_FAILED
+     * @param commandIndex
+     *            index of the failed statement
+     * @param executed
+     *            number of statements whose results were read, including those drained after the failed one
+     * @return the update counts for the BatchUpdateException
+     */
+    protected long[] getAbortedBatchUpdateCounts(long[] updateCounts, int commandIndex, int executed) {
+        return updateCounts;
+    }
+
+    /**
+     * Reads the results of statements already sent when a pipelined batch is aborted, so that the connection can be used again. These statements were
+     * executed by the server, so their update counts are recorded rather than reported as not executed.
+     *
+     * @param updateCounts
+     *            the update counts of the batch
+     * @param from
+     *            index of the first outstanding statement
+     * @param to
+     *            index past the last statement sent
+     * @return index past the last statement whose result was read
+     */
+    private int drainPipelinedResults(long[] updateCounts, int from, int to) {
+        int commandIndex = from;
+        for (; commandIndex < to; commandIndex++) {
+            try {
+                ResultSetInternalMethods rs = this.session.readPipelinedResult(getResultSetFactory());
+                updateCounts[commandIndex] = processPipelinedBatchResult(commandIndex, rs);
+            } catch (CJCommunicationsException ex) {
+                // the outcome of this statement and of the following ones is unknown, they stay at -3
+                break;
+            } catch (SQLException | CJException ex) {
+                // the batch is already failing, this statement's own error isn't reported
+                updateCounts[commandIndex] = EXECUTE_FAILED;
+            }
+        }
+        return commandIndex;
+    }
+
+    /**
+     * Sends the batched statement at the given index without waiting for its result.
+     *
+     * @param commandIndex
+     *            index of the statement in the batch
+     * @throws SQLException
+     *             if the statement can't be sent
+     */
+    protected void sendPipelinedBatchCommand(int commandIndex) throws SQLException {
+        String sql = (String) this.query.getBatchedArgs().get(commandIndex);
+
+        checkNullOrEmptyQuery(sql);
+
+        if (!isNonResultSetProducingQuery(sql)) {
+            throw SQLError.createSQLException(Messages.getString("Statement.46"), "01S03", getExceptionInterceptor());
+        }
+
+        if (this.doEscapeProcessing) {
+            Object escapedSqlResult = EscapeProcessor.escapeSQL(sql, this.session.getServerSession().getSessionTimeZone(),
+                    this.session.getServerSession().getCapabilities().serverSupportsFracSecs(),
+                    this.session.getServerSession().isServerTruncatesFracSecs(), getExceptionInterceptor());
+            sql = escapedSqlResult instanceof String ? (String) escapedSqlResult : ((EscapeProcessorResult) escapedSqlResult).escapedSql;
+        }
+
+        this.session.sendPipelinedSQL(this, sql, null);
+    }
+
+    /**
+     * Drops the ResultSet metadata cached by the connection after a DDL statement, as it may have changed the columns returned by cached queries.
+     *
+     * @param conn
+     *            the connection that executed the statement
+     * @param statementKeyword
+     *            the first keyword of the statement
+     */
+    protected void invalidateCachedMetaDataAfterDdl(JdbcConnection conn, String statementKeyword) {
+        switch (statementKeyword) {
+            case "ALTER":
+            case "CREATE":
+            case "DROP":
+            case "RENAME":
+            case "TRUNCATE":
+                if (conn.getPropertySet().getBooleanProperty(PropertyKey.cacheResultSetMetadata).getValue()) {
+                    conn.invalidateCachedMetaData();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Records the result of a pipelined batched statement, as {@link #executeUpdateInternal(String, boolean, boolean)} does for a statement executed
+     * on its own.
+     *
+     * @param commandIndex
+     *            index of the statement in the batch
+     * @param rs
+     *            the result read for it
+     * @return the update count
+     * @throws SQLException
+     *             if a database access error occurs
+     */
+    protected long processPipelinedBatchResult(int commandIndex, ResultSetInternalMethods rs) throws SQLException {
+        String sql = (String) this.query.getBatchedArgs().get(commandIndex);
+        char firstStatementChar = QueryInfo.firstCharOfStatementUc(sql, this.session.getServerSession().isNoBackslashEscapesSet());
+
+        this.lastQueryIsOnDupKeyUpdate = this.retrieveGeneratedKeys && firstStatementChar == 'I' && containsOnDuplicateKeyInString(sql);
+
+        this.results = rs;
+        rs.setFirstCharOfQuery(firstStatementChar);
+        invalidateCachedMetaDataAfterDdl(this.connection, QueryInfo.getStatementKeyword(sql, this.session.getServerSession().isNoBackslashEscapesSet()));
+        this.updateCount = rs.getUpdateCount();
+        this.lastInsertId = rs.getUpdateID();
+
+        // limit one generated key per OnDuplicateKey statement
+        getBatchedGeneratedKeys(this.lastQueryIsOnDupKeyUpdate ? 1 : 0);
+
+        return this.updateCount;
+    }
+
     @Override
     public java.sql.ResultSet executeQuery(String sql) throws SQLException {
         Lock connectionLock = checkClosed().getConnectionLock();
@@ -1458,6 +1723,7 @@ public class StatementImpl implements JdbcStatement {
 
                     // null database: force read of field info on DML
                     rs = ((NativeSession) locallyScopedConn.getSession()).execSQL(this, sql, -1, null, false, getResultSetFactory(), null, isBatch);
+                    invalidateCachedMetaDataAfterDdl(locallyScopedConn, dbOperation);
 
                     if (timeoutTask != null) {
                         stopQueryTimer(timeoutTask, true, true);
@@ -55,6 +55,7 @@ import com.mysql.cj.jdbc.exceptions.SQLError;
 import com.mysql.cj.jdbc.result.CachedResultSetMetaData;
 import com.mysql.cj.jdbc.result.ResultSetInternalMethods;
 import com.mysql.cj.protocol.ServerSessionStateController;
+import com.mysql.cj.util.CacheStats;
 
 /**
  * Each instance of MultiHostMySQLConnection is coupled with a MultiHostConnectionProxy instance.
@@ -232,6 +233,11 @@ public class MultiHostMySQLConnection implements JdbcConnection {
         return getActiveMySQLConnection().getId();
     }
 
+    @Override
+    public Map<String, CacheStats> getCacheStats() {
+        return getActiveMySQLConnection().getCacheStats();
+    }
+
     @Override
     public long getIdleFor() {
         return getActiveMySQLConnection().getIdleFor();
@@ -312,6 +318,11 @@ public class MultiHostMySQLConnection implements JdbcConnection {
         return getActiveMySQLConnection().hasSameProperties(c);
     }
 
+    @Override
+    public void invalidateCachedMetaData() {
+        getActiveMySQLConnection().invalidateCachedMetaData();
+    }
+
     @Override
     public void initializeResultsMetadataFromCache(String sql, CachedResultSetMetaData cachedMetaData, ResultSetInternalMethods resultSet) throws SQLException {
         getActiveMySQLConnection().initializeResultsMetadataFromCache(sql, cachedMetaData, resultSet);
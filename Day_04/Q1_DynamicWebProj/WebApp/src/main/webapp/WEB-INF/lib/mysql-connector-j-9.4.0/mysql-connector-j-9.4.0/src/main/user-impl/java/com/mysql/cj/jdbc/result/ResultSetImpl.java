@@ -595,21 +595,18 @@ public class ResultSetImpl extends NativeResultset implements ResultSetInternalM
 
     @Override
     public int findColumn(String columnName) throws SQLException {
-        Lock connectionLock = checkClosed().getConnectionLock();
-        connectionLock.lock();
-        try {
-            int index = this.columnDefinition.findColumn(columnName, this.useColumnNamesInFindColumn, 1);
+        checkClosed();
 
-            if (index == -1) {
-                throw SQLError.createSQLException(
-                        Messages.getString("ResultSet.Column____112") + columnName + Messages.getString("ResultSet.___not_found._113"),
-                        MysqlErrorNumbers.SQLSTATE_MYSQL_ER_BAD_FIELD_ERROR, getExceptionInterceptor());
-            }
+        // the column index is immutable once built, no need to hold the connection lock as the index-based getters don't either
+        int index = this.columnDefinition.findColumn(columnName, this.useColumnNamesInFindColumn, 1);
 
-            return index;
-        } finally {
-            connectionLock.unlock();
+        if (index == -1) {
+            throw SQLError.createSQLException(
+                    Messages.getString("ResultSet.Column____112") + columnName + Messages.getString("ResultSet.___not_found._113"),
+                    MysqlErrorNumbers.SQLSTATE_MYSQL_ER_BAD_FIELD_ERROR, getExceptionInterceptor());
         }
+
+        return index;
     }
 
     @Override
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.conf.DefaultPropertySet;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.conf.PropertySet;
+import com.mysql.cj.protocol.a.NativeServerSession;
+
+/**
+ * Tests for {@link PerVmQueryInfoCacheFactory} and {@link QueryInfo#isCompatibleWith(Session, String)}.
+ */
+public class PerVmQueryInfoCacheFactoryTest {
+
+    /**
+     * Creates a session that is never connected, just enough to parse queries: it answers for its properties and server session only.
+     */
+    private static Session newSession(String sqlMode) {
+        PropertySet propertySet = new DefaultPropertySet();
+        NativeServerSession serverSession = new NativeServerSession(propertySet);
+        serverSession.setServerVariables(Collections.singletonMap("sql_mode", sqlMode));
+        return (Session) Proxy.newProxyInstance(Session.class.getClassLoader(), new Class<?>[] { Session.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "getPropertySet":
+                    return propertySet;
+                case "getServerSession":
+                    return serverSession;
+                case "getExceptionInterceptor":
+                    return null;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static Session newSession() {
+        return newSession("");
+    }
+
+    private static String newUrl() {
+        return "jdbc:mysql://test-" + System.nanoTime() + "/db";
+    }
+
+    @Test
+    public void testSharedPerUrl() {
+        PerVmQueryInfoCacheFactory factory = new PerVmQueryInfoCacheFactory();
+        String url = newUrl();
+        CacheAdapter<String, QueryInfo> cache1 = factory.getInstance(new ReentrantLock(), url, 10, 256);
+        CacheAdapter<String, QueryInfo> cache2 = factory.getInstance(new ReentrantLock(), url, 10, 256);
+        CacheAdapter<String, QueryInfo> other = factory.getInstance(new ReentrantLock(), newUrl(), 10, 256);
+
+        String sql = "SELECT * FROM t WHERE id = ?";
+        QueryInfo queryInfo = new QueryInfo(sql, newSession(), "UTF-8");
+        cache1.put(sql, queryInfo);
+        assertSame(queryInfo, cache2.get(sql));
+        assertNull(other.get(sql));
+
+        cache2.invalidate(sql);
+        assertNull(cache1.get(sql));
+    }
+
+    @Test
+    public void testSqlLimit() {
+        PerVmQueryInfoCacheFactory factory = new PerVmQueryInfoCacheFactory();
+        CacheAdapter<String, QueryInfo> cache = factory.getInstance(new ReentrantLock(), newUrl(), 10, 20);
+        String sql = "SELECT * FROM some_table WHERE id = ?";
+        cache.put(sql, new QueryInfo(sql, newSession(), "UTF-8"));
+        assertNull(cache.get(sql));
+    }
+
+    @Test
+    public void testEvictsByCount() {
+        PerVmQueryInfoCacheFactory factory = new PerVmQueryInfoCacheFactory();
+        CacheAdapter<String, QueryInfo> cache = factory.getInstance(new ReentrantLock(), newUrl(), 3, 256);
+        Session session = newSession();
+        for (int i = 0; i < 4; i++) {
+            String sql = "SELECT " + i;
+            cache.put(sql, new QueryInfo(sql, session, "UTF-8"));
+        }
+        assertNull(cache.get("SELECT 0"));
+        for (int i = 1; i < 4; i++) {
+            assertTrue(cache.get("SELECT " + i) != null);
+        }
+    }
+
+    @Test
+    public void testEvictsByEstimatedSize() {
+        int cacheMaxSize = 10;
+        int maxKeySize = 100;
+        PerVmQueryInfoCacheFactory factory = new PerVmQueryInfoCacheFactory();
+        String url = newUrl();
+        CacheAdapter<String, QueryInfo> cache = factory.getInstance(new ReentrantLock(), url, cacheMaxSize, maxKeySize);
+        Session session = newSession();
+
+        // placeholder-free statements of the maximum length all fit
+        for (int i = 0; i < cacheMaxSize; i++) {
+            StringBuilder sql = new StringBuilder("SELECT ").append(i).append(" -- ");
+            while (sql.length() < maxKeySize) {
+                sql.append('x');
+            }
+            cache.put(sql.toString(), new QueryInfo(sql.toString(), session, "UTF-8"));
+        }
+        assertEquals(cacheMaxSize, PerVmQueryInfoCacheFactory.queryInfoCacheByUrl.get(url).size());
+        cache.invalidateAll();
+
+        // statements made of placeholders weigh more than their length suggests
+        StringBuilder placeholders = new StringBuilder("VALUES (?");
+        while (placeholders.length() < maxKeySize - 2) {
+            placeholders.append(",?");
+        }
+        placeholders.append(")");
+        String heavy = placeholders.toString();
+        QueryInfo heavyQueryInfo = new QueryInfo(heavy, session, "UTF-8");
+        int perEntry = PerVmQueryInfoCacheFactory.weigh(heavy, heavyQueryInfo);
+        long maxWeight = PerVmQueryInfoCacheFactory.getMaxWeight(cacheMaxSize, maxKeySize);
+        assertTrue(perEntry * (long) cacheMaxSize > maxWeight);
+
+        for (int i = 0; i < cacheMaxSize; i++) {
+            String sql = heavy.substring(0, heavy.length() - 1 - i * 2) + ")";
+            cache.put(sql, new QueryInfo(sql, session, "UTF-8"));
+        }
+        int size = PerVmQueryInfoCacheFactory.queryInfoCacheByUrl.get(url).size();
+        assertTrue(size < cacheMaxSize);
+        assertTrue(PerVmQueryInfoCacheFactory.queryInfoCacheByUrl.get(url).getWeight() <= maxWeight);
+    }
+
+    @Test
+    public void testIsCompatibleWith() {
+        Session session = newSession();
+        QueryInfo queryInfo = new QueryInfo("INSERT INTO t VALUES (?, 'a\\'b')", session, "UTF-8");
+        assertTrue(queryInfo.isCompatibleWith(session, "UTF-8"));
+        assertTrue(queryInfo.isCompatibleWith(newSession(), "UTF-8"));
+        assertFalse(queryInfo.isCompatibleWith(session, "ISO-8859-1"));
+        assertFalse(queryInfo.isCompatibleWith(session, null));
+
+        Session noBackslashEscapes = newSession("STRICT_TRANS_TABLES,NO_BACKSLASH_ESCAPES");
+        assertFalse(queryInfo.isCompatibleWith(noBackslashEscapes, "UTF-8"));
+        assertTrue(new QueryInfo("SELECT ?", noBackslashEscapes, "UTF-8").isCompatibleWith(noBackslashEscapes, "UTF-8"));
+
+        Session rewrite = newSession();
+        rewrite.getPropertySet().getBooleanProperty(PropertyKey.rewriteBatchedStatements).setValue(true);
+        assertFalse(queryInfo.isCompatibleWith(rewrite, "UTF-8"));
+
+        Session dontCheckOdku = newSession();
+        dontCheckOdku.getPropertySet().getBooleanProperty(PropertyKey.dontCheckOnDuplicateKeyUpdateInSQL).setValue(true);
+        assertFalse(queryInfo.isCompatibleWith(dontCheckOdku, "UTF-8"));
+
+        // batch instances carry the settings of the query they derive from
+        QueryInfo rewritable = new QueryInfo("INSERT INTO t VALUES (?)", rewrite, "UTF-8");
+        assertTrue(rewritable.getQueryInfoForBatch(3).isCompatibleWith(rewrite, "UTF-8"));
+        assertFalse(rewritable.getQueryInfoForBatch(3).isCompatibleWith(session, "UTF-8"));
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.jdbc.result.CachedResultSetMetaDataImpl;
+import com.mysql.cj.result.DefaultColumnDefinition;
+import com.mysql.cj.result.Field;
+import com.mysql.cj.util.CacheStats;
+import com.mysql.cj.util.ConcurrentLRUCache;
+
+/**
+ * Tests for the ResultSet metadata cache helpers and the cache statistics of {@link ConnectionImpl}.
+ */
+public class ConnectionImplTest {
+
+    private static Field[] fields(int count) {
+        Field[] fields = new Field[count];
+        for (int i = 0; i < count; i++) {
+            fields[i] = new Field("t", "c" + i, 33, "UTF-8", MysqlType.VARCHAR, 10);
+        }
+        return fields;
+    }
+
+    private static CachedResultSetMetaDataImpl cached(int count, long checksum) {
+        CachedResultSetMetaDataImpl cached = new CachedResultSetMetaDataImpl();
+        DefaultColumnDefinition read = new DefaultColumnDefinition(fields(count));
+        read.setPacketChecksum(checksum);
+        read.exportTo(cached);
+        return cached;
+    }
+
+    private static DefaultColumnDefinition read(int count, long checksum) {
+        DefaultColumnDefinition read = new DefaultColumnDefinition(fields(count));
+        read.setPacketChecksum(checksum);
+        return read;
+    }
+
+    @Test
+    public void testSharedMetadataCacheKey() {
+        String sql = "SELECT * FROM t";
+        String key = ConnectionImpl.getSharedMetadataCacheKey("host1:3306", "db1", "utf8mb4", sql);
+
+        assertEquals(key, ConnectionImpl.getSharedMetadataCacheKey("host1:3306", "db1", "utf8mb4", sql));
+        assertFalse(key.equals(ConnectionImpl.getSharedMetadataCacheKey("host2:3306", "db1", "utf8mb4", sql)));
+        assertFalse(key.equals(ConnectionImpl.getSharedMetadataCacheKey("host1:3306", "db2", "utf8mb4", sql)));
+        assertFalse(key.equals(ConnectionImpl.getSharedMetadataCacheKey("host1:3306", "db1", "latin1", sql)));
+        assertFalse(key.equals(ConnectionImpl.getSharedMetadataCacheKey("host1:3306", "db1", "utf8mb4", sql + " t2")));
+    }
+
+    @Test
+    public void testStaleMetaData() {
+        // same column definition packets
+        assertFalse(ConnectionImpl.isStaleMetaData(cached(2, 42), read(2, 42)));
+
+        // altered column or another database, same number of columns
+        assertTrue(ConnectionImpl.isStaleMetaData(cached(2, 42), read(2, 43)));
+        assertTrue(ConnectionImpl.isStaleMetaData(cached(2, 42), read(3, 43)));
+
+        // without checksums only the number of columns is compared
+        assertFalse(ConnectionImpl.isStaleMetaData(cached(2, -1), read(2, 43)));
+        assertFalse(ConnectionImpl.isStaleMetaData(cached(2, 42), read(2, -1)));
+        assertTrue(ConnectionImpl.isStaleMetaData(cached(2, -1), read(3, -1)));
+    }
+
+    @Test
+    public void testCacheStats() {
+        ConnectionImpl conn = new ConnectionImpl();
+        assertTrue(conn.getCacheStats().isEmpty());
+
+        conn.resultSetMetadataCache = new ConcurrentLRUCache<>(1);
+        conn.resultSetMetadataCache.put("q1", cached(1, 1));
+        conn.resultSetMetadataCache.get("q1");
+        conn.resultSetMetadataCache.get("q2");
+        conn.resultSetMetadataCache.put("q2", cached(1, 2));
+
+        // only the enabled caches are reported
+        Map<String, CacheStats> stats = conn.getCacheStats();
+        assertEquals(1, stats.size());
+        assertNull(stats.get("serverSideStatementCache"));
+        CacheStats metadataStats = stats.get("resultSetMetadataCache");
+        assertEquals(1, metadataStats.getSize());
+        assertEquals(1L, metadataStats.getHitCount());
+        assertEquals(1L, metadataStats.getMissCount());
+        assertEquals(1L, metadataStats.getEvictionCount());
+    }
+
+}
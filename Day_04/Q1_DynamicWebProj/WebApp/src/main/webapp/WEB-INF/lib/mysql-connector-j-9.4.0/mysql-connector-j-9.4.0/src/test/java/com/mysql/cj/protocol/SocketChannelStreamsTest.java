@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.protocol;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link SocketChannelInputStream} and {@link SocketChannelOutputStream} against a local socket pair.
+ */
+public class SocketChannelStreamsTest {
+
+    /**
+     * A connected pair: the client side is non-blocking, as NioSocketConnection sets it up, the server side is a plain blocking peer.
+     */
+    private static class Pair implements AutoCloseable {
+
+        final SocketChannel client;
+        final SocketChannel peer;
+
+        Pair() throws IOException {
+            try (ServerSocketChannel server = ServerSocketChannel.open()) {
+                server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+                this.client = SocketChannel.open(server.getLocalAddress());
+                this.peer = server.accept();
+            }
+            this.client.configureBlocking(false);
+        }
+
+        void send(byte[] data) throws IOException {
+            ByteBuffer buf = ByteBuffer.wrap(data);
+            while (buf.hasRemaining()) {
+                this.peer.write(buf);
+            }
+        }
+
+        byte[] receive(int len) throws IOException {
+            ByteBuffer buf = ByteBuffer.allocate(len);
+            while (buf.hasRemaining()) {
+                if (this.peer.read(buf) < 0) {
+                    fail("Unexpected end of stream");
+                }
+            }
+            return buf.array();
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.client.close();
+            this.peer.close();
+        }
+
+    }
+
+    private static byte[] pattern(int len, int seed) {
+        byte[] b = new byte[len];
+        for (int i = 0; i < len; i++) {
+            b[i] = (byte) (i * 31 + seed);
+        }
+        return b;
+    }
+
+    /**
+     * A read returns what has arrived so far instead of waiting for the whole requested length.
+     */
+    @Test
+    public void testPartialReads() throws Exception {
+        try (Pair pair = new Pair()) {
+            InputStream in = new SocketChannelInputStream(pair.client, 4096, 4096);
+            byte[] first = pattern(10, 1);
+            pair.send(first);
+            byte[] b = new byte[100];
+            assertEquals(10, in.read(b, 0, b.length));
+            assertArrayEquals(first, Arrays.copyOf(b, 10));
+
+            // more than one window's worth, read back in odd-sized pieces
+            byte[] second = pattern(10000, 2);
+            pair.send(second);
+            byte[] got = new byte[second.length];
+            int n = 0;
+            while (n < got.length) {
+                int r = in.read(got, n, Math.min(777, got.length - n));
+                assertTrue(r > 0);
+                n += r;
+            }
+            assertArrayEquals(second, got);
+
+            pair.send(new byte[] { 42 });
+            assertEquals(42, in.read());
+            in.close();
+        }
+    }
+
+    /**
+     * At the end of the stream read returns -1 and skip returns 0, never a negative value.
+     */
+    @Test
+    public void testEndOfStream() throws Exception {
+        try (Pair pair = new Pair()) {
+            InputStream in = new SocketChannelInputStream(pair.client, 4096, 4096);
+            pair.send(pattern(3, 3));
+            pair.peer.shutdownOutput();
+            assertEquals(3, in.skip(10));
+            assertEquals(0, in.skip(10));
+            assertEquals(-1, in.read());
+            assertEquals(-1, in.read(new byte[4], 0, 4));
+            assertEquals(0, in.skip(10));
+            in.close();
+        }
+    }
+
+    /**
+     * A read waiting for data gives up after SO_TIMEOUT, and the stream remains usable.
+     */
+    @Test
+    public void testReadTimeout() throws Exception {
+        try (Pair pair = new Pair()) {
+            pair.client.socket().setSoTimeout(200);
+            InputStream in = new SocketChannelInputStream(pair.client, 4096, 4096);
+            long start = System.currentTimeMillis();
+            try {
+                in.read();
+                fail("SocketTimeoutException expected");
+            } catch (SocketTimeoutException e) {
+                assertTrue(System.currentTimeMillis() - start >= 200);
+            }
+            pair.send(new byte[] { 7 });
+            assertEquals(7, in.read());
+            in.close();
+        }
+    }
+
+    /**
+     * Single-byte and array writes arrive in order.
+     */
+    @Test
+    public void testWrite() throws Exception {
+        try (Pair pair = new Pair()) {
+            SocketChannelOutputStream out = new SocketChannelOutputStream(pair.client, 4096);
+            byte[] data = pattern(10000, 4);
+            out.write(0xab);
+            out.write(data, 0, data.length);
+            out.write(0xcd);
+            byte[] got = pair.receive(data.length + 2);
+            assertEquals((byte) 0xab, got[0]);
+            assertArrayEquals(data, Arrays.copyOfRange(got, 1, data.length + 1));
+            assertEquals((byte) 0xcd, got[data.length + 1]);
+            out.close();
+        }
+    }
+
+    /**
+     * A write blocked by a peer that stops reading gives up after SO_TIMEOUT instead of waiting forever.
+     */
+    @Test
+    public void testWriteTimeout() throws Exception {
+        try (Pair pair = new Pair()) {
+            pair.client.socket().setSoTimeout(200);
+            SocketChannelOutputStream out = new SocketChannelOutputStream(pair.client, 64 * 1024);
+            byte[] chunk = new byte[1024 * 1024];
+            try {
+                // the peer never reads, so the socket buffers fill up well before this
+                for (int i = 0; i < 256; i++) {
+                    out.write(chunk, 0, chunk.length);
+                }
+                fail("SocketTimeoutException expected");
+            } catch (SocketTimeoutException e) {
+                // expected
+            }
+            out.close();
+        }
+    }
+
+}
@@ -20,11 +20,13 @@
 
 package com.mysql.cj.protocol.a;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.zip.InflaterOutputStream;
@@ -32,6 +34,8 @@ import java.util.zip.InflaterOutputStream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import com.mysql.cj.conf.DefaultPropertySet;
+import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.protocol.MessageSender;
 
 public class CompressedPacketSenderTest extends PacketSenderTestBase {
@@ -288,4 +292,47 @@ public class CompressedPacketSenderTest extends PacketSenderTestBase {
         checkSequentiallyFilledPacket(sentPacket, CompressedPacketSender.COMP_HEADER_LENGTH + NativeConstants.HEADER_LENGTH, packetLen);
     }
 
+    /**
+     * Packets sent by the compressed sender are read back by the compressed input stream, including packets that are left partially read before the next
+     * one is fetched and packets that don't meet the compression threshold.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void compressedInputStreamReadsSentPackets() throws IOException {
+        int[] packetLens = { 3000, 10, 200000, 40, 70000, 5000 };
+        byte[][] packets = new byte[packetLens.length][];
+        for (int p = 0; p < packetLens.length; p++) {
+            packets[p] = new byte[packetLens[p]];
+            for (int i = 0; i < packetLens[p]; i++) {
+                packets[p][i] = (byte) (i % 13 + p);
+            }
+            this.sender.send(packets[p], packetLens[p], (byte) p);
+        }
+
+        CompressedInputStream in = new CompressedInputStream(new ByteArrayInputStream(this.outputStream.toByteArray()),
+                new DefaultPropertySet().getBooleanProperty(PropertyKey.traceProtocol), null);
+        try {
+            byte[] header = new byte[NativeConstants.HEADER_LENGTH];
+            for (int p = 0; p < packetLens.length; p++) {
+                assertEquals(NativeConstants.HEADER_LENGTH, in.read(header, 0, NativeConstants.HEADER_LENGTH));
+                assertEquals(packetLens[p], NativeUtils.decodeMysqlThreeByteInteger(header));
+                assertEquals(p, header[3]);
+
+                // read in small chunks so that reads straddle the compressed packets
+                byte[] payload = new byte[packetLens[p]];
+                int read = 0;
+                while (read < payload.length) {
+                    int n = in.read(payload, read, Math.min(777, payload.length - read));
+                    assertTrue(n > 0);
+                    read += n;
+                }
+                assertArrayEquals(packets[p], payload);
+            }
+            assertEquals(-1, in.read());
+        } finally {
+            in.close();
+        }
+    }
+
 }
@@ -21,6 +21,8 @@
 package com.mysql.cj.protocol.a;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -212,6 +214,64 @@ public class SimplePacketReaderTest {
         }
     }
 
+    // with a buffer pool the header is reused and released payload buffers are leased again
+    @Test
+    public void readPooledPayload() throws IOException {
+        RuntimeProperty<Integer> maxAllowedPacket = new JdbcPropertySetImpl().getProperty(PropertyKey.maxAllowedPacket);
+        SocketConnection connection = new FixedBufferSocketConnection(new byte[] { 3, 0, 0, 1, 3, 2, 1, 2, 0, 0, 2, 6, 5 });
+        PacketBufferPool pool = new PacketBufferPool(1024);
+        MessageReader<NativePacketHeader, NativePacketPayload> reader = new SimplePacketReader(connection, maxAllowedPacket, pool);
+
+        NativePacketHeader hdr = reader.readHeader();
+        assertEquals(1, hdr.getMessageSequence());
+        NativePacketPayload b = reader.readMessage(Optional.empty(), hdr);
+        assertEquals(3, b.getPayloadLength());
+        assertEquals(PacketBufferPool.MIN_BUFFER_SIZE, b.getByteBuffer().length);
+        assertEquals(1, b.getByteBuffer()[2]);
+        byte[] leased = b.getByteBuffer();
+        reader.releaseMessage(b);
+
+        NativePacketHeader hdr2 = reader.readHeader();
+        assertSame(hdr, hdr2);
+        assertEquals(2, hdr2.getMessageSize());
+        assertEquals(2, hdr2.getMessageSequence());
+        b = reader.readMessage(Optional.empty(), hdr2);
+        assertSame(leased, b.getByteBuffer());
+        assertEquals(2, b.getPayloadLength());
+        assertEquals(6, b.getByteBuffer()[0]);
+        assertEquals(5, b.getByteBuffer()[1]);
+        assertEquals(2, pool.getLeaseCount());
+        assertEquals(1, pool.getReuseCount());
+    }
+
+    // buffers are only kept for exact size classes up to the maximum
+    @Test
+    public void packetBufferPoolSizeClasses() {
+        PacketBufferPool pool = new PacketBufferPool(5000);
+        assertEquals(4096, pool.getMaxBufferSize());
+        assertEquals(256, pool.lease(0).length);
+        assertEquals(256, pool.lease(256).length);
+        assertEquals(512, pool.lease(257).length);
+        assertEquals(4096, pool.lease(4096).length);
+        assertEquals(4097, pool.lease(4097).length);
+
+        byte[] b = pool.lease(1000);
+        pool.release(b);
+        assertSame(b, pool.lease(600));
+        pool.release(new byte[1000]);
+        pool.release(new byte[8192]);
+        assertNotSame(b, pool.lease(1000));
+        assertEquals(1, pool.getReuseCount());
+
+        for (int i = 0; i < PacketBufferPool.BUFFERS_PER_CLASS + 1; i++) {
+            pool.release(new byte[2048]);
+        }
+        for (int i = 0; i < PacketBufferPool.BUFFERS_PER_CLASS + 1; i++) {
+            pool.lease(2048);
+        }
+        assertEquals(1 + PacketBufferPool.BUFFERS_PER_CLASS, pool.getReuseCount());
+    }
+
     // TODO any boundary conditions or large packet issues?
 
     public static class FixedBufferSocketConnection extends MockSocketConnection {
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.result;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.util.LazyString;
+
+/**
+ * Tests for {@link DefaultColumnDefinition}
+ */
+public class DefaultColumnDefinitionTest {
+
+    private static Field field(String table, String label, String name) {
+        return new Field(new LazyString("db"), new LazyString(table), new LazyString(table), new LazyString(label), new LazyString(name), 11,
+                MysqlType.FIELD_TYPE_LONG, (short) 0, 0, 63, null, MysqlType.INT);
+    }
+
+    private static DefaultColumnDefinition columns() {
+        return new DefaultColumnDefinition(new Field[] { field("t1", "id", "id"), field("t1", "Name", "full_name"), field("t2", "ID", "id"),
+                field("t2", "stra\u00dfe", "street"), field("t2", "\u0130d", "x") });
+    }
+
+    @Test
+    public void testFindColumn() {
+        DefaultColumnDefinition cdef = columns();
+
+        // exact and case-insensitive label matches, the first column wins
+        assertEquals(1, cdef.findColumn("id", false, 1));
+        assertEquals(1, cdef.findColumn("ID", false, 1));
+        assertEquals(1, cdef.findColumn("iD", false, 1));
+        assertEquals(2, cdef.findColumn("name", false, 1));
+        assertEquals(1, cdef.findColumn("NAME", false, 0));
+        assertEquals(4, cdef.findColumn("STRA\u00dfE", false, 1));
+        // "\u0130D" folds to "id" like String.CASE_INSENSITIVE_ORDER does, so it matches the first column
+        assertEquals(1, cdef.findColumn("\u0130D", false, 1));
+        assertEquals(1, cdef.findColumn("\u0130d", false, 1));
+
+        // full names
+        assertEquals(3, cdef.findColumn("t2.id", false, 1));
+        assertEquals(3, cdef.findColumn("T2.ID", false, 1));
+        assertEquals(2, cdef.findColumn("t1.name", false, 1));
+
+        // original column names are only matched if requested, and after labels
+        assertEquals(-1, cdef.findColumn("full_name", false, 1));
+        assertEquals(2, cdef.findColumn("FULL_NAME", true, 1));
+        assertEquals(4, cdef.findColumn("street", true, 1));
+        assertEquals(1, cdef.findColumn("id", true, 1));
+
+        assertEquals(-1, cdef.findColumn("missing", true, 1));
+        assertEquals(-1, cdef.findColumn("", true, 1));
+    }
+
+    @Test
+    public void testFindColumnMatchesCaseInsensitiveOrder() {
+        DefaultColumnDefinition cdef = columns();
+        String[] candidates = { "id", "Id", "name", "NAME", "stra\u00dfe", "STRASSE", "\u0130d", "\u0131d", "i\u0307d", "t1.ID", "t2.Name" };
+        for (String candidate : candidates) {
+            int expected = -1;
+            Field[] fields = cdef.getFields();
+            for (int i = 0; i < fields.length && expected == -1; i++) {
+                if (String.CASE_INSENSITIVE_ORDER.compare(fields[i].getName(), candidate) == 0) {
+                    expected = i;
+                }
+            }
+            for (int i = 0; i < fields.length && expected == -1; i++) {
+                if (String.CASE_INSENSITIVE_ORDER.compare(fields[i].getFullName(), candidate) == 0) {
+                    expected = i;
+                }
+            }
+            assertEquals(expected, cdef.findColumn(candidate, false, 0));
+        }
+    }
+
+    @Test
+    public void testIndexSharedThroughExport() {
+        DefaultColumnDefinition cdef = columns();
+        cdef.buildIndexMapping();
+
+        DefaultColumnDefinition cached = new DefaultColumnDefinition();
+        cdef.exportTo(cached);
+
+        DefaultColumnDefinition fromCache = new DefaultColumnDefinition();
+        fromCache.initializeFrom(cached);
+        assertEquals(2, fromCache.findColumn("NAME", false, 1));
+
+        DefaultColumnDefinition copy = new DefaultColumnDefinition(cached);
+        assertEquals(3, copy.findColumn("t2.id", false, 1));
+    }
+
+    @Test
+    public void testPacketChecksumSharedThroughExport() {
+        DefaultColumnDefinition cdef = columns();
+        assertEquals(-1, cdef.getPacketChecksum());
+        cdef.setPacketChecksum(0xCAFEL);
+
+        DefaultColumnDefinition cached = new DefaultColumnDefinition();
+        cdef.exportTo(cached);
+        assertEquals(0xCAFEL, cached.getPacketChecksum());
+
+        DefaultColumnDefinition fromCache = new DefaultColumnDefinition();
+        fromCache.initializeFrom(cached);
+        assertEquals(0xCAFEL, fromCache.getPacketChecksum());
+
+        assertEquals(0xCAFEL, new DefaultColumnDefinition(cached).getPacketChecksum());
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the GNU General Public License, version 2.0, as published by
+ * the Free Software Foundation.
+ *
+ * This program is designed to work with certain software that is licensed under separate terms, as designated in a particular file or component or in
+ * included license documentation. The authors of MySQL hereby grant you an additional permission to link the program and your derivative works with the
+ * separately licensed software that they have either included with the program or referenced in the documentation.
+ *
+ * Without limiting anything contained in the foregoing, this file, which is part of MySQL Connector/J, is also subject to the Universal FOSS Exception,
+ * version 1.0, a copy of which can be found at http://oss.oracle.com/licenses/universal-foss-exception.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License, version 2.0, for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with this program; if not, write to the Free Software Foundation, Inc.,
+ * 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA
+ */
+
+package com.mysql.cj.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentLRUCacheTest {
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        List<String> evicted = new ArrayList<>();
+        ConcurrentLRUCache<String, Integer> cache = new ConcurrentLRUCache<String, Integer>(3) {
+
+            @Override
+            protected void onEviction(String key, Integer value) {
+                evicted.add(key + "=" + value);
+            }
+
+        };
+
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        assertEquals(1, cache.get("a").intValue()); // "b" is now the eldest
+        cache.put("d", 4);
+
+        assertEquals(3, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.get("a").intValue());
+        assertEquals(4, cache.get("d").intValue());
+        assertEquals(1, evicted.size());
+        assertEquals("b=2", evicted.get(0));
+
+        // replacing a value is not an eviction
+        assertEquals(3, cache.put("c", 30).intValue());
+        assertEquals(1, evicted.size());
+
+        assertEquals(1L, cache.getEvictionCount());
+        assertEquals(3L, cache.getHitCount());
+        assertEquals(1L, cache.getMissCount());
+
+        assertEquals(1, cache.remove("a").intValue());
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(1, evicted.size());
+    }
+
+    @Test
+    public void readsBeyondBufferSizeKeepOrder() {
+        ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<>(10);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, i);
+        }
+        // more reads than the read buffer holds, the drained ones must not be lost
+        for (int n = 0; n < 100; n++) {
+            cache.get(0);
+        }
+        cache.put(10, 10);
+
+        assertEquals(0, cache.get(0).intValue());
+        assertNull(cache.get(1));
+    }
+
+    @Test
+    public void concurrentAccessRespectsMaxSize() throws Exception {
+        final int maxSize = 50;
+        AtomicInteger evictions = new AtomicInteger();
+        ConcurrentLRUCache<Integer, Integer> cache = new ConcurrentLRUCache<Integer, Integer>(maxSize) {
+
+            @Override
+            protected void onEviction(Integer key, Integer value) {
+                evictions.incrementAndGet();
+            }
+
+        };
+
+        int threads = 8;
+        int operations = 10000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int seed = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < operations; i++) {
+                    Integer key = (i * 31 + seed) % 200;
+                    if (cache.get(key) == null) {
+                        cache.put(key, key);
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertTrue(cache.size() <= maxSize);
+        assertEquals(evictions.get(), cache.getEvictionCount());
+        assertEquals(threads * operations, cache.getHitCount() + cache.getMissCount());
+    }
+
+    @Test
+    public void evictsByWeight() {
+        List<String> evicted = new ArrayList<>();
+        ConcurrentLRUCache<String, String> cache = new ConcurrentLRUCache<String, String>(100, 10, (k, v) -> v.length()) {
+
+            @Override
+            protected void onEviction(String key, String value) {
+                evicted.add(key);
+            }
+
+        };
+
+        cache.put("a", "xxxx");
+        cache.put("b", "xxxx");
+        assertEquals(8L, cache.getWeight());
+        cache.put("c", "xxx");
+        assertEquals(7L, cache.getWeight());
+        assertNull(cache.get("a"));
+
+        // replacing a value updates the weight
+        cache.put("b", "x");
+        assertEquals(4L, cache.getWeight());
+        cache.remove("c");
+        assertEquals(1L, cache.getWeight());
+
+        // too heavy to be cached at all
+        cache.put("d", "xxxxxxxxxxx");
+        assertNull(cache.get("d"));
+        assertEquals(1L, cache.getWeight());
+        assertEquals(1, evicted.size());
+        assertEquals("a", evicted.get(0));
+    }
+
+}
@@ -44,6 +44,7 @@ import java.sql.SQLFeatureNotSupportedException;
 import java.sql.Statement;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -65,6 +66,7 @@ import com.mysql.cj.MysqlType;
 import com.mysql.cj.conf.PropertyKey;
 import com.mysql.cj.exceptions.MysqlErrorNumbers;
 import com.mysql.cj.jdbc.ConnectionImpl;
+import com.mysql.cj.jdbc.JdbcConnection;
 import com.mysql.cj.jdbc.exceptions.NotUpdatable;
 import com.mysql.cj.util.StringUtils;
 
@@ -1254,4 +1256,72 @@ public class ResultSetTest extends BaseTestCase {
         testChar.accept("LONGTEXT");
     }
 
+    /**
+     * Tests the ResultSet metadata cache shared by connections with 'shareResultSetMetadataCache=true'.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSharedResultSetMetadataCache() throws Exception {
+        String otherDb = "testSharedRsmdCacheDb";
+        createDatabase(otherDb);
+        createTable(otherDb + ".testSharedRsmdCache", "(code CHAR(3))");
+        this.stmt.executeUpdate("INSERT INTO " + otherDb + ".testSharedRsmdCache VALUES ('xyz')");
+
+        String sql = "SELECT * FROM testSharedRsmdCache";
+        boolean useSPS = false;
+        do {
+            createTable("testSharedRsmdCache", "(id INT, name VARCHAR(20))");
+            this.stmt.executeUpdate("INSERT INTO testSharedRsmdCache VALUES (1, 'a')");
+
+            Properties props = new Properties();
+            props.setProperty(PropertyKey.cacheResultSetMetadata.getKeyName(), "true");
+            props.setProperty(PropertyKey.shareResultSetMetadataCache.getKeyName(), "true");
+            props.setProperty(PropertyKey.useServerPrepStmts.getKeyName(), Boolean.toString(useSPS));
+            String testCase = "useServerPrepStmts=" + useSPS;
+
+            try (Connection testConn1 = getConnectionWithProps(props); Connection testConn2 = getConnectionWithProps(props)) {
+                ((JdbcConnection) testConn1).invalidateCachedMetaData();
+
+                // cached by one connection, used by the other
+                this.rs = testConn1.prepareStatement(sql).executeQuery();
+                assertTrue(this.rs.next(), testCase);
+                assertNotNull(((JdbcConnection) testConn2).getCachedMetaData(sql), testCase);
+                this.rs = testConn2.prepareStatement(sql).executeQuery();
+                assertTrue(this.rs.next(), testCase);
+                assertEquals("a", this.rs.getString("name"), testCase);
+
+                // the same query in another database reads another table
+                testConn2.setCatalog(otherDb);
+                assertNull(((JdbcConnection) testConn2).getCachedMetaData(sql), testCase);
+                this.rs = testConn2.prepareStatement(sql).executeQuery();
+                assertTrue(this.rs.next(), testCase);
+                assertEquals(1, this.rs.getMetaData().getColumnCount(), testCase);
+                assertEquals("xyz", this.rs.getString("code"), testCase);
+                testConn2.setCatalog(this.dbName);
+
+                // DDL run by one connection clears the cache of all of them
+                testConn1.createStatement().executeUpdate("ALTER TABLE testSharedRsmdCache ADD COLUMN extra INT");
+                assertNull(((JdbcConnection) testConn2).getCachedMetaData(sql), testCase);
+                this.rs = testConn1.prepareStatement(sql).executeQuery();
+                assertTrue(this.rs.next(), testCase);
+                assertEquals(3, this.rs.getMetaData().getColumnCount(), testCase);
+                assertNotNull(((JdbcConnection) testConn2).getCachedMetaData(sql), testCase);
+
+                // DDL run by another client that keeps the number of columns
+                this.stmt.executeUpdate("ALTER TABLE testSharedRsmdCache CHANGE extra renamed BIGINT");
+                this.rs = testConn2.prepareStatement(sql).executeQuery();
+                assertTrue(this.rs.next(), testCase);
+                assertEquals("renamed", this.rs.getMetaData().getColumnName(3), testCase);
+                assertEquals(Types.BIGINT, this.rs.getMetaData().getColumnType(3), testCase);
+                assertEquals(3, this.rs.findColumn("renamed"), testCase);
+
+                // the server's definition replaced the stale one
+                this.rs = testConn1.prepareStatement(sql).executeQuery();
+                assertTrue(this.rs.next(), testCase);
+                assertEquals("renamed", this.rs.getMetaData().getColumnName(3), testCase);
+            }
+        } while (useSPS = !useSPS);
+    }
+
 }
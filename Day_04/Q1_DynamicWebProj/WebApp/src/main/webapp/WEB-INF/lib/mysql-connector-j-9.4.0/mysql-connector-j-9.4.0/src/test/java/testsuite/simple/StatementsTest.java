@@ -5482,6 +5482,108 @@ public class StatementsTest extends BaseTestCase {
         } while ((useSPS = !useSPS) || (rwBS = !rwBS));
     }
 
+    /**
+     * Tests batches executed with 'batchPipelineDepth' that fail halfway, with and without 'continueBatchOnError'. The update counts must be the same as in
+     * the serial execution, except that statements already sent when the failure was read report their real update counts, and the connection must be
+     * usable afterwards.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBatchPipelineFailure() throws Exception {
+        createTable("testBatchPipelineFailure", "(id INT PRIMARY KEY)");
+
+        for (int pipelineDepth : new int[] { 0, 3 }) {
+            for (boolean continueBatchOnError : new boolean[] { false, true }) {
+                Properties props = new Properties();
+                props.setProperty(PropertyKey.jdbcCompliantTruncation.getKeyName(), "false");
+                props.setProperty(PropertyKey.batchPipelineDepth.getKeyName(), Integer.toString(pipelineDepth));
+                props.setProperty(PropertyKey.continueBatchOnError.getKeyName(), Boolean.toString(continueBatchOnError));
+                String testCase = "batchPipelineDepth=" + pipelineDepth + ", continueBatchOnError=" + continueBatchOnError;
+
+                try (Connection testConn = getConnectionWithProps(props)) {
+                    // the third statement fails on a duplicate key
+                    this.stmt.executeUpdate("TRUNCATE TABLE testBatchPipelineFailure");
+                    Statement testStmt = testConn.createStatement();
+                    for (int i = 1; i <= 6; i++) {
+                        testStmt.addBatch("INSERT INTO testBatchPipelineFailure VALUES (" + (i == 3 ? 1 : i) + ")");
+                    }
+                    try {
+                        testStmt.executeBatch();
+                        fail("BatchUpdateException expected.");
+                    } catch (BatchUpdateException e) {
+                        int[] counts = e.getUpdateCounts();
+                        assertEquals(6, counts.length, testCase);
+                        assertEquals(1, counts[0], testCase);
+                        assertEquals(1, counts[1], testCase);
+                        assertEquals(Statement.EXECUTE_FAILED, counts[2], testCase);
+                        for (int i = 3; i < 6; i++) {
+                            if (continueBatchOnError || pipelineDepth == 0) {
+                                assertEquals(continueBatchOnError ? 1 : -3, counts[i], testCase);
+                            } else {
+                                // executed while in flight or never sent
+                                assertTrue(counts[i] == 1 || counts[i] == -3, testCase + ", counts[" + i + "]=" + counts[i]);
+                            }
+                        }
+                        assertInsertedRows(testConn, counts, continueBatchOnError, pipelineDepth, testCase);
+                    }
+
+                    this.stmt.executeUpdate("TRUNCATE TABLE testBatchPipelineFailure");
+                    PreparedStatement testPstmt = testConn.prepareStatement("INSERT INTO testBatchPipelineFailure VALUES (?)");
+                    for (int i = 1; i <= 6; i++) {
+                        testPstmt.setInt(1, i == 3 ? 1 : i);
+                        testPstmt.addBatch();
+                    }
+                    try {
+                        testPstmt.executeBatch();
+                        fail("BatchUpdateException expected.");
+                    } catch (BatchUpdateException e) {
+                        // prepared statements only report the statements before the failed one when the batch stops, unless statements sent after it
+                        // were executed
+                        int[] counts = e.getUpdateCounts();
+                        if (continueBatchOnError) {
+                            assertEquals(6, counts.length, testCase);
+                        } else if (pipelineDepth == 0) {
+                            assertEquals(2, counts.length, testCase);
+                        } else {
+                            assertTrue(counts.length == 2 || counts.length > 3 && counts.length <= 2 + pipelineDepth, testCase + ", length=" + counts.length);
+                        }
+                        assertEquals(1, counts[0], testCase);
+                        assertEquals(1, counts[1], testCase);
+                        if (counts.length > 2) {
+                            assertEquals(Statement.EXECUTE_FAILED, counts[2], testCase);
+                            for (int i = 3; i < counts.length; i++) {
+                                assertEquals(1, counts[i], testCase);
+                            }
+                        }
+                        assertInsertedRows(testConn, counts, continueBatchOnError, pipelineDepth, testCase);
+                    }
+                }
+            }
+        }
+    }
+
+    private void assertInsertedRows(Connection testConn, int[] counts, boolean continueBatchOnError, int pipelineDepth, String testCase)
+            throws SQLException {
+        // the connection is usable again and every statement reported as executed did insert its row
+        this.rs = testConn.createStatement().executeQuery("SELECT COUNT(*) FROM testBatchPipelineFailure");
+        assertTrue(this.rs.next(), testCase);
+        if (continueBatchOnError) {
+            assertEquals(5, this.rs.getInt(1), testCase);
+        } else {
+            // statements already sent when the failure was read have been executed by the server
+            int rows = this.rs.getInt(1);
+            assertTrue(rows >= 2 && rows <= 2 + Math.max(pipelineDepth - 1, 0), testCase + ", rows=" + rows);
+        }
+        int reported = 0;
+        for (int count : counts) {
+            if (count == 1) {
+                reported++;
+            }
+        }
+        assertEquals(reported, this.rs.getInt(1), testCase);
+    }
+
     public static class QueryInfoQueryInterceptor extends BaseQueryInterceptor {
 
         private static boolean enabled = false;
@@ -3,7 +3,6 @@ package com.book_registration_project;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -17,54 +16,105 @@ import javax.servlet.http.HttpServletResponse;
 @WebServlet("/bookListServlet")
 public class BookListServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
-    private static final String query = "SELECT bookId, bookName, bookEdition, bookPrice FROM bookData";
+    // keyset pagination: rows after the last bookId of the previous page
+    private static final String query = "SELECT bookId, bookName, bookEdition, bookPrice FROM bookData WHERE bookId > ? ORDER BY bookId LIMIT ?";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int FETCH_SIZE = 500;
+    private static final int FLUSH_THRESHOLD = 8192;
+
+    // Shared pool created by ConnectionPoolListener
+    private ConnectionPool pool;
+    private int maxPageSize;
+
+    @Override
+    public void init() throws ServletException {
+        pool = (ConnectionPool) getServletContext().getAttribute(ConnectionPool.CONTEXT_ATTRIBUTE);
+        String max = getServletContext().getInitParameter("books.maxPageSize");
+        maxPageSize = max == null ? 100000 : Integer.parseInt(max);
+    }
 
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
-        PrintWriter pw = response.getWriter();
         response.setContentType("text/html");
+        response.setCharacterEncoding("UTF-8");
+        PrintWriter pw = response.getWriter();
 
-        // Load JDBC driver
-        try {
-            Class.forName("com.mysql.jdbc.Driver");
-        } catch (ClassNotFoundException e) {
-            pw.println("<h1>Error loading database driver.</h1>");
-            return;
-        }
+        int after = intParam(request, "after", 0);
+        int pageSize = Math.min(Math.max(intParam(request, "pageSize", DEFAULT_PAGE_SIZE), 1), maxPageSize);
 
-        // Use try-with-resources for better resource management
-        try (Connection con = DriverManager.getConnection("jdbc:mysql://localhost:3306/book_register", "root", "1111");
+        HtmlTableWriter table = new HtmlTableWriter(pw, FLUSH_THRESHOLD);
+        int lastId = after;
+        int rows = 0;
+
+        // Borrow a pooled connection, try-with-resources gives it back
+        try (Connection con = pool.getConnection();
              PreparedStatement statement = con.prepareStatement(query)) {
+            statement.setInt(1, after);
+            statement.setInt(2, pageSize);
+            // read in bounded batches instead of buffering the whole page
+            statement.setFetchSize(FETCH_SIZE);
+
+            table.raw("<table align=center border='1' style='margin-top:100px;'>\n");
+            table.startRow()
+                    .header("Book Id")
+                    .header("Book Name")
+                    .header("Book Edition")
+                    .header("Book Price")
+                    .header(" edit ")
+                    .header(" delete ")
+                    .endRow();
+            // headers go out before the first row is read
+            table.flush();
 
-            ResultSet rs = statement.executeQuery();
-            pw.println("<table align=center border='1' style='margin-top:100px;'");
-            pw.println("<tr>");
-            pw.println("<th>Book Id</th>");
-            pw.println("<th>Book Name</th>");
-            pw.println("<th>Book Edition</th>");
-            pw.println("<th>Book Price</th>");
-            pw.println("<th> edit </th>");
-            pw.println("<th> delete </th>");
-            pw.println("</tr>");
-            while (rs.next()) {
-                pw.println("<tr>");
-                pw.println("<td>" + rs.getInt("bookId") + "</td>");
-                pw.println("<td>" + rs.getString("bookName") + "</td>");
-                pw.println("<td>" + rs.getString("bookEdition") + "</td>");
-                pw.println("<td>" + rs.getDouble("bookPrice") + "</td>");
-                pw.println("<td><a href='editScreen?id="+rs.getInt(1)+"'>edit</a></td>");
-                pw.println("<td><a href='deleteurl?id="+rs.getInt(1)+"'>delete</a></td>");
-                pw.println("</tr>");
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    lastId = rs.getInt(1);
+                    table.startRow()
+                            .cell(lastId)
+                            .cell(rs.getString(2))
+                            .cell(rs.getString(3))
+                            .cell(rs.getDouble(4))
+                            .linkCell("editScreen", lastId, "edit")
+                            .linkCell("deleteurl", lastId, "delete")
+                            .endRow();
+                    rows++;
+                }
             }
-            pw.println("</table>");
+            table.raw("</table>\n");
+            table.flush();
         } catch (SQLException e) {
-            pw.println("<h1>Error: " + e.getMessage() + "</h1>");
+            table.flush();
+            pw.println("<h1>Error: " + escape(e.getMessage()) + "</h1>");
         } catch (Exception e) {
-            pw.println("<h1>Unexpected error: " + e.getMessage() + "</h1>");
+            table.flush();
+            pw.println("<h1>Unexpected error: " + escape(e.getMessage()) + "</h1>");
+        }
+        // a full page means there may be more rows
+        if (rows == pageSize) {
+            pw.println("<a style='display:inline-block; margin:20px auto 0px;' href='bookListServlet?after=" + lastId + "&pageSize=" + pageSize + "'>Next</a>");
         }
         pw.println("<a style='display:inline-block; margin:20px auto 0px;' href='home.html'>Home</a>");
     }
 
+    private static int intParam(HttpServletRequest request, String name, int defaultValue) {
+        String value = request.getParameter(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
         // Optionally, you could also implement doPost if you need to handle POST requests.
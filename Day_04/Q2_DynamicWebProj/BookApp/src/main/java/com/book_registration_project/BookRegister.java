@@ -3,7 +3,6 @@ package com.book_registration_project;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
@@ -20,6 +19,14 @@ public class BookRegister extends HttpServlet {
     private static final long serialVersionUID = 1L;
     private static final String query = "INSERT INTO bookData (bookName, bookEdition, bookPrice) VALUES (?, ?, ?)";
 
+    // Shared pool created by ConnectionPoolListener
+    private ConnectionPool pool;
+
+    @Override
+    public void init() throws ServletException {
+        pool = (ConnectionPool) getServletContext().getAttribute(ConnectionPool.CONTEXT_ATTRIBUTE);
+    }
+
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
         RequestDispatcher dispatcher = request.getRequestDispatcher("home.html");
@@ -49,14 +56,7 @@ public class BookRegister extends HttpServlet {
             return;
         }
 
-        try {
-            Class.forName("com.mysql.jdbc.Driver");
-        } catch (ClassNotFoundException e) {
-            pw.println("<h1>Error loading database driver.</h1>");
-            return;
-        }
-
-        try (Connection con = DriverManager.getConnection("jdbc:mysql://localhost:3306/book_register", "root", "sharvari");
+        try (Connection con = pool.getConnection();
              PreparedStatement statement = con.prepareStatement(query)) {
 
             statement.setString(1, bookName);
@@ -0,0 +1,196 @@
+package com.book_registration_project;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.MultipartConfig;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.Part;
+
+@WebServlet("/registerBulk")
+@MultipartConfig
+public class BulkBookRegister extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+    private static final String query = "INSERT INTO bookData (bookName, bookEdition, bookPrice) VALUES (?, ?, ?)";
+    private static final int MAX_ERRORS_SHOWN = 100;
+
+    // Shared pool created by ConnectionPoolListener
+    private ConnectionPool pool;
+    private int batchSize;
+
+    @Override
+    public void init() throws ServletException {
+        pool = (ConnectionPool) getServletContext().getAttribute(ConnectionPool.CONTEXT_ATTRIBUTE);
+        String size = getServletContext().getInitParameter("books.batchSize");
+        batchSize = size == null ? 1000 : Integer.parseInt(size);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+        response.setContentType("text/html");
+        response.setCharacterEncoding("UTF-8");
+        PrintWriter pw = response.getWriter();
+
+        List<String> errors = new ArrayList<>();
+        int lineNumber = 0;
+        int inserted = 0;
+
+        // Rows are read one line at a time from the upload or the text area
+        try (BufferedReader in = new BufferedReader(openInput(request));
+             Connection con = pool.getConnection();
+             PreparedStatement statement = con.prepareStatement(query)) {
+
+            con.setAutoCommit(false);
+            int pending = 0;
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty() || (lineNumber == 1 && isHeader(line))) {
+                    continue;
+                }
+
+                List<String> fields = parseCsvLine(line);
+                String error = validate(fields);
+                if (error != null) {
+                    errors.add("Line " + lineNumber + ": " + error);
+                    continue;
+                }
+
+                statement.setString(1, fields.get(0).trim());
+                statement.setString(2, fields.get(1).trim());
+                statement.setDouble(3, Double.parseDouble(fields.get(2).trim()));
+                statement.addBatch();
+
+                // rewriteBatchedStatements turns each batch into one multi-row INSERT
+                if (++pending == batchSize) {
+                    inserted += executeBatch(statement);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                inserted += executeBatch(statement);
+            }
+            con.commit();
+        } catch (SQLException e) {
+            inserted = 0;
+            pw.println("<h1>Error: " + escape(e.getMessage()) + "</h1>");
+            pw.println("<h2>No records were inserted.</h2>");
+        } catch (Exception e) {
+            inserted = 0;
+            pw.println("<h1>Unexpected error: " + escape(e.getMessage()) + "</h1>");
+        }
+
+        pw.println("<h2>" + inserted + " record(s) inserted, " + errors.size() + " row(s) rejected.</h2>");
+        if (!errors.isEmpty()) {
+            pw.println("<ul>");
+            for (int i = 0; i < errors.size() && i < MAX_ERRORS_SHOWN; i++) {
+                pw.println("<li>" + escape(errors.get(i)) + "</li>");
+            }
+            if (errors.size() > MAX_ERRORS_SHOWN) {
+                pw.println("<li>... and " + (errors.size() - MAX_ERRORS_SHOWN) + " more</li>");
+            }
+            pw.println("</ul>");
+        }
+        pw.println("<a class='btn' href='home.html'>Home</a>");
+        pw.println("<br/>");
+        pw.println("<a class='btn' href='bookListServlet'>Book List</a>");
+    }
+
+    private static Reader openInput(HttpServletRequest request) throws IOException, ServletException {
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.startsWith("multipart/")) {
+            Part file = request.getPart("booksFile");
+            if (file != null && file.getSize() > 0) {
+                return new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8);
+            }
+        }
+        String rows = request.getParameter("books");
+        return new StringReader(rows == null ? "" : rows);
+    }
+
+    private static int executeBatch(PreparedStatement statement) throws SQLException {
+        int count = 0;
+        for (int result : statement.executeBatch()) {
+            // the rewritten multi-row insert may only report SUCCESS_NO_INFO
+            count += result == PreparedStatement.SUCCESS_NO_INFO ? 1 : result;
+        }
+        return count;
+    }
+
+    private static boolean isHeader(String line) {
+        return line.trim().toLowerCase().startsWith("bookname");
+    }
+
+    private static String validate(List<String> fields) {
+        if (fields.size() != 3) {
+            return "expected 3 fields (bookName, bookEdition, bookPrice) but found " + fields.size() + ".";
+        }
+        if (fields.get(0).trim().isEmpty() || fields.get(1).trim().isEmpty() || fields.get(2).trim().isEmpty()) {
+            return "All fields are required.";
+        }
+        double price;
+        try {
+            price = Double.parseDouble(fields.get(2).trim());
+        } catch (NumberFormatException e) {
+            return "Price must be a valid number.";
+        }
+        // parseDouble accepts "NaN" and "Infinity", which the insert would reject for the whole upload
+        if (!Double.isFinite(price) || price < 0) {
+            return "Price must be a finite, non-negative number.";
+        }
+        return null;
+    }
+
+    // Splits one CSV line; fields may be double-quoted, with "" for a literal quote
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
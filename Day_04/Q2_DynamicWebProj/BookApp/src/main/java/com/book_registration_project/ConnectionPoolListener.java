@@ -0,0 +1,76 @@
+package com.book_registration_project;
+
+import java.sql.SQLException;
+import java.util.Properties;
+
+import javax.servlet.ServletContext;
+import javax.servlet.ServletContextEvent;
+import javax.servlet.ServletContextListener;
+import javax.servlet.annotation.WebListener;
+
+/**
+ * Creates the shared connection pool when the application starts and closes
+ * it on shutdown. All settings come from the context params in web.xml.
+ */
+@WebListener
+public class ConnectionPoolListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        ServletContext context = event.getServletContext();
+
+        try {
+            Class.forName(param(context, "db.driver", "com.mysql.cj.jdbc.Driver"));
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Error loading database driver.", e);
+        }
+
+        Properties props = new Properties();
+        props.setProperty("user", param(context, "db.user", "root"));
+        props.setProperty("password", param(context, "db.password", ""));
+
+        // let the driver cache prepared statements on each pooled connection
+        props.setProperty("cachePrepStmts", "true");
+        props.setProperty("useServerPrepStmts", "true");
+        props.setProperty("prepStmtCacheSize", param(context, "db.statementCacheSize", "64"));
+        props.setProperty("prepStmtCacheSqlLimit", "2048");
+
+        // honour setFetchSize() with a server-side cursor instead of reading every row up front
+        props.setProperty("useCursorFetch", "true");
+
+        // send each INSERT batch as one multi-row statement
+        props.setProperty("rewriteBatchedStatements", "true");
+
+        ConnectionPool pool = new ConnectionPool(
+                param(context, "db.url", "jdbc:mysql://localhost:3306/book_register"),
+                props,
+                Integer.parseInt(param(context, "db.pool.maxSize", "10")),
+                Long.parseLong(param(context, "db.pool.borrowTimeoutMillis", "5000")),
+                Long.parseLong(param(context, "db.pool.validateAfterMillis", "30000")),
+                Integer.parseInt(param(context, "db.pool.validationTimeoutSeconds", "2")));
+
+        try {
+            pool.warmUp(Integer.parseInt(param(context, "db.pool.initialSize", "2")));
+        } catch (SQLException e) {
+            // the database may come up later, connections are opened on demand
+            context.log("Could not open initial database connections: " + e.getMessage());
+        }
+
+        context.setAttribute(ConnectionPool.CONTEXT_ATTRIBUTE, pool);
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        ServletContext context = event.getServletContext();
+        ConnectionPool pool = (ConnectionPool) context.getAttribute(ConnectionPool.CONTEXT_ATTRIBUTE);
+        if (pool != null) {
+            pool.close();
+            context.removeAttribute(ConnectionPool.CONTEXT_ATTRIBUTE);
+        }
+    }
+
+    private static String param(ServletContext context, String name, String defaultValue) {
+        String value = context.getInitParameter(name);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+}
@@ -3,7 +3,6 @@ package com.book_registration_project;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
@@ -18,6 +17,14 @@ public class DeleteServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
     private static final String query = "DELETE FROM bookData WHERE bookId=?";
 
+    // Shared pool created by ConnectionPoolListener
+    private ConnectionPool pool;
+
+    @Override
+    public void init() throws ServletException {
+        pool = (ConnectionPool) getServletContext().getAttribute(ConnectionPool.CONTEXT_ATTRIBUTE);
+    }
+
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
         PrintWriter pw = response.getWriter();
@@ -25,19 +32,16 @@ public class DeleteServlet extends HttpServlet {
 
         int id = Integer.parseInt(request.getParameter("id"));
 
-        // Load JDBC driver
-        try {
-            Class.forName("com.mysql.jdbc.Driver");
-            try (Connection con = DriverManager.getConnection("jdbc:mysql://localhost:3306/book_register", "root", "1111");
-                 PreparedStatement statement = con.prepareStatement(query)) {
-                statement.setInt(1, id);
-                int count = statement.executeUpdate();
-
-                if (count == 1) {
-                    pw.println("<h2>Record deleted successfully!</h2>");
-                } else {
-                    pw.println("<h2>Record not deleted.</h2>");
-                }
+        // Borrow a pooled connection, try-with-resources gives it back
+        try (Connection con = pool.getConnection();
+             PreparedStatement statement = con.prepareStatement(query)) {
+            statement.setInt(1, id);
+            int count = statement.executeUpdate();
+
+            if (count == 1) {
+                pw.println("<h2>Record deleted successfully!</h2>");
+            } else {
+                pw.println("<h2>Record not deleted.</h2>");
             }
         } catch (SQLException e) {
             pw.println("<h1>Error: " + e.getMessage() + "</h1>");
@@ -3,7 +3,6 @@ package com.book_registration_project;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -19,6 +18,14 @@ public class EditScreenServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
     private static final String query = "SELECT bookName, bookEdition, bookPrice FROM bookData WHERE bookId=?";
 
+    // Shared pool created by ConnectionPoolListener
+    private ConnectionPool pool;
+
+    @Override
+    public void init() throws ServletException {
+        pool = (ConnectionPool) getServletContext().getAttribute(ConnectionPool.CONTEXT_ATTRIBUTE);
+    }
+
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
         PrintWriter pw = response.getWriter();
@@ -27,16 +34,8 @@ public class EditScreenServlet extends HttpServlet {
         // Get the id of the record
         int id = Integer.parseInt(request.getParameter("id"));
 
-        // Load JDBC driver
-        try {
-            Class.forName("com.mysql.jdbc.Driver");
-        } catch (ClassNotFoundException e) {
-            pw.println("<h1>Error loading database driver.</h1>");
-            return;
-        }
-
-        // Use try-with-resources for better resource management
-        try (Connection con = DriverManager.getConnection("jdbc:mysql://localhost:3306/book_register", "root", "1111");
+        // Borrow a pooled connection, try-with-resources gives it back
+        try (Connection con = pool.getConnection();
              PreparedStatement statement = con.prepareStatement(query)) {
             statement.setInt(1, id);
             ResultSet rs = statement.executeQuery();
@@ -3,7 +3,6 @@ package com.book_registration_project;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
@@ -18,6 +17,14 @@ public class EditServlet extends HttpServlet {
     private static final long serialVersionUID = 1L;
     private static final String query = "UPDATE bookData SET bookName=?, bookEdition=?, bookPrice=? WHERE bookId=?";
 
+    // Shared pool created by ConnectionPoolListener
+    private ConnectionPool pool;
+
+    @Override
+    public void init() throws ServletException {
+        pool = (ConnectionPool) getServletContext().getAttribute(ConnectionPool.CONTEXT_ATTRIBUTE);
+    }
+
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
         PrintWriter pw = response.getWriter();
@@ -29,16 +36,8 @@ public class EditServlet extends HttpServlet {
         String bookEdition = request.getParameter("bookEdition");
         double bookPrice = Double.parseDouble(request.getParameter("bookPrice"));
 
-        // Load JDBC driver
-        try {
-            Class.forName("com.mysql.jdbc.Driver");
-        } catch (ClassNotFoundException e) {
-            pw.println("<h1>Error loading database driver.</h1>");
-            return;
-        }
-
-        // Use try-with-resources for better resource management
-        try (Connection con = DriverManager.getConnection("jdbc:mysql://localhost:3306/book_register", "root", "1111");
+        // Borrow a pooled connection, try-with-resources gives it back
+        try (Connection con = pool.getConnection();
              PreparedStatement statement = con.prepareStatement(query)) {
             statement.setString(1, bookName);
             statement.setString(2, bookEdition);
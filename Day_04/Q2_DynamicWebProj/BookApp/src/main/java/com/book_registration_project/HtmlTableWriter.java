@@ -0,0 +1,110 @@
+package com.book_registration_project;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes an HTML table into a reusable, pre-sized buffer and flushes it to
+ * the response in chunks, so the browser starts receiving rows while the
+ * rest are still being read. All cell text is HTML-escaped.
+ */
+public class HtmlTableWriter {
+
+    private final Writer out;
+    private final int flushThreshold;
+    private final StringBuilder buffer;
+
+    public HtmlTableWriter(Writer out, int flushThreshold) {
+        this.out = out;
+        this.flushThreshold = flushThreshold;
+        // room for one chunk plus the row that crosses the threshold
+        this.buffer = new StringBuilder(flushThreshold + 1024);
+    }
+
+    public HtmlTableWriter raw(String html) {
+        buffer.append(html);
+        return this;
+    }
+
+    public HtmlTableWriter startRow() {
+        buffer.append("<tr>");
+        return this;
+    }
+
+    public HtmlTableWriter header(String text) {
+        buffer.append("<th>");
+        escape(text);
+        buffer.append("</th>");
+        return this;
+    }
+
+    public HtmlTableWriter cell(String text) {
+        buffer.append("<td>");
+        escape(text);
+        buffer.append("</td>");
+        return this;
+    }
+
+    public HtmlTableWriter cell(int value) {
+        buffer.append("<td>").append(value).append("</td>");
+        return this;
+    }
+
+    public HtmlTableWriter cell(double value) {
+        buffer.append("<td>").append(value).append("</td>");
+        return this;
+    }
+
+    public HtmlTableWriter linkCell(String href, int id, String text) {
+        buffer.append("<td><a href='").append(href).append("?id=").append(id).append("'>");
+        escape(text);
+        buffer.append("</a></td>");
+        return this;
+    }
+
+    /**
+     * Ends the row and sends the buffer once it has grown past the threshold.
+     */
+    public void endRow() throws IOException {
+        buffer.append("</tr>\n");
+        if (buffer.length() >= flushThreshold) {
+            flush();
+        }
+    }
+
+    public void flush() throws IOException {
+        if (buffer.length() > 0) {
+            out.append(buffer);
+            buffer.setLength(0);
+        }
+        out.flush();
+    }
+
+    private void escape(String text) {
+        if (text == null) {
+            return;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case '&':
+                buffer.append("&amp;");
+                break;
+            case '<':
+                buffer.append("&lt;");
+                break;
+            case '>':
+                buffer.append("&gt;");
+                break;
+            case '"':
+                buffer.append("&quot;");
+                break;
+            case '\'':
+                buffer.append("&#39;");
+                break;
+            default:
+                buffer.append(c);
+            }
+        }
+    }
+}
@@ -1,11 +1,20 @@
 package com.spring.aspect;
 
-import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
 import org.jboss.logging.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Aspect
@@ -14,51 +23,150 @@ public class LoggingAspect {
 
 	// setup logger
 	private Logger theLogger = Logger.getLogger(getClass().getName());
-	
+
+	// setup tracing props
+	@Value("${tracing.enabled:true}")
+	private boolean tracingEnabled;
+
+	// trace one call out of every sampleRate calls
+	@Value("${tracing.sampleRate:1}")
+	private int sampleRate;
+
+	@Value("${tracing.bufferSize:4096}")
+	private int bufferSize;
+
+	@Value("${tracing.drainIntervalMillis:200}")
+	private long drainIntervalMillis;
+
+	private TraceBuffer traceBuffer;
+
+	private Thread drainThread;
+
+	private volatile boolean running;
+
 	// setup pointcut declarations
 	@Pointcut("execution(* com.spring.controller.*.*(..))")
 	private void loggingForController() {}
-	
+
 	@Pointcut("execution(* com.spring.dao.*.*(..))")
 	private void loggingForDAO() {}
-	
+
 	@Pointcut("execution(* com.spring.service.*.*(..))")
 	private void loggingForService() {}
-	
+
 	@Pointcut("loggingForController() || loggingForDAO() || loggingForService()")
 	private void loggingForAppFlow() {}
-	
-	// add @Before advice
-	@Before("loggingForAppFlow()")
-	public void before(JoinPoint theJoinPoint) {
-		
-		// display method that is calling
-		String theMethod = theJoinPoint.getSignature().toShortString();
-		theLogger.info("======>> in @Before: calling method: " + theMethod);
-		
-		// get the arguments 
-		Object[] args = theJoinPoint.getArgs();
-		
-		// loop through and display args
-		for(Object tempArg : args) {
-			theLogger.info("=====>> argument: " + tempArg);
+
+	@PostConstruct
+	protected void startDrainer() {
+
+		traceBuffer = new TraceBuffer(bufferSize);
+		running = true;
+
+		// format and log the events away from the request threads
+		drainThread = new Thread(this::drainLoop, "crm-trace-drainer");
+		drainThread.setDaemon(true);
+		drainThread.start();
+	}
+
+	@PreDestroy
+	protected void stopDrainer() throws InterruptedException {
+
+		running = false;
+		drainThread.interrupt();
+		drainThread.join(TimeUnit.SECONDS.toMillis(1));
+	}
+
+	// add @Around advice
+	@Around("loggingForAppFlow()")
+	public Object trace(ProceedingJoinPoint theJoinPoint) throws Throwable {
+
+		// skip all the bookkeeping when tracing is off or this call is not sampled
+		if (!isTraced()) {
+			return theJoinPoint.proceed();
+		}
+
+		long start = System.nanoTime();
+		Object result = null;
+		boolean failed = true;
+
+		try {
+			result = theJoinPoint.proceed();
+			failed = false;
+			return result;
+		} finally {
+			long duration = System.nanoTime() - start;
+
+			// only the signature reference and sizes are recorded, formatting happens on the drainer
+			traceBuffer.publish(theJoinPoint.getSignature(), duration,
+					sizeOf(theJoinPoint.getArgs()), sizeOf(result), failed);
+		}
+	}
+
+	private boolean isTraced() {
+
+		if (!tracingEnabled || !theLogger.isInfoEnabled()) {
+			return false;
+		}
+
+		return sampleRate <= 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+	}
+
+	private void drainLoop() {
+
+		TraceBuffer.Consumer theConsumer = (theSignature, durationNanos, argsSize, resultSize, failed) ->
+			theLogger.infof("=====>> %s took %d us, args: %d, result size: %d%s",
+					theSignature.toShortString(),
+					TimeUnit.NANOSECONDS.toMicros(durationNanos),
+					argsSize, resultSize, failed ? ", threw exception" : "");
+
+		long lastDropped = 0;
+
+		while (running) {
+			try {
+				// empty the buffer, then wait for more
+				while (traceBuffer.drain(theConsumer, bufferSize) > 0) {
+					// keep going
+				}
+
+				long dropped = traceBuffer.getDropped();
+				if (dropped != lastDropped) {
+					theLogger.warnf("=====>> trace buffer full or logging failed, dropped %d events", dropped - lastDropped);
+					lastDropped = dropped;
+				}
+
+				Thread.sleep(drainIntervalMillis);
+			} catch (InterruptedException exc) {
+				Thread.currentThread().interrupt();
+				break;
+			} catch (RuntimeException exc) {
+				theLogger.warn("=====>> trace drainer failed", exc);
+			}
 		}
-		
+
+		// log what is left on shutdown
+		traceBuffer.drain(theConsumer, traceBuffer.capacity());
 	}
-	
-	// add @AfterReturning advice
-	@AfterReturning(
-			pointcut="loggingForAppFlow()",
-			returning="result")
-	public void afterReturning(JoinPoint theJoinPoint, Object result) {
-		
-		// display method that is returning from
-		String theMethod = theJoinPoint.getSignature().toShortString();
-		theLogger.info("======>> in @Before: calling method: " + theMethod);
-		
-		// display data returned 
-		theLogger.info("=====>> result: " + result);
-		
+
+	// cheap size of an argument list or result, never calls toString()
+	private static int sizeOf(Object theValue) {
+
+		if (theValue == null) {
+			return 0;
+		}
+		if (theValue instanceof Collection) {
+			return ((Collection<?>) theValue).size();
+		}
+		if (theValue instanceof Map) {
+			return ((Map<?, ?>) theValue).size();
+		}
+		if (theValue instanceof CharSequence) {
+			return ((CharSequence) theValue).length();
+		}
+		if (theValue.getClass().isArray()) {
+			return Array.getLength(theValue);
+		}
+		return 1;
 	}
-	
+
 }
@@ -0,0 +1,138 @@
+package com.spring.aspect;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.aspectj.lang.Signature;
+
+/**
+ * Fixed-size, lock-free ring of trace events.
+ *
+ * Any number of threads can publish; a single drainer thread reads. Each
+ * slot holds an immutable event, so the drainer never sees a half-written
+ * one. Writers never wait: when the drainer falls behind, the oldest events
+ * are overwritten and counted as dropped. An event the consumer fails on is
+ * counted as dropped too, so one bad event can't stall the drainer.
+ */
+public class TraceBuffer {
+
+	/**
+	 * Receives the events read by {@link TraceBuffer#drain}.
+	 */
+	public interface Consumer {
+
+		void accept(Signature theSignature, long durationNanos, int argsSize, int resultSize, boolean failed);
+	}
+
+	private final AtomicReferenceArray<Event> slots;
+
+	private final int mask;
+
+	// next sequence to hand out to a writer
+	private final AtomicLong head = new AtomicLong();
+
+	// next sequence the drainer reads, only touched by the drainer
+	private long tail = 0;
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	public TraceBuffer(int capacity) {
+
+		// round up to a power of two so the slot index is a mask
+		int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+
+		slots = new AtomicReferenceArray<>(size);
+		mask = size - 1;
+	}
+
+	public int capacity() {
+		return slots.length();
+	}
+
+	public long getDropped() {
+		return dropped.get();
+	}
+
+	public void publish(Signature theSignature, long durationNanos, int argsSize, int resultSize, boolean failed) {
+
+		long seq = head.getAndIncrement();
+		int index = (int) seq & mask;
+		Event theEvent = new Event(seq, theSignature, durationNanos, argsSize, resultSize, failed);
+
+		// a writer that was lapped while it ran must not replace the newer
+		// event; the drainer has already counted this one as dropped
+		Event current = slots.get(index);
+		while (current == null || current.sequence < seq) {
+			if (slots.compareAndSet(index, current, theEvent)) {
+				return;
+			}
+			current = slots.get(index);
+		}
+	}
+
+	/**
+	 * Reads up to maxEvents published events in order. Returns the number of
+	 * events passed to the consumer, including those it failed on. Must only
+	 * be called from one thread.
+	 */
+	public int drain(Consumer theConsumer, int maxEvents) {
+
+		int count = 0;
+
+		while (count < maxEvents) {
+
+			// writers lapped us, skip what was overwritten
+			long oldest = head.get() - slots.length();
+			if (tail < oldest) {
+				dropped.addAndGet(oldest - tail);
+				tail = oldest;
+			}
+
+			Event theEvent = slots.get((int) tail & mask);
+
+			if (theEvent == null || theEvent.sequence < tail) {
+				// not published yet
+				break;
+			}
+			if (theEvent.sequence > tail) {
+				// overwritten between the lap check and now
+				dropped.incrementAndGet();
+				tail++;
+				continue;
+			}
+
+			// consumed before the call, so a failing consumer doesn't retry it forever
+			tail++;
+			count++;
+
+			// events are immutable, so nothing can change while we read it
+			try {
+				theConsumer.accept(theEvent.signature, theEvent.durationNanos, theEvent.argsSize, theEvent.resultSize,
+						theEvent.failed);
+			} catch (RuntimeException exc) {
+				dropped.incrementAndGet();
+			}
+		}
+
+		return count;
+	}
+
+	private static final class Event {
+
+		final long sequence;
+		final Signature signature;
+		final long durationNanos;
+		final int argsSize;
+		final int resultSize;
+		final boolean failed;
+
+		Event(long sequence, Signature signature, long durationNanos, int argsSize, int resultSize, boolean failed) {
+			this.sequence = sequence;
+			this.signature = signature;
+			this.durationNanos = durationNanos;
+			this.argsSize = argsSize;
+			this.resultSize = resultSize;
+			this.failed = failed;
+		}
+	}
+}
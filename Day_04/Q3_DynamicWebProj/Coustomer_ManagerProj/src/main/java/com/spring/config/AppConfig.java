@@ -23,6 +23,7 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.view.InternalResourceViewResolver;
 
 import com.mchange.v2.c3p0.ComboPooledDataSource;
+import com.spring.pool.PoolMonitor;
 
 @Configuration
 @EnableWebMvc
@@ -77,8 +78,11 @@ public class AppConfig implements WebMvcConfigurer {
 		myDataSource.setMinPoolSize(getIntProperty("connection.pool.minPoolSize"));
 		myDataSource.setMaxPoolSize(getIntProperty("connection.pool.maxPoolSize"));		
 		myDataSource.setMaxIdleTime(getIntProperty("connection.pool.maxIdleTime"));
+		myDataSource.setMaxStatementsPerConnection(
+				getIntProperty("connection.pool.maxStatementsPerConnection"));
 
-		return myDataSource;
+		// time checkouts and watch the pool
+		return poolMonitor().monitor("myDataSource", myDataSource);
 	}
 	
 	private Properties getHibernateProperties() {
@@ -137,7 +141,21 @@ public class AppConfig implements WebMvcConfigurer {
 		securityDataSource.setMaxIdleTime(
 				getIntProperty("security.connection.pool.maxIdleTime"));
 		
-		return securityDataSource;
+		securityDataSource.setMaxStatementsPerConnection(
+				getIntProperty("security.connection.pool.maxStatementsPerConnection"));
+		
+		return poolMonitor().monitor("securityDataSource", securityDataSource);
+	}
+	
+	// define a bean for watching and sizing both pools
+	
+	@Bean
+	public PoolMonitor poolMonitor() {
+		
+		return new PoolMonitor(
+				getIntProperty("connection.pool.monitor.intervalSeconds"),
+				getIntProperty("connection.pool.monitor.windowSamples"),
+				getIntProperty("connection.pool.monitor.maxPoolSizeCeiling"));
 	}
 	
 	// need a helper method 
@@ -1,17 +1,28 @@
 package com.spring.config;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import javax.sql.DataSource;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.JdbcUserDetailsManager;
 import org.springframework.security.provisioning.UserDetailsManager;
 
+import com.spring.security.TtlUserCache;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
@@ -21,14 +32,52 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 	@Autowired
 	private DataSource securityDataSource;
 	
+	@Autowired
+	private Environment env;
+	
 	@Override
 	protected void configure(AuthenticationManagerBuilder auth) throws Exception {
 
-		// use jdbc authentication
+		// use jdbc authentication, with users cached in front of the database
+		
+		auth.authenticationProvider(authenticationProvider());
 		
-		auth.jdbcAuthentication().dataSource(securityDataSource);
+		// the cache holds the same user objects, so keep their passwords
+		auth.eraseCredentials(false);
 
 	}
+	
+	@Bean
+	public DaoAuthenticationProvider authenticationProvider() {
+		
+		DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
+		
+		authenticationProvider.setUserDetailsService(userDetailsManager());
+		authenticationProvider.setPasswordEncoder(passwordEncoder());
+		authenticationProvider.setUserCache(userCache());
+		
+		return authenticationProvider;
+	}
+	
+	@Bean
+	public UserCache userCache() {
+		
+		// size and time bounded, so stale entries can't live forever
+		return new TtlUserCache(
+				env.getProperty("security.userCache.ttlSeconds", Long.class, 300L),
+				env.getProperty("security.userCache.maxSize", Integer.class, 10000));
+	}
+	
+	@Bean
+	public PasswordEncoder passwordEncoder() {
+		
+		// new passwords use bcrypt with the configured cost, existing hashes keep their own cost
+		Map<String, PasswordEncoder> encoders = new HashMap<>();
+		encoders.put("bcrypt", new BCryptPasswordEncoder(
+				env.getProperty("security.password.bcryptStrength", Integer.class, 10)));
+		
+		return new DelegatingPasswordEncoder("bcrypt", encoders);
+	}
 
 	@Override
 	protected void configure(HttpSecurity http) throws Exception {
@@ -38,6 +87,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 			.antMatchers("/customer/save*").hasAnyRole("MANAGER", "ADMIN")
 			.antMatchers("/customer/delete").hasRole("ADMIN")
 			.antMatchers("/customer/**").hasRole("EMPLOYEE")
+			.antMatchers("/admin/**").hasRole("ADMIN")
 			.antMatchers("/resources/**").permitAll()
 			.and()
 			.formLogin()
@@ -59,6 +109,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 		
 		jdbcUserDetailsManager.setDataSource(securityDataSource);
 		
+		// drop users from the cache when they are updated, deleted or change password
+		jdbcUserDetailsManager.setUserCache(userCache());
+		
 		return jdbcUserDetailsManager; 
 	}
 		
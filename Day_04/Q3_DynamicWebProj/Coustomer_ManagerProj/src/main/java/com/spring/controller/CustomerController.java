@@ -9,7 +9,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.propertyeditors.StringTrimmerEditor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
-import org.springframework.ui.ModelMap;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,8 +18,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.spring.entity.Customer;
+import com.spring.search.CustomerSearchIndex;
+import com.spring.service.BulkDeleteResult;
 import com.spring.service.CustomerService;
 
 @Controller
@@ -103,17 +105,21 @@ public class CustomerController {
 	}
 	
 	@RequestMapping(value = "deleteSelected", method = RequestMethod.POST)
-	public String deleteSelected(HttpServletRequest request, ModelMap modelMap){
+	public String deleteSelected(HttpServletRequest request, RedirectAttributes redirectAttributes){
 		try {
-			if(request.getParameterValues("customerId") != null) {
-				for(String id : request.getParameterValues("customerId")) {
-					int theId = Integer.parseInt(id);
-					customerService.deleteCustomer(theId);
-				}
+			// delete all selected customers in one transaction
+			BulkDeleteResult theResult = 
+					customerService.deleteCustomers(request.getParameterValues("customerId"));
+			
+			// flash attributes survive the redirect and are shown once by the list page
+			redirectAttributes.addFlashAttribute("deleted", theResult.getDeleted());
+			redirectAttributes.addFlashAttribute("notFound", theResult.getNotFound());
+			if (!theResult.getFailures().isEmpty()) {
+				redirectAttributes.addFlashAttribute("error", "Invalid customer ids: " + theResult.getFailures());
 			}
 			return "redirect:/customer/list";
 		} catch(Exception e) {
-			modelMap.put("error", e.getMessage());
+			redirectAttributes.addFlashAttribute("error", e.getMessage());
 			return "redirect:/customer/list";
 		}
 	}
@@ -121,13 +127,22 @@ public class CustomerController {
 	
 	@PostMapping("/search")
     public String searchCustomers(@RequestParam("theCustomerName") String theCustomerName,
+                                    @RequestParam(value = "page", defaultValue = "0") int page,
                                     Model theModel) {
 
-        // search customers from the service
-        List<Customer> theCustomers = customerService.searchCustomers(theCustomerName);
+        int thePage = Math.max(page, 0);
+
+        // search customers from the service, one ranked page at a time
+        List<Customer> theCustomers = customerService.searchCustomers(theCustomerName,
+                thePage, CustomerSearchIndex.DEFAULT_PAGE_SIZE);
                 
         // add the customers to the model
         theModel.addAttribute("customers", theCustomers);
+        theModel.addAttribute("theCustomerName", theCustomerName);
+        theModel.addAttribute("page", thePage);
+
+        // a full page may have a next one, the list page shows Previous/Next
+        theModel.addAttribute("hasNextPage", theCustomers.size() == CustomerSearchIndex.DEFAULT_PAGE_SIZE);
 
         return "list-customers";        
     }
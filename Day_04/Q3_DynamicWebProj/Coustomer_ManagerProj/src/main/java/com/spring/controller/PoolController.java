@@ -0,0 +1,40 @@
+package com.spring.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import com.spring.pool.PoolMonitor;
+
+@Controller
+@RequestMapping("/admin")
+public class PoolController {
+
+	// need to inject the pool monitor
+	@Autowired
+	private PoolMonitor poolMonitor;
+	
+	// plain text view of pool state, wait times and recommended sizes
+	@GetMapping(value = "/pools", produces = "text/plain")
+	@ResponseBody
+	public String showPools() {
+		
+		return poolMonitor.report();
+	}
+	
+	// resizes the pool to the recommended sizes; c3p0 resets the pool when
+	// its size changes, so this is a deliberate admin action, never automatic
+	@PostMapping(value = "/pools/{name}/apply", produces = "text/plain")
+	@ResponseBody
+	public String applyRecommendation(@PathVariable("name") String name) {
+		
+		String theChange = poolMonitor.applyRecommendation(name);
+		
+		return theChange != null ? theChange : "no pool named " + name;
+	}
+	
+}
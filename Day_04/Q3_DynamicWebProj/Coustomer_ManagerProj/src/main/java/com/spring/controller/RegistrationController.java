@@ -13,7 +13,6 @@ import org.springframework.beans.propertyeditors.StringTrimmerEditor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.User;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.stereotype.Controller;
@@ -35,7 +34,8 @@ public class RegistrationController {
 	@Autowired
 	private UserDetailsManager userDetailsManager;
 	
-	private PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+	@Autowired
+	private PasswordEncoder passwordEncoder;
 	
 	private Logger logger = Logger.getLogger(getClass().getName());
 	
@@ -111,11 +111,8 @@ public class RegistrationController {
 			return "registration-form";			
 		}
 		
-		// encrypt the password
+		// encrypt the password, the encoder prepends the algorithm id ("{bcrypt}")
         String encodedPassword = passwordEncoder.encode(theCrmUser.getPassword());
-
-        // prepend the encoding algorithm id
-        encodedPassword = "{bcrypt}" + encodedPassword;
                  
 		// give user default role of "employee"
         List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_EMPLOYEE");
@@ -7,6 +7,8 @@ import com.spring.entity.Customer;
 public interface CustomerDAO {
 
 	public List<Customer> getCustomers();
+	
+	public List<Customer> getCustomers(int page, int pageSize);
 
 	public void saveCustomer(Customer theCustomer);
 
@@ -14,6 +16,10 @@ public interface CustomerDAO {
 
 	public void deleteCustomer(int theId);
 	
+	public int deleteCustomers(List<Integer> theIds);
+	
 	public List<Customer> searchCustomers(String theCustomerName);
 	
+	public List<Customer> searchCustomers(String theCustomerName, int page, int pageSize);
+	
 }
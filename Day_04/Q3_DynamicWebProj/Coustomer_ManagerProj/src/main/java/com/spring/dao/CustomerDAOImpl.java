@@ -1,14 +1,20 @@
 package com.spring.dao;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.query.Query;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.spring.entity.Customer;
+import com.spring.search.CustomerSearchIndex;
 
 @Repository
 public class CustomerDAOImpl implements CustomerDAO {
@@ -16,6 +22,10 @@ public class CustomerDAOImpl implements CustomerDAO {
 	// need to inject the session factory
 	@Autowired
 	private SessionFactory sessionFactory;
+	
+	// in-memory search index, kept in sync on save and delete
+	@Autowired
+	private CustomerSearchIndex searchIndex;
 			
 	@Override
 	public List<Customer> getCustomers() {
@@ -34,6 +44,23 @@ public class CustomerDAOImpl implements CustomerDAO {
 		// return the results		
 		return customers;
 	}
+	
+	@Override
+	public List<Customer> getCustomers(int page, int pageSize) {
+		
+		// get the current hibernate session
+		Session currentSession = sessionFactory.getCurrentSession();
+		
+		// same order as getCustomers(), one page only
+		Query<Customer> theQuery = 
+				currentSession.createQuery("from Customer order by lastName, id",
+											Customer.class);
+		int thePageSize = Math.min(Math.max(pageSize, 1), CustomerSearchIndex.MAX_PAGE_SIZE);
+		theQuery.setFirstResult(firstResult(page, thePageSize));
+		theQuery.setMaxResults(thePageSize);
+		
+		return theQuery.getResultList();
+	}
 
 	@Override
 	public void saveCustomer(Customer theCustomer) {
@@ -44,6 +71,8 @@ public class CustomerDAOImpl implements CustomerDAO {
 		// save/upate the customer ... finally LOL
 		currentSession.saveOrUpdate(theCustomer);
 		
+		// update the search index once the change is committed
+		afterCommit(() -> searchIndex.add(theCustomer));
 	}
 
 	@Override
@@ -70,19 +99,102 @@ public class CustomerDAOImpl implements CustomerDAO {
 		theQuery.setParameter("customerId", theId);
 		
 		theQuery.executeUpdate();		
+		
+		afterCommit(() -> searchIndex.remove(theId));
+	}
+	
+	@Override
+	public int deleteCustomers(List<Integer> theIds) {
+		
+		if (theIds.isEmpty()) {
+			return 0;
+		}
+
+		// get the current hibernate session
+		Session currentSession = sessionFactory.getCurrentSession();
+		
+		// delete all the ids in one statement
+		Query theQuery = 
+				currentSession.createQuery("delete from Customer where id in (:customerIds)");
+		theQuery.setParameterList("customerIds", theIds);
+		
+		int deleted = theQuery.executeUpdate();
+		
+		List<Integer> removedIds = new ArrayList<>(theIds);
+		afterCommit(() -> removedIds.forEach(searchIndex::remove));
+		
+		return deleted;
 	}
 	
 	@Override
 	public List<Customer> searchCustomers(String theCustomerName) {
+		
+		// first page only, an unpaged search must not fetch the whole table by id
+		return searchCustomers(theCustomerName, 0, CustomerSearchIndex.MAX_PAGE_SIZE);
+	}
+	
+	@Override
+	public List<Customer> searchCustomers(String theCustomerName, int page, int pageSize) {
+		
+		int thePage = Math.max(page, 0);
+		int thePageSize = Math.min(Math.max(pageSize, 1), CustomerSearchIndex.MAX_PAGE_SIZE);
+		
+		// the first search fills the index from the database
+		if (!searchIndex.isLoaded() && searchIndex.beginLoad()) {
+			try {
+				searchIndex.completeLoad(getSearchFields());
+			} catch (RuntimeException exc) {
+				searchIndex.abortLoad();
+				throw exc;
+			}
+		}
+		
+		// another thread is still loading the index, query the database instead
+		if (!searchIndex.isLoaded()) {
+			return searchCustomersInDatabase(theCustomerName, thePage, thePageSize);
+		}
+		
+		// ranked ids for the requested page
+		List<Integer> theIds = searchIndex.search(theCustomerName, thePage, thePageSize);
+		if (theIds.isEmpty()) {
+			return new ArrayList<>();
+		}
+		
+		// get the current hibernate session
+		Session currentSession = sessionFactory.getCurrentSession();
+		
+		// fetch the page by primary key and keep the index ranking
+		Query<Customer> theQuery = 
+				currentSession.createQuery("from Customer where id in (:ids)", Customer.class);
+		theQuery.setParameterList("ids", theIds);
+		
+		Map<Integer, Customer> byId = new HashMap<>();
+		for (Customer tempCustomer : theQuery.getResultList()) {
+			byId.put(tempCustomer.getId(), tempCustomer);
+		}
+		
+		List<Customer> customers = new ArrayList<>(theIds.size());
+		for (Integer tempId : theIds) {
+			Customer tempCustomer = byId.get(tempId);
+			if (tempCustomer != null) {
+				customers.add(tempCustomer);
+			}
+		}
+		
+		return customers;
+	}
+	
+	private List<Customer> searchCustomersInDatabase(String theCustomerName, int page, int pageSize) {
         // get the current hibernate session
         Session currentSession = sessionFactory.getCurrentSession();
         
-        //Query theQuery = null;
-        
             // search for firstName or lastName ... case insensitive
-        Query theQuery =currentSession.createQuery("from Customer where lower(firstName) like :theName or lower(lastName) like :theName or lower(email) like :theName" , Customer.class);
+        Query<Customer> theQuery =currentSession.createQuery("from Customer where lower(firstName) like :theName or lower(lastName) like :theName or lower(email) like :theName order by lastName" , Customer.class);
         theQuery.setParameter("theName", "%" + theCustomerName.toLowerCase() + "%");
-
+        
+        // limit to the requested page
+        theQuery.setFirstResult(firstResult(page, pageSize));
+        theQuery.setMaxResults(pageSize);
         
         // execute query and get result list
         List<Customer> customers = theQuery.getResultList();
@@ -91,16 +203,49 @@ public class CustomerDAOImpl implements CustomerDAO {
         return customers;
         
 	}
+	
+	// only the searchable columns, as detached customers, so the initial index
+	// load doesn't attach every entity to the request's session
+	private List<Customer> getSearchFields() {
+		
+		// get the current hibernate session
+		Session currentSession = sessionFactory.getCurrentSession();
+		
+		Query<Object[]> theQuery = 
+				currentSession.createQuery("select id, firstName, lastName, email from Customer",
+											Object[].class);
+		
+		List<Customer> customers = new ArrayList<>();
+		for (Object[] tempRow : theQuery.getResultList()) {
+			Customer tempCustomer = new Customer();
+			tempCustomer.setId((Integer) tempRow[0]);
+			tempCustomer.setFirstName((String) tempRow[1]);
+			tempCustomer.setLastName((String) tempRow[2]);
+			tempCustomer.setEmail((String) tempRow[3]);
+			customers.add(tempCustomer);
+		}
+		
+		return customers;
+	}
+	
+	// offset of the page, capped instead of overflowing for a huge page number
+	private static int firstResult(int page, int pageSize) {
+		return (int) Math.min((long) Math.max(page, 0) * pageSize, Integer.MAX_VALUE);
+	}
+	
+	// run the action after the current transaction commits, or right away without one
+	private void afterCommit(Runnable theAction) {
+		
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					theAction.run();
+				}
+			});
+		} else {
+			theAction.run();
+		}
+	}
 
 }
-
-
-
-
-
-
-
-
-
-
-
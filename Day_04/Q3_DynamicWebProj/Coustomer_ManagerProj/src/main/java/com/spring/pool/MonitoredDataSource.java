@@ -0,0 +1,45 @@
+package com.spring.pool;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Times every connection checkout from the wrapped pool.
+ */
+public class MonitoredDataSource extends DelegatingDataSource {
+
+	private final PoolMetrics metrics;
+
+	public MonitoredDataSource(PoolMetrics metrics) {
+		super(metrics.getDataSource());
+		this.metrics = metrics;
+	}
+
+	public PoolMetrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+
+		long start = System.nanoTime();
+		try {
+			return super.getConnection();
+		} finally {
+			metrics.recordCheckout(System.nanoTime() - start);
+		}
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+
+		long start = System.nanoTime();
+		try {
+			return super.getConnection(username, password);
+		} finally {
+			metrics.recordCheckout(System.nanoTime() - start);
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package com.spring.pool;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.mchange.v2.c3p0.ComboPooledDataSource;
+
+/**
+ * Live state and checkout wait-time histogram of one c3p0 pool.
+ */
+public class PoolMetrics {
+
+	// upper bounds of the wait-time buckets, in milliseconds; the last bucket is open
+	private static final long[] BUCKET_BOUNDS_MILLIS = { 1, 5, 10, 50, 100, 500, 1000 };
+
+	private final String name;
+
+	private final ComboPooledDataSource dataSource;
+
+	private final AtomicLongArray waitBuckets = new AtomicLongArray(BUCKET_BOUNDS_MILLIS.length + 1);
+
+	public PoolMetrics(String name, ComboPooledDataSource dataSource) {
+		this.name = name;
+		this.dataSource = dataSource;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public ComboPooledDataSource getDataSource() {
+		return dataSource;
+	}
+
+	public void recordCheckout(long waitNanos) {
+
+		long waitMillis = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+
+		int bucket = 0;
+		while (bucket < BUCKET_BOUNDS_MILLIS.length && waitMillis >= BUCKET_BOUNDS_MILLIS[bucket]) {
+			bucket++;
+		}
+		waitBuckets.incrementAndGet(bucket);
+	}
+
+	public int getBusy() throws SQLException {
+		return dataSource.getNumBusyConnectionsDefaultUser();
+	}
+
+	public int getIdle() throws SQLException {
+		return dataSource.getNumIdleConnectionsDefaultUser();
+	}
+
+	public int getWaiting() throws SQLException {
+		return dataSource.getNumThreadsAwaitingCheckoutDefaultUser();
+	}
+
+	public int getTotal() throws SQLException {
+		return dataSource.getNumConnectionsDefaultUser();
+	}
+
+	public int getCachedStatements() throws SQLException {
+		return dataSource.getStatementCacheNumStatementsDefaultUser();
+	}
+
+	public long[] getWaitHistogram() {
+
+		long[] counts = new long[waitBuckets.length()];
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = waitBuckets.get(i);
+		}
+		return counts;
+	}
+
+	/**
+	 * Smallest bucket bound under which at least the given fraction of all
+	 * checkouts completed, or -1 if it falls in the open last bucket.
+	 */
+	public long getWaitPercentileMillis(double fraction) {
+
+		long[] counts = getWaitHistogram();
+
+		long total = 0;
+		for (long count : counts) {
+			total += count;
+		}
+		if (total == 0) {
+			return 0;
+		}
+
+		long seen = 0;
+		for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+			seen += counts[i];
+			if (seen >= fraction * total) {
+				return BUCKET_BOUNDS_MILLIS[i];
+			}
+		}
+		return -1;
+	}
+
+	public String formatHistogram() {
+
+		long[] counts = getWaitHistogram();
+
+		StringBuilder theBuilder = new StringBuilder();
+		for (int i = 0; i < counts.length; i++) {
+			if (i > 0) {
+				theBuilder.append(", ");
+			}
+			theBuilder.append(i < BUCKET_BOUNDS_MILLIS.length
+					? "<" + BUCKET_BOUNDS_MILLIS[i] + "ms"
+					: ">=" + BUCKET_BOUNDS_MILLIS[BUCKET_BOUNDS_MILLIS.length - 1] + "ms");
+			theBuilder.append('=').append(counts[i]);
+		}
+		return theBuilder.toString();
+	}
+}
@@ -0,0 +1,246 @@
+package com.spring.pool;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import javax.annotation.PreDestroy;
+
+import com.mchange.v2.c3p0.ComboPooledDataSource;
+
+/**
+ * Samples the c3p0 pools at a fixed interval and recommends pool sizes from
+ * the observed demand.
+ *
+ * A pool that had threads waiting for a connection during a window is
+ * recommended to grow, up to the configured ceiling; a pool whose peak usage
+ * stayed under half of its max is recommended to shrink. Recommendations are
+ * only logged and reported: c3p0 resets the pool whenever its size changes,
+ * discarding its connections, which is the worst thing to do to a starved
+ * pool. An admin applies them with applyRecommendation() when the pool is
+ * quiet.
+ */
+public class PoolMonitor {
+
+	private Logger logger = Logger.getLogger(getClass().getName());
+
+	private final List<PoolMetrics> pools = new CopyOnWriteArrayList<>();
+
+	private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+	private final int maxPoolSizeCeiling;
+
+	private final int windowSamples;
+
+	private final ScheduledExecutorService scheduler;
+
+	public PoolMonitor(int intervalSeconds, int windowSamples, int maxPoolSizeCeiling) {
+
+		this.windowSamples = Math.max(windowSamples, 1);
+		this.maxPoolSizeCeiling = maxPoolSizeCeiling;
+
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread theThread = new Thread(r, "crm-pool-monitor");
+			theThread.setDaemon(true);
+			return theThread;
+		});
+		this.scheduler.scheduleAtFixedRate(this::sampleAll, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Registers the pool and returns a DataSource that records checkout times.
+	 */
+	public MonitoredDataSource monitor(String name, ComboPooledDataSource dataSource) {
+
+		PoolMetrics theMetrics = new PoolMetrics(name, dataSource);
+
+		pools.add(theMetrics);
+		windows.put(name, new Window(dataSource.getMinPoolSize(), dataSource.getMaxPoolSize()));
+
+		return new MonitoredDataSource(theMetrics);
+	}
+
+	public List<PoolMetrics> getPools() {
+		return pools;
+	}
+
+	/**
+	 * Current state, wait-time histogram and last recommendation of every pool.
+	 */
+	public String report() {
+
+		StringBuilder theReport = new StringBuilder();
+
+		for (PoolMetrics tempPool : pools) {
+
+			ComboPooledDataSource theDataSource = tempPool.getDataSource();
+			Window theWindow = windows.get(tempPool.getName());
+
+			theReport.append(tempPool.getName()).append('\n');
+			try {
+				theReport.append("  busy=").append(tempPool.getBusy())
+					.append(" idle=").append(tempPool.getIdle())
+					.append(" waiting=").append(tempPool.getWaiting())
+					.append(" total=").append(tempPool.getTotal())
+					.append(" cachedStatements=").append(tempPool.getCachedStatements())
+					.append('\n');
+			} catch (SQLException exc) {
+				theReport.append("  unavailable: ").append(exc.getMessage()).append('\n');
+			}
+			theReport.append("  minPoolSize=").append(theDataSource.getMinPoolSize())
+				.append(" maxPoolSize=").append(theDataSource.getMaxPoolSize())
+				.append(" maxStatementsPerConnection=").append(theDataSource.getMaxStatementsPerConnection())
+				.append('\n');
+			theReport.append("  checkout wait: ").append(tempPool.formatHistogram())
+				.append(" p99<=").append(formatPercentile(tempPool.getWaitPercentileMillis(0.99)))
+				.append('\n');
+			theReport.append("  recommended: minPoolSize=").append(theWindow.recommendedMin)
+				.append(" maxPoolSize=").append(theWindow.recommendedMax)
+				.append('\n');
+		}
+
+		return theReport.toString();
+	}
+
+	/**
+	 * Applies the last recommended sizes to the named pool.
+	 *
+	 * Changing the size of a c3p0 pool resets it: its idle connections are
+	 * closed, connections in use are closed once they are returned, and new
+	 * connections are opened on demand. Only call this when the pool is quiet.
+	 *
+	 * @return a description of the change, or null if there is no such pool
+	 */
+	public String applyRecommendation(String name) {
+
+		for (PoolMetrics tempPool : pools) {
+
+			if (!tempPool.getName().equals(name)) {
+				continue;
+			}
+
+			ComboPooledDataSource theDataSource = tempPool.getDataSource();
+			Window theWindow = windows.get(name);
+			int recommendedMin = theWindow.recommendedMin;
+			int recommendedMax = theWindow.recommendedMax;
+
+			String theChange = "pool " + name
+					+ " minPoolSize " + theDataSource.getMinPoolSize() + " -> " + recommendedMin
+					+ ", maxPoolSize " + theDataSource.getMaxPoolSize() + " -> " + recommendedMax
+					+ " (pool reset)";
+			logger.info(">>> " + theChange);
+
+			// keep min <= max in between the two changes
+			if (recommendedMax >= theDataSource.getMaxPoolSize()) {
+				theDataSource.setMaxPoolSize(recommendedMax);
+				theDataSource.setMinPoolSize(recommendedMin);
+			} else {
+				theDataSource.setMinPoolSize(recommendedMin);
+				theDataSource.setMaxPoolSize(recommendedMax);
+			}
+
+			return theChange;
+		}
+
+		return null;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		scheduler.shutdownNow();
+	}
+
+	private void sampleAll() {
+
+		for (PoolMetrics tempPool : pools) {
+			try {
+				sample(tempPool, windows.get(tempPool.getName()));
+			} catch (SQLException | RuntimeException exc) {
+				logger.warning("Could not sample pool " + tempPool.getName() + ": " + exc.getMessage());
+			}
+		}
+	}
+
+	private void sample(PoolMetrics thePool, Window theWindow) throws SQLException {
+
+		int busy = thePool.getBusy();
+		int waiting = thePool.getWaiting();
+
+		theWindow.samples++;
+		theWindow.peakBusy = Math.max(theWindow.peakBusy, busy);
+		theWindow.peakWaiting = Math.max(theWindow.peakWaiting, waiting);
+		if (waiting > 0) {
+			theWindow.starvedSamples++;
+		}
+
+		if (theWindow.samples < windowSamples) {
+			return;
+		}
+
+		recommend(thePool, theWindow);
+		theWindow.reset();
+	}
+
+	private void recommend(PoolMetrics thePool, Window theWindow) {
+
+		ComboPooledDataSource theDataSource = thePool.getDataSource();
+		int currentMax = theDataSource.getMaxPoolSize();
+		int currentMin = theDataSource.getMinPoolSize();
+
+		int recommendedMax = currentMax;
+		if (theWindow.starvedSamples > 0) {
+			// grow by the worst queue seen, and at least by a quarter
+			int step = Math.max(theWindow.peakWaiting, (currentMax + 3) / 4);
+			recommendedMax = Math.min(currentMax + step, maxPoolSizeCeiling);
+		} else if (theWindow.peakBusy < currentMax / 2) {
+			recommendedMax = Math.max(theWindow.peakBusy * 2, currentMin);
+		}
+
+		int recommendedMin = Math.max(1, Math.min(theWindow.peakBusy, recommendedMax));
+
+		theWindow.recommendedMax = recommendedMax;
+		theWindow.recommendedMin = recommendedMin;
+
+		if (theWindow.starvedSamples > 0) {
+			logger.warning(">>> pool " + thePool.getName() + " starved in " + theWindow.starvedSamples
+					+ " of " + theWindow.samples + " samples (peak waiting=" + theWindow.peakWaiting
+					+ ", peak busy=" + theWindow.peakBusy + "), recommended maxPoolSize=" + recommendedMax);
+		} else if (recommendedMax != currentMax || recommendedMin != currentMin) {
+			logger.info(">>> pool " + thePool.getName() + " peak busy=" + theWindow.peakBusy
+					+ ", recommended minPoolSize=" + recommendedMin + " maxPoolSize=" + recommendedMax);
+		}
+	}
+
+	private static String formatPercentile(long millis) {
+		return millis < 0 ? "over 1000ms" : millis + "ms";
+	}
+
+	private static final class Window {
+
+		int samples;
+		int starvedSamples;
+		int peakBusy;
+		int peakWaiting;
+
+		volatile int recommendedMin;
+		volatile int recommendedMax;
+
+		Window(int recommendedMin, int recommendedMax) {
+			this.recommendedMin = recommendedMin;
+			this.recommendedMax = recommendedMax;
+		}
+
+		void reset() {
+			samples = 0;
+			starvedSamples = 0;
+			peakBusy = 0;
+			peakWaiting = 0;
+		}
+	}
+}
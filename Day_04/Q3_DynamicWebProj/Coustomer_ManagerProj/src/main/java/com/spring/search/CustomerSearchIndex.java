@@ -0,0 +1,335 @@
+package com.spring.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+import com.spring.entity.Customer;
+
+/**
+ * In-memory trigram index over customer first name, last name and email.
+ *
+ * Replaces the leading-wildcard "like '%x%'" query, which can't use an index
+ * and forces MySQL to scan the whole customer table. Search text shorter
+ * than a trigram only matches the start of a field, through postings on the
+ * one and two character prefixes of each field. The index is filled
+ * lazily from the database on the first search and is then kept in sync by
+ * the DAO on every save and delete.
+ */
+@Component
+public class CustomerSearchIndex {
+
+	public static final int DEFAULT_PAGE_SIZE = 50;
+
+	// largest page a search returns, so callers never fetch an unbounded id list
+	public static final int MAX_PAGE_SIZE = 500;
+
+	private static final int GRAM_SIZE = 3;
+
+	// match quality, higher is better
+	private static final int SCORE_SUBSTRING = 1;
+	private static final int SCORE_PREFIX = 2;
+	private static final int SCORE_EXACT = 3;
+
+	// id -> lower-cased searchable fields
+	private final Map<Integer, Entry> entries = new HashMap<>();
+
+	// trigram, or one or two character field prefix -> ids of customers
+	// with that key in any field
+	private final Map<String, Set<Integer>> postings = new HashMap<>();
+
+	// ids deleted while the initial load was running
+	private final Set<Integer> removedDuringLoad = new HashSet<>();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private volatile boolean loaded = false;
+
+	private boolean loading = false;
+
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * Marks the start of the initial load. Returns false if another thread
+	 * already loaded or is loading the index.
+	 */
+	public boolean beginLoad() {
+		lock.writeLock().lock();
+		try {
+			if (loaded || loading) {
+				return false;
+			}
+			loading = true;
+			removedDuringLoad.clear();
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Adds the customers read by the initial load. Entries that were saved or
+	 * deleted concurrently with the load keep their newer state.
+	 */
+	public void completeLoad(Collection<Customer> theCustomers) {
+		lock.writeLock().lock();
+		try {
+			for (Customer tempCustomer : theCustomers) {
+				if (!entries.containsKey(tempCustomer.getId())
+						&& !removedDuringLoad.contains(tempCustomer.getId())) {
+					addEntry(tempCustomer);
+				}
+			}
+			removedDuringLoad.clear();
+			loading = false;
+			loaded = true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void abortLoad() {
+		lock.writeLock().lock();
+		try {
+			removedDuringLoad.clear();
+			loading = false;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void add(Customer theCustomer) {
+		lock.writeLock().lock();
+		try {
+			removeEntry(theCustomer.getId());
+			addEntry(theCustomer);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(int theId) {
+		lock.writeLock().lock();
+		try {
+			removeEntry(theId);
+			if (loading) {
+				removedDuringLoad.add(theId);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return entries.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Returns one page of the ids of customers whose first name, last name or
+	 * email contains the search text, or starts with it when the text is
+	 * shorter than a trigram. Exact matches come first, then prefix
+	 * matches, then plain substring matches; ties are sorted by last name,
+	 * first name and id. The page size is capped at MAX_PAGE_SIZE.
+	 *
+	 * Only the best (page + 1) * pageSize hits are kept while scoring, so a
+	 * short search text that matches most customers doesn't sort all of them.
+	 */
+	public List<Integer> search(String theSearchText, int page, int pageSize) {
+
+		String theText = theSearchText.toLowerCase();
+		int size = Math.min(Math.max(pageSize, 1), MAX_PAGE_SIZE);
+		long limit = (Math.max(page, 0) + 1L) * size;
+
+		lock.readLock().lock();
+		try {
+			// worst kept hit on top, so it is the one replaced by a better one
+			PriorityQueue<Hit> best = new PriorityQueue<>(Hit.RANKING.reversed());
+
+			// walk the smallest posting list in place, the others are only probed
+			List<Set<Integer>> lists = postingLists(theText);
+			for (Integer tempId : lists.isEmpty() ? Collections.<Integer>emptySet() : lists.get(0)) {
+				if (!inAll(lists, tempId)) {
+					continue;
+				}
+				Entry tempEntry = entries.get(tempId);
+				int score = tempEntry.score(theText);
+				if (score == 0) {
+					continue;
+				}
+				Hit tempHit = new Hit(tempId, score, tempEntry);
+				if (best.size() < limit) {
+					best.add(tempHit);
+				} else if (Hit.RANKING.compare(tempHit, best.peek()) < 0) {
+					best.poll();
+					best.add(tempHit);
+				}
+			}
+
+			long from = limit - size;
+			if (from >= best.size()) {
+				return Collections.emptyList();
+			}
+
+			// the heap holds pages 0..page, the requested one is its worst-ranked end
+			List<Integer> ids = new ArrayList<>(best.size() - (int) from);
+			while (best.size() > from) {
+				ids.add(best.poll().id);
+			}
+			Collections.reverse(ids);
+			return ids;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// posting lists of the search text, smallest first; empty when a key has
+	// no posting, so nothing can match. Caller must hold the lock
+	private List<Set<Integer>> postingLists(String theText) {
+
+		Set<String> keys = theText.length() < GRAM_SIZE
+				? Collections.singleton(theText) : grams(theText);
+
+		List<Set<Integer>> lists = new ArrayList<>();
+		for (String tempKey : keys) {
+			Set<Integer> tempList = postings.get(tempKey);
+			if (tempList == null) {
+				return Collections.emptyList();
+			}
+			lists.add(tempList);
+		}
+		Collections.sort(lists, Comparator.comparingInt(Set::size));
+		return lists;
+	}
+
+	private static boolean inAll(List<Set<Integer>> theLists, Integer theId) {
+		for (int i = 1; i < theLists.size(); i++) {
+			if (!theLists.get(i).contains(theId)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// caller must hold the write lock
+	private void addEntry(Customer theCustomer) {
+
+		Entry theEntry = new Entry(theCustomer);
+		entries.put(theCustomer.getId(), theEntry);
+
+		for (String tempKey : theEntry.keys()) {
+			postings.computeIfAbsent(tempKey, k -> new HashSet<>()).add(theCustomer.getId());
+		}
+	}
+
+	// caller must hold the write lock
+	private void removeEntry(int theId) {
+
+		Entry theEntry = entries.remove(theId);
+		if (theEntry == null) {
+			return;
+		}
+
+		for (String tempKey : theEntry.keys()) {
+			Set<Integer> tempList = postings.get(tempKey);
+			if (tempList != null) {
+				tempList.remove(theId);
+				if (tempList.isEmpty()) {
+					postings.remove(tempKey);
+				}
+			}
+		}
+	}
+
+	private static Set<String> grams(String theText) {
+
+		Set<String> grams = new HashSet<>();
+		for (int i = 0; i + GRAM_SIZE <= theText.length(); i++) {
+			grams.add(theText.substring(i, i + GRAM_SIZE));
+		}
+		return grams;
+	}
+
+	private static String lower(String theValue) {
+		return theValue == null ? "" : theValue.toLowerCase();
+	}
+
+	private static final class Entry {
+
+		private final String firstName;
+		private final String lastName;
+		private final String email;
+
+		Entry(Customer theCustomer) {
+			firstName = lower(theCustomer.getFirstName());
+			lastName = lower(theCustomer.getLastName());
+			email = lower(theCustomer.getEmail());
+		}
+
+		// posting keys: the trigrams and short prefixes of every field
+		Set<String> keys() {
+			Set<String> keys = new HashSet<>();
+			for (String tempField : new String[] { firstName, lastName, email }) {
+				keys.addAll(CustomerSearchIndex.grams(tempField));
+				for (int i = 1; i < GRAM_SIZE && i <= tempField.length(); i++) {
+					keys.add(tempField.substring(0, i));
+				}
+			}
+			return keys;
+		}
+
+		int score(String theText) {
+			return Math.max(score(firstName, theText),
+					Math.max(score(lastName, theText), score(email, theText)));
+		}
+
+		private static int score(String theField, String theText) {
+			if (theField.equals(theText)) {
+				return SCORE_EXACT;
+			}
+			if (theField.startsWith(theText)) {
+				return SCORE_PREFIX;
+			}
+			if (theField.contains(theText)) {
+				return SCORE_SUBSTRING;
+			}
+			return 0;
+		}
+	}
+
+	private static final class Hit {
+
+		static final Comparator<Hit> RANKING = Comparator
+				.comparingInt((Hit h) -> -h.score)
+				.thenComparing(h -> h.entry.lastName)
+				.thenComparing(h -> h.entry.firstName)
+				.thenComparingInt(h -> h.id);
+
+		final int id;
+		final int score;
+		final Entry entry;
+
+		Hit(int id, int score, Entry entry) {
+			this.id = id;
+			this.score = score;
+			this.entry = entry;
+		}
+	}
+}
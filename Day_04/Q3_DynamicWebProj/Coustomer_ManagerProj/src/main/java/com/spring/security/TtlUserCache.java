@@ -0,0 +1,94 @@
+package com.spring.security;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Size-bounded user cache whose entries expire after a fixed time to live.
+ *
+ * Once full, the least recently used user is evicted. JdbcUserDetailsManager
+ * removes a user from the cache when it updates, deletes or changes the
+ * password of that user; the TTL bounds how long any other change made
+ * directly in the security database can go unnoticed.
+ */
+public class TtlUserCache implements UserCache {
+
+	private final long ttlNanos;
+
+	private final LongSupplier clock;
+
+	private final Map<String, CachedUser> users;
+
+	public TtlUserCache(long ttlSeconds, int maxSize) {
+		this(ttlSeconds, maxSize, System::nanoTime);
+	}
+
+	// the clock returns nanoseconds, tests pass their own
+	TtlUserCache(long ttlSeconds, final int maxSize, LongSupplier clock) {
+
+		this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+		this.clock = clock;
+
+		// access ordered, so the eldest entry is the least recently used one
+		this.users = new LinkedHashMap<String, CachedUser>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	@Override
+	public synchronized UserDetails getUserFromCache(String username) {
+
+		CachedUser theCachedUser = users.get(username);
+		if (theCachedUser == null) {
+			return null;
+		}
+
+		if (clock.getAsLong() - theCachedUser.cachedAt > ttlNanos) {
+			users.remove(username);
+			return null;
+		}
+
+		return theCachedUser.user;
+	}
+
+	@Override
+	public synchronized void putUserInCache(UserDetails user) {
+		users.put(user.getUsername(), new CachedUser(user, clock.getAsLong()));
+	}
+
+	@Override
+	public synchronized void removeUserFromCache(String username) {
+		users.remove(username);
+	}
+
+	public synchronized void clear() {
+		users.clear();
+	}
+
+	public synchronized int size() {
+		return users.size();
+	}
+
+	private static final class CachedUser {
+
+		private final UserDetails user;
+
+		private final long cachedAt;
+
+		CachedUser(UserDetails user, long cachedAt) {
+			this.user = user;
+			this.cachedAt = cachedAt;
+		}
+	}
+}
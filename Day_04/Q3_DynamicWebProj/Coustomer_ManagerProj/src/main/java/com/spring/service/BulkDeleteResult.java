@@ -0,0 +1,56 @@
+package com.spring.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk customer delete: how many ids were asked for, how many
+ * rows were actually deleted and which ids could not be parsed.
+ */
+public class BulkDeleteResult {
+
+	private int requested;
+	
+	private int deleted;
+	
+	private List<String> failures = new ArrayList<>();
+	
+	public BulkDeleteResult() {
+		
+	}
+
+	public int getRequested() {
+		return requested;
+	}
+
+	public void setRequested(int requested) {
+		this.requested = requested;
+	}
+
+	public int getDeleted() {
+		return deleted;
+	}
+
+	public void addDeleted(int count) {
+		this.deleted += count;
+	}
+
+	// ids that were valid but matched no customer
+	public int getNotFound() {
+		return requested - deleted;
+	}
+
+	public List<String> getFailures() {
+		return failures;
+	}
+
+	public void addFailure(String theId) {
+		failures.add(theId);
+	}
+
+	@Override
+	public String toString() {
+		return "BulkDeleteResult [requested=" + requested + ", deleted=" + deleted + ", failures=" + failures + "]";
+	}
+	
+}
@@ -14,6 +14,10 @@ public interface CustomerService {
 
 	public void deleteCustomer(int theId);
 	
+	public BulkDeleteResult deleteCustomers(String[] theIds);
+	
 	public List<Customer> searchCustomers(String theCustomerName);
+	
+	public List<Customer> searchCustomers(String theCustomerName, int page, int pageSize);
 
 }
@@ -1,8 +1,12 @@
 package com.spring.service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,6 +20,10 @@ public class CustomerServiceImpl implements CustomerService {
 	@Autowired
 	private CustomerDAO customerDAO;
 	
+	// max ids per bulk delete statement
+	@Value("${customer.bulkDelete.chunkSize:500}")
+	private int bulkDeleteChunkSize;
+	
 	@Override
 	@Transactional
 	public List<Customer> getCustomers() {
@@ -43,6 +51,44 @@ public class CustomerServiceImpl implements CustomerService {
 		customerDAO.deleteCustomer(theId);
 	}
 	
+	@Override
+	@Transactional
+	public BulkDeleteResult deleteCustomers(String[] theIds) {
+		
+		BulkDeleteResult theResult = new BulkDeleteResult();
+		
+		if (theIds == null) {
+			return theResult;
+		}
+		
+		// parse the ids, dropping duplicates and keeping the bad ones aside
+		Set<Integer> ids = new LinkedHashSet<>();
+		for (String id : theIds) {
+			try {
+				ids.add(Integer.parseInt(id.trim()));
+			} catch (NumberFormatException exc) {
+				theResult.addFailure(id);
+			}
+		}
+		theResult.setRequested(ids.size());
+		
+		// one delete statement per chunk, all in this transaction
+		int chunkSize = Math.max(bulkDeleteChunkSize, 1);
+		List<Integer> chunk = new ArrayList<>(Math.min(chunkSize, ids.size()));
+		for (Integer id : ids) {
+			chunk.add(id);
+			if (chunk.size() == chunkSize) {
+				theResult.addDeleted(customerDAO.deleteCustomers(chunk));
+				chunk.clear();
+			}
+		}
+		if (!chunk.isEmpty()) {
+			theResult.addDeleted(customerDAO.deleteCustomers(chunk));
+		}
+		
+		return theResult;
+	}
+	
 	@Override
 	@Transactional
 	public List<Customer> searchCustomers(String theCustomerName) {
@@ -53,6 +99,17 @@ public class CustomerServiceImpl implements CustomerService {
 		}
 		//return customerDAO.searchCustomers(theCustomerName);
 	}
+	
+	@Override
+	@Transactional
+	public List<Customer> searchCustomers(String theCustomerName, int page, int pageSize) {
+		if (theCustomerName != null && theCustomerName.length() > 0 ) {
+			return customerDAO.searchCustomers(theCustomerName, page, pageSize);
+		}else {
+			// no search text: the same page of the full list, so paging stays consistent
+			return customerDAO.getCustomers(page, pageSize);
+		}
+	}
 }
 
 
@@ -76,6 +76,21 @@
 				<input type="submit" value="Search" class="add-button" />
 			</form:form>
 
+			<!--  result of "Delete Selected", flashed across the redirect -->
+			<c:if test="${not empty deleted}">
+				<div class="alert alert-success">
+					Deleted <c:out value="${deleted}" /> customer(s).
+					<c:if test="${notFound > 0}">
+						<c:out value="${notFound}" /> selected customer(s) no longer existed.
+					</c:if>
+				</div>
+			</c:if>
+			<c:if test="${not empty error}">
+				<div class="alert alert-danger">
+					<c:out value="${error}" />
+				</div>
+			</c:if>
+
 			<!--  add our html table here -->
 
 			<form:form action="deleteSelected" method="POST">
@@ -155,6 +170,25 @@
 				</security:authorize>
 			</form:form>
 
+			<!--  paging for search results, each button re-posts the search -->
+			<c:if test="${page != null && (page > 0 || hasNextPage)}">
+				<c:if test="${page > 0}">
+					<form:form action="search" method="POST" cssStyle="display: inline">
+						<input type="hidden" name="theCustomerName" value="<c:out value='${theCustomerName}' />" />
+						<input type="hidden" name="page" value="${page - 1}" />
+						<input type="submit" value="Previous" class="add-button" />
+					</form:form>
+				</c:if>
+				Page ${page + 1}
+				<c:if test="${hasNextPage}">
+					<form:form action="search" method="POST" cssStyle="display: inline">
+						<input type="hidden" name="theCustomerName" value="<c:out value='${theCustomerName}' />" />
+						<input type="hidden" name="page" value="${page + 1}" />
+						<input type="submit" value="Next" class="add-button" />
+					</form:form>
+				</c:if>
+			</c:if>
+
 			<!-- Add a logout button -->
 			<form:form action="${pageContext.request.contextPath}/logout"
 				method="POST">
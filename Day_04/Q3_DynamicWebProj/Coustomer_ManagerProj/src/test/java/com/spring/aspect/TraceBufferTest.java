@@ -0,0 +1,113 @@
+package com.spring.aspect;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.TestCase;
+
+public class TraceBufferTest extends TestCase {
+
+	public void testDrainsInOrder() {
+
+		TraceBuffer theBuffer = new TraceBuffer(8);
+		for (int i = 0; i < 5; i++) {
+			theBuffer.publish(null, i, i, i, false);
+		}
+
+		List<Long> theDurations = new ArrayList<>();
+		assertEquals(3, theBuffer.drain((sig, duration, args, result, failed) -> theDurations.add(duration), 3));
+		assertEquals(2, theBuffer.drain((sig, duration, args, result, failed) -> theDurations.add(duration), 10));
+		assertEquals(0, theBuffer.drain((sig, duration, args, result, failed) -> theDurations.add(duration), 10));
+
+		for (int i = 0; i < 5; i++) {
+			assertEquals(i, theDurations.get(i).longValue());
+		}
+		assertEquals(0, theBuffer.getDropped());
+	}
+
+	public void testOverwritesOldestWhenFull() {
+
+		TraceBuffer theBuffer = new TraceBuffer(5);
+		assertEquals(8, theBuffer.capacity());
+		for (int i = 0; i < 20; i++) {
+			theBuffer.publish(null, i, i, i, false);
+		}
+
+		List<Long> theDurations = new ArrayList<>();
+		assertEquals(8, theBuffer.drain((sig, duration, args, result, failed) -> theDurations.add(duration), 100));
+		assertEquals(12, theBuffer.getDropped());
+		assertEquals(12, theDurations.get(0).longValue());
+		assertEquals(19, theDurations.get(7).longValue());
+	}
+
+	public void testFailingConsumerSkipsTheEvent() {
+
+		TraceBuffer theBuffer = new TraceBuffer(8);
+		for (int i = 0; i < 3; i++) {
+			theBuffer.publish(null, i, i, i, false);
+		}
+
+		// the second event fails once and is not offered again
+		List<Long> theDurations = new ArrayList<>();
+		assertEquals(3, theBuffer.drain((sig, duration, args, result, failed) -> {
+			if (duration == 1) {
+				throw new IllegalStateException("logging failed");
+			}
+			theDurations.add(duration);
+		}, 10));
+		assertEquals(0, theBuffer.drain((sig, duration, args, result, failed) -> theDurations.add(duration), 10));
+
+		assertEquals(2, theDurations.size());
+		assertEquals(0, theDurations.get(0).longValue());
+		assertEquals(2, theDurations.get(1).longValue());
+		assertEquals(1, theBuffer.getDropped());
+	}
+
+	public void testConcurrentWritersNeverTearOrStall() throws InterruptedException {
+
+		final int writers = 4;
+		final int eventsPerWriter = 200000;
+		TraceBuffer theBuffer = new TraceBuffer(64);
+		AtomicBoolean torn = new AtomicBoolean();
+		AtomicLong read = new AtomicLong();
+
+		// every field of an event is derived from the same value
+		TraceBuffer.Consumer theConsumer = (sig, duration, args, result, failed) -> {
+			if (args != (int) duration || result != -(int) duration || failed != (duration % 2 == 0)) {
+				torn.set(true);
+			}
+			read.incrementAndGet();
+		};
+
+		List<Thread> theThreads = new ArrayList<>();
+		for (int w = 0; w < writers; w++) {
+			final int offset = w * eventsPerWriter;
+			Thread theThread = new Thread(() -> {
+				for (int i = offset; i < offset + eventsPerWriter; i++) {
+					theBuffer.publish(null, i, i, -i, i % 2 == 0);
+				}
+			});
+			theThreads.add(theThread);
+			theThread.start();
+		}
+
+		boolean running = true;
+		while (running) {
+			running = false;
+			for (Thread theThread : theThreads) {
+				running |= theThread.isAlive();
+			}
+			theBuffer.drain(theConsumer, 1000);
+		}
+		for (Thread theThread : theThreads) {
+			theThread.join();
+		}
+		theBuffer.drain(theConsumer, Integer.MAX_VALUE);
+
+		assertFalse(torn.get());
+		// everything published was either read or counted as dropped
+		assertEquals((long) writers * eventsPerWriter, read.get() + theBuffer.getDropped());
+	}
+}
@@ -0,0 +1,249 @@
+package com.spring.dao;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.query.Query;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import com.spring.entity.Customer;
+import com.spring.search.CustomerSearchIndex;
+import com.spring.service.BulkDeleteResult;
+import com.spring.service.CustomerServiceImpl;
+
+import junit.framework.TestCase;
+
+public class CustomerDAOImplTest extends TestCase {
+
+	private CustomerSearchIndex theIndex;
+
+	private CustomerDAOImpl theDAO;
+
+	// every collection passed to Query.setParameterList
+	private final List<Collection<?>> theParameterLists = new ArrayList<>();
+
+	// every value passed to Query.setFirstResult
+	private final List<Integer> theFirstResults = new ArrayList<>();
+
+	// ids in the customer table, for the bulk delete counts
+	private final Set<Integer> theTableIds = new HashSet<>(Arrays.asList(1, 2, 3));
+
+	// rows returned by "select ..." projection queries
+	private List<Object[]> theRows = Collections.emptyList();
+
+	// a Hibernate session that accepts the DAO's queries and does nothing
+	private SessionFactory sessionFactory() {
+
+		Session theSession = proxy(Session.class, (proxy, method, args) ->
+				method.getName().equals("createQuery") ? query((String) args[0]) : null);
+		return proxy(SessionFactory.class, (proxy, method, args) ->
+				method.getName().equals("getCurrentSession") ? theSession : null);
+	}
+
+	private Query<?> query(String theHql) {
+		return proxy(Query.class, (proxy, method, args) -> {
+			switch (method.getName()) {
+			case "setParameterList":
+				// a copy, the service reuses its chunk list
+				theParameterLists.add(new ArrayList<>((Collection<?>) args[1]));
+				return proxy;
+			case "setFirstResult":
+				theFirstResults.add((Integer) args[0]);
+				return proxy;
+			case "executeUpdate":
+				if (!theHql.contains(":customerIds")) {
+					return 1;
+				}
+				// the ids of the last "in (:customerIds)" list that are in the table
+				Collection<?> theIds = theParameterLists.get(theParameterLists.size() - 1);
+				int deleted = 0;
+				for (Object tempId : theIds) {
+					if (theTableIds.remove(tempId)) {
+						deleted++;
+					}
+				}
+				return deleted;
+			case "getResultList":
+				return theHql.startsWith("select") ? theRows : Collections.emptyList();
+			default:
+				return proxy;
+			}
+		});
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> theType, java.lang.reflect.InvocationHandler theHandler) {
+		return (T) Proxy.newProxyInstance(theType.getClassLoader(), new Class<?>[] { theType }, theHandler);
+	}
+
+	private static void inject(Object theTarget, String theName, Object theValue) throws Exception {
+		Field theField = theTarget.getClass().getDeclaredField(theName);
+		theField.setAccessible(true);
+		theField.set(theTarget, theValue);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		theIndex = new CustomerSearchIndex();
+		theIndex.beginLoad();
+		theIndex.completeLoad(Arrays.asList(
+				customer(1, "Mary", "Public"),
+				customer(2, "John", "Doe"),
+				customer(3, "Ajay", "Rao")));
+
+		theDAO = new CustomerDAOImpl();
+		inject(theDAO, "sessionFactory", sessionFactory());
+		inject(theDAO, "searchIndex", theIndex);
+
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@Override
+	protected void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	private static Customer customer(int id, String firstName, String lastName) {
+		Customer theCustomer = new Customer();
+		theCustomer.setId(id);
+		theCustomer.setFirstName(firstName);
+		theCustomer.setLastName(lastName);
+		theCustomer.setEmail(firstName.toLowerCase() + "@example.com");
+		return theCustomer;
+	}
+
+	private static void commit() {
+		TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	public void testSaveIsIndexedAfterCommit() {
+		theDAO.saveCustomer(customer(4, "Susan", "Marsh"));
+		theDAO.saveCustomer(customer(2, "John", "Smithers"));
+
+		// nothing visible before the commit
+		assertEquals(Collections.emptyList(), theIndex.search("marsh", 0, 10));
+		assertEquals(Collections.singletonList(2), theIndex.search("doe", 0, 10));
+
+		commit();
+		assertEquals(Collections.singletonList(4), theIndex.search("marsh", 0, 10));
+		assertEquals(Collections.emptyList(), theIndex.search("doe", 0, 10));
+		assertEquals(Collections.singletonList(2), theIndex.search("smithers", 0, 10));
+	}
+
+	public void testDeleteIsIndexedAfterCommit() {
+		theDAO.deleteCustomer(1);
+		theDAO.deleteCustomers(Arrays.asList(2, 3));
+
+		assertEquals(3, theIndex.size());
+		commit();
+		assertEquals(0, theIndex.size());
+	}
+
+	public void testRolledBackChangesAreNotIndexed() {
+		theDAO.saveCustomer(customer(4, "Susan", "Marsh"));
+		theDAO.deleteCustomer(1);
+
+		// rollback: the synchronizations are dropped without afterCommit
+		TransactionSynchronizationManager.clearSynchronization();
+		assertEquals(Collections.emptyList(), theIndex.search("marsh", 0, 10));
+		assertEquals(Collections.singletonList(1), theIndex.search("public", 0, 10));
+	}
+
+	public void testLegacySearchIsCapped() {
+		TransactionSynchronizationManager.clearSynchronization();
+		for (int i = 10; i < 10 + CustomerSearchIndex.MAX_PAGE_SIZE + 50; i++) {
+			theIndex.add(customer(i, "Name" + i, "Bulk"));
+		}
+
+		theDAO.searchCustomers("bulk");
+
+		// the id list handed to Hibernate is one capped page, not every match
+		assertEquals(1, theParameterLists.size());
+		assertEquals(CustomerSearchIndex.MAX_PAGE_SIZE, theParameterLists.get(0).size());
+	}
+
+	public void testIndexIsLoadedFromSearchFields() throws Exception {
+		CustomerSearchIndex theEmptyIndex = new CustomerSearchIndex();
+		inject(theDAO, "searchIndex", theEmptyIndex);
+		theRows = Arrays.asList(
+				new Object[] { 1, "Mary", "Public", "mary@example.com" },
+				new Object[] { 2, "John", "Doe", null });
+
+		theDAO.searchCustomers("doe", 0, 10);
+
+		assertTrue(theEmptyIndex.isLoaded());
+		assertEquals(2, theEmptyIndex.size());
+		assertEquals(Collections.singletonList(1), theEmptyIndex.search("mary@", 0, 10));
+		// the page is then fetched by id
+		assertEquals(Collections.singletonList(2), theParameterLists.get(0));
+	}
+
+	public void testHugePageDoesNotOverflow() throws Exception {
+		theDAO.getCustomers(Integer.MAX_VALUE, 50);
+
+		// another thread is still loading the index, so the search queries the database
+		CustomerSearchIndex theLoadingIndex = new CustomerSearchIndex();
+		theLoadingIndex.beginLoad();
+		inject(theDAO, "searchIndex", theLoadingIndex);
+		theDAO.searchCustomers("doe", Integer.MAX_VALUE, 50);
+
+		assertEquals(Arrays.asList(Integer.MAX_VALUE, Integer.MAX_VALUE), theFirstResults);
+	}
+
+	private CustomerServiceImpl service(int theChunkSize) throws Exception {
+		CustomerServiceImpl theService = new CustomerServiceImpl();
+		inject(theService, "customerDAO", theDAO);
+		inject(theService, "bulkDeleteChunkSize", theChunkSize);
+		return theService;
+	}
+
+	public void testBulkDeleteIsChunked() throws Exception {
+		theTableIds.add(4);
+		theTableIds.add(5);
+
+		// " 2" is a duplicate once trimmed, 6 is not in the table
+		BulkDeleteResult theResult = service(2).deleteCustomers(
+				new String[] { "1", "2", "3", " 2", "4", "5", "6" });
+
+		// one "in (:ids)" statement per chunk of two
+		assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5, 6)), theParameterLists);
+		assertEquals(6, theResult.getRequested());
+		assertEquals(5, theResult.getDeleted());
+		assertEquals(1, theResult.getNotFound());
+		assertEquals(Collections.emptyList(), theResult.getFailures());
+
+		commit();
+		assertEquals(0, theIndex.size());
+	}
+
+	public void testBulkDeleteReportsInvalidIds() throws Exception {
+		BulkDeleteResult theResult = service(500).deleteCustomers(
+				new String[] { "1", "abc", "", "3", "99999999999" });
+
+		// the unparseable ids are reported and left out of the statement
+		assertEquals(Collections.singletonList(Arrays.asList(1, 3)), theParameterLists);
+		assertEquals(Arrays.asList("abc", "", "99999999999"), theResult.getFailures());
+		assertEquals(2, theResult.getRequested());
+		assertEquals(2, theResult.getDeleted());
+		assertEquals(0, theResult.getNotFound());
+
+		// nothing valid, no statement at all
+		theParameterLists.clear();
+		assertEquals(0, service(500).deleteCustomers(new String[] { "x" }).getRequested());
+		assertEquals(Collections.emptyList(), theParameterLists);
+		assertEquals(0, service(500).deleteCustomers(null).getDeleted());
+	}
+}
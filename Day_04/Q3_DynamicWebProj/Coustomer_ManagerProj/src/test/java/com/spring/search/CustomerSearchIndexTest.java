@@ -0,0 +1,109 @@
+package com.spring.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.spring.entity.Customer;
+
+import junit.framework.TestCase;
+
+public class CustomerSearchIndexTest extends TestCase {
+
+	private CustomerSearchIndex theIndex;
+
+	static Customer customer(int id, String firstName, String lastName, String email) {
+		Customer theCustomer = new Customer();
+		theCustomer.setId(id);
+		theCustomer.setFirstName(firstName);
+		theCustomer.setLastName(lastName);
+		theCustomer.setEmail(email);
+		return theCustomer;
+	}
+
+	@Override
+	protected void setUp() {
+		theIndex = new CustomerSearchIndex();
+		assertTrue(theIndex.beginLoad());
+		theIndex.completeLoad(Arrays.asList(
+				customer(1, "Mary", "Public", "mary@example.com"),
+				customer(2, "Marya", "Baker", "baker@example.com"),
+				customer(3, "Annmary", "Clark", "ann@example.com"),
+				customer(4, "John", "Doe", "john@example.com")));
+	}
+
+	public void testRanksExactThenPrefixThenSubstring() {
+		assertEquals(Arrays.asList(1, 2, 3), theIndex.search("MARY", 0, 10));
+		assertEquals(Collections.singletonList(4), theIndex.search("doe", 0, 10));
+		assertEquals(Collections.emptyList(), theIndex.search("nobody", 0, 10));
+	}
+
+	public void testShortSearchText() {
+		// shorter than a trigram, only field prefixes match; the two prefix
+		// matches are ordered by last name, Baker before Public, and Annmary
+		// doesn't match
+		assertEquals(Arrays.asList(2, 1), theIndex.search("ma", 0, 10));
+		assertEquals(Arrays.asList(4), theIndex.search("j", 0, 10));
+		assertEquals(Collections.emptyList(), theIndex.search("ry", 0, 10));
+		assertEquals(Collections.emptyList(), theIndex.search("", 0, 10));
+	}
+
+	public void testPaging() {
+		assertEquals(Arrays.asList(1, 2), theIndex.search("mary", 0, 2));
+		assertEquals(Arrays.asList(3), theIndex.search("mary", 1, 2));
+		assertEquals(Collections.emptyList(), theIndex.search("mary", 2, 2));
+	}
+
+	public void testPageSizeIsCapped() {
+		CustomerSearchIndex theBigIndex = new CustomerSearchIndex();
+		theBigIndex.beginLoad();
+		List<Customer> theCustomers = new ArrayList<>();
+		for (int i = 0; i < CustomerSearchIndex.MAX_PAGE_SIZE + 100; i++) {
+			theCustomers.add(customer(i, "First" + i, "Last" + i, i + "@example.com"));
+		}
+		theBigIndex.completeLoad(theCustomers);
+
+		List<Integer> theIds = theBigIndex.search("la", 0, Integer.MAX_VALUE);
+		assertEquals(CustomerSearchIndex.MAX_PAGE_SIZE, theIds.size());
+		// ties are sorted by last name, so "Last0", "Last1", "Last10", ...
+		assertEquals(0, theIds.get(0).intValue());
+		assertEquals(1, theIds.get(1).intValue());
+		assertEquals(10, theIds.get(2).intValue());
+	}
+
+	public void testAddUpdateRemove() {
+		// a prefix match on the last name ranks above the substring match
+		theIndex.add(customer(5, "Zed", "Marymount", "zed@example.com"));
+		assertEquals(Arrays.asList(1, 2, 5, 3), theIndex.search("mary", 0, 10));
+
+		// an update replaces the old fields
+		theIndex.add(customer(5, "Zed", "Smith", "zed@example.com"));
+		assertEquals(Arrays.asList(1, 2, 3), theIndex.search("mary", 0, 10));
+		assertEquals(Collections.singletonList(5), theIndex.search("smith", 0, 10));
+
+		theIndex.remove(1);
+		assertEquals(Arrays.asList(2, 3), theIndex.search("mary", 0, 10));
+		assertEquals(Collections.singletonList(2), theIndex.search("ma", 0, 10));
+		assertEquals(4, theIndex.size());
+	}
+
+	public void testChangesDuringLoadWin() {
+		CustomerSearchIndex theLoadingIndex = new CustomerSearchIndex();
+		assertTrue(theLoadingIndex.beginLoad());
+		assertFalse(theLoadingIndex.beginLoad());
+
+		// saved and deleted while the load was reading the table
+		theLoadingIndex.add(customer(1, "Mary", "Newname", "mary@example.com"));
+		theLoadingIndex.remove(2);
+
+		theLoadingIndex.completeLoad(Arrays.asList(
+				customer(1, "Mary", "Public", "mary@example.com"),
+				customer(2, "Marya", "Baker", "baker@example.com")));
+
+		assertTrue(theLoadingIndex.isLoaded());
+		assertEquals(Collections.singletonList(1), theLoadingIndex.search("newname", 0, 10));
+		assertEquals(Collections.emptyList(), theLoadingIndex.search("public", 0, 10));
+		assertEquals(Collections.emptyList(), theLoadingIndex.search("baker", 0, 10));
+	}
+}
@@ -0,0 +1,57 @@
+package com.spring.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import junit.framework.TestCase;
+
+public class TtlUserCacheTest extends TestCase {
+
+	private final AtomicLong now = new AtomicLong();
+
+	private static UserDetails user(String username) {
+		return User.withUsername(username).password("{noop}secret").roles("EMPLOYEE").build();
+	}
+
+	public void testExpiresAfterTtl() {
+
+		TtlUserCache theCache = new TtlUserCache(60, 10, now::get);
+		UserDetails theUser = user("john");
+		theCache.putUserInCache(theUser);
+
+		now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+		assertSame(theUser, theCache.getUserFromCache("john"));
+
+		now.incrementAndGet();
+		assertNull(theCache.getUserFromCache("john"));
+		assertEquals(0, theCache.size());
+	}
+
+	public void testEvictsLeastRecentlyUsed() {
+
+		TtlUserCache theCache = new TtlUserCache(60, 2, now::get);
+		theCache.putUserInCache(user("john"));
+		theCache.putUserInCache(user("mary"));
+
+		// reading john makes mary the least recently used user
+		assertNotNull(theCache.getUserFromCache("john"));
+		theCache.putUserInCache(user("susan"));
+
+		assertEquals(2, theCache.size());
+		assertNotNull(theCache.getUserFromCache("john"));
+		assertNull(theCache.getUserFromCache("mary"));
+		assertNotNull(theCache.getUserFromCache("susan"));
+	}
+
+	public void testRemoveUserFromCache() {
+
+		TtlUserCache theCache = new TtlUserCache(60, 10, now::get);
+		theCache.putUserInCache(user("john"));
+		theCache.removeUserFromCache("john");
+
+		assertNull(theCache.getUserFromCache("john"));
+	}
+}
@@ -0,0 +1,119 @@
+package com.demo.challege;
+
+import java.io.DataOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Timing harness comparing the original boxed merge with PrimitiveMerge.
+ *
+ * Each case is warmed up, then timed over several runs; the median is
+ * reported. Run with a large heap, e.g. java -Xmx8g, and optionally pass
+ * the per-array length as the first argument.
+ */
+public class ArrayMergerBenchmark {
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int TIMED_RUNS = 5;
+
+    // the merge as it was before PrimitiveMerge, kept as the baseline
+    static int[] mergeBoxed(int[] nums1, int[] nums2) {
+        int i = 0, j = 0;
+        List<Integer> merged = new ArrayList<>();
+
+        while (i < nums1.length && j < nums2.length) {
+            if (nums1[i] <= nums2[j]) {
+                merged.add(nums1[i++]);
+            } else {
+                merged.add(nums2[j++]);
+            }
+        }
+        while (i < nums1.length) {
+            merged.add(nums1[i++]);
+        }
+        while (j < nums2.length) {
+            merged.add(nums2[j++]);
+        }
+        return merged.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    interface Case {
+        Object run() throws Exception;
+    }
+
+    static void time(String name, Case c) throws Exception {
+        for (int r = 0; r < WARMUP_RUNS; r++) {
+            c.run();
+        }
+        long[] nanos = new long[TIMED_RUNS];
+        for (int r = 0; r < TIMED_RUNS; r++) {
+            long start = System.nanoTime();
+            c.run();
+            nanos[r] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-28s median %8.2f ms%n", name, nanos[TIMED_RUNS / 2] / 1e6);
+    }
+
+    static int[] sortedRandom(Random random, int n) {
+        int[] a = new int[n];
+        for (int i = 0; i < n; i++) {
+            a[i] = random.nextInt();
+        }
+        Arrays.sort(a);
+        return a;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        Random random = new Random(42);
+
+        int[] a = sortedRandom(random, n);
+        int[] b = sortedRandom(random, n);
+        int[][] runs = new int[16][];
+        for (int r = 0; r < runs.length; r++) {
+            runs[r] = sortedRandom(random, n / 8);
+        }
+
+        if (!Arrays.equals(mergeBoxed(a, b), PrimitiveMerge.parallelMerge(a, b))) {
+            throw new AssertionError("parallel merge differs from baseline");
+        }
+
+        System.out.println("two arrays of " + n + " ints");
+        time("boxed (original)", () -> mergeBoxed(a, b));
+        time("primitive two-way", () -> PrimitiveMerge.merge(a, b));
+        time("primitive parallel", () -> PrimitiveMerge.parallelMerge(a, b));
+
+        System.out.println(runs.length + " runs of " + n / 8 + " ints");
+        time("primitive k-way heap", () -> PrimitiveMerge.mergeK(runs));
+
+        Path dir = Files.createTempDirectory("merge");
+        List<Path> files = new ArrayList<>();
+        for (int r = 0; r < runs.length; r++) {
+            files.add(write(dir.resolve("run" + r + ".bin"), runs[r]));
+        }
+        Path out = dir.resolve("merged.bin");
+        time("external mapped k-way", () -> ExternalMerge.mergeFiles(files, out));
+
+        for (Path file : files) {
+            Files.delete(file);
+        }
+        Files.delete(out);
+        Files.delete(dir);
+    }
+
+    static Path write(Path file, int[] values) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            for (int v : values) {
+                out.writeInt(v);
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,167 @@
+package com.demo.challege;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * K-way merge of sorted binary int files that do not fit in memory.
+ *
+ * Each input is a file of big-endian 4-byte ints (the format written by
+ * DataOutputStream.writeInt). Inputs are read through memory-mapped windows,
+ * so only a window per input is resident at a time regardless of file size,
+ * and the output is written through one reusable direct buffer.
+ */
+public final class ExternalMerge {
+
+    // bytes mapped per input at a time, a multiple of Integer.BYTES
+    private static final long WINDOW_BYTES = 64L << 20;
+
+    private static final int OUTPUT_BUFFER_BYTES = 1 << 20;
+
+    private ExternalMerge() {
+    }
+
+    /**
+     * Merges the sorted input files into output and returns the number of
+     * ints written.
+     */
+    public static long mergeFiles(List<Path> inputs, Path output) throws IOException {
+        MappedIntReader[] readers = new MappedIntReader[inputs.size()];
+        try {
+            for (int r = 0; r < readers.length; r++) {
+                readers[r] = new MappedIntReader(inputs.get(r));
+            }
+            return merge(readers, output);
+        } finally {
+            for (MappedIntReader reader : readers) {
+                if (reader != null) {
+                    reader.close();
+                }
+            }
+        }
+    }
+
+    private static long merge(MappedIntReader[] readers, Path output) throws IOException {
+        // min-heap of reader indices keyed by each reader's current value
+        int[] heap = new int[readers.length];
+        int size = 0;
+        for (int r = 0; r < readers.length; r++) {
+            if (readers[r].hasNext()) {
+                readers[r].advance();
+                heap[size++] = r;
+            }
+        }
+        for (int h = size / 2 - 1; h >= 0; h--) {
+            siftDown(heap, size, h, readers);
+        }
+
+        long written = 0;
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(OUTPUT_BUFFER_BYTES);
+
+            while (size > 0) {
+                MappedIntReader top = readers[heap[0]];
+                if (!buffer.hasRemaining()) {
+                    drain(buffer, out);
+                }
+                buffer.putInt(top.current);
+                written++;
+
+                if (top.hasNext()) {
+                    top.advance();
+                } else {
+                    heap[0] = heap[--size];
+                }
+                if (size > 0) {
+                    siftDown(heap, size, 0, readers);
+                }
+            }
+            drain(buffer, out);
+        }
+        return written;
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void siftDown(int[] heap, int size, int h, MappedIntReader[] readers) {
+        int r = heap[h];
+        int key = readers[r].current;
+        while (true) {
+            int child = 2 * h + 1;
+            if (child >= size) {
+                break;
+            }
+            int c = heap[child];
+            if (child + 1 < size) {
+                int d = heap[child + 1];
+                if (readers[d].current < readers[c].current
+                        || (readers[d].current == readers[c].current && d < c)) {
+                    child++;
+                    c = d;
+                }
+            }
+            int cKey = readers[c].current;
+            if (key < cKey || (key == cKey && r < c)) {
+                break;
+            }
+            heap[h] = c;
+            h = child;
+        }
+        heap[h] = r;
+    }
+
+    /**
+     * Sequential reader over a binary int file, one mapped window at a time.
+     */
+    static final class MappedIntReader {
+        private final FileChannel channel;
+        private final long size;
+        private long windowStart = 0;
+        private IntBuffer window;
+
+        int current;
+
+        MappedIntReader(Path file) throws IOException {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            // a trailing partial int is ignored
+            size = channel.size() - channel.size() % Integer.BYTES;
+            window = IntBuffer.allocate(0);
+        }
+
+        boolean hasNext() throws IOException {
+            if (window.hasRemaining()) {
+                return true;
+            }
+            if (windowStart >= size) {
+                return false;
+            }
+            long length = Math.min(WINDOW_BYTES, size - windowStart);
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+            window = mapped.asIntBuffer();
+            windowStart += length;
+            return window.hasRemaining();
+        }
+
+        // only call after hasNext() returned true
+        void advance() {
+            current = window.get();
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+}
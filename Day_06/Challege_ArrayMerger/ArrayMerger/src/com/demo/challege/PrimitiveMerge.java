@@ -0,0 +1,328 @@
+package com.demo.challege;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Merging of sorted int[] and long[] arrays without boxing.
+ *
+ * The two-way merges write into a caller supplied output array and allocate
+ * nothing. The k-way merges keep a binary min-heap of run indices in an
+ * int[]. The parallel merge splits the output at co-ranks found by binary
+ * search, so every fork-join task merges an independent slice.
+ */
+public final class PrimitiveMerge {
+
+    // below this many output elements a task merges sequentially
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private PrimitiveMerge() {
+    }
+
+    // ---------------------------------------------------------------- int[]
+
+    public static int[] merge(int[] a, int[] b) {
+        int[] out = new int[a.length + b.length];
+        merge(a, 0, a.length, b, 0, b.length, out, 0);
+        return out;
+    }
+
+    /**
+     * Merges a[aFrom, aTo) and b[bFrom, bTo) into out starting at outFrom.
+     * Equal elements from a come first, so the merge is stable.
+     */
+    public static void merge(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo, int[] out, int outFrom) {
+        int i = aFrom, j = bFrom, k = outFrom;
+
+        while (i < aTo && j < bTo) {
+            int x = a[i], y = b[j];
+            if (x <= y) {
+                out[k++] = x;
+                i++;
+            } else {
+                out[k++] = y;
+                j++;
+            }
+        }
+
+        if (i < aTo) {
+            System.arraycopy(a, i, out, k, aTo - i);
+        } else if (j < bTo) {
+            System.arraycopy(b, j, out, k, bTo - j);
+        }
+    }
+
+    /**
+     * Merges any number of sorted runs with a min-heap of run indices.
+     */
+    public static int[] mergeK(int[][] runs) {
+        long total = 0;
+        for (int[] run : runs) {
+            total += run.length;
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Merged length " + total + " does not fit in an array");
+        }
+
+        int[] out = new int[(int) total];
+        int[] pos = new int[runs.length];
+        int[] heap = new int[runs.length];
+        int size = 0;
+
+        for (int r = 0; r < runs.length; r++) {
+            if (runs[r].length > 0) {
+                heap[size++] = r;
+            }
+        }
+        for (int h = size / 2 - 1; h >= 0; h--) {
+            siftDown(heap, size, h, runs, pos);
+        }
+
+        int k = 0;
+        while (size > 0) {
+            int r = heap[0];
+            out[k++] = runs[r][pos[r]++];
+            if (pos[r] == runs[r].length) {
+                heap[0] = heap[--size];
+            }
+            if (size > 0) {
+                siftDown(heap, size, 0, runs, pos);
+            }
+        }
+        return out;
+    }
+
+    private static void siftDown(int[] heap, int size, int h, int[][] runs, int[] pos) {
+        int r = heap[h];
+        int key = runs[r][pos[r]];
+        while (true) {
+            int child = 2 * h + 1;
+            if (child >= size) {
+                break;
+            }
+            int c = heap[child];
+            int cKey = runs[c][pos[c]];
+            if (child + 1 < size) {
+                int d = heap[child + 1];
+                int dKey = runs[d][pos[d]];
+                // ties go to the lower run index to keep the merge stable
+                if (dKey < cKey || (dKey == cKey && d < c)) {
+                    child++;
+                    c = d;
+                    cKey = dKey;
+                }
+            }
+            if (key < cKey || (key == cKey && r < c)) {
+                break;
+            }
+            heap[h] = c;
+            h = child;
+        }
+        heap[h] = r;
+    }
+
+    public static int[] parallelMerge(int[] a, int[] b) {
+        int[] out = new int[a.length + b.length];
+        ForkJoinPool.commonPool().invoke(new IntMergeTask(a, 0, a.length, b, 0, b.length, out, 0));
+        return out;
+    }
+
+    /**
+     * Number of elements of a[from, to) that go before the merged position
+     * of index rank, i.e. the split point of a for the first rank outputs.
+     */
+    static int coRank(int rank, int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo) {
+        int lo = Math.max(0, rank - (bTo - bFrom));
+        int hi = Math.min(rank, aTo - aFrom);
+        while (lo < hi) {
+            int i = (lo + hi) >>> 1;
+            int j = rank - i;
+            // take more from a while a[i] <= b[j - 1]
+            if (j > 0 && a[aFrom + i] <= b[bFrom + j - 1]) {
+                lo = i + 1;
+            } else {
+                hi = i;
+            }
+        }
+        return lo;
+    }
+
+    private static final class IntMergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] a, b, out;
+        private final int aFrom, aTo, bFrom, bTo, outFrom;
+
+        IntMergeTask(int[] a, int aFrom, int aTo, int[] b, int bFrom, int bTo, int[] out, int outFrom) {
+            this.a = a;
+            this.aFrom = aFrom;
+            this.aTo = aTo;
+            this.b = b;
+            this.bFrom = bFrom;
+            this.bTo = bTo;
+            this.out = out;
+            this.outFrom = outFrom;
+        }
+
+        @Override
+        protected void compute() {
+            int n = (aTo - aFrom) + (bTo - bFrom);
+            if (n <= PARALLEL_THRESHOLD) {
+                merge(a, aFrom, aTo, b, bFrom, bTo, out, outFrom);
+                return;
+            }
+            int half = n / 2;
+            int i = coRank(half, a, aFrom, aTo, b, bFrom, bTo);
+            int j = half - i;
+            invokeAll(new IntMergeTask(a, aFrom, aFrom + i, b, bFrom, bFrom + j, out, outFrom),
+                    new IntMergeTask(a, aFrom + i, aTo, b, bFrom + j, bTo, out, outFrom + half));
+        }
+    }
+
+    // --------------------------------------------------------------- long[]
+
+    public static long[] merge(long[] a, long[] b) {
+        long[] out = new long[a.length + b.length];
+        merge(a, 0, a.length, b, 0, b.length, out, 0);
+        return out;
+    }
+
+    public static void merge(long[] a, int aFrom, int aTo, long[] b, int bFrom, int bTo, long[] out, int outFrom) {
+        int i = aFrom, j = bFrom, k = outFrom;
+
+        while (i < aTo && j < bTo) {
+            long x = a[i], y = b[j];
+            if (x <= y) {
+                out[k++] = x;
+                i++;
+            } else {
+                out[k++] = y;
+                j++;
+            }
+        }
+
+        if (i < aTo) {
+            System.arraycopy(a, i, out, k, aTo - i);
+        } else if (j < bTo) {
+            System.arraycopy(b, j, out, k, bTo - j);
+        }
+    }
+
+    public static long[] mergeK(long[][] runs) {
+        long total = 0;
+        for (long[] run : runs) {
+            total += run.length;
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Merged length " + total + " does not fit in an array");
+        }
+
+        long[] out = new long[(int) total];
+        int[] pos = new int[runs.length];
+        int[] heap = new int[runs.length];
+        int size = 0;
+
+        for (int r = 0; r < runs.length; r++) {
+            if (runs[r].length > 0) {
+                heap[size++] = r;
+            }
+        }
+        for (int h = size / 2 - 1; h >= 0; h--) {
+            siftDown(heap, size, h, runs, pos);
+        }
+
+        int k = 0;
+        while (size > 0) {
+            int r = heap[0];
+            out[k++] = runs[r][pos[r]++];
+            if (pos[r] == runs[r].length) {
+                heap[0] = heap[--size];
+            }
+            if (size > 0) {
+                siftDown(heap, size, 0, runs, pos);
+            }
+        }
+        return out;
+    }
+
+    private static void siftDown(int[] heap, int size, int h, long[][] runs, int[] pos) {
+        int r = heap[h];
+        long key = runs[r][pos[r]];
+        while (true) {
+            int child = 2 * h + 1;
+            if (child >= size) {
+                break;
+            }
+            int c = heap[child];
+            long cKey = runs[c][pos[c]];
+            if (child + 1 < size) {
+                int d = heap[child + 1];
+                long dKey = runs[d][pos[d]];
+                if (dKey < cKey || (dKey == cKey && d < c)) {
+                    child++;
+                    c = d;
+                    cKey = dKey;
+                }
+            }
+            if (key < cKey || (key == cKey && r < c)) {
+                break;
+            }
+            heap[h] = c;
+            h = child;
+        }
+        heap[h] = r;
+    }
+
+    public static long[] parallelMerge(long[] a, long[] b) {
+        long[] out = new long[a.length + b.length];
+        ForkJoinPool.commonPool().invoke(new LongMergeTask(a, 0, a.length, b, 0, b.length, out, 0));
+        return out;
+    }
+
+    static int coRank(int rank, long[] a, int aFrom, int aTo, long[] b, int bFrom, int bTo) {
+        int lo = Math.max(0, rank - (bTo - bFrom));
+        int hi = Math.min(rank, aTo - aFrom);
+        while (lo < hi) {
+            int i = (lo + hi) >>> 1;
+            int j = rank - i;
+            if (j > 0 && a[aFrom + i] <= b[bFrom + j - 1]) {
+                lo = i + 1;
+            } else {
+                hi = i;
+            }
+        }
+        return lo;
+    }
+
+    private static final class LongMergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] a, b, out;
+        private final int aFrom, aTo, bFrom, bTo, outFrom;
+
+        LongMergeTask(long[] a, int aFrom, int aTo, long[] b, int bFrom, int bTo, long[] out, int outFrom) {
+            this.a = a;
+            this.aFrom = aFrom;
+            this.aTo = aTo;
+            this.b = b;
+            this.bFrom = bFrom;
+            this.bTo = bTo;
+            this.out = out;
+            this.outFrom = outFrom;
+        }
+
+        @Override
+        protected void compute() {
+            int n = (aTo - aFrom) + (bTo - bFrom);
+            if (n <= PARALLEL_THRESHOLD) {
+                merge(a, aFrom, aTo, b, bFrom, bTo, out, outFrom);
+                return;
+            }
+            int half = n / 2;
+            int i = coRank(half, a, aFrom, aTo, b, bFrom, bTo);
+            int j = half - i;
+            invokeAll(new LongMergeTask(a, aFrom, aFrom + i, b, bFrom, bFrom + j, out, outFrom),
+                    new LongMergeTask(a, aFrom + i, aTo, b, bFrom + j, bTo, out, outFrom + half));
+        }
+    }
+}